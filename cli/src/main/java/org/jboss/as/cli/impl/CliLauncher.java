@@ -61,6 +61,7 @@ public class CliLauncher {
             char[] password = null;
             boolean noLocalAuth = false;
             int connectionTimeout = -1;
+            int pipeline = 0;
 
             for(String arg : args) {
                 if(arg.startsWith("--controller=") || arg.startsWith("controller=")) {
@@ -172,6 +173,26 @@ public class CliLauncher {
                         argError = "'=' is missing after --timeout";
                         break;
                     }
+                } else if (arg.startsWith("--pipeline")) {
+                    if (pipeline > 0) {
+                        argError = "Duplicate argument '--pipeline'";
+                        break;
+                    }
+                    if(arg.length() > 10 && arg.charAt(10) == '=') {
+                        final String value = arg.substring(11);
+                        try {
+                            pipeline = Integer.parseInt(value);
+                        } catch (final NumberFormatException e) {
+                            //
+                        }
+                        if (pipeline <= 0) {
+                            argError = "The number of requests in flight must be a valid positive integer: '" + value + "'";
+                            break;
+                        }
+                    } else {
+                        argError = "'=' is missing after --pipeline";
+                        break;
+                    }
                 } else if (arg.equals("--help") || arg.equals("-h")) {
                     commands = Collections.singletonList("help");
                 } else if (arg.startsWith("--properties=")) {
@@ -219,6 +240,10 @@ public class CliLauncher {
                 }
             }
 
+            if(argError == null && pipeline > 0 && file == null && commands == null) {
+                argError = "'--pipeline' requires '--file' or '--commands'.";
+            }
+
             if(argError != null) {
                 System.err.println(argError);
                 exitCode = 1;
@@ -233,13 +258,13 @@ public class CliLauncher {
 
             if(file != null) {
                 cmdCtx = initCommandContext(defaultController, username, password, noLocalAuth, false, connect, connectionTimeout);
-                processFile(file, cmdCtx);
+                processFile(file, cmdCtx, pipeline);
                 return;
             }
 
             if(commands != null) {
                 cmdCtx = initCommandContext(defaultController, username, password, noLocalAuth, false, connect, connectionTimeout);
-                processCommands(commands, cmdCtx);
+                processCommands(commands, cmdCtx, pipeline);
                 return;
             }
 
@@ -289,29 +314,59 @@ public class CliLauncher {
         }
     }
 
-    private static void processCommands(List<String> commands, CommandContext cmdCtx) {
-        int i = 0;
-        while (cmdCtx.getExitCode() == 0 && i < commands.size() && !cmdCtx.isTerminated()) {
-            cmdCtx.handleSafe(commands.get(i));
-            ++i;
+    private static void processCommands(List<String> commands, CommandContext cmdCtx, int pipeline) {
+        final PipelinedScriptExecutor executor = createPipelinedExecutor(cmdCtx, pipeline);
+        try {
+            int i = 0;
+            while (cmdCtx.getExitCode() == 0 && i < commands.size() && !cmdCtx.isTerminated()) {
+                if (executor == null) {
+                    cmdCtx.handleSafe(commands.get(i));
+                } else if (!executor.handle(commands.get(i))) {
+                    break;
+                }
+                ++i;
+            }
+        } finally {
+            if (executor != null) {
+                executor.finish();
+            }
         }
     }
 
     private static void processFile(File file, final CommandContext cmdCtx) {
+        processFile(file, cmdCtx, 0);
+    }
 
+    private static void processFile(File file, final CommandContext cmdCtx, int pipeline) {
+
+        final PipelinedScriptExecutor executor = createPipelinedExecutor(cmdCtx, pipeline);
         BufferedReader reader = null;
         try {
             reader = new BufferedReader(new FileReader(file));
             String line = reader.readLine();
             while (cmdCtx.getExitCode() == 0 && !cmdCtx.isTerminated() && line != null) {
-                cmdCtx.handleSafe(line.trim());
+                if (executor == null) {
+                    cmdCtx.handleSafe(line.trim());
+                } else if (!executor.handle(line.trim())) {
+                    break;
+                }
                 line = reader.readLine();
             }
         } catch (Throwable e) {
             throw new IllegalStateException("Failed to process file '" + file.getAbsolutePath() + "'", e);
         } finally {
             StreamUtils.safeClose(reader);
+            if (executor != null) {
+                executor.finish();
+            }
+        }
+    }
+
+    private static PipelinedScriptExecutor createPipelinedExecutor(final CommandContext cmdCtx, final int pipeline) {
+        if (pipeline > 0 && cmdCtx instanceof CommandContextImpl) {
+            return new PipelinedScriptExecutor((CommandContextImpl) cmdCtx, pipeline);
         }
+        return null;
     }
 
     private static final String JBOSS_CLI_RC_PROPERTY = "jboss.cli.rc";
@@ -1193,6 +1193,32 @@ class CommandContextImpl implements CommandContext, ModelControllerClientFactory
         }
     }
 
+    /**
+     * Returns the request for a line of a script if it is a complete operation which doesn't need to go through
+     * {@link #handle(String)}, i.e. it isn't a command, isn't added to a batch, doesn't span several lines and doesn't
+     * redirect its output.
+     *
+     * @param line the line
+     * @return the request or {@code null} if the line must be handled by {@link #handle(String)}
+     * @throws CommandFormatException if the line cannot be parsed
+     */
+    ModelNode toPipelinedRequest(String line) throws CommandFormatException {
+        if (line.isEmpty() || line.charAt(line.length() - 1) == '\\' || lineBuffer != null || isBatchMode()) {
+            return null;
+        }
+        final DefaultCallbackHandler originalParsedArguments = this.parsedCmd;
+        try {
+            this.parsedCmd = new DefaultCallbackHandler();
+            parsedCmd.parse(prefix, line, this);
+            if (parsedCmd.getFormat() != OperationFormat.INSTANCE || parsedCmd.getOutputTarget() != null) {
+                return null;
+            }
+            return parsedCmd.toOperationRequest(this);
+        } finally {
+            this.parsedCmd = originalParsedArguments;
+        }
+    }
+
     @Override
     public CommandLineCompleter getDefaultCommandCompleter() {
         return cmdCompleter;
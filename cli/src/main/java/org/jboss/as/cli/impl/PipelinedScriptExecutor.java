@@ -0,0 +1,277 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.cli.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.cli.CommandFormatException;
+import org.jboss.as.cli.Util;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Executes the lines of a script keeping up to a given number of operation requests in flight over the management
+ * channel, instead of waiting for the response to each request before sending the next one.
+ * <p/>
+ * This is not a batch, each read-only operation is executed on its own and a failure doesn't roll back the operations
+ * that were already executed. It stops sending new requests though. The server executes concurrent requests in no
+ * particular order, and an operation may depend on any resource, e.g. a data source on a JDBC driver. So only read-only
+ * operations are sent concurrently. A run of consecutive operations which may write is sent as a single composite
+ * request, up to the given number of operations per request, whose steps the server executes in the order of the
+ * script: if one of them fails, the other operations of the same run are rolled back. A composite request is only sent
+ * once all the requests in flight have completed, and any operation after it waits for it to complete. Lines which
+ * aren't plain operations, such as commands or anything inside a batch, are handled as usual once all the requests in
+ * flight have completed. The responses are printed in the order of the script. The operations are not validated
+ * against their description before they are sent.
+ */
+class PipelinedScriptExecutor {
+
+    private static final Set<String> READ_ONLY_OPERATIONS = new HashSet<String>(Arrays.asList(Util.VALIDATE_ADDRESS,
+            "validate-operation", "whoami"));
+
+    private final CommandContextImpl ctx;
+    private final int maxInFlight;
+    private final Deque<PendingRequest> inFlight = new ArrayDeque<PendingRequest>();
+    // the run of consecutive writes which wasn't sent yet
+    private final List<String> writeLines = new ArrayList<String>();
+    private final List<ModelNode> writeRequests = new ArrayList<ModelNode>();
+
+    private boolean failed;
+    private long startTime;
+    private int executed;
+    private int peakInFlight;
+
+    PipelinedScriptExecutor(final CommandContextImpl ctx, final int maxInFlight) {
+        this.ctx = ctx;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Handle a line of the script.
+     *
+     * @param line the line
+     * @return whether the script should continue
+     */
+    boolean handle(final String line) {
+        if (line.isEmpty() || line.charAt(0) == '#') {
+            return true;
+        }
+        final ModelControllerClient client = ctx.getModelControllerClient();
+        ModelNode request = null;
+        if (client != null) {
+            try {
+                request = ctx.toPipelinedRequest(line);
+            } catch (CommandFormatException e) {
+                // let the line be handled as usual, which reports the error
+            }
+        }
+        if (request == null) {
+            if (!sendWrites() || !completeAll()) {
+                return false;
+            }
+            ctx.handleSafe(line);
+            return ctx.getExitCode() == 0 && !ctx.isTerminated();
+        }
+        if (!isReadOnly(request)) {
+            if (request.hasDefined(Util.OPERATION_HEADERS) && !sendWrites()) {
+                return false;
+            }
+            writeLines.add(line);
+            writeRequests.add(request);
+            // the headers of a step are not applied, so an operation with headers is sent on its own
+            if (request.hasDefined(Util.OPERATION_HEADERS) || writeRequests.size() >= maxInFlight) {
+                return sendWrites();
+            }
+            return true;
+        }
+        if (!sendWrites()) {
+            return false;
+        }
+        // a read waits for the writes in flight
+        PendingRequest dependency = null;
+        for (final PendingRequest pending : inFlight) {
+            if (!pending.readOnly) {
+                dependency = pending;
+            }
+        }
+        if (dependency != null && !completeUntil(dependency)) {
+            return false;
+        }
+        while (inFlight.size() >= maxInFlight) {
+            if (!complete(inFlight.poll())) {
+                return false;
+            }
+        }
+        send(Collections.singletonList(line), true, request);
+        return true;
+    }
+
+    /**
+     * Send the run of consecutive writes once all the requests in flight have completed, as a composite request if
+     * there are more than one.
+     *
+     * @return {@code false} if any of the requests failed
+     */
+    private boolean sendWrites() {
+        if (writeRequests.isEmpty()) {
+            return true;
+        }
+        final List<String> lines = new ArrayList<String>(writeLines);
+        final ModelNode request;
+        if (writeRequests.size() == 1) {
+            request = writeRequests.get(0);
+        } else {
+            request = new ModelNode();
+            request.get(Util.OPERATION).set(Util.COMPOSITE);
+            request.get(Util.ADDRESS).setEmptyList();
+            final ModelNode steps = request.get(Util.STEPS).setEmptyList();
+            for (final ModelNode step : writeRequests) {
+                steps.add(step);
+            }
+        }
+        writeLines.clear();
+        writeRequests.clear();
+        if (!completeAll()) {
+            return false;
+        }
+        send(lines, false, request);
+        return true;
+    }
+
+    private void send(final List<String> lines, final boolean readOnly, final ModelNode request) {
+        if (executed == 0 && inFlight.isEmpty()) {
+            startTime = System.nanoTime();
+        }
+        inFlight.add(new PendingRequest(lines, readOnly, ctx.getModelControllerClient().executeAsync(request, null)));
+        peakInFlight = Math.max(peakInFlight, inFlight.size());
+    }
+
+    /**
+     * Wait for the requests in flight and print the throughput.
+     *
+     * @return {@code false} if any of the requests failed
+     */
+    boolean finish() {
+        final boolean success = sendWrites() && completeAll();
+        if (executed > 0) {
+            final long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            ctx.printLine("Executed " + executed + " pipelined operations in " + elapsed + " ms ("
+                    + (executed * 1000L / elapsed) + " operations/s, at most " + peakInFlight + " in flight)");
+        }
+        return success;
+    }
+
+    private boolean completeAll() {
+        while (!inFlight.isEmpty()) {
+            complete(inFlight.poll());
+        }
+        return !failed;
+    }
+
+    private boolean completeUntil(final PendingRequest last) {
+        PendingRequest pending;
+        do {
+            pending = inFlight.poll();
+            complete(pending);
+        } while (pending != last);
+        return !failed;
+    }
+
+    /**
+     * Wait for the response to a request and print it. The requests that were already sent are always completed, even
+     * after a failure, so that all the responses get printed.
+     */
+    private boolean complete(final PendingRequest pending) {
+        try {
+            final ModelNode response = pending.future.get();
+            executed += pending.lines.size();
+            if (!Util.isSuccess(response)) {
+                fail(response.toString());
+            } else if (pending.lines.size() == 1) {
+                ctx.printLine(response.toString());
+            } else {
+                // print the response of each step, as if the operations had been sent one by one
+                final ModelNode result = response.get(Util.RESULT);
+                for (int i = 1; i <= pending.lines.size(); i++) {
+                    ctx.printLine(result.get("step-" + i).toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.cancel(true);
+            fail("Interrupted while waiting for the result of " + pending.describe());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                ctx.disconnectController();
+                fail("Communication error executing " + pending.describe() + ": " + cause.getLocalizedMessage());
+            } else {
+                fail("Failed to execute " + pending.describe() + ": " + cause.getLocalizedMessage());
+            }
+        }
+        return !failed;
+    }
+
+    private void fail(final String message) {
+        failed = true;
+        ctx.error(message);
+    }
+
+    /**
+     * Whether a request only reads the model, so that it can execute concurrently with other read-only requests.
+     */
+    static boolean isReadOnly(final ModelNode request) {
+        final String operation = request.get(Util.OPERATION).asString();
+        return operation.startsWith("read-") || READ_ONLY_OPERATIONS.contains(operation);
+    }
+
+    private static final class PendingRequest {
+        private final List<String> lines;
+        private final boolean readOnly;
+        private final Future<ModelNode> future;
+
+        private PendingRequest(final List<String> lines, final boolean readOnly, final Future<ModelNode> future) {
+            this.lines = lines;
+            this.readOnly = readOnly;
+            this.future = future;
+        }
+
+        private String describe() {
+            if (lines.size() == 1) {
+                return "'" + lines.get(0) + "'";
+            }
+            return "the composite of " + lines.size() + " operations starting with '" + lines.get(0) + "'";
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.cli.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.cli.CommandContextFactory;
+import org.jboss.as.cli.Util;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the ordering of the requests sent by the {@link PipelinedScriptExecutor}.
+ */
+public class PipelinedScriptExecutorTestCase {
+
+    private CommandContextImpl ctx;
+    // the number of requests in flight when each request was sent
+    private final List<Integer> inFlightOnSend = new ArrayList<Integer>();
+    private final List<String> sent = new ArrayList<String>();
+    // the operations of the steps of the composite requests, in order
+    private final List<String> steps = new ArrayList<String>();
+    private int inFlight;
+
+    @Before
+    public void setup() throws Exception {
+        ctx = (CommandContextImpl) CommandContextFactory.getInstance().newCommandContext();
+        ctx.bindClient((ModelControllerClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ModelControllerClient.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getDeclaringClass() == Object.class) {
+                    return "hashCode".equals(method.getName()) ? System.identityHashCode(proxy) : "equals".equals(method.getName()) ? proxy == args[0] : "client";
+                }
+                if ("execute".equals(method.getName())) {
+                    final ModelNode response = success();
+                    response.get(Util.RESULT).setEmptyList();
+                    return response;
+                }
+                if ("executeAsync".equals(method.getName())) {
+                    final ModelNode request = (ModelNode) args[0];
+                    sent.add(request.get(Util.OPERATION).asString());
+                    inFlightOnSend.add(inFlight++);
+                    final ModelNode response = success();
+                    if (request.hasDefined(Util.STEPS)) {
+                        int i = 0;
+                        for (ModelNode step : request.get(Util.STEPS).asList()) {
+                            steps.add(step.get(Util.OPERATION).asString());
+                            response.get(Util.RESULT, "step-" + ++i).set(success());
+                        }
+                    }
+                    return future(response);
+                }
+                return null;
+            }
+        }));
+    }
+
+    @After
+    public void cleanup() {
+        ctx.terminateSession();
+    }
+
+    @Test
+    public void testReadsArePipelined() {
+        final PipelinedScriptExecutor executor = new PipelinedScriptExecutor(ctx, 10);
+        assertTrue(executor.handle("/subsystem=datasources:read-resource"));
+        assertTrue(executor.handle("/subsystem=logging:read-attribute(name=add-logging-api-dependencies)"));
+        assertTrue(executor.handle("/subsystem=datasources/data-source=ExampleDS:read-resource"));
+        assertTrue(executor.finish());
+        assertEquals(Arrays.asList(0, 1, 2), inFlightOnSend);
+    }
+
+    @Test
+    public void testWritesWaitForAllRequests() {
+        final PipelinedScriptExecutor executor = new PipelinedScriptExecutor(ctx, 10);
+        assertTrue(executor.handle("/subsystem=datasources:read-resource"));
+        assertTrue(executor.handle("/subsystem=logging:read-resource"));
+        // the data source depends on the driver, which is a sibling resource
+        assertTrue(executor.handle("/subsystem=datasources/jdbc-driver=h2:add(driver-name=h2, driver-module-name=com.h2database.h2)"));
+        assertTrue(executor.handle("/subsystem=datasources/data-source=X:add(driver-name=h2)"));
+        assertTrue(executor.handle("/subsystem=logging:read-resource"));
+        assertTrue(executor.handle("/subsystem=datasources:read-resource"));
+        assertTrue(executor.finish());
+        // the consecutive writes are sent as one composite request, whose steps are executed in order
+        assertEquals(Arrays.asList("read-resource", "read-resource", Util.COMPOSITE, "read-resource", "read-resource"), sent);
+        assertEquals(Arrays.asList(0, 1, 0, 0, 1), inFlightOnSend);
+        assertEquals(Arrays.asList("add", "add"), steps);
+    }
+
+    @Test
+    public void testWritesAreBatched() {
+        final PipelinedScriptExecutor executor = new PipelinedScriptExecutor(ctx, 2);
+        assertTrue(executor.handle("/subsystem=datasources/jdbc-driver=h2:add(driver-name=h2, driver-module-name=com.h2database.h2)"));
+        assertTrue(executor.handle("/subsystem=datasources/data-source=X:add(driver-name=h2)"));
+        assertTrue(executor.handle("/subsystem=datasources/data-source=X:write-attribute(name=min-pool-size, value=1)"));
+        // an operation with headers is sent on its own
+        assertTrue(executor.handle("/subsystem=datasources/data-source=X:write-attribute(name=max-pool-size, value=2){rollback-on-runtime-failure=false}"));
+        assertTrue(executor.handle("/subsystem=datasources/data-source=X:remove"));
+        assertTrue(executor.finish());
+        assertEquals(Arrays.asList(Util.COMPOSITE, "write-attribute", "write-attribute", "remove"), sent);
+        assertEquals(Arrays.asList(0, 0, 0, 0), inFlightOnSend);
+        assertEquals(Arrays.asList("add", "add"), steps);
+    }
+
+    @Test
+    public void testMaxInFlight() {
+        final PipelinedScriptExecutor executor = new PipelinedScriptExecutor(ctx, 2);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(executor.handle(":read-resource"));
+        }
+        assertTrue(executor.finish());
+        assertEquals(Arrays.asList(0, 1, 1, 1), inFlightOnSend);
+    }
+
+    @Test
+    public void testIsReadOnly() {
+        assertTrue(PipelinedScriptExecutor.isReadOnly(operation("read-resource")));
+        assertTrue(PipelinedScriptExecutor.isReadOnly(operation("read-children-names")));
+        assertTrue(PipelinedScriptExecutor.isReadOnly(operation("whoami")));
+        assertFalse(PipelinedScriptExecutor.isReadOnly(operation("add")));
+        assertFalse(PipelinedScriptExecutor.isReadOnly(operation("write-attribute")));
+        assertFalse(PipelinedScriptExecutor.isReadOnly(operation("composite")));
+    }
+
+    private static ModelNode operation(final String name) {
+        final ModelNode operation = new ModelNode();
+        operation.get(Util.OPERATION).set(name);
+        return operation;
+    }
+
+    private static ModelNode success() {
+        final ModelNode response = new ModelNode();
+        response.get(Util.OUTCOME).set(Util.SUCCESS);
+        return response;
+    }
+
+    private AsyncFuture<?> future(final ModelNode response) {
+        return (AsyncFuture<?>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {AsyncFuture.class}, new InvocationHandler() {
+            private boolean done;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if ("get".equals(method.getName())) {
+                    if (!done) {
+                        done = true;
+                        inFlight--;
+                    }
+                    return response;
+                }
+                return "cancel".equals(method.getName()) ? Boolean.FALSE : null;
+            }
+        });
+    }
+}
@@ -87,6 +87,22 @@ public class ChannelInstanceResourceDefinition extends SimpleResourceDefinition
             new SimpleAttributeDefinitionBuilder(MetricKeys.DISCARD_OWN_MESSAGES, ModelType.BOOLEAN, true)
                     .setStorageRuntime()
                     .build();
+    static final SimpleAttributeDefinition DISPATCHER_AVERAGE_BATCH_SIZE =
+            new SimpleAttributeDefinitionBuilder(MetricKeys.DISPATCHER_AVERAGE_BATCH_SIZE, ModelType.DOUBLE, true)
+                    .setStorageRuntime()
+                    .build();
+    static final SimpleAttributeDefinition DISPATCHER_COMMAND_COUNT =
+            new SimpleAttributeDefinitionBuilder(MetricKeys.DISPATCHER_COMMAND_COUNT, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .build();
+    static final SimpleAttributeDefinition DISPATCHER_LARGEST_BATCH_SIZE =
+            new SimpleAttributeDefinitionBuilder(MetricKeys.DISPATCHER_LARGEST_BATCH_SIZE, ModelType.INT, true)
+                    .setStorageRuntime()
+                    .build();
+    static final SimpleAttributeDefinition DISPATCHER_RPC_COUNT =
+            new SimpleAttributeDefinitionBuilder(MetricKeys.DISPATCHER_RPC_COUNT, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .build();
     static final SimpleAttributeDefinition NUM_TASKS_IN_TIMER =
             new SimpleAttributeDefinitionBuilder(MetricKeys.NUM_TASKS_IN_TIMER, ModelType.INT, true)
                     .setStorageRuntime()
@@ -128,8 +144,8 @@ public class ChannelInstanceResourceDefinition extends SimpleResourceDefinition
                     .setStorageRuntime()
                     .build();
 
-    static final AttributeDefinition[] CHANNEL_METRICS = {ADDRESS, ADDRESS_AS_UUID, DISCARD_OWN_MESSAGES, NUM_TASKS_IN_TIMER,
-            NUM_TIMER_THREADS, RECEIVED_BYTES, RECEIVED_MESSAGES, SENT_BYTES, SENT_MESSAGES, STATE, STATS_ENABLED, VERSION, VIEW};
+    static final AttributeDefinition[] CHANNEL_METRICS = {ADDRESS, ADDRESS_AS_UUID, DISCARD_OWN_MESSAGES, DISPATCHER_AVERAGE_BATCH_SIZE,
+            DISPATCHER_COMMAND_COUNT, DISPATCHER_LARGEST_BATCH_SIZE, DISPATCHER_RPC_COUNT, NUM_TASKS_IN_TIMER, NUM_TIMER_THREADS, RECEIVED_BYTES, RECEIVED_MESSAGES, SENT_BYTES, SENT_MESSAGES, STATE, STATS_ENABLED, VERSION, VIEW};
 
     public ChannelInstanceResourceDefinition(String channelName, boolean runtimeRegistration) {
 
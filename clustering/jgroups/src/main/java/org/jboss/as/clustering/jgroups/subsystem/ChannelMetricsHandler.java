@@ -51,6 +51,10 @@ public class ChannelMetricsHandler extends AbstractRuntimeOnlyHandler {
         ADDRESS(ChannelInstanceResourceDefinition.ADDRESS),
         ADDRESS_AS_UUID(ChannelInstanceResourceDefinition.ADDRESS_AS_UUID),
         DISCARD_OWN_MESSAGES(ChannelInstanceResourceDefinition.DISCARD_OWN_MESSAGES),
+        DISPATCHER_AVERAGE_BATCH_SIZE(ChannelInstanceResourceDefinition.DISPATCHER_AVERAGE_BATCH_SIZE),
+        DISPATCHER_COMMAND_COUNT(ChannelInstanceResourceDefinition.DISPATCHER_COMMAND_COUNT),
+        DISPATCHER_LARGEST_BATCH_SIZE(ChannelInstanceResourceDefinition.DISPATCHER_LARGEST_BATCH_SIZE),
+        DISPATCHER_RPC_COUNT(ChannelInstanceResourceDefinition.DISPATCHER_RPC_COUNT),
         NUM_TASKS_IN_TIMER(ChannelInstanceResourceDefinition.NUM_TASKS_IN_TIMER),
         NUM_TIMER_THREADS(ChannelInstanceResourceDefinition.NUM_TIMER_THREADS),
         RECEIVED_BYTES(ChannelInstanceResourceDefinition.RECEIVED_BYTES),
@@ -109,6 +113,7 @@ public class ChannelMetricsHandler extends AbstractRuntimeOnlyHandler {
             // when the cache service is not available, return a null result
         } else {
             JChannel channel = (JChannel) controller.getValue();
+            CommandDispatcherMetrics dispatcherMetrics = getCommandDispatcherMetrics(context, channelName);
             switch (metric) {
                 case ADDRESS:
                     result.set(channel.getAddressAsString());
@@ -119,6 +124,18 @@ public class ChannelMetricsHandler extends AbstractRuntimeOnlyHandler {
                 case DISCARD_OWN_MESSAGES:
                     result.set(channel.getDiscardOwnMessages());
                     break;
+                case DISPATCHER_AVERAGE_BATCH_SIZE:
+                    result.set((dispatcherMetrics != null) ? dispatcherMetrics.getAverageBatchSize() : 0);
+                    break;
+                case DISPATCHER_COMMAND_COUNT:
+                    result.set((dispatcherMetrics != null) ? dispatcherMetrics.getCommandCount() : 0);
+                    break;
+                case DISPATCHER_LARGEST_BATCH_SIZE:
+                    result.set((dispatcherMetrics != null) ? dispatcherMetrics.getLargestBatchSize() : 0);
+                    break;
+                case DISPATCHER_RPC_COUNT:
+                    result.set((dispatcherMetrics != null) ? dispatcherMetrics.getRpcCount() : 0);
+                    break;
                 case NUM_TASKS_IN_TIMER:
                     result.set(channel.getNumberOfTasksInTimer());
                     break;
@@ -154,4 +171,16 @@ public class ChannelMetricsHandler extends AbstractRuntimeOnlyHandler {
         }
         context.completeStep(OperationContext.ResultHandler.NOOP_RESULT_HANDLER);
     }
+
+    /*
+     * The command dispatcher factory of the channel is started on demand, so it may not be available.
+     */
+    private static CommandDispatcherMetrics getCommandDispatcherMetrics(OperationContext context, String channelName) {
+        ServiceController<?> controller = context.getServiceRegistry(false).getService(CommandDispatcherMetrics.BASE_SERVICE_NAME.append(channelName));
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        Object value = controller.getValue();
+        return (value instanceof CommandDispatcherMetrics) ? (CommandDispatcherMetrics) value : null;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.jgroups.subsystem;
+
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Statistics of the commands dispatched on the cluster of a channel, exposed as metrics of its channel resource.
+ * Implemented by the value of the command dispatcher factory service of the channel.
+ */
+public interface CommandDispatcherMetrics {
+
+    ServiceName BASE_SERVICE_NAME = ServiceName.JBOSS.append("clustering", "dispatcher");
+
+    /**
+     * Returns the number of cluster RPCs sent for coalesced commands.
+     * @return a number of RPCs
+     */
+    long getRpcCount();
+
+    /**
+     * Returns the number of coalesced commands executed on the cluster.
+     * @return a number of commands
+     */
+    long getCommandCount();
+
+    /**
+     * Returns the number of commands of the largest batch sent.
+     * @return a number of commands
+     */
+    int getLargestBatchSize();
+
+    /**
+     * Returns the average number of commands per cluster RPC.
+     * @return an average batch size
+     */
+    double getAverageBatchSize();
+}
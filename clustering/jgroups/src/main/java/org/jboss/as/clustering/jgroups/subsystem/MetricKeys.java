@@ -31,6 +31,10 @@ public class MetricKeys {
     public static final String ADDRESS_AS_UUID = "address-as-uuid" ;
     public static final String CHANNEL = "channel" ;
     public static final String DISCARD_OWN_MESSAGES  = "discard-own-messages" ;
+    public static final String DISPATCHER_AVERAGE_BATCH_SIZE = "dispatcher-average-batch-size" ;
+    public static final String DISPATCHER_COMMAND_COUNT = "dispatcher-command-count" ;
+    public static final String DISPATCHER_LARGEST_BATCH_SIZE = "dispatcher-largest-batch-size" ;
+    public static final String DISPATCHER_RPC_COUNT = "dispatcher-rpc-count" ;
     public static final String NUM_TASKS_IN_TIMER = "num-tasks-in-timer" ;
     public static final String NUM_TIMER_THREADS = "num-timer-threads" ;
     public static final String RECEIVED_BYTES = "received-bytes" ;
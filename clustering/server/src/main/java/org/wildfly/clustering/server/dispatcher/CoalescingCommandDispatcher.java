@@ -0,0 +1,269 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandResponse;
+import org.wildfly.clustering.group.Node;
+
+/**
+ * Command dispatcher decorator that coalesces commands executed on the cluster within a short window into a single {@link CommandBatch},
+ * such that bursts of small commands (e.g. during topology changes) result in a single multicast.
+ * The responses of each batch are demultiplexed per command, so that callers observe the same results as the undecorated dispatcher.
+ * Commands are only coalesced with other commands that share the same set of excluded nodes.
+ * If the dispatch of a batch fails, the failure is thrown to every caller whose command was part of the batch.
+ * All other operations are delegated as is.
+ *
+ * @param <C> command execution context
+ */
+public class CoalescingCommandDispatcher<C> implements CommandDispatcher<C> {
+
+    private final CommandDispatcher<C> dispatcher;
+    private final long window;
+    private final int maxBatchSize;
+    private final CoalescingStatistics statistics;
+    private final Map<Set<Node>, Batch<C>> batches = new HashMap<>();
+
+    /**
+     * Creates a new coalescing command dispatcher.
+     * @param dispatcher the decorated command dispatcher
+     * @param window the maximum duration, in milliseconds, that a command will wait for other commands to join its batch
+     * @param maxBatchSize the number of commands that triggers the immediate dispatch of a batch
+     * @param statistics the statistics updated for each batch dispatched
+     */
+    public CoalescingCommandDispatcher(CommandDispatcher<C> dispatcher, long window, int maxBatchSize, CoalescingStatistics statistics) {
+        this.dispatcher = dispatcher;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public <R> Map<Node, CommandResponse<R>> executeOnCluster(Command<R, C> command, Node... excludedNodes) {
+        Set<Node> excluded = ((excludedNodes != null) && (excludedNodes.length > 0)) ? new HashSet<>(Arrays.asList(excludedNodes)) : Collections.<Node>emptySet();
+        Batch<C> batch;
+        int index;
+        boolean leader;
+        boolean full;
+        synchronized (this.batches) {
+            batch = this.batches.get(excluded);
+            leader = (batch == null);
+            if (leader) {
+                batch = new Batch<>();
+                this.batches.put(excluded, batch);
+            }
+            index = batch.add(command);
+            full = (batch.size() >= this.maxBatchSize);
+            if (full) {
+                this.batches.remove(excluded);
+            }
+        }
+        if (full) {
+            this.dispatch(batch, excludedNodes);
+        } else if (leader) {
+            batch.awaitDispatch(this.window);
+            boolean expired;
+            synchronized (this.batches) {
+                // Batch may have already been dispatched by the thread that filled it
+                expired = (this.batches.get(excluded) == batch);
+                if (expired) {
+                    this.batches.remove(excluded);
+                }
+            }
+            if (expired) {
+                this.dispatch(batch, excludedNodes);
+            }
+        }
+        return batch.getResponses(index);
+    }
+
+    private void dispatch(Batch<C> batch, Node... excludedNodes) {
+        List<Command<?, C>> commands = batch.getCommands();
+        int size = commands.size();
+        this.statistics.batchDispatched(size);
+        try {
+            if (size == 1) {
+                // No need to wrap a single command
+                @SuppressWarnings("unchecked")
+                Command<Object, C> command = (Command<Object, C>) commands.get(0);
+                Map<Node, CommandResponse<Object>> responses = this.dispatcher.executeOnCluster(command, excludedNodes);
+                Map<Node, CommandResponse<Object[]>> results = new HashMap<>();
+                for (Map.Entry<Node, CommandResponse<Object>> entry: responses.entrySet()) {
+                    results.put(entry.getKey(), new SingletonCommandResponse(entry.getValue()));
+                }
+                batch.setResponses(results);
+            } else {
+                batch.setResponses(this.dispatcher.executeOnCluster(new CommandBatch<>(commands), excludedNodes));
+            }
+        } catch (RuntimeException | Error e) {
+            // Wake up the other callers of the batch, which rethrow the failure
+            batch.setFailure(e);
+        }
+    }
+
+    @Override
+    public <R> Map<Node, Future<R>> submitOnCluster(Command<R, C> command, Node... excludedNodes) {
+        return this.dispatcher.submitOnCluster(command, excludedNodes);
+    }
+
+    @Override
+    public <R> CommandResponse<R> executeOnNode(Command<R, C> command, Node node) {
+        return this.dispatcher.executeOnNode(command, node);
+    }
+
+    @Override
+    public <R> Future<R> submitOnNode(Command<R, C> command, Node node) {
+        return this.dispatcher.submitOnNode(command, node);
+    }
+
+    @Override
+    public void close() {
+        this.dispatcher.close();
+    }
+
+    /**
+     * A set of pending commands, and the responses to them, once dispatched.
+     */
+    private static class Batch<C> {
+        private final List<Command<?, C>> commands = new ArrayList<>();
+        private final CountDownLatch dispatched = new CountDownLatch(1);
+        private volatile Map<Node, CommandResponse<Object[]>> responses;
+        private volatile Throwable failure;
+
+        // Guarded by the batches map of the enclosing dispatcher
+        int add(Command<?, C> command) {
+            this.commands.add(command);
+            return this.commands.size() - 1;
+        }
+
+        // Guarded by the batches map of the enclosing dispatcher
+        int size() {
+            return this.commands.size();
+        }
+
+        List<Command<?, C>> getCommands() {
+            return this.commands;
+        }
+
+        void setResponses(Map<Node, CommandResponse<Object[]>> responses) {
+            this.responses = responses;
+            this.dispatched.countDown();
+        }
+
+        void setFailure(Throwable failure) {
+            this.failure = failure;
+            this.dispatched.countDown();
+        }
+
+        void awaitDispatch(long timeout) {
+            try {
+                this.dispatched.await(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        <R> Map<Node, CommandResponse<R>> getResponses(int index) {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        this.dispatched.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Throwable failure = this.failure;
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            Map<Node, CommandResponse<R>> results = new HashMap<>();
+            for (Map.Entry<Node, CommandResponse<Object[]>> entry: this.responses.entrySet()) {
+                results.put(entry.getKey(), new BatchedCommandResponse<R>(entry.getValue(), index));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Adapts the response of an unbatched command to the response of a batch.
+     */
+    private static class SingletonCommandResponse implements CommandResponse<Object[]> {
+        private final CommandResponse<Object> response;
+
+        SingletonCommandResponse(CommandResponse<Object> response) {
+            this.response = response;
+        }
+
+        @Override
+        public Object[] get() throws ExecutionException {
+            return new Object[] { this.response.get() };
+        }
+    }
+
+    /**
+     * The response of a single command extracted from the response of a batch.
+     */
+    private static class BatchedCommandResponse<R> implements CommandResponse<R> {
+        private final CommandResponse<Object[]> response;
+        private final int index;
+
+        BatchedCommandResponse(CommandResponse<Object[]> response, int index) {
+            this.response = response;
+            this.index = index;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public R get() throws ExecutionException {
+            Object[] results = this.response.get();
+            Object result = (results != null) ? results[this.index] : null;
+            if (result instanceof CommandBatch.Failure) {
+                throw new ExecutionException(((CommandBatch.Failure) result).getException());
+            }
+            return (R) result;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.clustering.jgroups.subsystem.CommandDispatcherMetrics;
+
+/**
+ * Statistics of the batches sent by the coalescing command dispatchers of a command dispatcher factory.
+ */
+public class CoalescingStatistics implements CommandDispatcherMetrics {
+
+    private final AtomicLong rpcCount = new AtomicLong();
+    private final AtomicLong commandCount = new AtomicLong();
+    private final AtomicInteger largestBatchSize = new AtomicInteger();
+
+    /**
+     * Records the dispatch of a batch.
+     * @param size the number of commands of the batch
+     */
+    void batchDispatched(int size) {
+        this.rpcCount.incrementAndGet();
+        this.commandCount.addAndGet(size);
+        int largest = this.largestBatchSize.get();
+        while ((size > largest) && !this.largestBatchSize.compareAndSet(largest, size)) {
+            largest = this.largestBatchSize.get();
+        }
+    }
+
+    @Override
+    public long getRpcCount() {
+        return this.rpcCount.get();
+    }
+
+    @Override
+    public long getCommandCount() {
+        return this.commandCount.get();
+    }
+
+    @Override
+    public int getLargestBatchSize() {
+        return this.largestBatchSize.get();
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+        long rpcs = this.rpcCount.get();
+        return (rpcs > 0) ? (double) this.commandCount.get() / rpcs : 0;
+    }
+}
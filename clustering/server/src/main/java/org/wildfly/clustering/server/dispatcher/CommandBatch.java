@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.wildfly.clustering.dispatcher.Command;
+
+/**
+ * A command that executes a sequence of coalesced commands against the same context.
+ * The result contains the result of each command, in order.
+ * Exceptions thrown by individual commands are captured as a {@link Failure}, so that they do not affect the other commands of the batch.
+ *
+ * @param <C> command execution context
+ */
+public class CommandBatch<C> implements Command<Object[], C> {
+    private static final long serialVersionUID = -5295781462207047475L;
+
+    private final List<Command<?, C>> commands;
+
+    public CommandBatch(List<Command<?, C>> commands) {
+        this.commands = commands;
+    }
+
+    public int size() {
+        return this.commands.size();
+    }
+
+    @Override
+    public Object[] execute(C context) {
+        Object[] results = new Object[this.commands.size()];
+        for (int i = 0; i < results.length; ++i) {
+            try {
+                results[i] = this.commands.get(i).execute(context);
+            } catch (Exception e) {
+                results[i] = new Failure(e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Captures the exception thrown by a batched command.
+     */
+    public static class Failure implements Serializable {
+        private static final long serialVersionUID = 6451282950358839826L;
+
+        private final Exception exception;
+
+        Failure(Exception exception) {
+            this.exception = exception;
+        }
+
+        public Exception getException() {
+            return this.exception;
+        }
+    }
+}
@@ -38,4 +38,16 @@ public interface CommandDispatcherFactoryConfiguration {
     NodeFactory<Address> getNodeFactory();
     ModuleLoader getModuleLoader();
     ModuleIdentifier getModuleIdentifier();
+
+    /**
+     * Returns the duration, in milliseconds, within which commands executed on the cluster are coalesced into a single multicast.
+     * @return a coalescing window, or 0, if commands should not be coalesced.
+     */
+    long getCoalescingWindow();
+
+    /**
+     * Returns the number of coalesced commands that triggers the immediate multicast of a batch.
+     * @return a maximum batch size
+     */
+    int getMaxBatchSize();
 }
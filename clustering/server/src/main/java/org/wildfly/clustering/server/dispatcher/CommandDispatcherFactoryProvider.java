@@ -21,12 +21,15 @@
  */
 package org.wildfly.clustering.server.dispatcher;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.Arrays;
 import java.util.Collection;
 
 import org.jboss.as.clustering.infinispan.subsystem.GlobalComponentRegistryService;
 import org.jboss.as.clustering.jgroups.subsystem.ChannelService;
 import org.jboss.as.clustering.jgroups.subsystem.ChannelServiceProvider;
+import org.jboss.as.clustering.jgroups.subsystem.CommandDispatcherMetrics;
 import org.jboss.as.clustering.msc.AsynchronousService;
 import org.jboss.as.clustering.naming.JndiNameFactory;
 import org.jboss.as.naming.ManagedReferenceInjector;
@@ -58,8 +61,12 @@ import org.wildfly.clustering.server.group.ChannelNodeFactoryProvider;
 public class CommandDispatcherFactoryProvider implements ChannelServiceProvider {
     private static final Logger logger = Logger.getLogger(ChannelServiceProvider.class);
 
+    static final String COALESCING_WINDOW = "jboss.clustering.dispatcher.coalescing-window";
+    static final String MAX_BATCH_SIZE = "jboss.clustering.dispatcher.max-batch-size";
+    private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
     public static ServiceName getServiceName(String cluster) {
-        return ServiceName.JBOSS.append("clustering", "dispatcher").append(cluster);
+        return CommandDispatcherMetrics.BASE_SERVICE_NAME.append(cluster);
     }
 
     private static ContextNames.BindInfo createBinding(String cluster) {
@@ -108,9 +115,23 @@ public class CommandDispatcherFactoryProvider implements ChannelServiceProvider
         private final InjectedValue<ModuleLoader> loader = new InjectedValue<>();
 
         private final ModuleIdentifier identifier;
+        private final long coalescingWindow;
+        private final int maxBatchSize;
 
         CommandDispatcherFactoryConfig(ModuleIdentifier identifier) {
             this.identifier = identifier;
+            this.coalescingWindow = Long.parseLong(getSystemProperty(COALESCING_WINDOW, "0"));
+            this.maxBatchSize = Integer.parseInt(getSystemProperty(MAX_BATCH_SIZE, Integer.toString(DEFAULT_MAX_BATCH_SIZE)));
+        }
+
+        private static String getSystemProperty(final String name, final String defaultValue) {
+            PrivilegedAction<String> action = new PrivilegedAction<String>() {
+                @Override
+                public String run() {
+                    return System.getProperty(name, defaultValue);
+                }
+            };
+            return AccessController.doPrivileged(action);
         }
 
         @Override
@@ -138,6 +159,16 @@ public class CommandDispatcherFactoryProvider implements ChannelServiceProvider
             return this.identifier;
         }
 
+        @Override
+        public long getCoalescingWindow() {
+            return this.coalescingWindow;
+        }
+
+        @Override
+        public int getMaxBatchSize() {
+            return this.maxBatchSize;
+        }
+
         Injector<Channel> getChannelInjector() {
             return this.channel;
         }
@@ -31,6 +31,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.jboss.as.clustering.jgroups.subsystem.CommandDispatcherMetrics;
 import org.jboss.as.clustering.marshalling.DynamicClassTable;
 import org.jboss.as.clustering.marshalling.MarshallingConfigurationFactory;
 import org.jboss.as.clustering.marshalling.MarshallingContext;
@@ -65,9 +66,10 @@ import org.wildfly.clustering.group.NodeFactory;
 /**
  * Service providing a CommandDispatcherFactory.
  * Multiple command dispatchers share a single {@link MessageDispatcher}.
+ * The service value also provides the statistics of the coalescing command dispatchers, if command coalescing is enabled.
  * @author Paul Ferraro
  */
-public class CommandDispatcherFactoryService implements CommandDispatcherFactory, RequestHandler, Service<CommandDispatcherFactory>, VersionedMarshallingConfiguration {
+public class CommandDispatcherFactoryService implements CommandDispatcherFactory, RequestHandler, Service<CommandDispatcherFactory>, VersionedMarshallingConfiguration, CommandDispatcherMetrics {
 
     private static final short SCOPE_ID = 222;
     private static final int CURRENT_VERSION = 1;
@@ -76,6 +78,7 @@ public class CommandDispatcherFactoryService implements CommandDispatcherFactory
 
     private final Map<Integer, MarshallingConfiguration> configurations = new HashMap<>();
     private final CommandDispatcherFactoryConfiguration config;
+    private final CoalescingStatistics statistics = new CoalescingStatistics();
 
     volatile MarshallingContext marshallingContext;
     volatile NodeFactory<Address> factory = null;
@@ -157,12 +160,34 @@ public class CommandDispatcherFactoryService implements CommandDispatcherFactory
             }
         };
         this.contexts.put(id, new AtomicReference<Object>(context));
-        return new ServiceCommandDispatcher<C>(this.dispatcher, marshaller, this.factory, this.timeout) {
+        CommandDispatcher<C> dispatcher = new ServiceCommandDispatcher<C>(this.dispatcher, marshaller, this.factory, this.timeout) {
             @Override
             public void close() {
                 CommandDispatcherFactoryService.this.contexts.remove(id);
             }
         };
+        long window = this.config.getCoalescingWindow();
+        return (window > 0) ? new CoalescingCommandDispatcher<>(dispatcher, window, this.config.getMaxBatchSize(), this.statistics) : dispatcher;
+    }
+
+    @Override
+    public long getRpcCount() {
+        return this.statistics.getRpcCount();
+    }
+
+    @Override
+    public long getCommandCount() {
+        return this.statistics.getCommandCount();
+    }
+
+    @Override
+    public int getLargestBatchSize() {
+        return this.statistics.getLargestBatchSize();
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+        return this.statistics.getAverageBatchSize();
     }
 
     @Override
@@ -0,0 +1,277 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.blocks.MessageDispatcher;
+import org.jgroups.blocks.RequestHandler;
+import org.jgroups.protocols.PING;
+import org.jgroups.protocols.SHARED_LOOPBACK;
+import org.jgroups.protocols.UNICAST3;
+import org.jgroups.protocols.pbcast.GMS;
+import org.jgroups.protocols.pbcast.NAKACK2;
+import org.jgroups.protocols.pbcast.STABLE;
+import org.jgroups.util.Util;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandResponse;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.group.NodeFactory;
+import org.wildfly.clustering.server.group.AddressableNode;
+
+/**
+ * Runs the {@link CoalescingCommandDispatcher} against a cluster of two channels within this JVM, connected by a shared loopback transport.
+ */
+public class CoalescingCommandDispatcherTestCase {
+
+    private static final String CLUSTER = "coalescing";
+    private static final int CALLERS = 16;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final List<JChannel> channels = new ArrayList<>();
+    private final List<MessageDispatcher> dispatchers = new ArrayList<>();
+
+    @Before
+    public void connect() throws Exception {
+        for (String name : new String[] { "node1", "node2" }) {
+            JChannel channel = new JChannel(new SHARED_LOOPBACK(), new PING().setValue("timeout", 500), new NAKACK2(), new UNICAST3(), new STABLE(), new GMS().setValue("join_timeout", 1000));
+            channel.setName(name);
+            this.dispatchers.add(new MessageDispatcher(channel, null, null, new ContextRequestHandler(name)));
+            channel.connect(CLUSTER);
+            this.channels.add(channel);
+        }
+        Util.waitUntilAllChannelsHaveSameSize(10000, 100, this.channels.toArray(new JChannel[this.channels.size()]));
+    }
+
+    @After
+    public void disconnect() {
+        this.executor.shutdownNow();
+        for (MessageDispatcher dispatcher : this.dispatchers) {
+            dispatcher.stop();
+        }
+        for (JChannel channel : this.channels) {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void coalesce() throws Exception {
+        CoalescingStatistics statistics = new CoalescingStatistics();
+        final CommandDispatcher<String> dispatcher = new CoalescingCommandDispatcher<>(this.createDispatcher(this.dispatchers.get(0)), 500, 64, statistics);
+        final CyclicBarrier barrier = new CyclicBarrier(CALLERS);
+        List<Future<Map<Node, CommandResponse<String>>>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; ++i) {
+            final int value = i;
+            futures.add(this.executor.submit(new Callable<Map<Node, CommandResponse<String>>>() {
+                @Override
+                public Map<Node, CommandResponse<String>> call() throws Exception {
+                    barrier.await();
+                    return dispatcher.executeOnCluster(new EchoCommand(value));
+                }
+            }));
+        }
+        for (int i = 0; i < CALLERS; ++i) {
+            Map<Node, CommandResponse<String>> responses = futures.get(i).get(30, TimeUnit.SECONDS);
+            assertEquals(2, responses.size());
+            List<String> results = new ArrayList<>();
+            for (Map.Entry<Node, CommandResponse<String>> entry : responses.entrySet()) {
+                String result = entry.getValue().get();
+                assertEquals(entry.getKey().getName() + ":" + i, result);
+                results.add(result);
+            }
+            assertTrue(results.contains("node1:" + i));
+            assertTrue(results.contains("node2:" + i));
+        }
+        assertEquals(CALLERS, statistics.getCommandCount());
+        assertTrue(statistics.getRpcCount() < CALLERS);
+        assertTrue(statistics.getLargestBatchSize() > 1);
+    }
+
+    @Test
+    public void dispatchFullBatch() throws Exception {
+        CoalescingStatistics statistics = new CoalescingStatistics();
+        long window = TimeUnit.MINUTES.toMillis(1);
+        final CommandDispatcher<String> dispatcher = new CoalescingCommandDispatcher<>(this.createDispatcher(this.dispatchers.get(0)), window, 2, statistics);
+        List<Future<Map<Node, CommandResponse<String>>>> futures = new ArrayList<>();
+        for (int i = 0; i < 2; ++i) {
+            final int value = i;
+            futures.add(this.executor.submit(new Callable<Map<Node, CommandResponse<String>>>() {
+                @Override
+                public Map<Node, CommandResponse<String>> call() {
+                    return dispatcher.executeOnCluster(new EchoCommand(value));
+                }
+            }));
+        }
+        // A full batch is dispatched without waiting for the window to elapse
+        for (int i = 0; i < 2; ++i) {
+            assertEquals(2, futures.get(i).get(30, TimeUnit.SECONDS).size());
+        }
+        assertEquals(1, statistics.getRpcCount());
+        assertEquals(2, statistics.getLargestBatchSize());
+    }
+
+    @Test
+    public void commandFailure() throws Exception {
+        CommandDispatcher<String> dispatcher = new CoalescingCommandDispatcher<>(this.createDispatcher(this.dispatchers.get(0)), 10, 64, new CoalescingStatistics());
+        Map<Node, CommandResponse<Integer>> responses = dispatcher.executeOnCluster(new FailingCommand());
+        assertEquals(2, responses.size());
+        for (CommandResponse<Integer> response : responses.values()) {
+            try {
+                response.get();
+                fail("Expected an ExecutionException");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    @Test
+    public void dispatchFailure() throws Exception {
+        final IllegalStateException failure = new IllegalStateException();
+        CommandDispatcher<String> failing = new ServiceCommandDispatcher<String>(this.dispatchers.get(0), null, null, 0) {
+            @Override
+            public <R> Map<Node, CommandResponse<R>> executeOnCluster(Command<R, String> command, Node... excludedNodes) {
+                throw failure;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final CommandDispatcher<String> dispatcher = new CoalescingCommandDispatcher<>(failing, 500, 64, new CoalescingStatistics());
+        final CyclicBarrier barrier = new CyclicBarrier(CALLERS);
+        List<Future<Map<Node, CommandResponse<String>>>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; ++i) {
+            final int value = i;
+            futures.add(this.executor.submit(new Callable<Map<Node, CommandResponse<String>>>() {
+                @Override
+                public Map<Node, CommandResponse<String>> call() throws Exception {
+                    barrier.await();
+                    return dispatcher.executeOnCluster(new EchoCommand(value));
+                }
+            }));
+        }
+        // Every caller of the batch observes the failure of its dispatch
+        for (Future<Map<Node, CommandResponse<String>>> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                fail("Expected the dispatch failure");
+            } catch (ExecutionException e) {
+                assertSame(failure, e.getCause());
+            }
+        }
+    }
+
+    private CommandDispatcher<String> createDispatcher(MessageDispatcher dispatcher) {
+        CommandMarshaller<String> marshaller = new CommandMarshaller<String>() {
+            @Override
+            public <R> byte[] marshal(Command<R, String> command) throws IOException {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(output)) {
+                    out.writeObject(command);
+                }
+                return output.toByteArray();
+            }
+        };
+        NodeFactory<Address> factory = new NodeFactory<Address>() {
+            @Override
+            public Node createNode(Address address) {
+                return new AddressableNode(address, address.toString(), null);
+            }
+        };
+        return new ServiceCommandDispatcher<String>(dispatcher, marshaller, factory, TimeUnit.SECONDS.toMillis(30)) {
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * Executes the received commands against the name of the node.
+     */
+    private static class ContextRequestHandler implements RequestHandler {
+        private final String context;
+
+        ContextRequestHandler(String context) {
+            this.context = context;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object handle(Message message) throws Exception {
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(message.getRawBuffer(), message.getOffset(), message.getLength()))) {
+                Command<Object, String> command = (Command<Object, String>) input.readObject();
+                return command.execute(this.context);
+            }
+        }
+    }
+
+    private static class EchoCommand implements Command<String, String> {
+        private static final long serialVersionUID = 4578357412093571396L;
+
+        private final int value;
+
+        EchoCommand(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public String execute(String context) {
+            return context + ":" + this.value;
+        }
+    }
+
+    private static class FailingCommand implements Command<Integer, String> {
+        private static final long serialVersionUID = -1226405213453452934L;
+
+        @Override
+        public Integer execute(String context) {
+            throw new IllegalStateException(context);
+        }
+    }
+}
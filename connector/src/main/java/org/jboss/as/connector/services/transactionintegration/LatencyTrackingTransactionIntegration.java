@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.services.transactionintegration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.transaction.xa.XAResource;
+
+import org.jboss.as.txn.service.TransactionLatencyStatistics;
+import org.jboss.jca.core.spi.transaction.TransactionIntegration;
+
+/**
+ * Transaction integration which passes the XA resource wrappers it creates through
+ * {@link TransactionLatencyStatistics#wrap(XAResource)}, so that the prepare, commit and rollback calls of every
+ * resource adapter and data source enlisted in a transaction are timed.
+ */
+final class LatencyTrackingTransactionIntegration implements InvocationHandler {
+
+    private final TransactionIntegration delegate;
+    private final TransactionLatencyStatistics statistics;
+
+    private LatencyTrackingTransactionIntegration(final TransactionIntegration delegate, final TransactionLatencyStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    static TransactionIntegration create(final TransactionIntegration delegate, final TransactionLatencyStatistics statistics) {
+        return (TransactionIntegration) Proxy.newProxyInstance(TransactionIntegration.class.getClassLoader(),
+                new Class<?>[] {TransactionIntegration.class}, new LatencyTrackingTransactionIntegration(delegate, statistics));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final Object result;
+        try {
+            result = method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        // createXAResourceWrapper and createConnectableXAResourceWrapper
+        if (result instanceof XAResource && method.getName().endsWith("XAResourceWrapper")) {
+            return statistics.wrap((XAResource) result);
+        }
+        return result;
+    }
+}
@@ -28,6 +28,7 @@ import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 
 import org.jboss.as.connector.util.ConnectorServices;
+import org.jboss.as.txn.service.TransactionLatencyStatistics;
 import org.jboss.jca.core.spi.transaction.TransactionIntegration;
 import org.jboss.jca.core.tx.jbossts.TransactionIntegrationImpl;
 import org.jboss.msc.inject.Injector;
@@ -58,6 +59,8 @@ public final class TransactionIntegrationService implements Service<TransactionI
 
     private final InjectedValue<XAResourceRecoveryRegistry> rr = new InjectedValue<XAResourceRecoveryRegistry>();
 
+    private final InjectedValue<TransactionLatencyStatistics> latencyStatistics = new InjectedValue<TransactionLatencyStatistics>();
+
     /** create an instance **/
     public TransactionIntegrationService() {
         super();
@@ -70,8 +73,11 @@ public final class TransactionIntegrationService implements Service<TransactionI
 
     @Override
     public void start(StartContext context) throws StartException {
-        this.value = new TransactionIntegrationImpl(tm.getValue(), tsr.getValue(), utr.getValue(), terminator.getValue(),
+        final TransactionIntegration integration = new TransactionIntegrationImpl(tm.getValue(), tsr.getValue(), utr.getValue(), terminator.getValue(),
                 rr.getValue());
+        // the transaction manager has started, so the latency statistics are enabled if it records them
+        final TransactionLatencyStatistics statistics = latencyStatistics.getValue();
+        this.value = statistics.isEnabled() ? LatencyTrackingTransactionIntegration.create(integration, statistics) : integration;
         ROOT_LOGGER.debugf("Starting JCA TransactionIntegrationService");
     }
 
@@ -100,4 +106,8 @@ public final class TransactionIntegrationService implements Service<TransactionI
         return rr;
     }
 
+    public Injector<TransactionLatencyStatistics> getLatencyStatisticsInjector() {
+        return latencyStatistics;
+    }
+
 }
@@ -38,7 +38,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 
 import javax.naming.Reference;
+import javax.resource.ResourceException;
+import javax.resource.spi.ConnectionRequestInfo;
+import javax.resource.spi.ManagedConnection;
 import javax.resource.spi.ManagedConnectionFactory;
+import javax.security.auth.Subject;
 import javax.sql.DataSource;
 
 import org.jboss.as.connector.services.driver.InstalledDriver;
@@ -106,6 +110,8 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
 
     protected CommonDeployment deploymentMD;
     private javax.sql.DataSource sqlDataSource;
+    private PoolLatencyStatistics poolLatencyStatistics;
+    private volatile boolean poolLatencyStatisticsEnabled;
 
     /**
      * The class loader to use. If null the Driver class loader will be used instead.
@@ -121,6 +127,10 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         try {
             final ServiceContainer container = startContext.getController().getServiceContainer();
 
+            // the managed connection factory created by the deployer picks the statistics up
+            if (poolLatencyStatisticsEnabled) {
+                poolLatencyStatistics = new PoolLatencyStatistics();
+            }
             deploymentMD = getDeployer().deploy(container);
             if (deploymentMD.getCfs().length != 1) {
                 throw MESSAGES.cannotStartDs();
@@ -176,6 +186,7 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         }
 
         sqlDataSource = null;
+        poolLatencyStatistics = null;
 
     }
 
@@ -183,6 +194,28 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
         return deploymentMD;
     }
 
+    /**
+     * Returns the high resolution pool statistics of this data source.
+     *
+     * @return the statistics, or {@code null} if they are not enabled
+     */
+    public PoolLatencyStatistics getPoolLatencyStatistics() {
+        return poolLatencyStatistics;
+    }
+
+    public boolean isPoolLatencyStatisticsEnabled() {
+        return poolLatencyStatisticsEnabled;
+    }
+
+    /**
+     * Sets whether the high resolution pool statistics are recorded, from the next start of this data source.
+     *
+     * @param poolLatencyStatisticsEnabled {@code true} to record the statistics
+     */
+    public void setPoolLatencyStatisticsEnabled(final boolean poolLatencyStatisticsEnabled) {
+        this.poolLatencyStatisticsEnabled = poolLatencyStatisticsEnabled;
+    }
+
     public synchronized DataSource getValue() throws IllegalStateException, IllegalArgumentException {
         return sqlDataSource;
     }
@@ -617,7 +650,16 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
             super.setTransactionSynchronizationRegistry(tsr);
         }
 
+        @Override
+        public Object createConnectionFactory(javax.resource.spi.ConnectionManager cm) throws ResourceException {
+            final PoolLatencyStatistics statistics = poolLatencyStatistics;
+            return statistics != null ? new PoolLatencyDataSource(this, cm, statistics) : super.createConnectionFactory(cm);
+        }
 
+        @Override
+        public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo cri) throws ResourceException {
+            return PoolLatencyDataSource.register(super.createManagedConnection(subject, cri), poolLatencyStatistics);
+        }
     }
 
     private class WildFlyLocalMCF extends LocalManagedConnectionFactory {
@@ -629,6 +671,15 @@ public abstract class AbstractDataSourceService implements Service<DataSource> {
             super.setTransactionSynchronizationRegistry(tsr);
         }
 
+        @Override
+        public Object createConnectionFactory(javax.resource.spi.ConnectionManager cm) throws ResourceException {
+            final PoolLatencyStatistics statistics = poolLatencyStatistics;
+            return statistics != null ? new PoolLatencyDataSource(this, cm, statistics) : super.createConnectionFactory(cm);
+        }
 
+        @Override
+        public ManagedConnection createManagedConnection(Subject subject, ConnectionRequestInfo cri) throws ResourceException {
+            return PoolLatencyDataSource.register(super.createManagedConnection(subject, cri), poolLatencyStatistics);
+        }
     }
 }
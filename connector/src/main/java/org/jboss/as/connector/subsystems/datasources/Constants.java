@@ -162,6 +162,8 @@ public class Constants {
 
     private static final String USE_CCM_NAME = "use-ccm";
 
+    private static final String POOL_LATENCY_STATISTICS_ENABLED_NAME = "pool-latency-statistics-enabled";
+
     private static final String STALECONNECTIONCHECKERCLASSNAME_NAME = "stale-connection-checker-class-name";
 
     private static final String EXCEPTIONSORTERCLASSNAME_NAME = "exception-sorter-class-name";
@@ -387,6 +389,12 @@ public class Constants {
 
     static SimpleAttributeDefinition USE_CCM = new SimpleAttributeDefinition(USE_CCM_NAME, DataSource.Attribute.USE_CCM.getLocalName(), new ModelNode().set(Defaults.USE_CCM), ModelType.BOOLEAN, true, true, MeasurementUnit.NONE);
 
+    static SimpleAttributeDefinition POOL_LATENCY_STATISTICS_ENABLED = new SimpleAttributeDefinitionBuilder(POOL_LATENCY_STATISTICS_ENABLED_NAME, ModelType.BOOLEAN)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(false))
+            .setAllowNull(true)
+            .build();
+
     static SimpleAttributeDefinition XA_DATASOURCE_CLASS = new SimpleAttributeDefinition(XADATASOURCECLASS_NAME, XaDataSource.Tag.XA_DATASOURCE_CLASS.getLocalName(), new ModelNode(), ModelType.STRING, true, true, MeasurementUnit.NONE);
 
     static SimpleAttributeDefinition INTERLEAVING = new SimpleAttributeDefinition(INTERLEAVING_NAME, CommonXaPool.Tag.INTERLEAVING.getLocalName(), new ModelNode().set(Defaults.INTERLEAVING), ModelType.BOOLEAN, true, true, MeasurementUnit.NONE);
@@ -442,7 +450,7 @@ public class Constants {
             org.jboss.as.connector.subsystems.common.pool.Constants.BACKGROUNDVALIDATION,
             org.jboss.as.connector.subsystems.common.pool.Constants.USE_FAST_FAIL,
             VALIDATE_ON_MATCH, SPY,
-            USE_CCM, ENABLED};
+            USE_CCM, ENABLED, POOL_LATENCY_STATISTICS_ENABLED};
 
     static final PropertiesAttributeDefinition[] DATASOURCE_PROPERTIES_ATTRIBUTES = new PropertiesAttributeDefinition[]{
             REAUTHPLUGIN_PROPERTIES,
@@ -511,7 +519,7 @@ public class Constants {
             org.jboss.as.connector.subsystems.common.pool.Constants.BACKGROUNDVALIDATION,
             org.jboss.as.connector.subsystems.common.pool.Constants.USE_FAST_FAIL,
             VALIDATE_ON_MATCH, XA_RESOURCE_TIMEOUT,
-            SPY, USE_CCM, ENABLED,
+            SPY, USE_CCM, ENABLED, POOL_LATENCY_STATISTICS_ENABLED,
             RECOVERY_USERNAME, RECOVERY_PASSWORD,
             RECOVERY_SECURITY_DOMAIN, RECOVER_PLUGIN_CLASSNAME,
             NO_RECOVERY, URL_PROPERTY};
@@ -620,6 +628,26 @@ public class Constants {
     static final SimpleOperationDefinition CLEAR_STATISTICS = new SimpleOperationDefinitionBuilder("clear-statistics", DataSourcesExtension.getResourceDescriptionResolver())
             .build();
 
+    static final SimpleAttributeDefinition LEAK_SUSPECT_THRESHOLD = new SimpleAttributeDefinitionBuilder("threshold", ModelType.LONG)
+            .setAllowNull(true)
+            .setDefaultValue(new ModelNode(PoolLatencyStatistics.DEFAULT_LEAK_SUSPECT_THRESHOLD))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+    static final SimpleOperationDefinition LIST_LEAK_SUSPECTS = new SimpleOperationDefinitionBuilder("list-leak-suspects", DataSourcesExtension.getResourceDescriptionResolver("statistics"))
+            .setParameters(LEAK_SUSPECT_THRESHOLD)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+    static final SimpleAttributeDefinition CAPTURE_ALLOCATION_STACKS_ENABLED = new SimpleAttributeDefinitionBuilder(ENABLED_NAME, ModelType.BOOLEAN)
+            .setAllowNull(false)
+            .build();
+    static final SimpleOperationDefinition CAPTURE_ALLOCATION_STACKS = new SimpleOperationDefinitionBuilder("capture-allocation-stacks", DataSourcesExtension.getResourceDescriptionResolver("statistics"))
+            .setParameters(CAPTURE_ALLOCATION_STACKS_ENABLED)
+            .setRuntimeOnly()
+            .build();
+
     static final OperationTransformer ENABLE_TRANSFORMER = new OperationTransformer() {
         @Override
         public TransformedOperation transformOperation(TransformationContext context, PathAddress address, ModelNode operation) throws OperationFailedException {
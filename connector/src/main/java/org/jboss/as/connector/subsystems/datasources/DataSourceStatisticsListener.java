@@ -64,6 +64,7 @@ public class DataSourceStatisticsListener extends AbstractServiceListener<Object
 
                 StatisticsPlugin jdbcStats = deploymentMD.getDataSources()[0].getStatistics();
                 StatisticsPlugin poolStats = deploymentMD.getDataSources()[0].getPool().getStatistics();
+                PoolLatencyStatistics latencyStats = ((AbstractDataSourceService) controller.getService()).getPoolLatencyStatistics();
                 int jdbcStatsSize = jdbcStats.getNames().size();
                 int poolStatsSize = poolStats.getNames().size();
                 if (jdbcStatsSize > 0 || poolStatsSize > 0) {
@@ -81,12 +82,20 @@ public class DataSourceStatisticsListener extends AbstractServiceListener<Object
                         }
 
                         if (poolStatsSize > 0) {
-                            ManagementResourceRegistration poolRegistration = overrideRegistration.registerSubModel(POOL_STATISTICS, new StatisticsDescriptionProvider(DataSourcesSubsystemProviders.RESOURCE_NAME, "statistics", poolStats));
+                            StatisticsPlugin[] plugins = latencyStats != null ? new StatisticsPlugin[] {poolStats, latencyStats} : new StatisticsPlugin[] {poolStats};
+                            ManagementResourceRegistration poolRegistration = overrideRegistration.registerSubModel(POOL_STATISTICS, new StatisticsDescriptionProvider(DataSourcesSubsystemProviders.RESOURCE_NAME, "statistics", plugins));
                             poolRegistration.setRuntimeOnly(true);
-                            poolRegistration.registerOperationHandler(Constants.CLEAR_STATISTICS, new ClearStatisticsHandler(poolStats));
+                            poolRegistration.registerOperationHandler(Constants.CLEAR_STATISTICS, new ClearStatisticsHandler(plugins));
 
-                            for (String statName : poolStats.getNames()) {
-                                poolRegistration.registerMetric(statName, new PoolMetrics.ParametrizedPoolMetricsHandler(poolStats));
+                            for (StatisticsPlugin plugin : plugins) {
+                                for (String statName : plugin.getNames()) {
+                                    poolRegistration.registerMetric(statName, new PoolMetrics.ParametrizedPoolMetricsHandler(plugin));
+                                }
+                            }
+
+                            if (latencyStats != null) {
+                                poolRegistration.registerOperationHandler(Constants.LIST_LEAK_SUSPECTS, new PoolLatencyStatisticsHandlers.ListLeakSuspectsHandler(latencyStats));
+                                poolRegistration.registerOperationHandler(Constants.CAPTURE_ALLOCATION_STACKS, new PoolLatencyStatisticsHandlers.CaptureAllocationStacksHandler(latencyStats));
                             }
 
                             resource.registerChild(POOL_STATISTICS, new PlaceholderResource.PlaceholderResourceEntry(JDBC_STATISTICS));
@@ -71,6 +71,7 @@ import static org.jboss.as.connector.subsystems.datasources.Constants.NO_TX_SEPA
 import static org.jboss.as.connector.subsystems.datasources.Constants.PAD_XID;
 import static org.jboss.as.connector.subsystems.datasources.Constants.PASSWORD;
 import static org.jboss.as.connector.subsystems.datasources.Constants.POOLNAME_NAME;
+import static org.jboss.as.connector.subsystems.datasources.Constants.POOL_LATENCY_STATISTICS_ENABLED;
 import static org.jboss.as.connector.subsystems.datasources.Constants.PREPARED_STATEMENTS_CACHE_SIZE;
 import static org.jboss.as.connector.subsystems.datasources.Constants.QUERY_TIMEOUT;
 import static org.jboss.as.connector.subsystems.datasources.Constants.REAUTHPLUGIN_PROPERTIES;
@@ -369,6 +370,11 @@ public class DsParser extends AbstractParser {
             }
         }
 
+        final String poolLatencyStatisticsEnabled = rawAttributeText(reader, POOL_LATENCY_STATISTICS_ENABLED.getXmlName());
+        if (poolLatencyStatisticsEnabled != null) {
+            POOL_LATENCY_STATISTICS_ENABLED.parseAndSetParameter(poolLatencyStatisticsEnabled, operation, reader);
+        }
+
         final ModelNode dsAddress = parentAddress.clone();
         dsAddress.add(XA_DATASOURCE, poolName);
         dsAddress.protect();
@@ -591,6 +597,11 @@ public class DsParser extends AbstractParser {
             }
         }
 
+        final String poolLatencyStatisticsEnabled = rawAttributeText(reader, POOL_LATENCY_STATISTICS_ENABLED.getXmlName());
+        if (poolLatencyStatisticsEnabled != null) {
+            POOL_LATENCY_STATISTICS_ENABLED.parseAndSetParameter(poolLatencyStatisticsEnabled, operation, reader);
+        }
+
         final ModelNode dsAddress = parentAddress.clone();
         dsAddress.add(DATA_SOURCE, poolName);
         dsAddress.protect();
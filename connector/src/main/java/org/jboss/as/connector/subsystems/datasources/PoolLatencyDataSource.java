@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.resource.spi.ConnectionEvent;
+import javax.resource.spi.ConnectionEventListener;
+import javax.resource.spi.ConnectionManager;
+import javax.resource.spi.ManagedConnection;
+
+import org.jboss.jca.adapters.jdbc.BaseWrapperManagedConnectionFactory;
+import org.jboss.jca.adapters.jdbc.WrapperDataSource;
+
+/**
+ * The {@link WrapperDataSource} of a pool with high resolution statistics, recording the time spent obtaining
+ * connections into a {@link PoolLatencyStatistics}. It is created by the managed connection factory in place of
+ * the plain {@link WrapperDataSource}, so the data source bound in JNDI keeps the IronJacamar type, and the
+ * connections handed out are the usual wrapped connections.
+ * <p/>
+ * The release of a connection is not seen here but by the {@link ReleaseListener} of its managed connection, which is
+ * notified whenever a connection handle is closed, be it by the application or by the cached connection manager.
+ */
+public class PoolLatencyDataSource extends WrapperDataSource {
+
+    private static final long serialVersionUID = -3218462081932624372L;
+
+    private final transient PoolLatencyStatistics statistics;
+
+    PoolLatencyDataSource(final BaseWrapperManagedConnectionFactory mcf, final ConnectionManager cm, final PoolLatencyStatistics statistics) {
+        super(mcf, cm);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (statistics == null || !statistics.isEnabled()) {
+            return super.getConnection();
+        }
+        final long start = System.nanoTime();
+        final Connection connection = super.getConnection();
+        statistics.connectionAcquired(connection, System.nanoTime() - start);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(final String user, final String password) throws SQLException {
+        if (statistics == null || !statistics.isEnabled()) {
+            return super.getConnection(user, password);
+        }
+        final long start = System.nanoTime();
+        final Connection connection = super.getConnection(user, password);
+        statistics.connectionAcquired(connection, System.nanoTime() - start);
+        return connection;
+    }
+
+    /**
+     * Registers the {@link ReleaseListener} of the statistics with a newly created managed connection.
+     */
+    static ManagedConnection register(final ManagedConnection mc, final PoolLatencyStatistics statistics) {
+        if (statistics != null) {
+            mc.addConnectionEventListener(new ReleaseListener(statistics));
+        }
+        return mc;
+    }
+
+    /**
+     * Records the release of the connection handles of a managed connection.
+     */
+    static class ReleaseListener implements ConnectionEventListener {
+
+        private final PoolLatencyStatistics statistics;
+
+        ReleaseListener(final PoolLatencyStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void connectionClosed(ConnectionEvent event) {
+            if (event.getConnectionHandle() != null) {
+                statistics.connectionReleased(event.getConnectionHandle());
+            }
+        }
+
+        @Override
+        public void connectionErrorOccurred(ConnectionEvent event) {
+            if (event.getConnectionHandle() != null) {
+                statistics.connectionReleased(event.getConnectionHandle());
+            }
+        }
+
+        @Override
+        public void localTransactionStarted(ConnectionEvent event) {
+        }
+
+        @Override
+        public void localTransactionCommitted(ConnectionEvent event) {
+        }
+
+        @Override
+        public void localTransactionRolledback(ConnectionEvent event) {
+        }
+    }
+
+}
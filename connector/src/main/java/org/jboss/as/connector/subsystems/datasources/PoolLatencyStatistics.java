@@ -0,0 +1,353 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.jca.core.spi.statistics.StatisticsPlugin;
+
+/**
+ * High resolution statistics of a data source pool, recorded by {@link PoolLatencyDataSource}:
+ * connection acquisition and hold time histograms, a per second history of the number of connections in use,
+ * and the set of connections currently held by the application, used to report leak suspects.
+ * <p/>
+ * Held connections are tracked by the identity of their handle, with weak keys, in a concurrent map so that
+ * acquiring and releasing connections does not contend on a lock. A handle closed by the application or by the
+ * cached connection manager is released through the close event of its managed connection. A handle that is never closed
+ * and no longer referenced, e.g. because its managed connection was destroyed by the pool, is dropped once it has
+ * been garbage collected, without recording a hold time.
+ */
+public class PoolLatencyStatistics implements StatisticsPlugin {
+
+    static final String ACQUISITION_COUNT = "AcquisitionCount";
+    static final String ACQUISITION_TIME_MEAN = "AcquisitionTimeMean";
+    static final String ACQUISITION_TIME_P50 = "AcquisitionTimeP50";
+    static final String ACQUISITION_TIME_P90 = "AcquisitionTimeP90";
+    static final String ACQUISITION_TIME_P99 = "AcquisitionTimeP99";
+    static final String ACQUISITION_TIME_MAX = "AcquisitionTimeMax";
+    static final String HOLD_TIME_MEAN = "HoldTimeMean";
+    static final String HOLD_TIME_P50 = "HoldTimeP50";
+    static final String HOLD_TIME_P90 = "HoldTimeP90";
+    static final String HOLD_TIME_P99 = "HoldTimeP99";
+    static final String HOLD_TIME_MAX = "HoldTimeMax";
+    static final String IN_USE_HISTORY = "InUseHistory";
+    static final String LEAK_SUSPECT_COUNT = "LeakSuspectCount";
+
+    /** Connections held longer than this are reported by the {@link #LEAK_SUSPECT_COUNT} statistic */
+    static final long DEFAULT_LEAK_SUSPECT_THRESHOLD = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int HISTORY_SECONDS = 60;
+
+    private static final Map<String, String> DESCRIPTIONS;
+    private static final Map<String, Class<?>> TYPES;
+
+    static {
+        Map<String, String> descriptions = new LinkedHashMap<String, String>();
+        descriptions.put(ACQUISITION_COUNT, "The number of connections obtained from the pool");
+        descriptions.put(ACQUISITION_TIME_MEAN, "The mean time spent obtaining a connection (us)");
+        descriptions.put(ACQUISITION_TIME_P50, "The median time spent obtaining a connection (us)");
+        descriptions.put(ACQUISITION_TIME_P90, "The 90th percentile of the time spent obtaining a connection (us)");
+        descriptions.put(ACQUISITION_TIME_P99, "The 99th percentile of the time spent obtaining a connection (us)");
+        descriptions.put(ACQUISITION_TIME_MAX, "The maximum time spent obtaining a connection (us)");
+        descriptions.put(HOLD_TIME_MEAN, "The mean time a connection was held by the application (us)");
+        descriptions.put(HOLD_TIME_P50, "The median time a connection was held by the application (us)");
+        descriptions.put(HOLD_TIME_P90, "The 90th percentile of the time a connection was held by the application (us)");
+        descriptions.put(HOLD_TIME_P99, "The 99th percentile of the time a connection was held by the application (us)");
+        descriptions.put(HOLD_TIME_MAX, "The maximum time a connection was held by the application (us)");
+        descriptions.put(IN_USE_HISTORY, "The peak number of connections in use for each of the last " + HISTORY_SECONDS + " seconds, oldest first");
+        descriptions.put(LEAK_SUSPECT_COUNT, "The number of connections held by the application for more than " + DEFAULT_LEAK_SUSPECT_THRESHOLD + " ms");
+        DESCRIPTIONS = Collections.unmodifiableMap(descriptions);
+
+        Map<String, Class<?>> types = new LinkedHashMap<String, Class<?>>();
+        for (String name : descriptions.keySet()) {
+            types.put(name, long.class);
+        }
+        types.put(IN_USE_HISTORY, String.class);
+        types.put(LEAK_SUSPECT_COUNT, int.class);
+        TYPES = Collections.unmodifiableMap(types);
+    }
+
+    private final LatencyHistogram acquisition = new LatencyHistogram();
+    private final LatencyHistogram hold = new LatencyHistogram();
+    // Each slot packs the epoch second in the upper 32 bits and the peak in use count in the lower 32 bits
+    private final AtomicLongArray history = new AtomicLongArray(HISTORY_SECONDS);
+    private final ConcurrentMap<HandleReference, HeldConnection> held = new ConcurrentHashMap<HandleReference, HeldConnection>();
+    private final ReferenceQueue<Object> collectedHandles = new ReferenceQueue<Object>();
+
+    private volatile boolean enabled = true;
+    private volatile boolean captureAllocationStacks = false;
+
+    void connectionAcquired(Object connection, long acquisitionNanos) {
+        if (!enabled) {
+            return;
+        }
+        acquisition.record(acquisitionNanos);
+        Throwable stack = captureAllocationStacks ? new Throwable() : null;
+        expungeCollectedHandles();
+        held.put(new HandleReference(connection, collectedHandles),
+                new HeldConnection(System.nanoTime(), System.currentTimeMillis(), Thread.currentThread().getName(), stack));
+        recordInUse(held.size());
+    }
+
+    void connectionReleased(Object connection) {
+        HeldConnection connectionInfo = held.remove(new HandleReference(connection, null));
+        if (connectionInfo == null) {
+            // Acquired while disabled, or already released
+            return;
+        }
+        hold.record(System.nanoTime() - connectionInfo.acquired);
+        expungeCollectedHandles();
+        recordInUse(held.size());
+    }
+
+    /**
+     * Drops the connections whose handle was garbage collected without being closed.
+     */
+    private void expungeCollectedHandles() {
+        Reference<?> reference;
+        while ((reference = collectedHandles.poll()) != null) {
+            held.remove(reference);
+        }
+    }
+
+    private void recordInUse(int count) {
+        final long second = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        final int slot = (int) (second % HISTORY_SECONDS);
+        long current = history.get(slot);
+        while (true) {
+            long update;
+            if ((current >>> 32) != second) {
+                update = (second << 32) | count;
+            } else if ((current & 0xFFFFFFFFL) < count) {
+                update = (second << 32) | count;
+            } else {
+                return;
+            }
+            if (history.compareAndSet(slot, current, update)) {
+                return;
+            }
+            current = history.get(slot);
+        }
+    }
+
+    String getInUseHistory() {
+        final long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        final StringBuilder builder = new StringBuilder();
+        for (long second = now - HISTORY_SECONDS + 1; second <= now; second++) {
+            long value = history.get((int) (second % HISTORY_SECONDS));
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append((value >>> 32) == second ? (value & 0xFFFFFFFFL) : 0L);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the connections currently held by the application for longer than the given threshold.
+     *
+     * @param threshold the minimum hold time, in milliseconds
+     * @return the leak suspects, longest held first
+     */
+    List<HeldConnection> getLeakSuspects(long threshold) {
+        expungeCollectedHandles();
+        final long now = System.nanoTime();
+        final List<HeldConnection> suspects = new ArrayList<HeldConnection>();
+        for (HeldConnection connection : held.values()) {
+            if (TimeUnit.NANOSECONDS.toMillis(now - connection.acquired) >= threshold) {
+                suspects.add(connection);
+            }
+        }
+        Collections.sort(suspects);
+        return suspects;
+    }
+
+    boolean isCaptureAllocationStacks() {
+        return captureAllocationStacks;
+    }
+
+    void setCaptureAllocationStacks(boolean captureAllocationStacks) {
+        this.captureAllocationStacks = captureAllocationStacks;
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return DESCRIPTIONS.keySet();
+    }
+
+    @Override
+    public Class getType(String name) {
+        return TYPES.get(name);
+    }
+
+    @Override
+    public String getDescription(String name) {
+        return DESCRIPTIONS.get(name);
+    }
+
+    @Override
+    public String getDescription(String name, Locale locale) {
+        return DESCRIPTIONS.get(name);
+    }
+
+    @Override
+    public Object getValue(String name) {
+        switch (name) {
+            case ACQUISITION_COUNT:
+                return acquisition.getCount();
+            case ACQUISITION_TIME_MEAN:
+                return micros(acquisition.getAverage());
+            case ACQUISITION_TIME_P50:
+                return micros(acquisition.getPercentile(0.5));
+            case ACQUISITION_TIME_P90:
+                return micros(acquisition.getPercentile(0.9));
+            case ACQUISITION_TIME_P99:
+                return micros(acquisition.getPercentile(0.99));
+            case ACQUISITION_TIME_MAX:
+                return micros(acquisition.getMax());
+            case HOLD_TIME_MEAN:
+                return micros(hold.getAverage());
+            case HOLD_TIME_P50:
+                return micros(hold.getPercentile(0.5));
+            case HOLD_TIME_P90:
+                return micros(hold.getPercentile(0.9));
+            case HOLD_TIME_P99:
+                return micros(hold.getPercentile(0.99));
+            case HOLD_TIME_MAX:
+                return micros(hold.getMax());
+            case IN_USE_HISTORY:
+                return getInUseHistory();
+            case LEAK_SUSPECT_COUNT:
+                return getLeakSuspects(DEFAULT_LEAK_SUSPECT_THRESHOLD).size();
+            default:
+                return null;
+        }
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            held.clear();
+        }
+    }
+
+    @Override
+    public void clear() {
+        acquisition.reset();
+        hold.reset();
+        for (int i = 0; i < HISTORY_SECONDS; i++) {
+            history.set(i, 0L);
+        }
+    }
+
+    /**
+     * Weak reference to a connection handle, equal to the references to the same handle. A collected reference is
+     * only equal to itself, so it can still be removed once it has been enqueued.
+     */
+    private static final class HandleReference extends WeakReference<Object> {
+        private final int hashCode;
+
+        HandleReference(Object handle, ReferenceQueue<Object> queue) {
+            super(handle, queue);
+            this.hashCode = System.identityHashCode(handle);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof HandleReference)) {
+                return false;
+            }
+            final Object handle = get();
+            return handle != null && handle == ((HandleReference) other).get();
+        }
+    }
+
+    /**
+     * A connection currently held by the application.
+     */
+    static final class HeldConnection implements Comparable<HeldConnection> {
+        private final long acquired;
+        private final long acquiredTimestamp;
+        private final String threadName;
+        private final Throwable allocationStack;
+
+        HeldConnection(long acquired, long acquiredTimestamp, String threadName, Throwable allocationStack) {
+            this.acquired = acquired;
+            this.acquiredTimestamp = acquiredTimestamp;
+            this.threadName = threadName;
+            this.allocationStack = allocationStack;
+        }
+
+        long getHoldTime() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - acquired);
+        }
+
+        long getAcquiredTimestamp() {
+            return acquiredTimestamp;
+        }
+
+        String getThreadName() {
+            return threadName;
+        }
+
+        StackTraceElement[] getAllocationStack() {
+            return allocationStack != null ? allocationStack.getStackTrace() : null;
+        }
+
+        @Override
+        public int compareTo(HeldConnection other) {
+            return acquired < other.acquired ? -1 : (acquired == other.acquired ? 0 : 1);
+        }
+    }
+}
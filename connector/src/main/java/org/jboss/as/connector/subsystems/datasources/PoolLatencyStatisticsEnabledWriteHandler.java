@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import org.jboss.as.controller.AbstractWriteAttributeHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Write handler of the {@code pool-latency-statistics-enabled} attribute of a data source. The statistics are created
+ * when the data source starts, so a change to an enabled data source requires a reload, while a change to a disabled
+ * one is handed to its service and takes effect when it is enabled.
+ */
+class PoolLatencyStatisticsEnabledWriteHandler extends AbstractWriteAttributeHandler<Boolean> {
+
+    static final PoolLatencyStatisticsEnabledWriteHandler INSTANCE = new PoolLatencyStatisticsEnabledWriteHandler();
+
+    private PoolLatencyStatisticsEnabledWriteHandler() {
+        super(Constants.POOL_LATENCY_STATISTICS_ENABLED);
+    }
+
+    @Override
+    protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode resolvedValue,
+                                           ModelNode currentValue, HandbackHolder<Boolean> handbackHolder) {
+        final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        if (model.hasDefined(Constants.ENABLED.getName()) && model.get(Constants.ENABLED.getName()).asBoolean()) {
+            return true;
+        }
+        final AbstractDataSourceService service = getDataSourceService(context, model);
+        if (service != null) {
+            handbackHolder.setHandback(service.isPoolLatencyStatisticsEnabled());
+            service.setPoolLatencyStatisticsEnabled(resolvedValue.asBoolean());
+        }
+        return false;
+    }
+
+    @Override
+    protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode valueToRestore,
+                                         ModelNode valueToRevert, Boolean handback) {
+        if (handback != null) {
+            final AbstractDataSourceService service = getDataSourceService(context, context.readResource(PathAddress.EMPTY_ADDRESS).getModel());
+            if (service != null) {
+                service.setPoolLatencyStatisticsEnabled(handback);
+            }
+        }
+    }
+
+    private static AbstractDataSourceService getDataSourceService(final OperationContext context, final ModelNode model) {
+        final String jndiName = model.get(Constants.JNDI_NAME.getName()).asString();
+        final ServiceController<?> controller = context.getServiceRegistry(true).getService(AbstractDataSourceService.SERVICE_NAME_BASE.append(jndiName));
+        return controller != null ? (AbstractDataSourceService) controller.getService() : null;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.util.List;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Operation handlers for the high resolution statistics of a data source pool.
+ */
+public final class PoolLatencyStatisticsHandlers {
+
+    private PoolLatencyStatisticsHandlers() {
+    }
+
+    /**
+     * Lists the connections held by the application for longer than a threshold.
+     */
+    public static class ListLeakSuspectsHandler implements OperationStepHandler {
+
+        private final PoolLatencyStatistics stats;
+
+        public ListLeakSuspectsHandler(PoolLatencyStatistics stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final long threshold = Constants.LEAK_SUSPECT_THRESHOLD.resolveModelAttribute(context, operation).asLong();
+            if (context.isNormalServer()) {
+                context.addStep(new OperationStepHandler() {
+                    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                        final ModelNode result = context.getResult().setEmptyList();
+                        final List<PoolLatencyStatistics.HeldConnection> suspects = stats.getLeakSuspects(threshold);
+                        for (PoolLatencyStatistics.HeldConnection suspect : suspects) {
+                            final ModelNode entry = new ModelNode();
+                            entry.get("hold-time").set(suspect.getHoldTime());
+                            entry.get("acquired-timestamp").set(suspect.getAcquiredTimestamp());
+                            entry.get("thread").set(suspect.getThreadName());
+                            final StackTraceElement[] stack = suspect.getAllocationStack();
+                            if (stack != null) {
+                                final ModelNode frames = entry.get("allocation-stack").setEmptyList();
+                                for (StackTraceElement frame : stack) {
+                                    frames.add(frame.toString());
+                                }
+                            }
+                            result.add(entry);
+                        }
+                        context.stepCompleted();
+                    }
+                }, OperationContext.Stage.RUNTIME);
+            }
+            context.stepCompleted();
+        }
+    }
+
+    /**
+     * Enables or disables the capture of the allocation stack of each connection obtained from the pool.
+     */
+    public static class CaptureAllocationStacksHandler implements OperationStepHandler {
+
+        private final PoolLatencyStatistics stats;
+
+        public CaptureAllocationStacksHandler(PoolLatencyStatistics stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final boolean enabled = Constants.CAPTURE_ALLOCATION_STACKS_ENABLED.resolveModelAttribute(context, operation).asBoolean();
+            if (context.isNormalServer()) {
+                context.addStep(new OperationStepHandler() {
+                    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                        final boolean previous = stats.isCaptureAllocationStacks();
+                        stats.setCaptureAllocationStacks(enabled);
+                        context.completeStep(new OperationContext.RollbackHandler() {
+                            @Override
+                            public void handleRollback(OperationContext context, ModelNode operation) {
+                                stats.setCaptureAllocationStacks(previous);
+                            }
+                        });
+                    }
+                }, OperationContext.Stage.RUNTIME);
+            }
+            context.stepCompleted();
+        }
+    }
+}
@@ -457,6 +457,9 @@ public class XMLXaDataSourceRuntimeHandler extends AbstractXMLDataSourceRuntimeH
             setBooleanIfNotNull(context, dataSource.isSpy());
         } else if (attributeName.equals(Constants.USE_CCM.getName())) {
             setBooleanIfNotNull(context, dataSource.isUseCcm());
+        } else if (attributeName.equals(Constants.POOL_LATENCY_STATISTICS_ENABLED.getName())) {
+            // deployed data sources do not record the high resolution pool statistics
+            context.getResult().set(false);
         } else if (attributeName.equals(Constants.JTA.getName())) {
             setBooleanIfNotNull(context, true);
         } else if (attributeName.equals(Constants.ALLOW_MULTIPLE_USERS.getName())) {
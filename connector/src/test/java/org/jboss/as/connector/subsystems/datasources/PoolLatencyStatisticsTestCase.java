@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.connector.subsystems.datasources;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import javax.resource.spi.ConnectionEvent;
+import javax.resource.spi.ManagedConnection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the recording of the {@link PoolLatencyStatistics} of a data source pool.
+ */
+public class PoolLatencyStatisticsTestCase {
+
+    @Test
+    public void testAcquireAndRelease() throws Exception {
+        final PoolLatencyStatistics statistics = new PoolLatencyStatistics();
+        final Object connection = new Object();
+        statistics.connectionAcquired(connection, TimeUnit.MILLISECONDS.toNanos(2));
+        Assert.assertEquals(1L, statistics.getValue(PoolLatencyStatistics.ACQUISITION_COUNT));
+        Assert.assertEquals(2000L, statistics.getValue(PoolLatencyStatistics.ACQUISITION_TIME_MAX));
+        Assert.assertEquals(1, statistics.getLeakSuspects(0).size());
+        Assert.assertTrue(((String) statistics.getValue(PoolLatencyStatistics.IN_USE_HISTORY)).contains("1"));
+
+        Thread.sleep(5);
+        statistics.connectionReleased(connection);
+        Assert.assertTrue(statistics.getLeakSuspects(0).isEmpty());
+        Assert.assertTrue((Long) statistics.getValue(PoolLatencyStatistics.HOLD_TIME_MAX) >= 5000L);
+
+        // a second release is ignored
+        statistics.connectionReleased(connection);
+        Assert.assertEquals(0, statistics.getValue(PoolLatencyStatistics.LEAK_SUSPECT_COUNT));
+    }
+
+    @Test
+    public void testReleasedByCloseEvent() throws Exception {
+        final PoolLatencyStatistics statistics = new PoolLatencyStatistics();
+        final Object handle = new Object();
+        statistics.connectionAcquired(handle, 0);
+
+        final ManagedConnection mc = (ManagedConnection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {ManagedConnection.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                return null;
+            }
+        });
+        final PoolLatencyDataSource.ReleaseListener listener = new PoolLatencyDataSource.ReleaseListener(statistics);
+        final ConnectionEvent event = new ConnectionEvent(mc, ConnectionEvent.CONNECTION_CLOSED);
+        event.setConnectionHandle(handle);
+        listener.connectionClosed(event);
+        Assert.assertTrue(statistics.getLeakSuspects(0).isEmpty());
+    }
+
+    @Test
+    public void testUnreferencedConnectionIsDropped() throws Exception {
+        final PoolLatencyStatistics statistics = new PoolLatencyStatistics();
+        statistics.connectionAcquired(new Object(), 0);
+        Assert.assertEquals(1, statistics.getLeakSuspects(0).size());
+        for (int i = 0; i < 50 && !statistics.getLeakSuspects(0).isEmpty(); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertTrue(statistics.getLeakSuspects(0).isEmpty());
+    }
+
+    @Test
+    public void testEqualConnectionsTrackedByIdentity() throws Exception {
+        final PoolLatencyStatistics statistics = new PoolLatencyStatistics();
+        final Object first = new EqualHandle();
+        final Object second = new EqualHandle();
+        statistics.connectionAcquired(first, 0);
+        statistics.connectionAcquired(second, 0);
+        Assert.assertEquals(2, statistics.getLeakSuspects(0).size());
+
+        statistics.connectionReleased(first);
+        Assert.assertEquals(1, statistics.getLeakSuspects(0).size());
+        statistics.connectionReleased(first);
+        Assert.assertEquals(1, statistics.getLeakSuspects(0).size());
+        statistics.connectionReleased(second);
+        Assert.assertTrue(statistics.getLeakSuspects(0).isEmpty());
+    }
+
+    @Test
+    public void testLeakSuspectThreshold() throws Exception {
+        final PoolLatencyStatistics statistics = new PoolLatencyStatistics();
+        final Object first = new Object();
+        statistics.connectionAcquired(first, 0);
+        Thread.sleep(50);
+        final Object second = new Object();
+        statistics.setCaptureAllocationStacks(true);
+        statistics.connectionAcquired(second, 0);
+        Assert.assertEquals(2, statistics.getLeakSuspects(0).size());
+        Assert.assertEquals(1, statistics.getLeakSuspects(40).size());
+        Assert.assertNull(statistics.getLeakSuspects(40).get(0).getAllocationStack());
+        Assert.assertNotNull(statistics.getLeakSuspects(0).get(1).getAllocationStack());
+
+        statistics.setEnabled(false);
+        Assert.assertTrue(statistics.getLeakSuspects(0).isEmpty());
+        statistics.connectionReleased(first);
+        statistics.connectionReleased(second);
+    }
+
+    private static final class EqualHandle {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EqualHandle;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.helpers.ClientConstants;
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.mgmt.AbstractManagementRequest;
 import org.jboss.as.protocol.mgmt.ActiveOperation;
@@ -151,7 +152,12 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
                                        final FlushableDataOutput output) throws IOException {
                 // Write the operation
                 final List<InputStream> streams = executionContext.operation.getInputStreams();
-                final ModelNode operation = executionContext.operation.getOperation();
+                ModelNode operation = executionContext.operation.getOperation();
+                if (ResponseCompression.isAcceptedByClient()) {
+                    // don't modify the operation of the caller
+                    operation = operation.clone();
+                    operation.get(ClientConstants.OPERATION_HEADERS, ResponseCompression.ACCEPT_COMPRESSED_RESPONSE).set(true);
+                }
                 int inputStreamLength = 0;
                 if (streams != null) {
                     inputStreamLength = streams.size();
@@ -164,9 +170,7 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
 
             @Override
             public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<ModelNode> resultHandler, final ManagementRequestContext<OperationExecutionContext> context) throws IOException {
-                expectHeader(input, ModelControllerProtocol.PARAM_RESPONSE);
-                final ModelNode node = new ModelNode();
-                node.readExternal(input);
+                final ModelNode node = ResponseCompression.readResponse(input);
                 resultHandler.done(node);
                 expectHeader(input, ManagementProtocol.RESPONSE_END);
             }
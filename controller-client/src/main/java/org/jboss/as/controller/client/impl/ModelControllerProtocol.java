@@ -49,6 +49,8 @@ public interface ModelControllerProtocol {
     //byte PARAM_PREPARED = 0x69;
     byte PARAM_COMMIT = 0x70;
     byte PARAM_ROLLBACK = 0x71;
+    // A response compressed because the client sent the accept-compressed-response operation header
+    byte PARAM_RESPONSE_COMPRESSED = 0x72;
     // The tx response params
     byte PARAM_OPERATION_FAILED = 0x49;
     byte PARAM_OPERATION_COMPLETED = 0x4A;
@@ -0,0 +1,246 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import static java.lang.System.getProperty;
+import static java.lang.System.getSecurityManager;
+import static java.security.AccessController.doPrivileged;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.PrivilegedAction;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.as.protocol.mgmt.ProtocolUtils;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads and writes the response to a client request, compressing it if the client accepts compressed responses.
+ * <p/>
+ * A client announces that it can read compressed responses by sending the {@value #ACCEPT_COMPRESSED_RESPONSE}
+ * operation header, which older servers ignore. A server that understands the header compresses the DMR encoded
+ * response with DEFLATE if it is at least as large as its threshold, and sends it as
+ * {@link ModelControllerProtocol#PARAM_RESPONSE_COMPRESSED} followed by the length of the compressed bytes. Responses
+ * to clients that did not send the header are always sent as {@link ModelControllerProtocol#PARAM_RESPONSE}.
+ * <p/>
+ * The keys of the resources and attributes of a response are repeated for every resource of the same type, so the
+ * dictionary of the compression takes care of them without a change to the DMR encoding.
+ * <p/>
+ * The response is encoded only once. Encoded bytes are buffered until the threshold is reached; from then on they are
+ * compressed while the response is encoded, so only the compressed bytes of a large response are held in memory.
+ * <p/>
+ * Clients send the header unless the {@value #CLIENT_PROPERTY} system property is {@code false}.
+ */
+public final class ResponseCompression {
+
+    public static final String ACCEPT_COMPRESSED_RESPONSE = "accept-compressed-response";
+
+    static final String CLIENT_PROPERTY = "org.jboss.as.controller.client.accept-compressed-response";
+
+    private static final boolean CLIENT_ACCEPTS = !"false".equalsIgnoreCase(getStringProperty(CLIENT_PROPERTY));
+
+    private ResponseCompression() {
+    }
+
+    /**
+     * @return {@code true} if clients in this process should ask for compressed responses
+     */
+    static boolean isAcceptedByClient() {
+        return CLIENT_ACCEPTS;
+    }
+
+    /**
+     * Writes the response parameter.
+     *
+     * @param output the output
+     * @param response the response
+     * @param threshold the size of the encoded response from which on it is compressed, or {@code -1} if the client
+     *                  does not accept compressed responses
+     * @throws IOException for any error
+     */
+    public static void writeResponse(final DataOutput output, final ModelNode response, final int threshold) throws IOException {
+        if (threshold < 0) {
+            output.write(ModelControllerProtocol.PARAM_RESPONSE);
+            response.writeExternal(output);
+            return;
+        }
+        final ThresholdCompressingOutputStream encoded = new ThresholdCompressingOutputStream(threshold);
+        try {
+            final DataOutputStream dataOutput = new DataOutputStream(encoded);
+            response.writeExternal(dataOutput);
+            dataOutput.flush();
+            encoded.finish();
+            encoded.writeParameter(output);
+        } finally {
+            encoded.end();
+        }
+    }
+
+    /**
+     * Reads the response parameter, which may be compressed if the request contained the
+     * {@value #ACCEPT_COMPRESSED_RESPONSE} header.
+     *
+     * @param input the input
+     * @return the response
+     * @throws IOException for any error
+     */
+    public static ModelNode readResponse(final DataInput input) throws IOException {
+        final byte param = input.readByte();
+        final ModelNode response = new ModelNode();
+        if (param == ModelControllerProtocol.PARAM_RESPONSE_COMPRESSED) {
+            final byte[] compressed = new byte[input.readInt()];
+            input.readFully(compressed);
+            final Inflater inflater = new Inflater();
+            try {
+                response.readExternal(new DataInputStream(new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed), inflater))));
+            } finally {
+                inflater.end();
+            }
+        } else {
+            ProtocolUtils.expectHeader(param, ModelControllerProtocol.PARAM_RESPONSE);
+            response.readExternal(input);
+        }
+        return response;
+    }
+
+    /**
+     * Buffers the encoded response until it reaches the threshold. The buffered and all following bytes are then
+     * compressed as they are written.
+     */
+    private static final class ThresholdCompressingOutputStream extends OutputStream {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final int threshold;
+        private ResponseBuffer buffer;
+        private ResponseBuffer compressed;
+        private Deflater deflater;
+        private DeflaterOutputStream deflaterOutput;
+        private OutputStream compressingOutput;
+
+        private ThresholdCompressingOutputStream(final int threshold) {
+            this.threshold = threshold;
+            this.buffer = new ResponseBuffer(Math.min(threshold, BUFFER_SIZE));
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (compressingOutput != null) {
+                compressingOutput.write(b);
+            } else {
+                buffer.write(b);
+                checkThreshold();
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (compressingOutput != null) {
+                compressingOutput.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+                checkThreshold();
+            }
+        }
+
+        private void checkThreshold() throws IOException {
+            if (buffer.size() >= threshold) {
+                compressed = new ResponseBuffer(Math.max(buffer.size() / 4, 64));
+                // favour CPU time over the last bit of compression, most of the gain comes from the repeated keys
+                deflater = new Deflater(Deflater.BEST_SPEED);
+                deflaterOutput = new DeflaterOutputStream(compressed, deflater, BUFFER_SIZE);
+                // the encoder writes single bytes, which should not be passed to the deflater one by one
+                compressingOutput = new BufferedOutputStream(deflaterOutput, BUFFER_SIZE);
+                buffer.writeTo(compressingOutput);
+                buffer = null;
+            }
+        }
+
+        /**
+         * Completes the compressed data, if the threshold was reached.
+         */
+        void finish() throws IOException {
+            if (compressingOutput != null) {
+                compressingOutput.flush();
+                deflaterOutput.finish();
+            }
+        }
+
+        /**
+         * Writes the response parameter with the compressed or the buffered bytes.
+         */
+        void writeParameter(final DataOutput output) throws IOException {
+            if (compressed != null) {
+                output.write(ModelControllerProtocol.PARAM_RESPONSE_COMPRESSED);
+                output.writeInt(compressed.size());
+                compressed.writeContentTo(output);
+            } else {
+                output.write(ModelControllerProtocol.PARAM_RESPONSE);
+                buffer.writeContentTo(output);
+            }
+        }
+
+        /**
+         * Releases the native resources of the deflater.
+         */
+        void end() {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * A byte array output stream that is written to a {@link DataOutput} without copying its content.
+     */
+    private static final class ResponseBuffer extends ByteArrayOutputStream {
+
+        private ResponseBuffer(final int size) {
+            super(size);
+        }
+
+        void writeContentTo(final DataOutput output) throws IOException {
+            output.write(buf, 0, count);
+        }
+    }
+
+    private static String getStringProperty(final String name) {
+        return getSecurityManager() == null ? getProperty(name) : doPrivileged(new PrivilegedAction<String>() {
+            @Override
+            public String run() {
+                return getProperty(name);
+            }
+        });
+    }
+}
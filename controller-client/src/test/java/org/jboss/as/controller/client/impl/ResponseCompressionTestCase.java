@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the encoding of responses by {@link ResponseCompression}.
+ */
+public class ResponseCompressionTestCase {
+
+    @Test
+    public void testUncompressedForOlderClients() throws IOException {
+        final ModelNode response = createResponse(100);
+        final byte[] bytes = write(response, -1);
+        Assert.assertEquals(ModelControllerProtocol.PARAM_RESPONSE, bytes[0]);
+
+        // the way clients without compression support read the response
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        input.readByte();
+        final ModelNode read = new ModelNode();
+        read.readExternal(input);
+        Assert.assertEquals(response, read);
+    }
+
+    @Test
+    public void testBelowThreshold() throws IOException {
+        final ModelNode response = createResponse(1);
+        final byte[] bytes = write(response, Integer.MAX_VALUE);
+        Assert.assertEquals(ModelControllerProtocol.PARAM_RESPONSE, bytes[0]);
+        Assert.assertEquals(response, read(bytes));
+    }
+
+    @Test
+    public void testCompressed() throws IOException {
+        final ModelNode response = createResponse(100);
+        final byte[] bytes = write(response, 0);
+        Assert.assertEquals(ModelControllerProtocol.PARAM_RESPONSE_COMPRESSED, bytes[0]);
+        Assert.assertTrue(bytes.length < write(response, -1).length / 2);
+        Assert.assertEquals(response, read(bytes));
+    }
+
+    @Test
+    public void testThreshold() throws IOException {
+        final ModelNode response = createResponse(10);
+        // the parameter byte is not part of the encoded response
+        final int size = write(response, -1).length - 1;
+        Assert.assertEquals(ModelControllerProtocol.PARAM_RESPONSE_COMPRESSED, write(response, size)[0]);
+        final byte[] bytes = write(response, size + 1);
+        Assert.assertEquals(ModelControllerProtocol.PARAM_RESPONSE, bytes[0]);
+        Assert.assertEquals(response, read(bytes));
+    }
+
+    @Test
+    public void testLargeResponse() throws IOException {
+        final ModelNode response = createResponse(10000);
+        final byte[] bytes = write(response, 16384);
+        Assert.assertEquals(ModelControllerProtocol.PARAM_RESPONSE_COMPRESSED, bytes[0]);
+        Assert.assertEquals(response, read(bytes));
+    }
+
+    private static ModelNode createResponse(final int resources) {
+        final ModelNode response = new ModelNode();
+        response.get("outcome").set("success");
+        final ModelNode result = response.get("result");
+        for (int i = 0; i < resources; i++) {
+            final ModelNode resource = result.get("data-source", "ds" + i);
+            resource.get("jndi-name").set("java:jboss/datasources/ds" + i);
+            resource.get("enabled").set(true);
+            resource.get("max-pool-size").set(20);
+            resource.get("statistics", "pool", "ActiveCount").set(i);
+        }
+        return response;
+    }
+
+    private static byte[] write(final ModelNode response, final int threshold) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        ResponseCompression.writeResponse(output, response, threshold);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private static ModelNode read(final byte[] bytes) throws IOException {
+        return ResponseCompression.readResponse(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -326,6 +326,8 @@ public abstract class AbstractControllerService implements Service<ModelControll
             @Override
             public void run() {
                 try {
+                    // Make sure deferred configuration writes reach the disk before a reload or shutdown
+                    configurationPersister.stop();
                     stopAsynchronous(context);
                 } finally {
                     try {
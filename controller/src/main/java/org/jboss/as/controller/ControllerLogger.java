@@ -486,6 +486,16 @@ public interface ControllerLogger extends BasicLogger {
     @Message(id = 13409, value = "[%d] consecutive management operation audit logging failures have occurred in handler '%s'; disabling this handler for audit logging")
     void disablingLogHandlerDueToFailures(int failureCount, String name);
 
+    /**
+     * Logs an informational message indicating how long the concurrent parsing of subsystem elements took.
+     *
+     * @param count the number of subsystem elements
+     * @param millis the elapsed time in milliseconds
+     */
+    @LogMessage(level = Level.INFO)
+    @Message(id = 13410, value = "Parsed %d subsystems concurrently in %d ms")
+    void parsedSubsystemsConcurrently(int count, long millis);
+
     // 13449 IS END OF 134xx SERIES USABLE FOR LOGGER MESSAGES
 
 }
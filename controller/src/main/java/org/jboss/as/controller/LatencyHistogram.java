@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies with power of two microsecond buckets, used for the task times of the thread pools,
+ * the datasource pools and the transactions.
+ * <p/>
+ * Bucket {@code 0} counts times below one microsecond and bucket {@code i} counts times of at least
+ * {@code 2^(i-1)} and below {@code 2^i} microseconds. The last bucket also counts everything above its range.
+ * Recording is striped by thread so that threads recording at the same time rarely update the same counters.
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKETS = 32;
+
+    private static final int COUNT = BUCKETS;
+    private static final int TOTAL = BUCKETS + 1;
+    private static final int MAX = BUCKETS + 2;
+    // keep each stripe on its own cache lines
+    private static final int STRIPE_LENGTH = BUCKETS + 3 + 8;
+
+    private final AtomicLongArray[] stripes;
+    private final int mask;
+
+    public LatencyHistogram() {
+        int count = 1;
+        while (count < Runtime.getRuntime().availableProcessors()) {
+            count <<= 1;
+        }
+        stripes = new AtomicLongArray[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new AtomicLongArray(STRIPE_LENGTH);
+        }
+        mask = count - 1;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are recorded as {@code 0}
+     */
+    public void record(final long nanos) {
+        final long time = nanos < 0 ? 0 : nanos;
+        final AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & mask];
+        stripe.incrementAndGet(bucket(time));
+        stripe.incrementAndGet(COUNT);
+        stripe.addAndGet(TOTAL, time);
+        long max;
+        while (time > (max = stripe.get(MAX))) {
+            if (stripe.compareAndSet(MAX, max, time)) {
+                break;
+            }
+        }
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (AtomicLongArray stripe : stripes) {
+            count += stripe.get(COUNT);
+        }
+        return count;
+    }
+
+    /**
+     * @return the average time in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public long getAverage() {
+        long count = 0;
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            count += stripe.get(COUNT);
+            total += stripe.get(TOTAL);
+        }
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * @return the longest time in nanoseconds
+     */
+    public long getMax() {
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            max = Math.max(max, stripe.get(MAX));
+        }
+        return max;
+    }
+
+    /**
+     * @return the number of latencies recorded in each bucket
+     */
+    public long[] getBuckets() {
+        final long[] buckets = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] += stripe.get(i);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Returns the latency below which the given fraction of the recorded latencies fall.
+     *
+     * @param fraction a value between 0 and 1
+     * @return the upper bound in nanoseconds of the bucket of the requested percentile, at most the longest latency
+     */
+    public long getPercentile(final double fraction) {
+        final long[] buckets = getBuckets();
+        long count = 0;
+        for (long bucket : buckets) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long max = getMax();
+        final long threshold = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += buckets[i];
+            if (seen >= threshold) {
+                return Math.min((1L << i) * 1000, max);
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < STRIPE_LENGTH; i++) {
+                stripe.set(i, 0);
+            }
+        }
+    }
+
+    static int bucket(final long nanos) {
+        final long micros = nanos / 1000;
+        if (micros == 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+}
@@ -110,6 +110,9 @@ class ModelControllerImpl implements ModelController {
     /** Tracks the relationship between domain resources and hosts and server groups */
     private final HostServerGroupTracker hostServerGroupTracker;
 
+    /** Cache of read-only operation results, invalidated when the model or the registrations change */
+    private final ReadResultCache readResultCache;
+
     ModelControllerImpl(final ServiceRegistry serviceRegistry, final ServiceTarget serviceTarget, final ManagementResourceRegistration rootRegistration,
                         final ContainerStateMonitor stateMonitor, final ConfigurationPersister persister,
                         final ProcessType processType, final RunningModeControl runningModeControl,
@@ -131,6 +134,7 @@ class ModelControllerImpl implements ModelController {
         this.authorizer = authorizer;
         this.auditLogger = auditLogger;
         this.hostServerGroupTracker = processType.isManagedDomain() ? new HostServerGroupTracker() : null;
+        this.readResultCache = new ReadResultCache(authorizer);
         auditLogger.startBoot();
     }
 
@@ -637,6 +641,10 @@ class ModelControllerImpl implements ModelController {
         return authorizer;
     }
 
+    ReadResultCache getReadResultCache() {
+        return readResultCache;
+    }
+
     private void logNoHandler(ParsedBootOp parsedOp) {
         ImmutableManagementResourceRegistration child = rootRegistration.getSubModel(parsedOp.address);
         if (child == null) {
@@ -178,6 +178,7 @@ final class OperationContextImpl extends AbstractOperationContext {
         this.serviceTarget = new ContextServiceTarget(modelController);
         this.operationId = operationId;
         this.hostServerGroupTracker = hostServerGroupTracker;
+        this.valueAttachments.put(ReadResultCache.KEY, modelController.getReadResultCache());
     }
 
     public InputStream getAttachmentStream(final int index) {
@@ -756,6 +757,9 @@ final class OperationContextImpl extends AbstractOperationContext {
     void releaseStepLocks(AbstractOperationContext.Step step) {
         try {
             if (this.lockStep == step) {
+                if (isModelAffected() || affectsResourceRegistration) {
+                    modelController.getReadResultCache().invalidate();
+                }
                 modelController.releaseLock(operationId);
                 lockStep = null;
             }
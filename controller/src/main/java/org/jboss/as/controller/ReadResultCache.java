@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.access.Authorizer;
+import org.jboss.as.controller.access.rbac.RunAsRoleMapper;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Cache of the results of read-only global operations whose result only depends on the management model and the
+ * resource registrations, such as {@code read-resource-description}.
+ * <p/>
+ * The cache keeps a version that is incremented whenever an operation that modified the model or the resource
+ * registrations releases the controller lock. An entry is only returned while the version it was built against is
+ * still the current one, and a result is only stored if no such operation completed while it was being built.
+ * <p/>
+ * The number of entries is bounded by {@link #setMaxEntries(int)}, {@code 0} disables the cache. Caching of
+ * {@code read-resource} results without runtime data are only cached once enabled with
+ * {@link #setReadResourceEnabled(boolean)}, as a custom {@link org.jboss.as.controller.registry.Resource} may return
+ * children or a model that is not tracked by the version; the read-resource handler then only caches results of
+ * resources whose configuration attributes have no custom read handler, as those need not be backed by the model.
+ */
+public final class ReadResultCache {
+
+    /**
+     * Key under which the cache of the model controller is attached to each {@link OperationContext}
+     */
+    public static final OperationContext.AttachmentKey<ReadResultCache> KEY = OperationContext.AttachmentKey.create(ReadResultCache.class);
+
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final Authorizer authorizer;
+    private volatile int maxEntries;
+    private volatile boolean readResourceEnabled;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final Map<ModelNode, Entry> entries;
+
+    ReadResultCache(final Authorizer authorizer) {
+        this(authorizer, DEFAULT_MAX_ENTRIES, false);
+    }
+
+    ReadResultCache(final Authorizer authorizer, final int maxEntries, final boolean readResourceEnabled) {
+        this.authorizer = authorizer;
+        this.maxEntries = maxEntries;
+        this.readResourceEnabled = readResourceEnabled;
+        this.entries = new LinkedHashMap<ModelNode, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ModelNode, Entry> eldest) {
+                return size() > ReadResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return {@code true} if results may be cached at all
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * @return the maximum number of cached results
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Changes the maximum number of cached results, evicting the least recently used ones that no longer fit.
+     *
+     * @param maxEntries the maximum number of results, {@code 0} disables the cache
+     */
+    public void setMaxEntries(final int maxEntries) {
+        synchronized (entries) {
+            this.maxEntries = maxEntries;
+            final Iterator<ModelNode> it = entries.keySet().iterator();
+            while (entries.size() > maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if {@code read-resource} results without runtime data may be cached while the cache is
+     * {@link #isEnabled() enabled}
+     */
+    public boolean isReadResourceEnabled() {
+        return readResourceEnabled;
+    }
+
+    /**
+     * Turns caching of {@code read-resource} results on or off, dropping all cached results.
+     *
+     * @param readResourceEnabled {@code true} if {@code read-resource} results without runtime data may be cached
+     */
+    public void setReadResourceEnabled(final boolean readResourceEnabled) {
+        this.readResourceEnabled = readResourceEnabled;
+        invalidate();
+    }
+
+    /**
+     * Gets the current version, which has to be read before the result that is going to be stored with
+     * {@link #put(ModelNode, long, ModelNode)} is built.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Gets a result that is still valid for the current version.
+     *
+     * @param key the key built from the operation name, address and parameters
+     * @return a copy of the cached result, or {@code null} if there is none
+     */
+    public ModelNode get(final ModelNode key) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.version == version.get()) {
+            hitCount.incrementAndGet();
+            return entry.result.clone();
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores a result, unless the model or the registrations changed since {@code version} was read.
+     *
+     * @param key the key built from the operation name, address and parameters
+     * @param version the version read before building the result
+     * @param result the result, a copy of which is stored
+     */
+    public void put(final ModelNode key, final long version, final ModelNode result) {
+        if (version != this.version.get()) {
+            return;
+        }
+        final Entry entry = new Entry(version, result.clone());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Gets the roles the caller of an operation would be authorized with, for use in the key of results that are
+     * filtered by access control.
+     *
+     * @return the roles, or {@code null} if the authorizer does not map callers to roles
+     */
+    public Set<String> getCallerRoles(final OperationContext context, final ModelNode operation) {
+        return authorizer == null ? null : authorizer.getCallerRoles(context.getCaller(), context.getCallEnvironment(), RunAsRoleMapper.getOperationHeaderRoles(operation));
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Invalidates all entries, called after an operation that modified the model or the registrations
+     */
+    void invalidate() {
+        version.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final ModelNode result;
+
+        private Entry(final long version, final ModelNode result) {
+            this.version = version;
+            this.result = result;
+        }
+    }
+}
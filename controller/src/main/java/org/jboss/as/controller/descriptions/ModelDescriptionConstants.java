@@ -276,6 +276,7 @@ public class ModelDescriptionConstants {
     public static final String PROXIES = "proxies";
     public static final String READ = "read";
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
+    public static final String READ_ATTRIBUTES_BULK_OPERATION = "read-attributes-bulk";
     public static final String READ_CHILDREN_NAMES_OPERATION = "read-children-names";
     public static final String READ_CHILDREN_TYPES_OPERATION = "read-children-types";
     public static final String READ_CHILDREN_RESOURCES_OPERATION = "read-children-resources";
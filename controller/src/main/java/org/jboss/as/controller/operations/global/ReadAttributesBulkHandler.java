@@ -0,0 +1,331 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operations.global;
+
+import static org.jboss.as.controller.ControllerMessages.MESSAGES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_CONTROL;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTES_BULK_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.operations.global.GlobalOperationAttributes.INCLUDE_DEFAULTS;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.NoSuchResourceException;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PrimitiveListAttributeDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.UnauthorizedException;
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.access.ResourceAuthorization;
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * {@link OperationStepHandler} reading a set of attributes of many resources, as done by monitoring agents that poll
+ * the same attributes over and over.
+ * <p/>
+ * Each entry of the {@code reads} parameter names an address, which may contain wildcards, and the attributes to read
+ * from every resource it resolves to. Rather than executing a {@code read-attribute} step, and its authorization
+ * step, per attribute like a {@code composite} does, the handler executes a single step per resource. That step
+ * authorizes the resource and all its attributes at once, reads the attributes that are stored in the model directly
+ * and only adds steps for attributes with a read handler. Attributes and resources the caller may not read are left
+ * out of the result and reported in the {@code access-control} response header, as {@code read-resource} does.
+ * <p/>
+ * The result is a list with one entry per resource, holding its {@code address} and the {@code attributes} read.
+ */
+public class ReadAttributesBulkHandler implements OperationStepHandler {
+
+    static final AttributeDefinition READS = new PrimitiveListAttributeDefinition.Builder("reads", ModelType.OBJECT)
+            .build();
+
+    static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(READ_ATTRIBUTES_BULK_OPERATION, ControllerResolver.getResolver("global"))
+            .setParameters(READS, INCLUDE_DEFAULTS)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .build();
+
+    static final OperationStepHandler INSTANCE = new ReadAttributesBulkHandler();
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        READS.validateOperation(operation);
+        INCLUDE_DEFAULTS.validateOperation(operation);
+        final boolean defaults = operation.get(INCLUDE_DEFAULTS.getName()).asBoolean(true);
+
+        final BulkRead bulkRead = new BulkRead();
+        // The step assembling the result runs last, after the runtime steps of any attribute read handler
+        context.addStep(new AssemblyHandler(bulkRead), OperationContext.Stage.VERIFY);
+
+        for (ModelNode read : operation.get(READS.getName()).asList()) {
+            if (!read.hasDefined(ADDRESS)) {
+                throw new OperationFailedException(new ModelNode().set(MESSAGES.required(ADDRESS)));
+            }
+            final PathAddress address = PathAddress.pathAddress(read.get(ADDRESS));
+            final ModelNode readOp = Util.createEmptyOperation(READ_ATTRIBUTES_BULK_OPERATION, address);
+            if (operation.hasDefined(OPERATION_HEADERS)) {
+                readOp.get(OPERATION_HEADERS).set(operation.get(OPERATION_HEADERS));
+            }
+            readOp.get(INCLUDE_DEFAULTS.getName()).set(defaults);
+            if (read.hasDefined(ATTRIBUTES)) {
+                readOp.get(ATTRIBUTES).set(read.get(ATTRIBUTES));
+            }
+
+            final OperationStepHandler resourceHandler = new ResourceReadHandler(bulkRead);
+            if (address.isMultiTarget()) {
+                // Resolves the wildcards against the model and adds a step per resource
+                context.addStep(new ModelNode(), GlobalOperationHandlers.AbstractMultiTargetHandler.FAKE_OPERATION.clone(),
+                        new GlobalOperationHandlers.ModelAddressResolver(readOp, new ModelNode().setEmptyList(), bulkRead.filteredData, resourceHandler),
+                        OperationContext.Stage.MODEL);
+            } else {
+                context.addStep(readOp, resourceHandler, OperationContext.Stage.MODEL);
+            }
+        }
+        context.stepCompleted();
+    }
+
+    /**
+     * State shared by the steps of a single {@code read-attributes-bulk} operation. The steps are all executed by
+     * the thread controlling the operation.
+     */
+    private static class BulkRead {
+        private final FilteredData filteredData = new FilteredData(PathAddress.EMPTY_ADDRESS);
+        private final List<ModelNode> entries = new ArrayList<ModelNode>();
+        private final List<HandlerRead> handlerReads = new ArrayList<HandlerRead>();
+        private ModelNode failureDescription;
+    }
+
+    /**
+     * An attribute read by its read handler, the value of which is copied to the result once the handler completed.
+     */
+    private static class HandlerRead {
+        private final ModelNode attributes;
+        private final String name;
+        private final ModelNode response = new ModelNode();
+
+        private HandlerRead(final ModelNode attributes, final String name) {
+            this.attributes = attributes;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Reads the requested attributes of the resource the step is addressed to.
+     */
+    private static class ResourceReadHandler implements OperationStepHandler {
+
+        private final BulkRead bulkRead;
+
+        private ResourceReadHandler(final BulkRead bulkRead) {
+            this.bulkRead = bulkRead;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+            try {
+                readAttributes(context, operation, address);
+            } catch (NoSuchResourceException e) {
+                // the resource does not exist or the caller may not know about it, like for a read-resource
+            } catch (OperationFailedException e) {
+                // steps for resources matching a wildcard have their own response, so report the failure when assembling
+                if (bulkRead.failureDescription == null) {
+                    bulkRead.failureDescription = e.getFailureDescription();
+                }
+            }
+            context.stepCompleted();
+        }
+
+        private void readAttributes(OperationContext context, ModelNode operation, PathAddress address) throws OperationFailedException {
+            final ImmutableManagementResourceRegistration registry = context.getResourceRegistration();
+            if (registry == null || registry.isRemote()) {
+                // proxied resources are read with read-resource or read-attribute on the remote process
+                return;
+            }
+            final ResourceAuthorization authorization = context.authorizeResource(true, false);
+            if (authorization == null) {
+                return;
+            }
+            if (authorization.getResourceResult(Action.ActionEffect.ADDRESS).getDecision() == AuthorizationResult.Decision.DENY) {
+                if (address.size() > 0) {
+                    bulkRead.filteredData.addAccessRestrictedResource(address);
+                }
+                return;
+            }
+
+            final boolean defaults = operation.get(INCLUDE_DEFAULTS.getName()).asBoolean(true);
+            final Collection<String> names;
+            if (operation.hasDefined(ATTRIBUTES)) {
+                names = new LinkedHashSet<String>();
+                for (ModelNode name : operation.get(ATTRIBUTES).asList()) {
+                    names.add(name.asString());
+                }
+            } else {
+                names = new ArrayList<String>();
+                for (String name : registry.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+                    if (!registry.getAttributeAccess(PathAddress.EMPTY_ADDRESS, name).getFlags().contains(AttributeAccess.Flag.ALIAS)) {
+                        names.add(name);
+                    }
+                }
+            }
+
+            final ModelNode entry = new ModelNode();
+            entry.get(ADDRESS).set(address.toModelNode());
+            final ModelNode attributes = entry.get(ATTRIBUTES).setEmptyObject();
+            ModelNode model = null;
+            for (String name : names) {
+                final AttributeAccess access = registry.getAttributeAccess(PathAddress.EMPTY_ADDRESS, name);
+                final Action.ActionEffect readEffect = access == null || access.getStorageType() == AttributeAccess.Storage.CONFIGURATION
+                        ? Action.ActionEffect.READ_CONFIG : Action.ActionEffect.READ_RUNTIME;
+                final AuthorizationResult attributeResult = access == null
+                        ? authorization.getResourceResult(readEffect) : authorization.getAttributeResult(name, readEffect);
+                if (attributeResult != null && attributeResult.getDecision() == AuthorizationResult.Decision.DENY) {
+                    bulkRead.filteredData.addReadRestrictedAttribute(address, name);
+                    continue;
+                }
+
+                if (access != null && access.getReadHandler() != null) {
+                    final HandlerRead handlerRead = new HandlerRead(attributes, name);
+                    // reserve the position of the attribute in the result
+                    attributes.get(name);
+                    bulkRead.handlerReads.add(handlerRead);
+                    final ModelNode readAttributeOp = Util.getReadAttributeOperation(address, name);
+                    readAttributeOp.get(INCLUDE_DEFAULTS.getName()).set(defaults);
+                    context.addStep(handlerRead.response, readAttributeOp, new ReadHandlerStep(access.getReadHandler()), OperationContext.Stage.MODEL, true);
+                    continue;
+                }
+
+                if (model == null) {
+                    model = readModel(context);
+                }
+                if (model.hasDefined(name)) {
+                    attributes.get(name).set(model.get(name));
+                } else if (access == null) {
+                    if (!model.has(name)) {
+                        throw new OperationFailedException(new ModelNode().set(MESSAGES.unknownAttribute(name)));
+                    }
+                    attributes.get(name);
+                } else {
+                    final AttributeDefinition definition = access.getAttributeDefinition();
+                    if (defaults && definition != null && definition.getDefaultValue() != null) {
+                        attributes.get(name).set(definition.getDefaultValue());
+                    } else {
+                        attributes.get(name);
+                    }
+                }
+            }
+            bulkRead.entries.add(entry);
+        }
+
+        private static ModelNode readModel(final OperationContext context) {
+            try {
+                return context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel();
+            } catch (NoSuchResourceException e) {
+                // runtime only resources may not be backed by the model
+                return new ModelNode();
+            } catch (UnauthorizedException e) {
+                // only runtime attributes are readable, they have been filtered out already
+                return new ModelNode();
+            }
+        }
+    }
+
+    /**
+     * Invokes the read handler of an attribute, as {@link ReadAttributeHandler} does once it has authorized the read.
+     */
+    private static class ReadHandlerStep implements OperationStepHandler {
+
+        private final OperationStepHandler readHandler;
+
+        private ReadHandlerStep(final OperationStepHandler readHandler) {
+            this.readHandler = readHandler;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final ClassLoader oldTccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(readHandler.getClass());
+            try {
+                readHandler.execute(context, operation);
+            } finally {
+                WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(oldTccl);
+            }
+        }
+    }
+
+    /**
+     * Assembles the result from the entries of the resources and the responses of the read handlers.
+     */
+    private static class AssemblyHandler implements OperationStepHandler {
+
+        private final BulkRead bulkRead;
+
+        private AssemblyHandler(final BulkRead bulkRead) {
+            this.bulkRead = bulkRead;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (bulkRead.failureDescription != null) {
+                context.getFailureDescription().set(bulkRead.failureDescription);
+                context.stepCompleted();
+                return;
+            }
+            for (HandlerRead handlerRead : bulkRead.handlerReads) {
+                if (handlerRead.response.hasDefined(FAILURE_DESCRIPTION)) {
+                    context.getFailureDescription().set(handlerRead.response.get(FAILURE_DESCRIPTION));
+                    context.stepCompleted();
+                    return;
+                }
+                handlerRead.attributes.get(handlerRead.name).set(handlerRead.response.get(RESULT));
+            }
+            final ModelNode result = context.getResult().setEmptyList();
+            for (ModelNode entry : bulkRead.entries) {
+                result.add(entry);
+            }
+            if (bulkRead.filteredData.hasFilteredData()) {
+                context.getResponseHeaders().get(ACCESS_CONTROL).set(bulkRead.filteredData.toModelNode());
+            }
+            context.stepCompleted();
+        }
+    }
+}
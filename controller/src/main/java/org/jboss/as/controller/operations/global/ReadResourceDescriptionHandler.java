@@ -63,6 +63,7 @@ import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ReadResultCache;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
@@ -147,17 +148,18 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
             executeMultiTarget(context, operation);
         } else {
             ReadResourceDescriptionAccessControlContext accessControlContext = getAccessControlContext() == null ? new ReadResourceDescriptionAccessControlContext(address, null) : getAccessControlContext();
-            doExecute(context, operation, accessControlContext);
+            // only the result of the operation as a whole is cached, not the results of the nested steps
+            doExecute(context, operation, accessControlContext, getAccessControlContext() == null);
         }
     }
 
 
-    private void doExecute(OperationContext context, ModelNode operation, ReadResourceDescriptionAccessControlContext accessControlContext) throws OperationFailedException {
+    private void doExecute(OperationContext context, ModelNode operation, ReadResourceDescriptionAccessControlContext accessControlContext, boolean cacheable) throws OperationFailedException {
         if (accessControlContext.parentAddresses == null) {
-            doExecuteInternal(context, operation, accessControlContext);
+            doExecuteInternal(context, operation, accessControlContext, cacheable);
         } else {
             try {
-                doExecuteInternal(context, operation, accessControlContext);
+                doExecuteInternal(context, operation, accessControlContext, cacheable);
             } catch (NoSuchResourceException nsre) {
                 context.getResult().set(new ModelNode());
                 context.stepCompleted();
@@ -168,7 +170,8 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
         }
     }
 
-    private void doExecuteInternal(final OperationContext context, final ModelNode operation, final ReadResourceDescriptionAccessControlContext accessControlContext) throws OperationFailedException {
+    private void doExecuteInternal(final OperationContext context, final ModelNode operation, final ReadResourceDescriptionAccessControlContext accessControlContext,
+                                   final boolean cacheable) throws OperationFailedException {
 
         for (AttributeDefinition def : DEFINITION.getParameters()) {
             def.validateOperation(operation);
@@ -183,12 +186,35 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
         final boolean aliases = INCLUDE_ALIASES.resolveModelAttribute(context, operation).asBoolean();
         final boolean inheritedOps = INHERITED.resolveModelAttribute(context, operation).asBoolean();
         final AccessControl accessControl = AccessControl.forName(ACCESS_CONTROL.resolveModelAttribute(context, operation).asString());
+        final Locale locale = GlobalOperationHandlers.getLocale(context, operation);
 
+        // Without access control data the description only depends on the registrations, unless remote
+        // descriptions are included
+        final ReadResultCache resultCache = cacheable && accessControl == AccessControl.NONE && !proxies ? context.getAttachment(ReadResultCache.KEY) : null;
+        ModelNode cacheKey = null;
+        long cacheVersion = 0;
+        if (resultCache != null && resultCache.isEnabled()) {
+            cacheVersion = resultCache.getVersion();
+            cacheKey = new ModelNode();
+            cacheKey.add(opName);
+            cacheKey.add(opAddr.toModelNode());
+            cacheKey.add(recursive);
+            cacheKey.add(recursiveDepth);
+            cacheKey.add(ops);
+            cacheKey.add(inheritedOps);
+            cacheKey.add(aliases);
+            cacheKey.add(String.valueOf(locale));
+            final ModelNode cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                context.getResult().set(cached);
+                context.stepCompleted();
+                return;
+            }
+        }
 
         final ImmutableManagementResourceRegistration registry = getResourceRegistrationCheckForAlias(context, opAddr, accessControlContext);
 
         final DescriptionProvider descriptionProvider = registry.getModelDescription(PathAddress.EMPTY_ADDRESS);
-        final Locale locale = GlobalOperationHandlers.getLocale(context, operation);
 
         final ModelNode nodeDescription = descriptionProvider.getModelDescription(locale);
         final Map<String, ModelNode> operations = ops ? new HashMap<String, ModelNode>() : null;
@@ -202,7 +228,8 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
         // We're going to add a bunch of steps that should immediately follow this one. We are going to add them
         // in reverse order of how they should execute, as that is the way adding a Stage.IMMEDIATE step works
         // Last to execute is the handler that assembles the overall response from the pieces created by all the other steps
-        final ReadResourceDescriptionAssemblyHandler assemblyHandler = new ReadResourceDescriptionAssemblyHandler(nodeDescription, operations, childResources, accessControlContext, accessControl);
+        final ReadResourceDescriptionAssemblyHandler assemblyHandler = new ReadResourceDescriptionAssemblyHandler(nodeDescription, operations, childResources, accessControlContext, accessControl,
+                cacheKey == null ? null : resultCache, cacheKey, cacheVersion);
         context.addStep(assemblyHandler, OperationContext.Stage.MODEL, true);
 
         if (ops) {
@@ -344,7 +371,7 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
                         final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
                         ReadResourceDescriptionAccessControlContext accessControlContext = getAccessControlContext() == null ? new ReadResourceDescriptionAccessControlContext(address, null) : getAccessControlContext();
                         // step handler bypassing further wildcard resolution
-                        doExecute(context, operation, accessControlContext);
+                        doExecute(context, operation, accessControlContext, false);
                     }
                 }), OperationContext.Stage.MODEL, true);
         context.completeStep(new OperationContext.RollbackHandler() {
@@ -507,6 +534,9 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
         private final Map<PathElement, ModelNode> childResources;
         private final ReadResourceDescriptionAccessControlContext accessControlContext;
         private final AccessControl accessControl;
+        private final ReadResultCache resultCache;
+        private final ModelNode cacheKey;
+        private final long cacheVersion;
 
         /**
          * Creates a ReadResourceAssemblyHandler that will assemble the response using the contents
@@ -519,15 +549,21 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
          *                        value is the full read-resource response. Will not be {@code null}
          * @param accessControlContext context for tracking access control data
          * @param accessControl   type of access control output that is needed
+         * @param resultCache     cache to store the assembled description in, or {@code null} if it should not be cached
+         * @param cacheKey        key of the description in the cache
+         * @param cacheVersion    version of the cache read before the description was built
          */
         private ReadResourceDescriptionAssemblyHandler(final ModelNode nodeDescription, final Map<String, ModelNode> operations,
                 final Map<PathElement, ModelNode> childResources, final ReadResourceDescriptionAccessControlContext accessControlContext,
-                final AccessControl accessControl) {
+                final AccessControl accessControl, final ReadResultCache resultCache, final ModelNode cacheKey, final long cacheVersion) {
             this.nodeDescription = nodeDescription;
             this.operations = operations;
             this.childResources = childResources;
             this.accessControlContext = accessControlContext;
             this.accessControl = accessControl;
+            this.resultCache = resultCache;
+            this.cacheKey = cacheKey;
+            this.cacheVersion = cacheVersion;
         }
 
         @Override
@@ -608,6 +644,9 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
                 }
             }
             context.getResult().set(nodeDescription);
+            if (resultCache != null && !context.hasFailureDescription()) {
+                resultCache.put(cacheKey, cacheVersion, nodeDescription);
+            }
             context.stepCompleted();
         }
     }
@@ -752,7 +791,7 @@ public class ReadResourceDescriptionHandler implements OperationStepHandler {
         @Override
         public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
             if (accessControlContext != null) {
-                doExecute(context, operation, accessControlContext);
+                doExecute(context, operation, accessControlContext, false);
             } else {
                 try {
                     overrideStepHandler.execute(context, operation);
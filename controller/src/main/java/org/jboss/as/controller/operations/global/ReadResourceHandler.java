@@ -47,6 +47,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.jboss.as.controller.NoSuchResourceException;
 import org.jboss.as.controller.OperationContext;
@@ -55,6 +56,8 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ReadResultCache;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
@@ -138,12 +141,30 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
     @Override
     void doExecute(OperationContext context, ModelNode operation, FilteredData filteredData) throws OperationFailedException {
 
+        validator.validate(operation);
+
         if (filteredData == null) {
-            doExecuteInternal(context, operation);
+            final ReadResultCache resultCache = context.getAttachment(ReadResultCache.KEY);
+            final ModelNode cacheKey = getCacheKey(context, operation, resultCache);
+            if (cacheKey == null) {
+                doExecuteInternal(context, operation, null, null, 0);
+            } else {
+                final long cacheVersion = resultCache.getVersion();
+                final ModelNode cached = resultCache.get(cacheKey);
+                if (cached == null) {
+                    doExecuteInternal(context, operation, resultCache, cacheKey, cacheVersion);
+                } else {
+                    context.getResult().set(cached.get(RESULT));
+                    if (cached.hasDefined(ACCESS_CONTROL)) {
+                        context.getResponseHeaders().get(ACCESS_CONTROL).set(cached.get(ACCESS_CONTROL));
+                    }
+                    context.stepCompleted();
+                }
+            }
         } else {
             try {
                 if (overrideHandler == null) {
-                    doExecuteInternal(context, operation);
+                    doExecuteInternal(context, operation, null, null, 0);
                 } else {
                     overrideHandler.execute(context, operation);
                 }
@@ -164,9 +185,86 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         }
     }
 
-    void doExecuteInternal(OperationContext context, ModelNode operation) throws OperationFailedException {
+    /**
+     * Builds the key under which the result of a read-resource without runtime data is cached. Besides the address and
+     * the parameters the key contains the roles of the caller, as attributes and children the caller may not read are
+     * filtered from the result.
+     *
+     * @return the key, or {@code null} if the result should not be cached
+     */
+    private ModelNode getCacheKey(OperationContext context, ModelNode operation, ReadResultCache resultCache) throws OperationFailedException {
+        // a host controller reads the servers and the slave host controllers through proxies
+        if (resultCache == null || !resultCache.isEnabled() || !resultCache.isReadResourceEnabled()
+                || context.getProcessType() == ProcessType.HOST_CONTROLLER) {
+            return null;
+        }
+        if (operation.get(ModelDescriptionConstants.INCLUDE_RUNTIME).asBoolean(false) || operation.get(ModelDescriptionConstants.PROXIES).asBoolean(false)) {
+            return null;
+        }
+        final ImmutableManagementResourceRegistration registry = context.getResourceRegistration();
+        if (registry == null || registry.isRuntimeOnly() || registry.isRemote()) {
+            return null;
+        }
+        final boolean recursive = operation.get(ModelDescriptionConstants.RECURSIVE_DEPTH).asInt(0) > 0
+                || operation.get(ModelDescriptionConstants.RECURSIVE).asBoolean(false);
+        if (!isModelBacked(registry, recursive, operation.get(ModelDescriptionConstants.INCLUDE_ALIASES).asBoolean(false))) {
+            return null;
+        }
+        final Set<String> roles = resultCache.getCallerRoles(context, operation);
+        if (roles == null) {
+            return null;
+        }
+        final ModelNode key = new ModelNode();
+        key.add(READ_RESOURCE_OPERATION);
+        key.add(operation.get(OP_ADDR));
+        key.add(operation.get(ModelDescriptionConstants.RECURSIVE).asBoolean(false));
+        key.add(operation.get(ModelDescriptionConstants.RECURSIVE_DEPTH).asInt(0));
+        key.add(operation.get(ModelDescriptionConstants.INCLUDE_ALIASES).asBoolean(false));
+        key.add(operation.get(ModelDescriptionConstants.INCLUDE_DEFAULTS).asBoolean(true));
+        key.add(operation.get(ModelDescriptionConstants.ATTRIBUTES_ONLY).asBoolean(false));
+        final ModelNode keyRoles = key.add().setEmptyList();
+        for (String role : new TreeSet<String>(roles)) {
+            keyRoles.add(role);
+        }
+        return key;
+    }
 
-        validator.validate(operation);
+    /**
+     * Checks whether a read-resource without runtime data only reads the model, i.e. no configuration attribute of the
+     * resource, or of the child resources a recursive read includes, has a custom read handler or read-attribute
+     * override. Remote child resources are never considered to be backed by the model.
+     */
+    private static boolean isModelBacked(final ImmutableManagementResourceRegistration registry, final boolean recursive, final boolean aliases) {
+        final OperationStepHandler readAttributeHandler = registry.getOperationHandler(PathAddress.EMPTY_ADDRESS, READ_ATTRIBUTE_OPERATION);
+        if (readAttributeHandler != null && readAttributeHandler != ReadAttributeHandler.INSTANCE) {
+            return false;
+        }
+        for (String attributeName : registry.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+            final AttributeAccess access = registry.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+            if (access.getStorageType() == AttributeAccess.Storage.CONFIGURATION && access.getReadHandler() != null
+                    && (aliases || !access.getFlags().contains(AttributeAccess.Flag.ALIAS))) {
+                return false;
+            }
+        }
+        if (recursive) {
+            for (PathElement element : registry.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+                final ImmutableManagementResourceRegistration childReg = registry.getSubModel(PathAddress.pathAddress(element));
+                if (childReg == null || childReg.isRemote()) {
+                    return false;
+                }
+                if (childReg.isRuntimeOnly() || (!aliases && childReg.isAlias())) {
+                    // not read without include-runtime or include-aliases
+                    continue;
+                }
+                if (!isModelBacked(childReg, true, aliases)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    void doExecuteInternal(OperationContext context, ModelNode operation, ReadResultCache resultCache, ModelNode cacheKey, long cacheVersion) throws OperationFailedException {
 
         final String opName = operation.require(OP).asString();
         final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
@@ -198,7 +296,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
         // Last to execute is the handler that assembles the overall response from the pieces created by all the other steps
         final ReadResourceAssemblyHandler assemblyHandler = new ReadResourceAssemblyHandler(address, metrics,
-                otherAttributes, directChildren, childResources, nonExistentChildTypes, localFilteredData);
+                otherAttributes, directChildren, childResources, nonExistentChildTypes, localFilteredData, resultCache, cacheKey, cacheVersion);
         context.addStep(assemblyHandler, queryRuntime ? OperationContext.Stage.VERIFY : OperationContext.Stage.MODEL, true);
         final ImmutableManagementResourceRegistration registry = context.getResourceRegistration();
 
@@ -389,6 +487,9 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         private final Map<PathElement, ModelNode> childResources;
         private final Set<String> nonExistentChildTypes;
         private final FilteredData filteredData;
+        private final ReadResultCache resultCache;
+        private final ModelNode cacheKey;
+        private final long cacheVersion;
 
         /**
          * Creates a ReadResourceAssemblyHandler that will assemble the response using the contents
@@ -407,11 +508,15 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 *                         value is the full read-resource response. Will not be {@code null}
          * @param nonExistentChildTypes names of child types where no data is available
          * @param filteredData     information about resources and attributes that were filtered
+         * @param resultCache      cache to store the assembled result in, or {@code null} if it should not be cached
+         * @param cacheKey         key of the result in the cache
+         * @param cacheVersion     version of the cache read before the result was built
          */
         private ReadResourceAssemblyHandler(final PathAddress address,
                                             final Map<String, ModelNode> metrics,
                                             final Map<String, ModelNode> otherAttributes, final Map<String, ModelNode> directChildren,
-                                            final Map<PathElement, ModelNode> childResources, final Set<String> nonExistentChildTypes, FilteredData filteredData) {
+                                            final Map<PathElement, ModelNode> childResources, final Set<String> nonExistentChildTypes, FilteredData filteredData,
+                                            final ReadResultCache resultCache, final ModelNode cacheKey, final long cacheVersion) {
             this.address = address;
             this.metrics = metrics;
             this.otherAttributes = otherAttributes;
@@ -419,6 +524,9 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
             this.childResources = childResources;
             this.nonExistentChildTypes = nonExistentChildTypes;
             this.filteredData = filteredData;
+            this.resultCache = resultCache;
+            this.cacheKey = cacheKey;
+            this.cacheVersion = cacheVersion;
         }
 
         @Override
@@ -494,6 +602,15 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                 if (filteredData.hasFilteredData()) {
                     context.getResponseHeaders().get(ACCESS_CONTROL).set(filteredData.toModelNode());
                 }
+
+                if (resultCache != null) {
+                    final ModelNode cached = new ModelNode();
+                    cached.get(RESULT).set(result);
+                    if (filteredData.hasFilteredData()) {
+                        cached.get(ACCESS_CONTROL).set(filteredData.toModelNode());
+                    }
+                    resultCache.put(cacheKey, cacheVersion, cached);
+                }
             }
 
             context.stepCompleted();
@@ -0,0 +1,304 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.parsing;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.jboss.as.controller.ControllerLogger.ROOT_LOGGER;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.jboss.staxmapper.XMLMapper;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Parses the {@code subsystem} elements of a profile, either on the calling thread or, if enabled via the
+ * {@link #PARALLEL_PARSING} system property and a boot executor is available, concurrently using the boot executor.
+ * In the latter case each subsystem element is buffered and parsed by the {@link XMLMapper} of the original reader,
+ * with its operations added to the list supplied for that subsystem, so document order is preserved. Parse errors
+ * report the location of the nearest element in the original document, and parsing runs with the thread context
+ * class loader of the thread that invoked {@link #parse}.
+ * <p>
+ * Callers must invoke {@link #complete()} before consuming any of the lists passed to {@link #parse}.
+ */
+public class ParallelSubsystemParser {
+
+    /** System property enabling concurrent parsing of subsystem elements at boot. */
+    public static final String PARALLEL_PARSING = "org.jboss.as.parallel-subsystem-parsing";
+
+    private final ExecutorService bootExecutor;
+    private final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+    private final List<String> namespaces = new ArrayList<String>();
+    private final long start = System.currentTimeMillis();
+
+    public ParallelSubsystemParser(final ExecutorService executorService) {
+        this.bootExecutor = executorService != null && Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(PARALLEL_PARSING, "false"))
+                ? executorService : null;
+    }
+
+    /**
+     * Parses the subsystem element at the current position of the reader. Once this method returns the reader
+     * is positioned at the end of the subsystem element.
+     *
+     * @param reader the reader, positioned at the start of a subsystem element
+     * @param subsystemOps the list to which the operations of the subsystem are added
+     * @throws XMLStreamException if the subsystem element cannot be read
+     */
+    public void parse(final XMLExtendedStreamReader reader, final List<ModelNode> subsystemOps) throws XMLStreamException {
+        if (bootExecutor == null) {
+            reader.handleAny(subsystemOps);
+            return;
+        }
+        final XMLMapper xmlMapper = reader.getXMLMapper();
+        final String namespace = reader.getNamespaceURI();
+        final List<Location> locations = new ArrayList<Location>();
+        final String buffer = bufferElement(reader, locations);
+        final ClassLoader tccl = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+        Callable<Void> callable = new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final ClassLoader oldTccl = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(tccl);
+                try {
+                    final XMLStreamReader streamReader = new LocatingStreamReader(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(buffer)), locations);
+                    try {
+                        xmlMapper.parseDocument(subsystemOps, streamReader);
+                    } finally {
+                        streamReader.close();
+                    }
+                } finally {
+                    WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(oldTccl);
+                }
+                return null;
+            }
+        };
+        futures.add(bootExecutor.submit(callable));
+        namespaces.add(namespace);
+    }
+
+    /**
+     * Waits for all subsystem elements passed to {@link #parse} to be parsed.
+     *
+     * @throws XMLStreamException if any of the subsystem elements could not be parsed
+     */
+    public void complete() throws XMLStreamException {
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new XMLStreamException(e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof XMLStreamException) {
+                    throw (XMLStreamException) cause;
+                }
+                throw new XMLStreamException(namespaces.get(i), cause instanceof Exception ? (Exception) cause : e);
+            }
+        }
+        if (bootExecutor != null && !futures.isEmpty()) {
+            ROOT_LOGGER.parsedSubsystemsConcurrently(futures.size(), System.currentTimeMillis() - start);
+        }
+        futures.clear();
+        namespaces.clear();
+    }
+
+    /**
+     * Copies the element at the current position of the reader, including its content, into a standalone document.
+     * The original location of each start and end element is added, in document order, to the given list.
+     */
+    private static String bufferElement(final XMLExtendedStreamReader reader, final List<Location> locations) throws XMLStreamException {
+        final StringWriter buffer = new StringWriter();
+        final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(buffer);
+        int depth = 0;
+        int event = reader.getEventType();
+        while (true) {
+            switch (event) {
+                case START_ELEMENT: {
+                    locations.add(new FixedLocation(reader.getLocation()));
+                    depth++;
+                    final String elementPrefix = nullToEmpty(reader.getPrefix());
+                    final String elementNamespace = nullToEmpty(reader.getNamespaceURI());
+                    writer.writeStartElement(elementPrefix, reader.getLocalName(), elementNamespace);
+                    boolean declared = false;
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        final String prefix = nullToEmpty(reader.getNamespacePrefix(i));
+                        if (prefix.isEmpty()) {
+                            writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+                        } else {
+                            writer.writeNamespace(prefix, reader.getNamespaceURI(i));
+                        }
+                        declared |= prefix.equals(elementPrefix);
+                    }
+                    if (depth == 1 && !declared && !elementNamespace.isEmpty()) {
+                        // The namespace of the buffered root element was declared by one of its ancestors
+                        if (elementPrefix.isEmpty()) {
+                            writer.writeDefaultNamespace(elementNamespace);
+                        } else {
+                            writer.writeNamespace(elementPrefix, elementNamespace);
+                        }
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        writer.writeAttribute(nullToEmpty(reader.getAttributePrefix(i)), nullToEmpty(reader.getAttributeNamespace(i)),
+                                reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    }
+                    break;
+                }
+                case END_ELEMENT: {
+                    locations.add(new FixedLocation(reader.getLocation()));
+                    writer.writeEndElement();
+                    depth--;
+                    break;
+                }
+                case CHARACTERS:
+                case CDATA:
+                case SPACE: {
+                    writer.writeCharacters(reader.getText());
+                    break;
+                }
+                case COMMENT: {
+                    writer.writeComment(reader.getText());
+                    break;
+                }
+                default: {
+                    // Processing instructions, etc. are not relevant to subsystem parsers
+                }
+            }
+            if (depth == 0) {
+                break;
+            }
+            event = reader.next();
+        }
+        writer.writeEndDocument();
+        writer.close();
+        return buffer.toString();
+    }
+
+    private static String nullToEmpty(final String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Reports the original location of the most recent start or end element of a buffered subsystem element,
+     * rather than its location within the buffer.
+     */
+    private static class LocatingStreamReader extends StreamReaderDelegate {
+        private final List<Location> locations;
+        private int index = -1;
+
+        LocatingStreamReader(final XMLStreamReader reader, final List<Location> locations) {
+            super(reader);
+            this.locations = locations;
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            return track(super.next());
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            return track(super.nextTag());
+        }
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+            final String text = super.getElementText();
+            track(END_ELEMENT);
+            return text;
+        }
+
+        @Override
+        public Location getLocation() {
+            return index < 0 ? locations.get(0) : locations.get(Math.min(index, locations.size() - 1));
+        }
+
+        private int track(final int event) {
+            if (event == START_ELEMENT || event == END_ELEMENT) {
+                index++;
+            }
+            return event;
+        }
+    }
+
+    private static class FixedLocation implements Location {
+        private final int lineNumber;
+        private final int columnNumber;
+        private final int characterOffset;
+        private final String publicId;
+        private final String systemId;
+
+        FixedLocation(final Location location) {
+            this.lineNumber = location.getLineNumber();
+            this.columnNumber = location.getColumnNumber();
+            this.characterOffset = location.getCharacterOffset();
+            this.publicId = location.getPublicId();
+            this.systemId = location.getSystemId();
+        }
+
+        @Override
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return columnNumber;
+        }
+
+        @Override
+        public int getCharacterOffset() {
+            return characterOffset;
+        }
+
+        @Override
+        public String getPublicId() {
+            return publicId;
+        }
+
+        @Override
+        public String getSystemId() {
+            return systemId;
+        }
+    }
+}
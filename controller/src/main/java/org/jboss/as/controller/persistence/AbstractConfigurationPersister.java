@@ -128,6 +128,10 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     public void successfulBoot() throws ConfigurationPersistenceException {
     }
 
+    @Override
+    public void stop() {
+    }
+
     @Override
     public String snapshot() throws ConfigurationPersistenceException{
         return null;
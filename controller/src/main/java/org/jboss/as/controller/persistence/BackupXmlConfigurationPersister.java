@@ -22,9 +22,16 @@
 
 package org.jboss.as.controller.persistence;
 
+import java.io.File;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.xml.namespace.QName;
 
@@ -32,16 +39,34 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementReader;
 import org.jboss.staxmapper.XMLElementWriter;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * An XML configuration persister which backs up the old file before overwriting it.
+ * <p>
+ * If the {@link #COALESCING_WINDOW} system property is set, file writes are deferred and coalesced, such that
+ * the configuration file is written at most once per window, with the latest committed model. The model is still
+ * marshalled when it is stored, so marshalling failures fail the operation as they do for immediate writes.
+ * Pending writes are always flushed by {@link #flush()}, which is invoked before a snapshot is taken, and by
+ * {@link #stop()} when the controller stops, i.e. before a reload or shutdown.
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
 
+    /**
+     * System property specifying the window, in milliseconds, within which configuration writes are coalesced.
+     * Writes are not deferred if unset or not positive.
+     */
+    public static final String COALESCING_WINDOW = "jboss.config.persister.coalescing-window";
+
     ConfigurationFile configurationFile;
     private final AtomicBoolean successfulBoot = new AtomicBoolean();
+    private final long coalescingWindow;
+    private final AtomicReference<PersistenceResource> pendingWrite = new AtomicReference<PersistenceResource>();
+    private final AtomicLong persistedWrites = new AtomicLong();
+    private ScheduledExecutorService flushExecutor;
+    private volatile BootOperationCache bootOperationCache;
     /**
      * Construct a new instance.
      *
@@ -51,14 +76,52 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
      * @param rootDeparser the root model deparser
      */
     public BackupXmlConfigurationPersister(final ConfigurationFile file, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser, final XMLElementWriter<ModelMarshallingContext> rootDeparser) {
+        this(file, rootElement, rootParser, rootDeparser, getCoalescingWindow());
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param file the configuration base file
+     * @param rootElement the root element of the configuration file
+     * @param rootParser the root model parser
+     * @param rootDeparser the root model deparser
+     * @param coalescingWindow the window, in milliseconds, within which writes are coalesced, or {@code 0} to write on every commit
+     */
+    public BackupXmlConfigurationPersister(final ConfigurationFile file, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser, final XMLElementWriter<ModelMarshallingContext> rootDeparser, final long coalescingWindow) {
         super(file.getBootFile(), rootElement, rootParser, rootDeparser);
         this.configurationFile = file;
+        this.coalescingWindow = coalescingWindow;
     }
 
     public void registerAdditionalRootElement(final QName anotherRoot, final XMLElementReader<List<ModelNode>> parser){
         super.registerAdditionalRootElement(anotherRoot, parser);
     }
 
+    /**
+     * Sets the cache from which boot operations are loaded, if the configuration file did not change since they were cached.
+     *
+     * @param bootOperationCache the cache, or {@code null} to always parse the configuration file
+     */
+    public void setBootOperationCache(final BootOperationCache bootOperationCache) {
+        this.bootOperationCache = bootOperationCache;
+    }
+
+    @Override
+    public List<ModelNode> load() throws ConfigurationPersistenceException {
+        final BootOperationCache cache = this.bootOperationCache;
+        if (cache == null) {
+            return super.load();
+        }
+        final File bootFile = configurationFile.getBootFile();
+        List<ModelNode> operations = cache.load(bootFile);
+        if (operations == null) {
+            operations = super.load();
+            cache.store(bootFile, operations);
+        }
+        return operations;
+    }
+
     @Override
     public void successfulBoot() throws ConfigurationPersistenceException {
         if(successfulBoot.compareAndSet(false, true)) {
@@ -77,11 +140,95 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
                 }
             };
         }
-        return new ConfigurationFilePersistenceResource(model, configurationFile, this);
+        final PersistenceResource resource = new ConfigurationFilePersistenceResource(model, configurationFile, this);
+        if (coalescingWindow > 0) {
+            return new PersistenceResource() {
+                public void commit() {
+                    if (pendingWrite.getAndSet(resource) == null) {
+                        scheduleFlush();
+                    }
+                }
+
+                public void rollback() {
+                    resource.rollback();
+                }
+            };
+        }
+        return new PersistenceResource() {
+            public void commit() {
+                resource.commit();
+                persistedWrites.incrementAndGet();
+            }
+
+            public void rollback() {
+                resource.rollback();
+            }
+        };
+    }
+
+    /**
+     * Writes the latest committed model to the configuration file, if its write was deferred.
+     */
+    public synchronized void flush() {
+        final PersistenceResource resource = pendingWrite.getAndSet(null);
+        if (resource != null) {
+            resource.commit();
+            persistedWrites.incrementAndGet();
+        }
+    }
+
+    /**
+     * Flushes any deferred write and releases the thread used to schedule them.
+     */
+    @Override
+    public synchronized void stop() {
+        flush();
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+            flushExecutor = null;
+        }
+    }
+
+    /**
+     * Gets the number of times the configuration file was written since this persister was created.
+     *
+     * @return the number of writes
+     */
+    public long getPersistedWriteCount() {
+        return persistedWrites.get();
+    }
+
+    private synchronized void scheduleFlush() {
+        if (flushExecutor == null) {
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread thread = new Thread(r, "Configuration Persister Flush Thread");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        flushExecutor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, coalescingWindow, TimeUnit.MILLISECONDS);
+    }
+
+    private static long getCoalescingWindow() {
+        final String val = WildFlySecurityManager.getPropertyPrivileged(COALESCING_WINDOW, null);
+        try {
+            return val == null ? 0 : Long.parseLong(val);
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
     }
 
     @Override
     public String snapshot() throws ConfigurationPersistenceException {
+        flush();
         return configurationFile.snapshot();
     }
 
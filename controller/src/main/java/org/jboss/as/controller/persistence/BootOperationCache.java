@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.xnio.IoUtils;
+
+/**
+ * Cache of the boot operations parsed from a configuration file, stored in binary DMR format.
+ * <p>
+ * Cached operations are keyed by a digest of the configuration file content and of any additional key
+ * components registered by the caller (e.g. the server version or the state of the module repository), so
+ * that the configuration file only needs to be parsed again if any of them changed.
+ */
+public class BootOperationCache {
+
+    private static final String KEY = "key";
+    private static final String OPERATIONS = "operations";
+
+    private final File cacheFile;
+    private final List<String> keyComponents = new ArrayList<String>();
+
+    public BootOperationCache(final File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Adds a value that must be unchanged for cached boot operations to be used.
+     *
+     * @param value the value
+     * @return this cache
+     */
+    public BootOperationCache addKeyComponent(final String value) {
+        keyComponents.add(value);
+        return this;
+    }
+
+    /**
+     * Adds the path, size and modification time of every file with the given name beneath the given root
+     * as values that must be unchanged for cached boot operations to be used.
+     *
+     * @param root the root directory
+     * @param fileName the name of the files to track
+     * @return this cache
+     */
+    public BootOperationCache addKeyComponent(final File root, final String fileName) {
+        final StringBuilder builder = new StringBuilder();
+        appendFileStates(root, fileName, builder);
+        keyComponents.add(builder.toString());
+        return this;
+    }
+
+    /**
+     * Loads the cached boot operations for the given configuration file.
+     *
+     * @param configurationFile the configuration file
+     * @return the cached operations, or {@code null} if nothing is cached or the cached operations are stale
+     */
+    List<ModelNode> load(final File configurationFile) {
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try {
+            final String key = computeKey(configurationFile);
+            final ModelNode cached = new ModelNode();
+            final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+            try {
+                cached.readExternal(input);
+            } finally {
+                IoUtils.safeClose(input);
+            }
+            if (!cached.hasDefined(KEY) || !key.equals(cached.get(KEY).asString()) || cached.get(OPERATIONS).getType() != ModelType.LIST) {
+                ROOT_LOGGER.debugf("Cached boot operations in %s are stale", cacheFile);
+                return null;
+            }
+            ROOT_LOGGER.debugf("Using cached boot operations from %s", cacheFile);
+            return new ArrayList<ModelNode>(cached.get(OPERATIONS).asList());
+        } catch (Exception e) {
+            ROOT_LOGGER.debugf(e, "Failed to read cached boot operations from %s", cacheFile);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the boot operations parsed from the given configuration file.
+     *
+     * @param configurationFile the configuration file
+     * @param operations the boot operations
+     */
+    void store(final File configurationFile, final List<ModelNode> operations) {
+        try {
+            final ModelNode cached = new ModelNode();
+            cached.get(KEY).set(computeKey(configurationFile));
+            final ModelNode list = cached.get(OPERATIONS).setEmptyList();
+            for (ModelNode operation : operations) {
+                list.add(operation);
+            }
+            final File parent = cacheFile.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            final File tempFile = FilePersistenceUtils.createTempFile(cacheFile);
+            final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            try {
+                cached.writeExternal(output);
+                output.close();
+            } finally {
+                IoUtils.safeClose(output);
+            }
+            FilePersistenceUtils.moveTempFileToMain(tempFile, cacheFile);
+        } catch (Exception e) {
+            ROOT_LOGGER.debugf(e, "Failed to cache boot operations in %s", cacheFile);
+            cacheFile.delete();
+        }
+    }
+
+    private String computeKey(final File configurationFile) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String component : keyComponents) {
+            digest.update(component.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        final InputStream input = new FileInputStream(configurationFile);
+        try {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } finally {
+            IoUtils.safeClose(input);
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b & 0xff));
+        }
+        return builder.toString();
+    }
+
+    private static void appendFileStates(final File dir, final String fileName, final StringBuilder builder) {
+        final File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            if (child.isDirectory()) {
+                appendFileStates(child, fileName, builder);
+            } else if (child.getName().equals(fileName)) {
+                builder.append(child.getPath()).append(':').append(child.length()).append(':').append(child.lastModified()).append('\n');
+            }
+        }
+    }
+}
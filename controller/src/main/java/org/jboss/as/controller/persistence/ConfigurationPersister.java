@@ -85,6 +85,12 @@ public interface ConfigurationPersister {
      */
     void successfulBoot() throws ConfigurationPersistenceException;
 
+    /**
+     * Called when the controller using this persister stops, i.e. before a reload or shutdown. Implementations
+     * that defer writes must flush them here and release any resources used to schedule them.
+     */
+    void stop();
+
     /**
      * Take a snapshot of the current configuration
      *
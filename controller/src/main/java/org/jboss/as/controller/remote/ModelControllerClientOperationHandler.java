@@ -49,6 +49,7 @@ import org.jboss.as.controller.AccessAuditContext;
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.client.impl.ModelControllerProtocol;
+import org.jboss.as.controller.client.impl.ResponseCompression;
 import org.jboss.as.core.security.AccessMechanism;
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.mgmt.ActiveOperation;
@@ -62,6 +63,7 @@ import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.ProtocolUtils;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Operation handlers for the remote implementation of {@link org.jboss.as.controller.client.ModelControllerClient}
@@ -71,6 +73,14 @@ import org.jboss.dmr.ModelNode;
  */
 public class ModelControllerClientOperationHandler implements ManagementRequestHandlerFactory {
 
+    private static final int DEFAULT_RESPONSE_COMPRESSION_THRESHOLD = 16384;
+
+    /**
+     * The size of the encoded response from which on it is compressed for clients that accept compressed responses,
+     * {@code -1} disables the compression
+     */
+    private static final int RESPONSE_COMPRESSION_THRESHOLD = getResponseCompressionThreshold();
+
     private final ModelController controller;
 
     private final ManagementChannelAssociation channelAssociation;
@@ -112,6 +122,7 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
 
             ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAMS_LENGTH);
             final int attachmentsLength = input.readInt();
+            final int compressionThreshold = acceptsCompressedResponse(operation) ? RESPONSE_COMPRESSION_THRESHOLD : -1;
             context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                 @Override
                 public void execute(final ManagementRequestContext<Void> context) throws Exception {
@@ -121,7 +132,7 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
                         AccessAuditContext.doAs(subject, new PrivilegedExceptionAction<Void>() {
                             @Override
                             public Void run() throws Exception {
-                                final CompletedCallback callback = new CompletedCallback(response, context, resultHandler);
+                                final CompletedCallback callback = new CompletedCallback(response, context, resultHandler, compressionThreshold);
                                 doExecute(operation, attachmentsLength, context, callback);
                                 return null;
                             }
@@ -191,6 +202,36 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
 
     }
 
+    /**
+     * Determine whether the client can read compressed responses. The header only concerns the protocol, so it is
+     * removed before the operation gets executed.
+     *
+     * @param operation the operation to be executed
+     * @return {@code true} if the client accepts compressed responses, {@code false} otherwise
+     */
+    private static boolean acceptsCompressedResponse(final ModelNode operation) {
+        if (operation.hasDefined(OPERATION_HEADERS, ResponseCompression.ACCEPT_COMPRESSED_RESPONSE)) {
+            return operation.get(OPERATION_HEADERS).remove(ResponseCompression.ACCEPT_COMPRESSED_RESPONSE).asBoolean(false);
+        }
+        return false;
+    }
+
+    /**
+     * Reads the compression threshold, falling back to the default for values that are not numbers. Negative values
+     * disable the compression.
+     */
+    private static int getResponseCompressionThreshold() {
+        final String val = WildFlySecurityManager.getPropertyPrivileged("jboss.as.management.response-compression-threshold", null);
+        if (val == null) {
+            return DEFAULT_RESPONSE_COMPRESSION_THRESHOLD;
+        }
+        try {
+            return Math.max(-1, Integer.parseInt(val.trim()));
+        } catch (NumberFormatException ignored) {
+            return DEFAULT_RESPONSE_COMPRESSION_THRESHOLD;
+        }
+    }
+
     /**
      * Determine whether the prepared response should be sent, before the operation completed. This is needed in order
      * that operations like :reload() can be executed without causing communication failures.
@@ -225,12 +266,14 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
         private final ManagementResponseHeader response;
         private final ManagementRequestContext<Void> responseContext;
         private final ActiveOperation.ResultHandler<ModelNode> resultHandler;
+        private final int compressionThreshold;
 
         private CompletedCallback(final ManagementResponseHeader response, final ManagementRequestContext<Void> responseContext,
-                                  final ActiveOperation.ResultHandler<ModelNode> resultHandler) {
+                                  final ActiveOperation.ResultHandler<ModelNode> resultHandler, final int compressionThreshold) {
             this.response = response;
             this.responseContext = responseContext;
             this.resultHandler = resultHandler;
+            this.compressionThreshold = compressionThreshold;
         }
 
         synchronized void sendResponse(final ModelNode result) {
@@ -242,8 +285,7 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
             try {
                 final FlushableDataOutput output = responseContext.writeMessage(response);
                 try {
-                    output.write(ModelControllerProtocol.PARAM_RESPONSE);
-                    result.writeExternal(output);
+                    ResponseCompression.writeResponse(output, result, compressionThreshold);
                     output.writeByte(ManagementProtocol.RESPONSE_END);
                     output.close();
                 } finally {
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LatencyHistogram} shared by the latency statistics.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testBuckets() {
+        Assert.assertEquals(0, LatencyHistogram.bucket(0));
+        Assert.assertEquals(0, LatencyHistogram.bucket(999));
+        Assert.assertEquals(1, LatencyHistogram.bucket(1000));
+        Assert.assertEquals(2, LatencyHistogram.bucket(2000));
+        Assert.assertEquals(2, LatencyHistogram.bucket(3999));
+        Assert.assertEquals(3, LatencyHistogram.bucket(4000));
+        Assert.assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testRecordAndReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        histogram.record(1500);
+        histogram.record(1000000);
+        Assert.assertEquals(3, histogram.getCount());
+        Assert.assertEquals((500 + 1500 + 1000000) / 3, histogram.getAverage());
+        Assert.assertEquals(1000000, histogram.getMax());
+        final long[] buckets = histogram.getBuckets();
+        Assert.assertEquals(1, buckets[0]);
+        Assert.assertEquals(1, buckets[1]);
+        Assert.assertEquals(1, buckets[LatencyHistogram.bucket(1000000)]);
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getAverage());
+        Assert.assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void testPercentile() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getPercentile(0.5));
+        for (int i = 0; i < 90; i++) {
+            histogram.record(1500);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(100000);
+        }
+        Assert.assertEquals(2000, histogram.getPercentile(0.5));
+        Assert.assertEquals(2000, histogram.getPercentile(0.9));
+        Assert.assertEquals(100000, histogram.getPercentile(0.99));
+    }
+
+    @Test
+    public void testConcurrentRecord() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final int threads = 8;
+        final int records = 10000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < records; j++) {
+                            histogram.record(j);
+                        }
+                        latch.countDown();
+                    }
+                });
+            }
+            Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(threads * records, histogram.getCount());
+        Assert.assertEquals(records - 1, histogram.getMax());
+    }
+}
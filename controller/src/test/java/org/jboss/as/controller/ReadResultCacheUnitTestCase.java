@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ReadResultCache}.
+ */
+public class ReadResultCacheUnitTestCase {
+
+    @Test
+    public void testGetAndPut() {
+        final ReadResultCache cache = new ReadResultCache(null, 8, false);
+        final ModelNode key = createKey("a");
+        Assert.assertNull(cache.get(key));
+        cache.put(key, cache.getVersion(), new ModelNode("result"));
+
+        final ModelNode cached = cache.get(createKey("a"));
+        Assert.assertEquals(new ModelNode("result"), cached);
+        // callers get their own copy
+        cached.set("changed");
+        Assert.assertEquals(new ModelNode("result"), cache.get(key));
+
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final ReadResultCache cache = new ReadResultCache(null, 8, false);
+        final ModelNode key = createKey("a");
+        cache.put(key, cache.getVersion(), new ModelNode("result"));
+        cache.invalidate();
+        Assert.assertNull(cache.get(key));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testStaleResultNotStored() {
+        final ReadResultCache cache = new ReadResultCache(null, 8, false);
+        final ModelNode key = createKey("a");
+        final long version = cache.getVersion();
+        // the model changed while the result was being built
+        cache.invalidate();
+        cache.put(key, version, new ModelNode("result"));
+        Assert.assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testBounded() {
+        final ReadResultCache cache = new ReadResultCache(null, 2, false);
+        cache.put(createKey("a"), cache.getVersion(), new ModelNode("a"));
+        cache.put(createKey("b"), cache.getVersion(), new ModelNode("b"));
+        // make b the least recently used entry
+        Assert.assertNotNull(cache.get(createKey("a")));
+        cache.put(createKey("c"), cache.getVersion(), new ModelNode("c"));
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertNull(cache.get(createKey("b")));
+        Assert.assertNotNull(cache.get(createKey("a")));
+        Assert.assertNotNull(cache.get(createKey("c")));
+    }
+
+    @Test
+    public void testDisabled() {
+        final ReadResultCache cache = new ReadResultCache(null, 0, true);
+        Assert.assertFalse(cache.isEnabled());
+        cache.put(createKey("a"), cache.getVersion(), new ModelNode("a"));
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertNull(cache.get(createKey("a")));
+    }
+
+    @Test
+    public void testSetMaxEntries() {
+        final ReadResultCache cache = new ReadResultCache(null, 4, false);
+        cache.put(createKey("a"), cache.getVersion(), new ModelNode("a"));
+        cache.put(createKey("b"), cache.getVersion(), new ModelNode("b"));
+        cache.put(createKey("c"), cache.getVersion(), new ModelNode("c"));
+        // make a the most recently used entry
+        Assert.assertNotNull(cache.get(createKey("a")));
+
+        cache.setMaxEntries(1);
+        Assert.assertEquals(1, cache.getMaxEntries());
+        Assert.assertEquals(1, cache.getSize());
+        Assert.assertNotNull(cache.get(createKey("a")));
+
+        cache.setMaxEntries(0);
+        Assert.assertFalse(cache.isEnabled());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testSetReadResourceEnabled() {
+        Assert.assertFalse(new ReadResultCache(null).isReadResourceEnabled());
+        final ReadResultCache cache = new ReadResultCache(null, 4, true);
+        Assert.assertTrue(cache.isReadResourceEnabled());
+        cache.put(createKey("a"), cache.getVersion(), new ModelNode("a"));
+        cache.setReadResourceEnabled(false);
+        Assert.assertFalse(cache.isReadResourceEnabled());
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    private static ModelNode createKey(final String name) {
+        final ModelNode key = new ModelNode();
+        key.add("read-resource-description");
+        key.add().add("subsystem", name);
+        key.add(false);
+        return key;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2013, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.access.rbac;
+
+import static org.jboss.as.controller.PathAddress.pathAddress;
+import static org.jboss.as.controller.PathElement.pathElement;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_CONTROL;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FILTERED_ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FILTERED_CHILDREN_TYPES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTES_BULK_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.access.constraint.SensitivityClassification;
+import org.jboss.as.controller.access.management.AccessConstraintDefinition;
+import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests filtering of output from {@code read-attributes-bulk} requests.
+ */
+public class ReadAttributesBulkTestCase extends AbstractRbacTestBase {
+    public static final String UNCONSTRAINED_RESOURCE = "unconstrained-resource";
+    public static final String SENSITIVE_CONSTRAINED_RESOURCE = "sensitive-constrained-resource";
+
+    public static final String UNCONSTRAINED_ATTRIBUTE = "unconstrained-attribute";
+    public static final String SENSITIVE_ATTRIBUTE = "sensitive-attribute";
+    public static final String SENSITIVE_HANDLER_ATTRIBUTE = "sensitive-handler-attribute";
+
+    public static final String FOO = "foo";
+    public static final String BAR = "bar";
+
+    @Before
+    public void setup() {
+        executeWithRoles(Util.createOperation(ADD, pathAddress(UNCONSTRAINED_RESOURCE, FOO)), StandardRole.SUPERUSER);
+        executeWithRoles(Util.createOperation(ADD, pathAddress(UNCONSTRAINED_RESOURCE, BAR)), StandardRole.SUPERUSER);
+        executeWithRoles(Util.createOperation(ADD, pathAddress(SENSITIVE_CONSTRAINED_RESOURCE, FOO)), StandardRole.SUPERUSER);
+    }
+
+    @Test
+    public void testMonitor() {
+        test(false, StandardRole.MONITOR);
+    }
+
+    @Test
+    public void testOperator() {
+        test(false, StandardRole.OPERATOR);
+    }
+
+    @Test
+    public void testMaintainer() {
+        test(false, StandardRole.MAINTAINER);
+    }
+
+    @Test
+    public void testAdministrator() {
+        test(true, StandardRole.ADMINISTRATOR);
+    }
+
+    @Test
+    public void testAuditor() {
+        test(true, StandardRole.AUDITOR);
+    }
+
+    @Test
+    public void testSuperuser() {
+        test(true, StandardRole.SUPERUSER);
+    }
+
+    @Test
+    public void testMonitorAdministrator() {
+        test(true, StandardRole.MONITOR, StandardRole.ADMINISTRATOR);
+    }
+
+    private void test(boolean sensitiveVisible, StandardRole... roles) {
+        ModelNode operation = Util.createOperation(READ_ATTRIBUTES_BULK_OPERATION, PathAddress.EMPTY_ADDRESS);
+        operation.get("reads").add().get(ADDRESS).add(UNCONSTRAINED_RESOURCE, "*");
+        operation.get("reads").add().get(ADDRESS).add(SENSITIVE_CONSTRAINED_RESOURCE, "*");
+        ModelNode result = executeWithRoles(operation, roles);
+        assertPermitted(result);
+
+        Set<PathAddress> addresses = new HashSet<PathAddress>();
+        for (ModelNode entry : result.get(RESULT).asList()) {
+            PathAddress address = PathAddress.pathAddress(entry.get(ADDRESS));
+            addresses.add(address);
+            ModelNode attributes = entry.get(ATTRIBUTES);
+            if (address.getLastElement().getKey().equals(UNCONSTRAINED_RESOURCE)) {
+                assertEquals(UNCONSTRAINED_ATTRIBUTE, attributes.get(UNCONSTRAINED_ATTRIBUTE).asString());
+            }
+            assertEquals(sensitiveVisible, attributes.has(SENSITIVE_ATTRIBUTE));
+            assertEquals(sensitiveVisible, attributes.has(SENSITIVE_HANDLER_ATTRIBUTE));
+            if (sensitiveVisible) {
+                assertEquals(SENSITIVE_ATTRIBUTE, attributes.get(SENSITIVE_ATTRIBUTE).asString());
+                assertEquals(SENSITIVE_HANDLER_ATTRIBUTE, attributes.get(SENSITIVE_HANDLER_ATTRIBUTE).asString());
+            }
+        }
+        Set<PathAddress> expected = new HashSet<PathAddress>(Arrays.asList(pathAddress(UNCONSTRAINED_RESOURCE, FOO), pathAddress(UNCONSTRAINED_RESOURCE, BAR)));
+        if (sensitiveVisible) {
+            expected.add(pathAddress(SENSITIVE_CONSTRAINED_RESOURCE, FOO));
+        }
+        assertEquals(expected, addresses);
+
+        if (sensitiveVisible) {
+            assertFalse(result.get(RESPONSE_HEADERS).hasDefined(ACCESS_CONTROL));
+            return;
+        }
+
+        Set<PathAddress> filteredAttributeAddresses = new HashSet<PathAddress>();
+        boolean filteredResourceType = false;
+        for (ModelNode item : result.get(RESPONSE_HEADERS, ACCESS_CONTROL).asList()) {
+            if (item.hasDefined(FILTERED_ATTRIBUTES)) {
+                filteredAttributeAddresses.add(PathAddress.pathAddress(item.get("absolute-address")));
+                Set<String> filtered = new HashSet<String>();
+                for (ModelNode attribute : item.get(FILTERED_ATTRIBUTES).asList()) {
+                    filtered.add(attribute.asString());
+                }
+                assertEquals(new HashSet<String>(Arrays.asList(SENSITIVE_ATTRIBUTE, SENSITIVE_HANDLER_ATTRIBUTE)), filtered);
+            }
+            if (item.hasDefined(FILTERED_CHILDREN_TYPES)) {
+                assertEquals(SENSITIVE_CONSTRAINED_RESOURCE, item.get(FILTERED_CHILDREN_TYPES).get(0).asString());
+                filteredResourceType = true;
+            }
+        }
+        assertEquals(new HashSet<PathAddress>(Arrays.asList(pathAddress(UNCONSTRAINED_RESOURCE, FOO), pathAddress(UNCONSTRAINED_RESOURCE, BAR))),
+                filteredAttributeAddresses);
+        assertTrue(filteredResourceType);
+    }
+
+    // model definition
+
+    private static final SensitivityClassification BULK_SENSITIVITY
+            = new SensitivityClassification("test", "read-attributes-bulk-sensitivity", true, true, true);
+    private static final AccessConstraintDefinition BULK_SENSITIVE_CONSTRAINT
+            = new SensitiveTargetAccessConstraintDefinition(BULK_SENSITIVITY);
+
+    @Override
+    protected void initModel(Resource rootResource, ManagementResourceRegistration registration) {
+        GlobalOperationHandlers.registerGlobalOperations(registration, ProcessType.EMBEDDED_SERVER);
+
+        registration.registerSubModel(new TestResourceDefinition(UNCONSTRAINED_RESOURCE));
+        registration.registerSubModel(new TestResourceDefinition(SENSITIVE_CONSTRAINED_RESOURCE, BULK_SENSITIVE_CONSTRAINT));
+    }
+
+    private static final class TestResourceDefinition extends SimpleResourceDefinition {
+        private final List<AccessConstraintDefinition> constraintDefinitions;
+
+        TestResourceDefinition(String path, AccessConstraintDefinition... constraintDefinitions) {
+            super(pathElement(path),
+                    new NonResolvingResourceDescriptionResolver(),
+                    new AbstractAddStepHandler() {},
+                    new AbstractRemoveStepHandler() {}
+            );
+
+            this.constraintDefinitions = Collections.unmodifiableList(Arrays.asList(constraintDefinitions));
+        }
+
+        @Override
+        public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+            super.registerAttributes(resourceRegistration);
+
+            resourceRegistration.registerReadOnlyAttribute(SimpleAttributeDefinitionBuilder
+                    .create(UNCONSTRAINED_ATTRIBUTE, ModelType.STRING)
+                    .setDefaultValue(new ModelNode(UNCONSTRAINED_ATTRIBUTE))
+                    .build(), null);
+            resourceRegistration.registerReadOnlyAttribute(SimpleAttributeDefinitionBuilder
+                    .create(SENSITIVE_ATTRIBUTE, ModelType.STRING)
+                    .setDefaultValue(new ModelNode(SENSITIVE_ATTRIBUTE))
+                    .setAccessConstraints(BULK_SENSITIVE_CONSTRAINT)
+                    .build(), null);
+            resourceRegistration.registerReadOnlyAttribute(SimpleAttributeDefinitionBuilder
+                    .create(SENSITIVE_HANDLER_ATTRIBUTE, ModelType.STRING)
+                    .setAccessConstraints(BULK_SENSITIVE_CONSTRAINT)
+                    .build(), new TestReadAttributeHandler(new ModelNode(SENSITIVE_HANDLER_ATTRIBUTE)));
+        }
+
+        @Override
+        public List<AccessConstraintDefinition> getAccessConstraints() {
+            return constraintDefinitions;
+        }
+    }
+
+    private static final class TestReadAttributeHandler implements OperationStepHandler {
+        private final ModelNode value;
+
+        private TestReadAttributeHandler(ModelNode value) {
+            this.value = value;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            context.getResult().set(value);
+            context.stepCompleted();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.parsing;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.jboss.staxmapper.XMLMapper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ParallelSubsystemParser}.
+ */
+public class ParallelSubsystemParserTestCase {
+
+    private static final String XML = "<profile xmlns=\"urn:test:profile\">"
+            + "<subsystem xmlns=\"urn:test:a\" value=\"a1\"><child value=\"a2\"/><!-- comment --><child value=\"a3\"/></subsystem>"
+            + "<subsystem xmlns=\"urn:test:b\" value=\"b1\"/>"
+            + "<subsystem xmlns=\"urn:test:c\" value=\"c1\"><child value=\"c2\">text</child></subsystem>"
+            + "</profile>";
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        System.setProperty(ParallelSubsystemParser.PARALLEL_PARSING, "true");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ParallelSubsystemParser.PARALLEL_PARSING);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSerialParsing() throws Exception {
+        Assert.assertEquals("[a1, a2, a3, b1, c1, c2]", parse(null).toString());
+    }
+
+    @Test
+    public void testParallelParsing() throws Exception {
+        Assert.assertEquals("[a1, a2, a3, b1, c1, c2]", parse(executor).toString());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testParallelParsingFailure() throws Exception {
+        final XMLMapper mapper = createMapper(executor);
+        mapper.registerRootElement(new QName("urn:test:b", "subsystem"), new XMLElementReader<List<ModelNode>>() {
+            @Override
+            public void readElement(XMLExtendedStreamReader reader, List<ModelNode> value) throws XMLStreamException {
+                throw new XMLStreamException("failure");
+            }
+        });
+        mapper.parseDocument(new ArrayList<ModelNode>(), XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(XML)));
+    }
+
+    @Test
+    public void testParallelParsingFailureLocation() throws Exception {
+        final String xml = "<profile xmlns=\"urn:test:profile\">\n"
+                + "  <subsystem xmlns=\"urn:test:a\" value=\"a1\"/>\n"
+                + "  <subsystem xmlns=\"urn:test:b\"\n"
+                + "             value=\"b1\">\n"
+                + "    <child value=\"b2\"/>\n"
+                + "  </subsystem>\n"
+                + "</profile>";
+        final XMLMapper mapper = createMapper(executor);
+        mapper.registerRootElement(new QName("urn:test:b", "subsystem"), new XMLElementReader<List<ModelNode>>() {
+            @Override
+            public void readElement(XMLExtendedStreamReader reader, List<ModelNode> value) throws XMLStreamException {
+                reader.nextTag();
+                throw new XMLStreamException("failure", reader.getLocation());
+            }
+        });
+        try {
+            mapper.parseDocument(new ArrayList<ModelNode>(), XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml)));
+            Assert.fail("Parse failure was not reported");
+        } catch (XMLStreamException e) {
+            // The location of the child element within the document, not within the buffered subsystem element
+            Assert.assertEquals(5, e.getLocation().getLineNumber());
+        }
+    }
+
+    @Test
+    public void testParallelParsingContextClassLoader() throws Exception {
+        final ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+        };
+        final List<ClassLoader> loaders = Collections.synchronizedList(new ArrayList<ClassLoader>());
+        final XMLMapper mapper = createMapper(executor);
+        mapper.registerRootElement(new QName("urn:test:b", "subsystem"), new XMLElementReader<List<ModelNode>>() {
+            @Override
+            public void readElement(XMLExtendedStreamReader reader, List<ModelNode> value) throws XMLStreamException {
+                loaders.add(Thread.currentThread().getContextClassLoader());
+                ParseUtils.requireNoContent(reader);
+            }
+        });
+        final ClassLoader old = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(loader);
+        try {
+            mapper.parseDocument(new ArrayList<ModelNode>(), XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(XML)));
+        } finally {
+            Thread.currentThread().setContextClassLoader(old);
+        }
+        Assert.assertEquals(Collections.singletonList(loader), loaders);
+    }
+
+    private List<String> parse(ExecutorService executor) throws Exception {
+        final List<ModelNode> operations = new ArrayList<ModelNode>();
+        createMapper(executor).parseDocument(operations, XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(XML)));
+        final List<String> values = new ArrayList<String>();
+        for (ModelNode operation : operations) {
+            values.add(operation.asString());
+        }
+        return values;
+    }
+
+    private XMLMapper createMapper(final ExecutorService executor) {
+        final XMLMapper mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(new QName("urn:test:profile", "profile"), new XMLElementReader<List<ModelNode>>() {
+            @Override
+            public void readElement(XMLExtendedStreamReader reader, List<ModelNode> value) throws XMLStreamException {
+                final ParallelSubsystemParser parser = new ParallelSubsystemParser(executor);
+                final List<List<ModelNode>> subsystems = new ArrayList<List<ModelNode>>();
+                while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+                    final List<ModelNode> subsystem = new ArrayList<ModelNode>();
+                    parser.parse(reader, subsystem);
+                    subsystems.add(subsystem);
+                }
+                parser.complete();
+                for (List<ModelNode> subsystem : subsystems) {
+                    value.addAll(subsystem);
+                }
+            }
+        });
+        final XMLElementReader<List<ModelNode>> subsystemReader = new XMLElementReader<List<ModelNode>>() {
+            @Override
+            public void readElement(XMLExtendedStreamReader reader, List<ModelNode> value) throws XMLStreamException {
+                value.add(new ModelNode(reader.getAttributeValue(null, "value")));
+                while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+                    value.add(new ModelNode(reader.getAttributeValue(null, "value")));
+                    while (reader.next() != END_ELEMENT) {
+                        // skip content
+                    }
+                }
+            }
+        };
+        mapper.registerRootElement(new QName("urn:test:a", "subsystem"), subsystemReader);
+        mapper.registerRootElement(new QName("urn:test:b", "subsystem"), subsystemReader);
+        mapper.registerRootElement(new QName("urn:test:c", "subsystem"), subsystemReader);
+        return mapper;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+* JBoss, Home of Professional Open Source.
+* Copyright 2014, Red Hat Middleware LLC, and individual contributors
+* as indicated by the @author tags. See the copyright.txt file in the
+* distribution for a full listing of individual contributors.
+*
+* This is free software; you can redistribute it and/or modify it
+* under the terms of the GNU Lesser General Public License as
+* published by the Free Software Foundation; either version 2.1 of
+* the License, or (at your option) any later version.
+*
+* This software is distributed in the hope that it will be useful,
+* but WITHOUT ANY WARRANTY; without even the implied warranty of
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+* Lesser General Public License for more details.
+*
+* You should have received a copy of the GNU Lesser General Public
+* License along with this software; if not, write to the Free
+* Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+* 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+*/
+package org.jboss.as.controller.persistence;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.IoUtils;
+
+/**
+ * Tests the coalescing of writes by {@link BackupXmlConfigurationPersister}.
+ */
+public class BackupXmlConfigurationPersisterTestCase {
+
+    private static final QName ROOT = new QName("urn:test", "test");
+    private static final String INVALID = "invalid";
+
+    private File configDir;
+    private File configFile;
+
+    @Before
+    public void createConfiguration() throws Exception {
+        File tgt = new File("target");
+        if (!tgt.exists()) {
+            Assert.fail("target/ does not exist");
+        }
+        configDir = new File(tgt, "coalescing-persister-test-configs");
+        configDir.mkdirs();
+        configFile = new File(configDir, "standard.xml");
+        Writer out = new FileWriter(configFile);
+        try {
+            out.write("<test xmlns=\"urn:test\">initial</test>");
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+
+    @After
+    public void deleteConfiguration() {
+        delete(configDir);
+    }
+
+    @Test
+    public void testImmediateWrites() throws Exception {
+        BackupXmlConfigurationPersister persister = createPersister(0);
+        store(persister, "one");
+        Assert.assertTrue(readConfiguration().contains("one"));
+        store(persister, "two");
+        Assert.assertTrue(readConfiguration().contains("two"));
+        Assert.assertEquals(2, persister.getPersistedWriteCount());
+    }
+
+    @Test
+    public void testCoalescedWrites() throws Exception {
+        BackupXmlConfigurationPersister persister = createPersister(60000);
+        for (int i = 0; i < 100; i++) {
+            store(persister, "value" + i);
+        }
+        // Nothing written until the window elapses or the persister is flushed
+        Assert.assertTrue(readConfiguration().contains("initial"));
+        Assert.assertEquals(0, persister.getPersistedWriteCount());
+
+        persister.flush();
+        Assert.assertTrue(readConfiguration().contains("value99"));
+        Assert.assertEquals(1, persister.getPersistedWriteCount());
+
+        // Nothing pending
+        persister.flush();
+        Assert.assertEquals(1, persister.getPersistedWriteCount());
+    }
+
+    @Test
+    public void testCoalescedWritesFlushedAfterWindow() throws Exception {
+        BackupXmlConfigurationPersister persister = createPersister(10);
+        store(persister, "one");
+        store(persister, "two");
+        long timeout = System.currentTimeMillis() + 10000;
+        while (persister.getPersistedWriteCount() == 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1, persister.getPersistedWriteCount());
+        Assert.assertTrue(readConfiguration().contains("two"));
+    }
+
+    @Test
+    public void testCoalescedMarshallingFailure() throws Exception {
+        BackupXmlConfigurationPersister persister = createPersister(60000);
+        store(persister, "one");
+        try {
+            store(persister, INVALID);
+            Assert.fail("Marshalling failure was not reported");
+        } catch (ConfigurationPersistenceException expected) {
+            // The operation fails just as it would for an immediate write
+        }
+        persister.flush();
+        Assert.assertTrue(readConfiguration().contains("one"));
+        Assert.assertEquals(1, persister.getPersistedWriteCount());
+    }
+
+    @Test
+    public void testStopFlushesPendingWrite() throws Exception {
+        BackupXmlConfigurationPersister persister = createPersister(60000);
+        store(persister, "one");
+        persister.stop();
+        Assert.assertTrue(readConfiguration().contains("one"));
+        Assert.assertEquals(1, persister.getPersistedWriteCount());
+    }
+
+    private BackupXmlConfigurationPersister createPersister(long window) throws Exception {
+        ConfigurationFile file = new ConfigurationFile(configDir, "standard.xml", null, true);
+        BackupXmlConfigurationPersister persister = new BackupXmlConfigurationPersister(file, ROOT, new Parser(), new Deparser(), window);
+        persister.successfulBoot();
+        return persister;
+    }
+
+    private void store(ConfigurationPersister persister, String value) throws Exception {
+        persister.store(new ModelNode(value), Collections.<PathAddress>emptySet()).commit();
+    }
+
+    private String readConfiguration() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        BufferedReader in = new BufferedReader(new FileReader(configFile));
+        try {
+            String s = in.readLine();
+            while (s != null) {
+                sb.append(s);
+                s = in.readLine();
+            }
+        } finally {
+            in.close();
+        }
+        return sb.toString();
+    }
+
+    private void delete(File file) {
+        if (file.isDirectory()) {
+            for (String name : file.list()) {
+                delete(new File(file, name));
+            }
+        }
+        file.delete();
+    }
+
+    private static class Parser implements XMLElementReader<List<ModelNode>> {
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> value) throws XMLStreamException {
+            value.add(new ModelNode(reader.getElementText()));
+        }
+    }
+
+    private static class Deparser implements XMLElementWriter<ModelMarshallingContext> {
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, ModelMarshallingContext context) throws XMLStreamException {
+            if (INVALID.equals(context.getModelNode().asString())) {
+                throw new XMLStreamException(INVALID);
+            }
+            writer.writeStartDocument();
+            writer.writeStartElement(ROOT.getNamespaceURI(), ROOT.getLocalPart());
+            writer.writeDefaultNamespace(ROOT.getNamespaceURI());
+            writer.writeCharacters(context.getModelNode().asString());
+            writer.writeEndElement();
+            writer.writeEndDocument();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.controller.persistence;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.IoUtils;
+
+/**
+ * Tests of {@link BootOperationCache}.
+ */
+public class BootOperationCacheTestCase {
+
+    private File dir;
+    private File configFile;
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws Exception {
+        File tgt = new File("target");
+        if (!tgt.exists()) {
+            Assert.fail("target/ does not exist");
+        }
+        dir = new File(tgt, "boot-operation-cache-test");
+        dir.mkdirs();
+        configFile = new File(dir, "standalone.xml");
+        cacheFile = new File(new File(dir, "data"), "standalone.xml.bootops");
+        writeConfig("<server/>");
+    }
+
+    @After
+    public void tearDown() {
+        delete(dir);
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        List<ModelNode> operations = createOperations();
+        new BootOperationCache(cacheFile).addKeyComponent("1.0").store(configFile, operations);
+        Assert.assertTrue(cacheFile.exists());
+
+        List<ModelNode> cached = new BootOperationCache(cacheFile).addKeyComponent("1.0").load(configFile);
+        Assert.assertEquals(operations, cached);
+    }
+
+    @Test
+    public void testConfigurationChanged() throws Exception {
+        new BootOperationCache(cacheFile).store(configFile, createOperations());
+        writeConfig("<server name=\"changed\"/>");
+        Assert.assertNull(new BootOperationCache(cacheFile).load(configFile));
+    }
+
+    @Test
+    public void testKeyComponentChanged() throws Exception {
+        new BootOperationCache(cacheFile).addKeyComponent("1.0").store(configFile, createOperations());
+        Assert.assertNull(new BootOperationCache(cacheFile).addKeyComponent("1.1").load(configFile));
+    }
+
+    @Test
+    public void testNoCache() throws Exception {
+        Assert.assertNull(new BootOperationCache(cacheFile).load(configFile));
+    }
+
+    private List<ModelNode> createOperations() {
+        List<ModelNode> operations = new ArrayList<ModelNode>();
+        for (int i = 0; i < 10; i++) {
+            ModelNode op = new ModelNode();
+            op.get("operation").set("add");
+            op.get("address").add("subsystem", "test" + i);
+            op.get("value").set(i);
+            operations.add(op);
+        }
+        return operations;
+    }
+
+    private void writeConfig(String content) throws IOException {
+        Writer out = new FileWriter(configFile);
+        try {
+            out.write(content);
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+
+    private void delete(File file) {
+        if (file.isDirectory()) {
+            for (String name : file.list()) {
+                delete(new File(file, name));
+            }
+        }
+        file.delete();
+    }
+}
@@ -21,6 +21,8 @@
  */
 package org.jboss.as.controller.test;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILD_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
@@ -29,6 +31,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTES_BULK_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
@@ -52,6 +55,7 @@ import static org.junit.Assert.fail;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -806,6 +810,39 @@ public class GlobalOperationsTestCase extends AbstractGlobalOperationsTestCase {
         executeForFailure(operation);
     }
 
+    @Test
+    public void testReadAttributesBulk() throws Exception {
+        ModelNode operation = createOperation(READ_ATTRIBUTES_BULK_OPERATION);
+        ModelNode read = operation.get("reads").add();
+        read.get(ADDRESS).add("profile", "profileA").add("subsystem", "subsystem1").add("type1", "*");
+        read.get(ATTRIBUTES).add("name").add("value");
+        read = operation.get("reads").add();
+        read.get(ADDRESS).add("profile", "profileA").add("subsystem", "subsystem1").add("type2", "other");
+        read.get(ATTRIBUTES).add("default");
+        read = operation.get("reads").add();
+        read.get(ADDRESS).add("profile", "profileA").add("subsystem", "subsystem1");
+        read.get(ATTRIBUTES).add("metric1");
+
+        ModelNode result = executeForResult(operation);
+        List<ModelNode> entries = result.asList();
+        assertEquals(4, entries.size());
+        Set<String> names = new HashSet<String>();
+        for (ModelNode entry : entries.subList(0, 2)) {
+            assertEquals(2, entry.require(ATTRIBUTES).keys().size());
+            names.add(entry.require(ATTRIBUTES).require("name").asString());
+        }
+        assertEquals(new HashSet<String>(Arrays.asList("Name11", "Name12")), names);
+        assertEquals("Default string", entries.get(2).require(ATTRIBUTES).require("default").asString());
+        assertEquals(ModelType.INT, entries.get(3).require(ATTRIBUTES).require("metric1").getType());
+
+        operation.get(INCLUDE_DEFAULTS).set(false);
+        result = executeForResult(operation);
+        assertFalse(result.get(2).require(ATTRIBUTES).hasDefined("default"));
+
+        operation.get("reads").get(2).get(ATTRIBUTES).add("unknown");
+        executeForFailure(operation);
+    }
+
     private void checkNonRecursiveSubsystem1(ModelNode result, boolean includeRuntime) {
         assertEquals(includeRuntime ? 7 : 5, result.keys().size());
         ModelNode content = result.require("attr1");
@@ -0,0 +1,272 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.test;
+
+import static org.jboss.as.controller.PathAddress.EMPTY_ADDRESS;
+import static org.jboss.as.controller.PathAddress.pathAddress;
+import static org.jboss.as.controller.PathElement.pathElement;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_CONTROL;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelOnlyAddStepHandler;
+import org.jboss.as.controller.ModelOnlyRemoveStepHandler;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ReadResultCache;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.access.constraint.SensitivityClassification;
+import org.jboss.as.controller.access.management.AccessConstraintDefinition;
+import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.access.rbac.StandardRole;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ReadResultCache} through the {@code read-resource-description} and {@code read-resource} handlers.
+ */
+public class ReadResultCacheTestCase extends AbstractControllerTestBase {
+
+    private static final String MODEL = "model";
+    private static final String COMPUTED = "computed";
+    private static final String SENSITIVE = "sensitive";
+    private static final String DYNAMIC = "dynamic";
+    private static final String ATTR = "attr";
+    private static final String ONE = "one";
+    private static final String READ_CACHE_STATS = "read-cache-stats";
+    private static final String ENABLE_READ_RESOURCE = "enable-read-resource";
+    private static final String REGISTER_DYNAMIC = "register-dynamic";
+    private static final String HITS = "hits";
+
+    private static final SimpleAttributeDefinition MODEL_ATTR = new SimpleAttributeDefinitionBuilder(ATTR, ModelType.STRING, true).build();
+
+    private static final SimpleAttributeDefinition COMPUTED_ATTR = new SimpleAttributeDefinitionBuilder(ATTR, ModelType.INT, true).build();
+
+    private static final SensitivityClassification CACHE_SENSITIVITY
+            = new SensitivityClassification("test", "read-result-cache-sensitivity", true, true, true);
+
+    private static final AccessConstraintDefinition CACHE_SENSITIVE_CONSTRAINT
+            = new SensitiveTargetAccessConstraintDefinition(CACHE_SENSITIVITY);
+
+    private final AtomicInteger computedReads = new AtomicInteger();
+
+    @Test
+    public void testReadResourceDescriptionHit() throws Exception {
+        final ModelNode operation = createOperation(READ_RESOURCE_DESCRIPTION_OPERATION);
+        operation.get(RECURSIVE).set(true);
+        final ModelNode first = executeForResult(operation);
+        final long hits = getHits();
+        final ModelNode second = executeForResult(operation);
+        Assert.assertEquals(hits + 1, getHits());
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void testRegistrationChangeInvalidates() throws Exception {
+        final ModelNode operation = createOperation(READ_RESOURCE_DESCRIPTION_OPERATION);
+        operation.get(RECURSIVE).set(true);
+        Assert.assertFalse(executeForResult(operation).get(CHILDREN).has(DYNAMIC));
+        executeForResult(operation);
+
+        executeForResult(createOperation(REGISTER_DYNAMIC));
+        final long hits = getHits();
+        Assert.assertTrue(executeForResult(operation).get(CHILDREN).has(DYNAMIC));
+        Assert.assertEquals(hits, getHits());
+    }
+
+    @Test
+    public void testReadResourceNotCachedByDefault() throws Exception {
+        final ModelNode add = Util.createAddOperation(pathAddress(MODEL, ONE));
+        add.get(ATTR).set("a");
+        executeForResult(add);
+
+        final ModelNode operation = Util.createOperation(READ_RESOURCE_OPERATION, pathAddress(MODEL, ONE));
+        final long hits = getHits();
+        executeForResult(operation);
+        executeForResult(operation);
+        Assert.assertEquals(hits, getHits());
+    }
+
+    @Test
+    public void testWriteInvalidates() throws Exception {
+        executeForResult(createOperation(ENABLE_READ_RESOURCE));
+        final ModelNode add = Util.createAddOperation(pathAddress(MODEL, ONE));
+        add.get(ATTR).set("a");
+        executeForResult(add);
+
+        final ModelNode operation = Util.createOperation(READ_RESOURCE_OPERATION, pathAddress(MODEL, ONE));
+        Assert.assertEquals("a", executeForResult(operation).get(ATTR).asString());
+        long hits = getHits();
+        Assert.assertEquals("a", executeForResult(operation).get(ATTR).asString());
+        Assert.assertEquals(hits + 1, getHits());
+
+        final ModelNode write = Util.getWriteAttributeOperation(pathAddress(MODEL, ONE), ATTR, new ModelNode("b"));
+        executeForResult(write);
+        hits = getHits();
+        Assert.assertEquals("b", executeForResult(operation).get(ATTR).asString());
+        Assert.assertEquals(hits, getHits());
+    }
+
+    @Test
+    public void testCustomReadHandlerNotCached() throws Exception {
+        executeForResult(createOperation(ENABLE_READ_RESOURCE));
+        executeForResult(Util.createAddOperation(pathAddress(COMPUTED, ONE)));
+
+        final ModelNode operation = Util.createOperation(READ_RESOURCE_OPERATION, pathAddress(COMPUTED, ONE));
+        final long hits = getHits();
+        final int first = executeForResult(operation).get(ATTR).asInt();
+        final int second = executeForResult(operation).get(ATTR).asInt();
+        Assert.assertEquals(first + 1, second);
+        Assert.assertEquals(hits, getHits());
+
+        // nor is a recursive read including the resource
+        final ModelNode recursive = Util.createOperation(READ_RESOURCE_OPERATION, EMPTY_ADDRESS);
+        recursive.get(RECURSIVE).set(true);
+        executeForResult(recursive);
+        executeForResult(recursive);
+        Assert.assertEquals(hits, getHits());
+    }
+
+    @Test
+    public void testReadResourceSeparatedByRole() throws Exception {
+        executeForResult(createOperation(ENABLE_READ_RESOURCE));
+        executeForResult(Util.createAddOperation(pathAddress(SENSITIVE, ONE)));
+
+        final ModelNode monitorResponse = executeWithRole(Util.createOperation(READ_RESOURCE_OPERATION, EMPTY_ADDRESS), StandardRole.MONITOR);
+        Assert.assertFalse(monitorResponse.get(RESULT, SENSITIVE).has(ONE));
+        Assert.assertTrue(monitorResponse.get(RESPONSE_HEADERS).hasDefined(ACCESS_CONTROL));
+
+        long hits = getHits();
+        final ModelNode superUserResponse = executeWithRole(Util.createOperation(READ_RESOURCE_OPERATION, EMPTY_ADDRESS), StandardRole.SUPERUSER);
+        Assert.assertTrue(superUserResponse.get(RESULT, SENSITIVE).has(ONE));
+        Assert.assertFalse(superUserResponse.get(RESPONSE_HEADERS).hasDefined(ACCESS_CONTROL));
+        Assert.assertEquals(hits, getHits());
+
+        hits = getHits();
+        final ModelNode cachedResponse = executeWithRole(Util.createOperation(READ_RESOURCE_OPERATION, EMPTY_ADDRESS), StandardRole.MONITOR);
+        Assert.assertEquals(hits + 1, getHits());
+        Assert.assertEquals(monitorResponse.get(RESULT), cachedResponse.get(RESULT));
+        Assert.assertEquals(monitorResponse.get(RESPONSE_HEADERS, ACCESS_CONTROL), cachedResponse.get(RESPONSE_HEADERS, ACCESS_CONTROL));
+    }
+
+    private ModelNode executeWithRole(final ModelNode operation, final StandardRole role) {
+        operation.get(OPERATION_HEADERS, "roles").add(role.name());
+        final ModelNode response = getController().execute(operation, null, null, null);
+        Assert.assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+        return response;
+    }
+
+    private long getHits() throws OperationFailedException {
+        return executeForResult(createOperation(READ_CACHE_STATS)).get(HITS).asLong();
+    }
+
+    @Override
+    protected void initModel(Resource rootResource, ManagementResourceRegistration registration) {
+        GlobalOperationHandlers.registerGlobalOperations(registration, ProcessType.EMBEDDED_SERVER);
+
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder(READ_CACHE_STATS, new NonResolvingResourceDescriptionResolver())
+                .setReadOnly()
+                .build(), new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                final ReadResultCache cache = context.getAttachment(ReadResultCache.KEY);
+                context.getResult().get(HITS).set(cache.getHitCount());
+                context.stepCompleted();
+            }
+        });
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder(ENABLE_READ_RESOURCE, new NonResolvingResourceDescriptionResolver())
+                .build(), new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                context.getAttachment(ReadResultCache.KEY).setReadResourceEnabled(true);
+                context.stepCompleted();
+            }
+        });
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder(REGISTER_DYNAMIC, new NonResolvingResourceDescriptionResolver())
+                .build(), new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                context.getResourceRegistrationForUpdate().registerSubModel(new TestResourceDefinition(DYNAMIC));
+                context.stepCompleted();
+            }
+        });
+
+        registration.registerSubModel(new TestResourceDefinition(MODEL, MODEL_ATTR) {
+            @Override
+            public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                resourceRegistration.registerReadWriteAttribute(MODEL_ATTR, null, new ModelOnlyWriteAttributeHandler(MODEL_ATTR));
+            }
+        });
+        registration.registerSubModel(new TestResourceDefinition(COMPUTED) {
+            @Override
+            public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                resourceRegistration.registerReadOnlyAttribute(COMPUTED_ATTR, new OperationStepHandler() {
+                    @Override
+                    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                        context.getResult().set(computedReads.incrementAndGet());
+                        context.stepCompleted();
+                    }
+                });
+            }
+        });
+        registration.registerSubModel(new TestResourceDefinition(SENSITIVE) {
+            @Override
+            public List<AccessConstraintDefinition> getAccessConstraints() {
+                return Collections.singletonList(CACHE_SENSITIVE_CONSTRAINT);
+            }
+        });
+    }
+
+    private static class TestResourceDefinition extends SimpleResourceDefinition {
+
+        TestResourceDefinition(final String type, final AttributeDefinition... attributes) {
+            super(pathElement(type), new NonResolvingResourceDescriptionResolver(), new ModelOnlyAddStepHandler(attributes),
+                    ModelOnlyRemoveStepHandler.INSTANCE);
+        }
+    }
+}
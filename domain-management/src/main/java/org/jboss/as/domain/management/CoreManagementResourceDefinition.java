@@ -25,17 +25,26 @@ package org.jboss.as.domain.management;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ReadResultCache;
 import org.jboss.as.controller.ResourceDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.access.management.AccessConstraintUtilizationRegistry;
 import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManagerService;
@@ -45,6 +54,8 @@ import org.jboss.as.domain.management.audit.AccessAuditResourceDefinition;
 import org.jboss.as.domain.management.audit.EnvironmentNameReader;
 import org.jboss.as.domain.management.connections.ldap.LdapConnectionResourceDefinition;
 import org.jboss.as.domain.management.security.SecurityRealmResourceDefinition;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * A {@link org.jboss.as.controller.ResourceDefinition} for the the core management resource.
@@ -58,6 +69,29 @@ public class CoreManagementResourceDefinition extends SimpleResourceDefinition {
 
     public static final PathElement PATH_ELEMENT = PathElement.pathElement(CORE_SERVICE, MANAGEMENT);
 
+    public static final SimpleAttributeDefinition READ_RESULT_CACHE_HITS = new SimpleAttributeDefinitionBuilder("read-result-cache-hits", ModelType.LONG)
+        .setStorageRuntime()
+        .build();
+
+    public static final SimpleAttributeDefinition READ_RESULT_CACHE_MISSES = new SimpleAttributeDefinitionBuilder("read-result-cache-misses", ModelType.LONG)
+        .setStorageRuntime()
+        .build();
+
+    public static final SimpleAttributeDefinition READ_RESULT_CACHE_SIZE = new SimpleAttributeDefinitionBuilder("read-result-cache-size", ModelType.INT)
+        .setStorageRuntime()
+        .build();
+
+    public static final SimpleAttributeDefinition READ_RESULT_CACHE_MAX_SIZE = new SimpleAttributeDefinitionBuilder("read-result-cache-max-size", ModelType.INT, true)
+        .setDefaultValue(new ModelNode(ReadResultCache.DEFAULT_MAX_ENTRIES))
+        .setValidator(new IntRangeValidator(0, true))
+        .setStorageRuntime()
+        .build();
+
+    public static final SimpleAttributeDefinition READ_RESULT_CACHE_READ_RESOURCE = new SimpleAttributeDefinitionBuilder("read-result-cache-read-resource", ModelType.BOOLEAN, true)
+        .setDefaultValue(new ModelNode(false))
+        .setStorageRuntime()
+        .build();
+
     public static void registerDomainResource(Resource parent, AccessConstraintUtilizationRegistry registry) {
         Resource coreManagement = Resource.Factory.create();
         coreManagement.registerChild(AccessAuthorizationResourceDefinition.PATH_ELEMENT,
@@ -84,6 +118,17 @@ public class CoreManagementResourceDefinition extends SimpleResourceDefinition {
         this.environmentReader = environmentReader;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        if (environment != Environment.DOMAIN) {
+            resourceRegistration.registerMetric(READ_RESULT_CACHE_HITS, ReadResultCacheReadHandler.INSTANCE);
+            resourceRegistration.registerMetric(READ_RESULT_CACHE_MISSES, ReadResultCacheReadHandler.INSTANCE);
+            resourceRegistration.registerMetric(READ_RESULT_CACHE_SIZE, ReadResultCacheReadHandler.INSTANCE);
+            resourceRegistration.registerReadWriteAttribute(READ_RESULT_CACHE_MAX_SIZE, ReadResultCacheReadHandler.INSTANCE, ReadResultCacheWriteHandler.INSTANCE);
+            resourceRegistration.registerReadWriteAttribute(READ_RESULT_CACHE_READ_RESOURCE, ReadResultCacheReadHandler.INSTANCE, ReadResultCacheWriteHandler.INSTANCE);
+        }
+    }
+
     @Override
     public void registerChildren(ManagementResourceRegistration resourceRegistration) {
         if (environment != Environment.DOMAIN) {
@@ -139,4 +184,76 @@ public class CoreManagementResourceDefinition extends SimpleResourceDefinition {
         return new CoreManagementResourceDefinition(Environment.STANDALONE_SERVER, authorizer, auditLogger, pathManager, environmentReader, Arrays.asList(interfaces));
     }
 
+    /**
+     * Reads the statistics and settings of the {@link ReadResultCache} of the controller executing the operation.
+     */
+    private static class ReadResultCacheReadHandler extends AbstractRuntimeOnlyHandler {
+
+        private static final ReadResultCacheReadHandler INSTANCE = new ReadResultCacheReadHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String attr = operation.require(NAME).asString();
+            final ReadResultCache cache = context.getAttachment(ReadResultCache.KEY);
+            final ModelNode result = context.getResult();
+            if (attr.equals(READ_RESULT_CACHE_HITS.getName())) {
+                result.set(cache == null ? 0L : cache.getHitCount());
+            } else if (attr.equals(READ_RESULT_CACHE_MISSES.getName())) {
+                result.set(cache == null ? 0L : cache.getMissCount());
+            } else if (attr.equals(READ_RESULT_CACHE_SIZE.getName())) {
+                result.set(cache == null ? 0 : cache.getSize());
+            } else if (attr.equals(READ_RESULT_CACHE_MAX_SIZE.getName())) {
+                result.set(cache == null ? 0 : cache.getMaxEntries());
+            } else if (attr.equals(READ_RESULT_CACHE_READ_RESOURCE.getName())) {
+                result.set(cache != null && cache.isReadResourceEnabled());
+            }
+            context.stepCompleted();
+        }
+    }
+
+    /**
+     * Changes the settings of the {@link ReadResultCache} of the controller executing the operation. The settings are
+     * not persisted.
+     */
+    private static class ReadResultCacheWriteHandler extends AbstractRuntimeOnlyHandler {
+
+        private static final ReadResultCacheWriteHandler INSTANCE = new ReadResultCacheWriteHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String attr = operation.require(NAME).asString();
+            final ReadResultCache cache = context.getAttachment(ReadResultCache.KEY);
+            final ModelNode model = new ModelNode();
+            model.get(attr).set(operation.get(VALUE));
+            if (attr.equals(READ_RESULT_CACHE_MAX_SIZE.getName())) {
+                final int maxEntries = READ_RESULT_CACHE_MAX_SIZE.resolveModelAttribute(context, model).asInt();
+                if (cache != null) {
+                    final int previous = cache.getMaxEntries();
+                    cache.setMaxEntries(maxEntries);
+                    context.completeStep(new OperationContext.RollbackHandler() {
+                        @Override
+                        public void handleRollback(OperationContext context, ModelNode operation) {
+                            cache.setMaxEntries(previous);
+                        }
+                    });
+                    return;
+                }
+            } else if (attr.equals(READ_RESULT_CACHE_READ_RESOURCE.getName())) {
+                final boolean enabled = READ_RESULT_CACHE_READ_RESOURCE.resolveModelAttribute(context, model).asBoolean();
+                if (cache != null) {
+                    final boolean previous = cache.isReadResourceEnabled();
+                    cache.setReadResourceEnabled(enabled);
+                    context.completeStep(new OperationContext.RollbackHandler() {
+                        @Override
+                        public void handleRollback(OperationContext context, ModelNode operation) {
+                            cache.setReadResourceEnabled(previous);
+                        }
+                    });
+                    return;
+                }
+            }
+            context.stepCompleted();
+        }
+    }
+
 }
@@ -26,7 +26,9 @@ import static org.jboss.as.ejb3.EjbMessages.MESSAGES;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.ejb.NoSuchEntityException;
 
@@ -34,20 +36,50 @@ import org.jboss.as.ejb3.component.entity.EntityBeanComponent;
 import org.jboss.as.ejb3.component.entity.EntityBeanComponentInstance;
 
 /**
+ * Entity cache that keeps a single instance per primary key for as long as it is referenced.
+ * <p/>
+ * Operations for the same primary key are serialized by a lock stripe chosen by the hash code of the key, so
+ * invocations on different entities of the same bean do not wait for each other. The lock is only held while the
+ * cache entry is updated: bean callbacks such as ejbActivate, ejbLoad and ejbPassivate run outside of it. While an
+ * entry is being activated or passivated it is marked with a transition latch, and other callers for the same key wait
+ * for the transition to finish before they use the entry.
+ *
  * @author John Bailey
  * @author <a href="wfink@redhat.com">Wolf-Dieter Fink</a>
  */
 public class ReferenceCountingEntityCache implements ReadyEntityCache {
+    private static final int LOCK_STRIPES = 64;
+
     private final ConcurrentMap<Object, CacheEntry> cache = new ConcurrentHashMap<Object, CacheEntry>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
     private final EntityBeanComponent component;
 
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong passivationCount = new AtomicLong();
+
     public ReferenceCountingEntityCache(final EntityBeanComponent component) {
         this.component = component;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
     }
 
-    public synchronized void create(final EntityBeanComponentInstance instance) {
-        final CacheEntry entry = realCreate(instance);
-        entry.referenceCount.incrementAndGet();
+    public void create(final EntityBeanComponentInstance instance) {
+        final Object primaryKey = instance.getPrimaryKey();
+        for (;;) {
+            final CountDownLatch transition;
+            synchronized (lockFor(primaryKey)) {
+                final CacheEntry existing = cache.get(primaryKey);
+                transition = existing == null ? null : existing.transition;
+                if (transition == null) {
+                    final CacheEntry entry = realCreate(instance);
+                    entry.referenceCount.incrementAndGet();
+                    return;
+                }
+            }
+            awaitTransition(transition);
+        }
     }
 
     private CacheEntry realCreate(final EntityBeanComponentInstance instance) {
@@ -65,44 +97,102 @@ public class ReferenceCountingEntityCache implements ReadyEntityCache {
     }
 
     @Override
-    public synchronized boolean contains(final Object key) {
-        if(cache.containsKey(key)) {
-            final CacheEntry cacheEntry = cache.get(key);
-            return true;
-        }
-        return false;
+    public boolean contains(final Object key) {
+        return cache.containsKey(key);
     }
     @Override
-    public synchronized boolean containsNotRemoved(final Object key) {
-        if(cache.containsKey(key)) {
-            final CacheEntry cacheEntry = cache.get(key);
-            if (cacheEntry.replacedInstance != null) {
-                return !cacheEntry.replacedInstance.isRemoved();
-            } else {
-                return !cacheEntry.instance.isRemoved();
+    public boolean containsNotRemoved(final Object key) {
+        for (;;) {
+            final CountDownLatch transition;
+            synchronized (lockFor(key)) {
+                final CacheEntry cacheEntry = cache.get(key);
+                if (cacheEntry == null) {
+                    return false;
+                }
+                transition = cacheEntry.transition;
+                if (transition == null) {
+                    if (cacheEntry.replacedInstance != null) {
+                        return !cacheEntry.replacedInstance.isRemoved();
+                    } else {
+                        return !cacheEntry.instance.isRemoved();
+                    }
+                }
             }
+            awaitTransition(transition);
         }
-        return false;
     }
 
-    public synchronized EntityBeanComponentInstance get(final Object key) throws NoSuchEntityException {
-        if (!cache.containsKey(key)) {
-            final EntityBeanComponentInstance instance = createInstance(key);
-            realCreate(instance);
+    public EntityBeanComponentInstance get(final Object key) throws NoSuchEntityException {
+        for (;;) {
+            final CacheEntry placeholder;
+            final CountDownLatch transition;
+            synchronized (lockFor(key)) {
+                final CacheEntry cacheEntry = cache.get(key);
+                if (cacheEntry == null) {
+                    missCount.incrementAndGet();
+                    // install a placeholder, so that other callers for the key wait while we activate the instance
+                    placeholder = new CacheEntry(null);
+                    placeholder.transition = new CountDownLatch(1);
+                    placeholder.referenceCount.incrementAndGet();
+                    cache.put(key, placeholder);
+                    transition = null;
+                } else {
+                    placeholder = null;
+                    transition = cacheEntry.transition;
+                    if (transition == null) {
+                        hitCount.incrementAndGet();
+                        cacheEntry.referenceCount.incrementAndGet();
+                        if (cacheEntry.replacedInstance != null) {
+                            return cacheEntry.replacedInstance;
+                        } else {
+                            return cacheEntry.instance;
+                        }
+                    }
+                }
+            }
+            if (placeholder != null) {
+                return activate(key, placeholder);
+            }
+            awaitTransition(transition);
         }
-        final CacheEntry cacheEntry = cache.get(key);
-        cacheEntry.referenceCount.incrementAndGet();
-        if (cacheEntry.replacedInstance != null) {
-            return cacheEntry.replacedInstance;
-        } else {
-            return cacheEntry.instance;
+    }
+
+    private EntityBeanComponentInstance activate(final Object key, final CacheEntry placeholder) {
+        EntityBeanComponentInstance instance = null;
+        try {
+            instance = createInstance(key);
+            return instance;
+        } finally {
+            synchronized (lockFor(key)) {
+                if (instance == null) {
+                    cache.remove(key, placeholder);
+                } else {
+                    placeholder.instance = instance;
+                }
+                endTransition(placeholder);
+            }
         }
     }
-    public synchronized void release(final EntityBeanComponentInstance instance, boolean success) {
+
+    public void release(final EntityBeanComponentInstance instance, boolean success) {
         if (instance.isDiscarded()) {
             return;
         }
-        if (instance.getPrimaryKey() == null) return;  // TODO: Should this be an Exception
+        final Object primaryKey = instance.getPrimaryKey();
+        if (primaryKey == null) return;  // TODO: Should this be an Exception
+        final CacheEntry passivating;
+        synchronized (lockFor(primaryKey)) {
+            passivating = realRelease(instance, success);
+        }
+        if (passivating != null) {
+            passivate(primaryKey, instance, passivating);
+        }
+    }
+
+    /**
+     * @return the entry, marked as in transition, if the instance must now be passivated, or {@code null}
+     */
+    private CacheEntry realRelease(final EntityBeanComponentInstance instance, boolean success) {
         final CacheEntry cacheEntry = cache.get(instance.getPrimaryKey());
         if (cacheEntry == null) {
             throw MESSAGES.entityBeanInstanceNotFoundInCache(instance);
@@ -116,7 +206,7 @@ public class ReferenceCountingEntityCache implements ReadyEntityCache {
                     //if the TX was a failure, and the previous instance has been discarded
                     //we just remove the entry and return
                     cache.remove(instance.getPrimaryKey());
-                    return;
+                    return null;
                 }
                 cacheEntry.replacedInstance = null;
             }
@@ -127,33 +217,72 @@ public class ReferenceCountingEntityCache implements ReadyEntityCache {
             instance.setRemoved(false);
         }
         if (cacheEntry.referenceCount.decrementAndGet() == 0) {
-            final Object pk = instance.getPrimaryKey();
-            try {
-                instance.passivate();
-                component.releaseEntityBeanInstance(instance);
-            } finally {
-                cache.remove(pk);
+            cacheEntry.transition = new CountDownLatch(1);
+            return cacheEntry;
+        }
+        return null;
+    }
+
+    private void passivate(final Object primaryKey, final EntityBeanComponentInstance instance, final CacheEntry cacheEntry) {
+        try {
+            instance.passivate();
+            passivationCount.incrementAndGet();
+            component.releaseEntityBeanInstance(instance);
+        } finally {
+            synchronized (lockFor(primaryKey)) {
+                cache.remove(primaryKey, cacheEntry);
+                endTransition(cacheEntry);
             }
         }
     }
 
-    public synchronized void discard(final EntityBeanComponentInstance instance) {
-        if(instance.getPrimaryKey() == null) {
+    public void discard(final EntityBeanComponentInstance instance) {
+        final Object primaryKey = instance.getPrimaryKey();
+        if(primaryKey == null) {
             //instance has already been passivated
             return;
         }
-        final CacheEntry entry = cache.get(instance.getPrimaryKey());
-        if (entry != null) {
-            if (instance == entry.replacedInstance) {
-                //this instance that is being discarded is the new instance
-                //we can just set it to null
-                entry.replacedInstance = null;
-            } else if (entry.replacedInstance == null) {
-                //if there is a new instance we cannot discard the entry entirely
-                cache.remove(instance.getPrimaryKey());
+        synchronized (lockFor(primaryKey)) {
+            final CacheEntry entry = cache.get(primaryKey);
+            if (entry != null) {
+                if (instance == entry.replacedInstance) {
+                    //this instance that is being discarded is the new instance
+                    //we can just set it to null
+                    entry.replacedInstance = null;
+                } else if (entry.replacedInstance == null) {
+                    //if there is a new instance we cannot discard the entry entirely
+                    cache.remove(primaryKey);
+                }
             }
         }
     }
+    /**
+     * @return the number of entities currently held by the cache
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * @return the number of lookups that found the entity in the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of lookups that had to associate a pooled instance with the primary key
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of instances passivated after their last reference was released
+     */
+    public long getPassivationCount() {
+        return passivationCount.get();
+    }
 
     public void start() {
     }
@@ -161,6 +290,40 @@ public class ReferenceCountingEntityCache implements ReadyEntityCache {
     public void stop() {
     }
 
+    private Object lockFor(final Object key) {
+        int h = key.hashCode();
+        // spread the bits, as primary keys are often sequential numbers
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return locks[h & (LOCK_STRIPES - 1)];
+    }
+
+    private static void endTransition(final CacheEntry cacheEntry) {
+        final CountDownLatch transition = cacheEntry.transition;
+        if (transition != null) {
+            cacheEntry.transition = null;
+            transition.countDown();
+        }
+    }
+
+    private static void awaitTransition(final CountDownLatch transition) {
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    transition.await();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     private EntityBeanComponentInstance createInstance(final Object pk) {
         final EntityBeanComponentInstance instance = component.acquireUnAssociatedInstance();
         instance.activate(pk);
@@ -171,6 +334,10 @@ public class ReferenceCountingEntityCache implements ReadyEntityCache {
         private final AtomicInteger referenceCount = new AtomicInteger(0);
         private volatile EntityBeanComponentInstance instance;
         private volatile EntityBeanComponentInstance replacedInstance;
+        /**
+         * Set while the instance is activated or passivated outside of the lock, guarded by the lock of the key
+         */
+        private volatile CountDownLatch transition;
 
         private CacheEntry(EntityBeanComponentInstance instance) {
             this.instance = instance;
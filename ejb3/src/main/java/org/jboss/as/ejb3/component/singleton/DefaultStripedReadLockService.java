@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2010, Red Hat Inc., and individual contributors as indicated
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.singleton;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+
+/**
+ * Service that manages whether container managed singletons use the {@link org.jboss.as.ejb3.concurrency.StripedEJBReadWriteLock}
+ * by default. The value is read when the concurrency interceptor of a singleton is created, so a change only applies to
+ * the singletons deployed afterwards.
+ */
+public class DefaultStripedReadLockService implements Service<DefaultStripedReadLockService> {
+
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "singletonStripedReadLock");
+
+    private volatile boolean stripedReadLock;
+
+    public DefaultStripedReadLockService(final boolean stripedReadLock) {
+        this.stripedReadLock = stripedReadLock;
+    }
+
+    public boolean isStripedReadLock() {
+        return stripedReadLock;
+    }
+
+    public void setStripedReadLock(final boolean stripedReadLock) {
+        this.stripedReadLock = stripedReadLock;
+    }
+
+    @Override
+    public void start(final StartContext context) throws StartException {
+
+    }
+
+    @Override
+    public void stop(final StopContext context) {
+
+    }
+
+    @Override
+    public DefaultStripedReadLockService getValue() throws IllegalStateException, IllegalArgumentException {
+        return this;
+    }
+}
@@ -45,9 +45,9 @@ public class ContainerManagedConcurrencyInterceptor implements Interceptor {
     private static final Logger logger = Logger.getLogger(ContainerManagedConcurrencyInterceptor.class);
 
     /**
-     * A spec compliant {@link org.jboss.as.ejb3.concurrency.EJBReadWriteLock}
+     * A spec compliant {@link org.jboss.as.ejb3.concurrency.EJBReadWriteLock}, or its striped variant if the component uses it
      */
-    private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
+    private final ReadWriteLock readWriteLock;
 
     private final LockableComponent lockableComponent;
 
@@ -56,6 +56,7 @@ public class ContainerManagedConcurrencyInterceptor implements Interceptor {
             throw MESSAGES.componentIsNull(LockableComponent.class.getName());
         }
         this.lockableComponent = component;
+        this.readWriteLock = component.isStripedReadLock() ? new StripedEJBReadWriteLock() : new EJBReadWriteLock();
     }
 
     protected LockableComponent getLockableComponent() {
@@ -61,4 +61,12 @@ public interface LockableComponent {
      * @return
      */
     AccessTimeoutDetails getDefaultAccessTimeout();
+
+    /**
+     * Returns true if the component uses a {@link StripedEJBReadWriteLock}, which scales better for components that are
+     * mostly invoked through {@link javax.ejb.LockType#READ} methods, instead of a {@link EJBReadWriteLock}
+     *
+     * @return
+     */
+    boolean isStripedReadLock();
 }
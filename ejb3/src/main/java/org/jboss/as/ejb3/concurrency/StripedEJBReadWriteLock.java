@@ -0,0 +1,377 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.concurrency;
+
+import static org.jboss.as.ejb3.EjbMessages.MESSAGES;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link ReadWriteLock} for read mostly components with the same semantics as {@link EJBReadWriteLock}: both locks
+ * are reentrant, a thread holding the write lock can obtain the read lock, and a thread holding a read lock gets an
+ * {@link javax.ejb.IllegalLoopbackException} when it asks for the write lock.
+ * <p/>
+ * Readers announce themselves on one of several padded counters chosen by their thread id instead of on a single
+ * shared count, so concurrent readers do not contend on the same cache line. A writer first takes an exclusive
+ * {@link ReentrantLock}, which blocks new readers, and then waits for the reader counters to drain. Writers therefore
+ * pay for the cheap reads by having to scan all counters.
+ */
+public class StripedEJBReadWriteLock implements ReadWriteLock {
+
+    /**
+     * The number of int slots between two reader counters, so that each counter has its own cache line
+     */
+    private static final int PADDING = 16;
+
+    private static final int STRIPES;
+
+    static {
+        int stripes = 1;
+        while (stripes < Runtime.getRuntime().availableProcessors() * 2) {
+            stripes <<= 1;
+        }
+        STRIPES = stripes;
+    }
+
+    /**
+     * The number of times a writer yields while waiting for the readers before it starts to park
+     */
+    private static final int WRITER_SPINS = 64;
+
+    /**
+     * Readers do not wake up a waiting writer when they release the lock, so the writer polls the reader counters. It
+     * parks for 10 microseconds at first, so that a write waiting for short reads is delayed very little, and doubles
+     * the time on every further poll up to {@link #WRITER_MAX_PARK_NANOS}, so that a writer waiting for long running
+     * reads does not keep a CPU busy.
+     */
+    private static final long WRITER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private static final long WRITER_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Keep track of the number of read locks held by this thread
+     */
+    private final ThreadLocal<Integer> readLockCount = new ThreadLocal<Integer>();
+
+    private final AtomicIntegerArray readers = new AtomicIntegerArray(STRIPES * PADDING);
+
+    /**
+     * Held by the writer, and briefly by readers that wait for the writer to finish
+     */
+    private final ReentrantLock writerLock = new ReentrantLock();
+
+    /**
+     * Set while a writer holds or is acquiring the write lock
+     */
+    private volatile boolean writing;
+
+    private final Lock readLock = new ReadLock();
+
+    private final Lock writeLock = new WriteLock();
+
+    private class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            if (tryReentrantRead()) {
+                return;
+            }
+            while (!tryAcquireRead()) {
+                // wait for the writer to finish
+                writerLock.lock();
+                writerLock.unlock();
+            }
+            incReadLockCount();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (tryReentrantRead()) {
+                return;
+            }
+            while (!tryAcquireRead()) {
+                writerLock.lockInterruptibly();
+                writerLock.unlock();
+            }
+            incReadLockCount();
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (tryReentrantRead()) {
+                return true;
+            }
+            if (tryAcquireRead()) {
+                incReadLockCount();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (tryReentrantRead()) {
+                return true;
+            }
+            final long timeout = unit.toNanos(time);
+            final long start = System.nanoTime();
+            while (!tryAcquireRead()) {
+                final long remaining = timeout - (System.nanoTime() - start);
+                if (remaining <= 0 || !writerLock.tryLock(remaining, TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+                writerLock.unlock();
+            }
+            incReadLockCount();
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            if (readLockCount.get() == null) {
+                throw new IllegalMonitorStateException();
+            }
+            readers.decrementAndGet(stripe());
+            decReadLockCount();
+        }
+
+        /**
+         * No implementation provided
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            checkLoopback();
+            if (tryReentrantWrite()) {
+                return;
+            }
+            writerLock.lock();
+            writing = true;
+            boolean interrupted = false;
+            for (int spins = 0; readerCount() > 0; spins++) {
+                pause(spins);
+                interrupted |= Thread.interrupted();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            checkLoopback();
+            if (tryReentrantWrite()) {
+                return;
+            }
+            writerLock.lockInterruptibly();
+            writing = true;
+            for (int spins = 0; readerCount() > 0; spins++) {
+                pause(spins);
+                if (Thread.interrupted()) {
+                    releaseWrite();
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            checkLoopback();
+            if (tryReentrantWrite()) {
+                return true;
+            }
+            if (!writerLock.tryLock()) {
+                return false;
+            }
+            writing = true;
+            if (readerCount() > 0) {
+                releaseWrite();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            checkLoopback();
+            if (tryReentrantWrite()) {
+                return true;
+            }
+            final long timeout = unit.toNanos(time);
+            final long start = System.nanoTime();
+            if (!writerLock.tryLock(timeout, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            writing = true;
+            for (int spins = 0; readerCount() > 0; spins++) {
+                if (timeout - (System.nanoTime() - start) <= 0) {
+                    releaseWrite();
+                    return false;
+                }
+                pause(spins);
+                if (Thread.interrupted()) {
+                    releaseWrite();
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            if (!writerLock.isHeldByCurrentThread()) {
+                throw new IllegalMonitorStateException();
+            }
+            releaseWrite();
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Readers increment their counter before checking for a writer, and the writer sets {@link #writing} before
+     * checking the counters, so at least one of them sees the other.
+     */
+    private boolean tryAcquireRead() {
+        final int stripe = stripe();
+        readers.incrementAndGet(stripe);
+        if (!writing) {
+            return true;
+        }
+        readers.decrementAndGet(stripe);
+        return false;
+    }
+
+    /**
+     * A thread that already holds the read lock or the write lock gets the read lock without waiting, even if
+     * another writer is waiting for the readers to drain.
+     */
+    private boolean tryReentrantRead() {
+        if (readLockCount.get() != null || writerLock.isHeldByCurrentThread()) {
+            readers.incrementAndGet(stripe());
+            incReadLockCount();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean tryReentrantWrite() {
+        if (writerLock.isHeldByCurrentThread()) {
+            writerLock.lock();
+            return true;
+        }
+        return false;
+    }
+
+    private void releaseWrite() {
+        if (writerLock.getHoldCount() == 1) {
+            writing = false;
+        }
+        writerLock.unlock();
+    }
+
+    private int readerCount() {
+        int count = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            count += readers.get(i * PADDING);
+        }
+        return count;
+    }
+
+    private static int stripe() {
+        return ((int) Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+    }
+
+    private static void pause(final int spins) {
+        if (spins < WRITER_SPINS) {
+            Thread.yield();
+        } else {
+            // 10us << 7 is above the maximum, so there is no need to shift any further
+            final int backoff = Math.min(spins - WRITER_SPINS, 7);
+            LockSupport.parkNanos(Math.min(WRITER_PARK_NANOS << backoff, WRITER_MAX_PARK_NANOS));
+        }
+    }
+
+    /**
+     * Ensures that the current thread doesn't hold any read locks. If
+     * the thread holds any read locks, this method throws a {@link javax.ejb.IllegalLoopbackException}.
+     */
+    private void checkLoopback() {
+        if (readLockCount.get() != null) {
+            throw MESSAGES.failToUpgradeToWriteLock();
+        }
+    }
+
+    private void decReadLockCount() {
+        final int next = readLockCount.get() - 1;
+        if (next == 0) {
+            readLockCount.remove();
+        } else {
+            readLockCount.set(next);
+        }
+    }
+
+    private void incReadLockCount() {
+        final Integer current = readLockCount.get();
+        readLockCount.set(current == null ? 1 : current + 1);
+    }
+
+    @Override
+    public Lock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+}
@@ -23,6 +23,7 @@
 package org.jboss.as.ejb3.deployment;
 
 import org.jboss.as.ejb3.deployment.processors.EjbInjectionSource;
+import org.jboss.as.ejb3.iiop.stub.StubCache;
 import org.jboss.as.ejb3.security.EjbJaccConfig;
 import org.jboss.as.ejb3.subsystem.deployment.InstalledComponent;
 import org.jboss.as.server.deployment.AttachmentKey;
@@ -53,6 +54,11 @@ public class EjbDeploymentAttachmentKeys {
 
     public static final AttachmentKey<EJBClientContext> EJB_CLIENT_CONTEXT = AttachmentKey.create(EJBClientContext.class);
 
+    /**
+     * The key of the IIOP stub cache of a top level deployment, shared by its sub deployments
+     */
+    public static final AttachmentKey<StubCache.Key> IIOP_STUB_CACHE_KEY = AttachmentKey.create(StubCache.Key.class);
+
     /**
      * components that have been registered with the management API
      */
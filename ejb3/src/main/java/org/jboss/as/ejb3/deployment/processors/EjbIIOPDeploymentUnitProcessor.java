@@ -46,6 +46,7 @@ import org.jboss.as.ejb3.deployment.EjbDeploymentAttachmentKeys;
 import org.jboss.as.ejb3.iiop.EjbIIOPService;
 import org.jboss.as.ejb3.iiop.EjbIIOPTransactionInterceptor;
 import org.jboss.as.ejb3.iiop.POARegistry;
+import org.jboss.as.ejb3.iiop.stub.StubCache;
 import org.jboss.as.ejb3.subsystem.IIOPSettingsService;
 import org.jboss.as.jacorb.deployment.JacORBDeploymentMarker;
 import org.jboss.as.jacorb.rmi.AttributeAnalysis;
@@ -56,11 +57,14 @@ import org.jboss.as.jacorb.rmi.marshal.strategy.SkeletonStrategy;
 import org.jboss.as.jacorb.service.CorbaNamingService;
 import org.jboss.as.jacorb.service.CorbaORBService;
 import org.jboss.as.jacorb.service.CorbaPOAService;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.ServerEnvironmentService;
 import org.jboss.as.server.Services;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.EjbDeploymentMarker;
 import org.jboss.as.server.deployment.reflect.ClassIndex;
 import org.jboss.as.server.deployment.reflect.DeploymentClassIndex;
@@ -117,6 +121,8 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
         final DeploymentClassIndex classIndex = deploymentUnit.getAttachment(org.jboss.as.server.deployment.Attachments.CLASS_INDEX);
         final DeploymentReflectionIndex deploymentReflectionIndex = deploymentUnit.getAttachment(org.jboss.as.server.deployment.Attachments.REFLECTION_INDEX);
         final Module module = deploymentUnit.getAttachment(org.jboss.as.server.deployment.Attachments.MODULE);
+        final DeploymentUnit topDeploymentUnit = DeploymentUtils.getTopDeploymentUnit(deploymentUnit);
+        final StubCache.Key stubCacheKey = getStubCacheKey(topDeploymentUnit);
         if (moduleDescription != null) {
             for (final ComponentDescription componentDescription : moduleDescription.getComponentDescriptions()) {
                 if (componentDescription instanceof EJBComponentDescription) {
@@ -131,7 +137,7 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
                         // has been enabled by default in the EJB3 subsystem.
                         if (iiopMetaData != null || settingsService.isEnabledByDefault()) {
                             processEjb(ejbComponentDescription, classIndex, deploymentReflectionIndex, module,
-                                    phaseContext.getServiceTarget(), iiopMetaData);
+                                    phaseContext.getServiceTarget(), iiopMetaData, topDeploymentUnit.getName(), stubCacheKey);
                         }
                     }
                 }
@@ -144,9 +150,28 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
 
     }
 
+    /**
+     * Gets the stub cache key of the top level deployment, which is shared by its sub deployments so that its archive is
+     * hashed at most once, when a stub is first requested.
+     */
+    private static StubCache.Key getStubCacheKey(final DeploymentUnit topDeploymentUnit) {
+        // sub deployments may be processed concurrently
+        synchronized (topDeploymentUnit) {
+            StubCache.Key key = topDeploymentUnit.getAttachment(EjbDeploymentAttachmentKeys.IIOP_STUB_CACHE_KEY);
+            if (key == null) {
+                key = StubCache.createKey(topDeploymentUnit.getAttachment(org.jboss.as.server.deployment.Attachments.DEPLOYMENT_CONTENTS));
+                if (key != null) {
+                    topDeploymentUnit.putAttachment(EjbDeploymentAttachmentKeys.IIOP_STUB_CACHE_KEY, key);
+                }
+            }
+            return key;
+        }
+    }
+
     private void processEjb(final EJBComponentDescription componentDescription, final DeploymentClassIndex classIndex,
                             final DeploymentReflectionIndex deploymentReflectionIndex, final Module module,
-                            final ServiceTarget serviceTarget, final IIOPMetaData iiopMetaData) {
+                            final ServiceTarget serviceTarget, final IIOPMetaData iiopMetaData,
+                            final String deploymentName, final StubCache.Key stubCacheKey) {
         componentDescription.setExposedViaIiop(true);
 
 
@@ -246,7 +271,7 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
         final String[] homeRepositoryIds = homeInterfaceAnalysis.getAllTypeIds();
 
         final EjbIIOPService service = new EjbIIOPService(beanMethodMap, beanRepositoryIds, homeMethodMap, homeRepositoryIds,
-                settingsService.isUseQualifiedName(), iiopMetaData, module);
+                settingsService.isUseQualifiedName(), iiopMetaData, module, deploymentName, stubCacheKey);
         final ServiceBuilder<EjbIIOPService> builder = serviceTarget.addService(componentDescription.getServiceName().append(EjbIIOPService.SERVICE_NAME), service);
         builder.addDependency(componentDescription.getCreateServiceName(), EJBComponent.class, service.getEjbComponentInjectedValue());
         builder.addDependency(homeView.getServiceName(), ComponentView.class, service.getHomeView());
@@ -256,6 +281,7 @@ public class EjbIIOPDeploymentUnitProcessor implements DeploymentUnitProcessor {
         builder.addDependency(CorbaPOAService.INTERFACE_REPOSITORY_SERVICE_NAME, POA.class, service.getIrPoa());
         builder.addDependency(CorbaNamingService.SERVICE_NAME, NamingContextExt.class, service.getCorbaNamingContext());
         builder.addDependency(Services.JBOSS_SERVICE_MODULE_LOADER, ServiceModuleLoader.class, service.getServiceModuleLoaderInjectedValue());
+        builder.addDependency(ServerEnvironmentService.SERVICE_NAME, ServerEnvironment.class, service.getServerEnvironment());
 
         //we need the arjunta transaction manager to be up, as it performs some initialization that is required by the orb interceptors
         builder.addDependency(TxnServices.JBOSS_TXN_ARJUNA_TRANSACTION_MANAGER);
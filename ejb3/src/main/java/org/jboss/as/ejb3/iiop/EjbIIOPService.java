@@ -23,6 +23,7 @@ package org.jboss.as.ejb3.iiop;
 
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -41,9 +42,11 @@ import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.entity.EntityBeanComponent;
 import org.jboss.as.ejb3.component.stateless.StatelessSessionComponent;
 import org.jboss.as.ejb3.iiop.stub.DynamicStubFactoryFactory;
+import org.jboss.as.ejb3.iiop.stub.StubCache;
 import org.jboss.as.jacorb.csiv2.CSIv2Policy;
 import org.jboss.as.jacorb.rmi.ir.InterfaceRepository;
 import org.jboss.as.jacorb.rmi.marshal.strategy.SkeletonStrategy;
+import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.moduleservice.ServiceModuleLoader;
 import org.jboss.ejb.client.EJBHomeLocator;
 import org.jboss.ejb.client.EJBLocator;
@@ -177,6 +180,18 @@ public class EjbIIOPService implements Service<EjbIIOPService> {
 
     private final Module module;
 
+    /**
+     * The name of the top level deployment, and the key of the cache holding its generated stubs,
+     * or <code>null</code> if its stubs are not cached.
+     */
+    private final String deploymentName;
+    private final StubCache.Key stubCacheKey;
+
+    /**
+     * The server environment, used to locate the stub cache.
+     */
+    private final InjectedValue<ServerEnvironment> serverEnvironment = new InjectedValue<ServerEnvironment>();
+
     /**
      * <code>ServantRegistry</code> for the container's <code>EJBHome</code>.
      */
@@ -220,9 +235,12 @@ public class EjbIIOPService implements Service<EjbIIOPService> {
 
     public EjbIIOPService(final Map<String, SkeletonStrategy> beanMethodMap, final String[] beanRepositoryIds,
                           final Map<String, SkeletonStrategy> homeMethodMap, final String[] homeRepositoryIds,
-                          final boolean useQualifiedName, final IIOPMetaData iiopMetaData, final Module module) {
+                          final boolean useQualifiedName, final IIOPMetaData iiopMetaData, final Module module,
+                          final String deploymentName, final StubCache.Key stubCacheKey) {
         this.useQualifiedName = useQualifiedName;
         this.module = module;
+        this.deploymentName = deploymentName;
+        this.stubCacheKey = stubCacheKey;
         this.beanMethodMap = Collections.unmodifiableMap(beanMethodMap);
         this.beanRepositoryIds = beanRepositoryIds;
         this.homeMethodMap = Collections.unmodifiableMap(homeMethodMap);
@@ -374,16 +392,17 @@ public class EjbIIOPService implements Service<EjbIIOPService> {
             EjbLogger.ROOT_LOGGER.debug("Home IOR for " + component.getComponentName() + " bound to " + this.name + " in CORBA naming service");
 
             //now eagerly force stub creation, so de-serialization of stubs will work correctly
+            final StubCache stubCache = stubCacheKey != null ? new StubCache(new File(new File(serverEnvironment.getValue().getServerDataDir(), StubCache.DIRECTORY), deploymentName), stubCacheKey) : null;
             final ClassLoader cl = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
             try {
                 WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(module.getClassLoader());
                 try {
-                    DynamicStubFactoryFactory.makeStubClass(homeView.getValue().getViewClass());
+                    DynamicStubFactoryFactory.makeStubClass(homeView.getValue().getViewClass(), stubCache);
                 } catch (Exception e) {
                     EjbLogger.EJB3_LOGGER.dynamicStubCreationFailed(homeView.getValue().getViewClass().getName(), e);
                 }
                 try {
-                    DynamicStubFactoryFactory.makeStubClass(remoteView.getValue().getViewClass());
+                    DynamicStubFactoryFactory.makeStubClass(remoteView.getValue().getViewClass(), stubCache);
                 } catch (Exception e) {
                     EjbLogger.EJB3_LOGGER.dynamicStubCreationFailed(remoteView.getValue().getViewClass().getName(), e);
                 }
@@ -566,6 +585,10 @@ public class EjbIIOPService implements Service<EjbIIOPService> {
         return irPoa;
     }
 
+    public InjectedValue<ServerEnvironment> getServerEnvironment() {
+        return serverEnvironment;
+    }
+
     public InjectedValue<ServiceModuleLoader> getServiceModuleLoaderInjectedValue() {
         return serviceModuleLoaderInjectedValue;
     }
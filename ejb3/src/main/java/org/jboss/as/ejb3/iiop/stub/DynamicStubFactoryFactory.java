@@ -22,6 +22,12 @@
 
 package org.jboss.as.ejb3.iiop.stub;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.ProtectionDomain;
+
 import org.jboss.as.ejb3.EjbLogger;
 import org.jboss.as.ejb3.EjbMessages;
 import org.jboss.classfilewriter.ClassFile;
@@ -48,6 +54,17 @@ public class DynamicStubFactoryFactory extends StubFactoryFactoryDynamicBase {
      * @return The dynamic stub class
      */
     public static Class<?> makeStubClass(final Class<?> myClass) {
+        return makeStubClass(myClass, null);
+    }
+
+    /**
+     * Makes a dynamic stub class, if it does not already exist, using the bytecode held by the given cache if any.
+     * Newly generated stubs are added to the cache.
+     * @param myClass The class to create a stub for
+     * @param cache The stub cache, may be {@code null}
+     * @return The dynamic stub class
+     */
+    public static Class<?> makeStubClass(final Class<?> myClass, final StubCache cache) {
         final String stubClassName = myClass + "_Stub";
         ClassLoader cl = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
         if (cl == null) {
@@ -61,8 +78,16 @@ public class DynamicStubFactoryFactory extends StubFactoryFactoryDynamicBase {
             theClass = cl.loadClass(stubClassName);
         } catch (ClassNotFoundException e) {
             try {
-                final ClassFile clazz = IIOPStubCompiler.compile(myClass, stubClassName);
-                theClass = clazz.define(cl, myClass.getProtectionDomain());
+                final byte[] cached = cache != null ? cache.load(stubClassName, myClass) : null;
+                if (cached != null) {
+                    theClass = defineClass(cl, stubClassName, cached, myClass.getProtectionDomain());
+                } else {
+                    final ClassFile clazz = IIOPStubCompiler.compile(myClass, stubClassName);
+                    theClass = clazz.define(cl, myClass.getProtectionDomain());
+                    if (cache != null) {
+                        cache.store(stubClassName, myClass, clazz.toBytecode());
+                    }
+                }
             } catch (RuntimeException ex) {
                 //there is a possibility that another thread may have defined the same class in the meantime
                 try {
@@ -76,6 +101,28 @@ public class DynamicStubFactoryFactory extends StubFactoryFactoryDynamicBase {
         return theClass;
     }
 
+    private static Class<?> defineClass(final ClassLoader cl, final String name, final byte[] bytecode, final ProtectionDomain domain) {
+        final Method defineClass = AccessController.doPrivileged(new PrivilegedAction<Method>() {
+            @Override
+            public Method run() {
+                try {
+                    final Method method = ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
+                    method.setAccessible(true);
+                    return method;
+                } catch (NoSuchMethodException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        try {
+            return (Class<?>) defineClass.invoke(cl, name, bytecode, 0, bytecode.length, domain);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     private static final class StubFactory extends StubFactoryBase {
 
         private final Class<?> clazz;
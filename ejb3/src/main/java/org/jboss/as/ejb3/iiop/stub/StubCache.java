@@ -0,0 +1,367 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.iiop.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.as.ejb3.EjbLogger;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+
+/**
+ * On-disk cache of generated IIOP stub bytecode for a deployment, so that stubs do not have to be analysed and generated
+ * again on each boot. The cache directory is tied to a {@link Key} derived from the content of the deployment archive,
+ * and its entries are discarded when the key changes. The caches of the beans of a deployment share its directory and
+ * key, and may be used concurrently. Each entry is further tied to the bytecode of the interface the stub was
+ * generated from, as that interface may be loaded from another module. Stub files are only read when the corresponding
+ * stub is requested.
+ * <p>
+ * Each use of a cache marks its directory as used. Directories of deployments that were not used within
+ * {@link #RETENTION_DAYS} days, e.g. because the deployment was removed, are deleted when the first cache is
+ * created.
+ */
+public class StubCache {
+
+    /**
+     * The name of the directory, relative to the server data directory, holding the stub caches of all deployments.
+     */
+    public static final String DIRECTORY = "iiop-stubs";
+
+    /**
+     * The number of days after which the unused cache directory of a deployment is deleted.
+     */
+    public static final int RETENTION_DAYS = 30;
+
+    private static final String KEY_FILE = "cache-key";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final AtomicBoolean PRUNED = new AtomicBoolean();
+
+    private final File directory;
+    private final Key key;
+    private volatile Boolean current;
+
+    public StubCache(final File directory, final Key key) {
+        this.directory = directory;
+        this.key = key;
+        if (PRUNED.compareAndSet(false, true)) {
+            prune(directory.getParentFile(), System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETENTION_DAYS));
+        }
+    }
+
+    /**
+     * Creates the cache key of the given deployment contents. Only archives are cached, as the contents of exploded
+     * deployments may change without the deployment being replaced. The content is not read until the key is used.
+     *
+     * @param contents the deployment contents
+     * @return the key, or {@code null} if the stubs of this deployment should not be cached
+     */
+    public static Key createKey(final VirtualFile contents) {
+        if (contents == null || !contents.isFile()) {
+            return null;
+        }
+        return new Key(contents);
+    }
+
+    /**
+     * Creates a hash of the archive content and of the version of the stub compiler.
+     *
+     * @return the hash, or {@code null} if it could not be computed
+     */
+    private static String hashContents(final VirtualFile contents) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            final InputStream in = contents.openStream();
+            try {
+                update(digest, in);
+            } finally {
+                VFSUtils.safeClose(in);
+            }
+            final String compilerVersion = IIOPStubCompiler.class.getPackage().getImplementationVersion();
+            digest.update(String.valueOf(compilerVersion).getBytes(StandardCharsets.UTF_8));
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        } catch (IOException e) {
+            EjbLogger.ROOT_LOGGER.debugf(e, "Could not compute the IIOP stub cache key of %s", contents);
+            return null;
+        }
+    }
+
+    /**
+     * Loads the cached bytecode of a stub class.
+     *
+     * @param stubClassName the name of the stub class
+     * @param type the interface the stub implements
+     * @return the bytecode, or {@code null} if it is not cached
+     */
+    public byte[] load(final String stubClassName, final Class<?> type) {
+        if (!isCurrent()) {
+            return null;
+        }
+        final String fileName = fileName(stubClassName, type);
+        if (fileName == null) {
+            return null;
+        }
+        final File file = new File(directory, fileName);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return read(file);
+        } catch (IOException e) {
+            EjbLogger.ROOT_LOGGER.debugf(e, "Could not read cached IIOP stub %s", file);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the bytecode of a stub class.
+     *
+     * @param stubClassName the name of the stub class
+     * @param type the interface the stub implements
+     * @param bytecode the bytecode
+     */
+    public void store(final String stubClassName, final Class<?> type, final byte[] bytecode) {
+        final String fileName = fileName(stubClassName, type);
+        if (fileName == null || key.getValue() == null) {
+            return;
+        }
+        final File file = new File(directory, fileName);
+        File tmp = null;
+        try {
+            prepare();
+            // Another bean of the deployment may store the stub of the same interface concurrently
+            tmp = File.createTempFile(fileName, ".tmp", directory);
+            write(tmp, bytecode);
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+            }
+        } catch (IOException e) {
+            EjbLogger.ROOT_LOGGER.debugf(e, "Could not cache IIOP stub %s", file);
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    private boolean isCurrent() {
+        Boolean current = this.current;
+        if (current == null) {
+            current = readCurrent();
+            this.current = current;
+        }
+        return current;
+    }
+
+    private boolean readCurrent() {
+        final String value = key.getValue();
+        final File keyFile = new File(directory, KEY_FILE);
+        boolean current;
+        try {
+            current = value != null && keyFile.isFile() && value.equals(new String(read(keyFile), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            current = false;
+        }
+        if (current) {
+            // Mark the cache as used, so that it is not pruned
+            keyFile.setLastModified(System.currentTimeMillis());
+        }
+        return current;
+    }
+
+    private void prepare() throws IOException {
+        // The caches sharing this directory also share the key
+        synchronized (key) {
+            if (isCurrent()) {
+                return;
+            }
+            // The directory may have been prepared by another cache since this one was checked
+            if (!readCurrent()) {
+                delete(directory);
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    throw new IOException("Could not create directory " + directory);
+                }
+                write(new File(directory, KEY_FILE), key.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+            current = Boolean.TRUE;
+        }
+    }
+
+    /**
+     * Deletes the cache directories whose key file was last used before the given time.
+     */
+    static void prune(final File root, final long time) {
+        final File[] directories = root != null ? root.listFiles() : null;
+        if (directories == null) {
+            return;
+        }
+        for (File directory : directories) {
+            if (directory.isDirectory() && new File(directory, KEY_FILE).lastModified() < time) {
+                delete(directory);
+            }
+        }
+    }
+
+    private static void delete(final File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static byte[] read(final File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            VFSUtils.copyStream(in, out);
+            return out.toByteArray();
+        } finally {
+            VFSUtils.safeClose(in);
+        }
+    }
+
+    private static void write(final File file, final byte[] bytes) throws IOException {
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(bytes);
+        } finally {
+            VFSUtils.safeClose(out);
+        }
+    }
+
+    private static void update(final MessageDigest digest, final InputStream in) throws IOException {
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+    }
+
+    /**
+     * Creates a hash of the bytecode of the given interface and of its super interfaces.
+     *
+     * @return the hash, or {@code null} if the bytecode of one of the interfaces cannot be read
+     */
+    static String hashClass(final Class<?> type) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return update(digest, type, new HashSet<Class<?>>()) ? toHex(digest.digest()) : null;
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static boolean update(final MessageDigest digest, final Class<?> type, final Set<Class<?>> visited) {
+        if (!visited.add(type)) {
+            return true;
+        }
+        final ClassLoader loader = type.getClassLoader();
+        if (loader != null) {
+            final InputStream in = loader.getResourceAsStream(type.getName().replace('.', '/') + CLASS_SUFFIX);
+            if (in == null) {
+                return false;
+            }
+            try {
+                update(digest, in);
+            } catch (IOException e) {
+                return false;
+            } finally {
+                VFSUtils.safeClose(in);
+            }
+        }
+        for (Class<?> superInterface : type.getInterfaces()) {
+            if (!update(digest, superInterface, visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toHex(final byte[] hash) {
+        final StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+
+    private static String fileName(final String stubClassName, final Class<?> type) {
+        final String hash = hashClass(type);
+        if (hash == null) {
+            return null;
+        }
+        final StringBuilder builder = new StringBuilder(stubClassName.length() + hash.length() + CLASS_SUFFIX.length() + 1);
+        for (int i = 0; i < stubClassName.length(); i++) {
+            final char c = stubClassName.charAt(i);
+            builder.append(Character.isJavaIdentifierPart(c) || c == '.' ? c : '_');
+        }
+        return builder.append('-').append(hash).append(CLASS_SUFFIX).toString();
+    }
+
+    /**
+     * The key of the stub cache of a deployment, derived from a hash of the content of its archive and of the version of
+     * the stub compiler. The hash is computed the first time the key is used, i.e. when a stub is requested, and only
+     * once, so that a single key can be shared by all the stub caches of a top level deployment.
+     */
+    public static final class Key {
+        private VirtualFile contents;
+        private String value;
+
+        Key(final VirtualFile contents) {
+            this.contents = contents;
+        }
+
+        Key(final String value) {
+            this.value = value;
+        }
+
+        /**
+         * Gets the value of the key, hashing the deployment contents if needed.
+         *
+         * @return the value, or {@code null} if it could not be computed
+         */
+        synchronized String getValue() {
+            if (contents != null) {
+                value = hashContents(contents);
+                contents = null;
+            }
+            return value;
+        }
+    }
+}
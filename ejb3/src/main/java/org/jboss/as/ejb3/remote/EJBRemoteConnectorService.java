@@ -62,6 +62,8 @@ import java.net.InetSocketAddress;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -83,6 +85,7 @@ public class EJBRemoteConnectorService implements Service<EJBRemoteConnectorServ
     private final InjectedValue<TransactionManager> txManager = new InjectedValue<TransactionManager>();
     private final InjectedValue<TransactionSynchronizationRegistry> txSyncRegistry = new InjectedValue<TransactionSynchronizationRegistry>();
     private final InjectedValue<RemotingConnectorBindingInfoService.RemotingConnectorInfo> remotingConnectorInfoInjectedValue = new InjectedValue<>();
+    private final Set<ChannelAssociation> channelAssociations = Collections.newSetFromMap(new ConcurrentHashMap<ChannelAssociation, Boolean>());
     private volatile Registration registration;
     private final byte serverProtocolVersion;
     private final String[] supportedMarshallingStrategies;
@@ -151,6 +154,32 @@ public class EJBRemoteConnectorService implements Service<EJBRemoteConnectorServ
         return Collections.singletonList(new EjbListenerAddress(info.getSocketBinding().getSocketAddress(), info.getProtocol()));
     }
 
+    /**
+     * Returns the number of writers currently waiting for a permit to write to one of the open EJB remoting channels.
+     *
+     * @return the write queue depth
+     */
+    public int getWriteQueueDepth() {
+        int depth = 0;
+        for (ChannelAssociation channelAssociation : this.channelAssociations) {
+            depth += channelAssociation.getQueueDepth();
+        }
+        return depth;
+    }
+
+    /**
+     * Returns the sum of the average numbers of bytes written per second to each of the open EJB remoting channels.
+     *
+     * @return the write rate, in bytes per second
+     */
+    public long getBytesWrittenPerSecond() {
+        long rate = 0;
+        for (ChannelAssociation channelAssociation : this.channelAssociations) {
+            rate += channelAssociation.getBytesPerSecond();
+        }
+        return rate;
+    }
+
     private void sendVersionMessage(final ChannelAssociation channelAssociation) throws IOException {
         final DataOutputStream outputStream;
         final MessageOutputStream messageOutputStream;
@@ -186,12 +215,13 @@ public class EJBRemoteConnectorService implements Service<EJBRemoteConnectorServ
         @Override
         public void channelOpened(Channel channel) {
             final ChannelAssociation channelAssociation = new ChannelAssociation(channel);
+            channelAssociations.add(channelAssociation);
 
             EjbLogger.ROOT_LOGGER.tracef("Welcome %s to the " + EJB_CHANNEL_NAME + " channel", channel);
             channel.addCloseHandler(new CloseHandler<Channel>() {
                 @Override
                 public void handleClose(Channel closed, IOException exception) {
-                    // do nothing
+                    channelAssociations.remove(channelAssociation);
                     EjbLogger.ROOT_LOGGER.tracef("channel %s closed", closed);
                 }
             });
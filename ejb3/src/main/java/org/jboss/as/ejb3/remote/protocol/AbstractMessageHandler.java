@@ -56,6 +56,12 @@ import org.jboss.remoting3.MessageOutputStream;
  */
 public abstract class AbstractMessageHandler implements MessageHandler {
 
+    /**
+     * A finished marshaller kept for reuse by the next message written by the same thread
+     */
+    private final ThreadLocal<CachedMarshaller> cachedMarshaller = new ThreadLocal<CachedMarshaller>();
+
+
     protected static final byte HEADER_NO_SUCH_EJB_FAILURE = 0x0A;
     protected static final byte HEADER_NO_SUCH_EJB_METHOD_FAILURE = 0x0B;
     protected static final byte HEADER_SESSION_NOT_ACTIVE_FAILURE = 0x0C;
@@ -94,14 +100,8 @@ public abstract class AbstractMessageHandler implements MessageHandler {
     protected void writeException(final ChannelAssociation channelAssociation, final MarshallerFactory marshallerFactory,
                                   final short invocationId, final Throwable t,
                                   final Map<String, Object> attachments) throws IOException {
-        final DataOutputStream outputStream;
-        final MessageOutputStream messageOutputStream;
-        try {
-            messageOutputStream = channelAssociation.acquireChannelMessageOutputStream();
-        } catch (Exception e) {
-            throw EjbMessages.MESSAGES.failedToOpenMessageOutputStream(e);
-        }
-        outputStream = new DataOutputStream(messageOutputStream);
+        // small messages are buffered, so that other writers are not held up by the marshalling
+        final DataOutputStream outputStream = new DataOutputStream(channelAssociation.openMessageOutputStream());
         try {
             // write the header
             outputStream.write(HEADER_INVOCATION_EXCEPTION);
@@ -113,9 +113,8 @@ public abstract class AbstractMessageHandler implements MessageHandler {
             // write the attachments
             this.writeAttachments(marshaller, attachments);
             // finish marshalling
-            marshaller.finish();
+            this.finishMarshalling(marshallerFactory, marshaller);
         } finally {
-            channelAssociation.releaseChannelMessageOutputStream(messageOutputStream);
             outputStream.close();
         }
     }
@@ -222,6 +221,13 @@ public abstract class AbstractMessageHandler implements MessageHandler {
      * @throws IOException
      */
     private org.jboss.marshalling.Marshaller getMarshaller(final org.jboss.marshalling.MarshallerFactory marshallerFactory) throws IOException {
+        final CachedMarshaller cached = this.cachedMarshaller.get();
+        if (cached != null) {
+            this.cachedMarshaller.remove();
+            if (cached.marshallerFactory == marshallerFactory) {
+                return cached.marshaller;
+            }
+        }
         final MarshallingConfiguration marshallingConfiguration = new MarshallingConfiguration();
         marshallingConfiguration.setClassTable(ProtocolV1ClassTable.INSTANCE);
         marshallingConfiguration.setObjectTable(ProtocolV1ObjectTable.INSTANCE);
@@ -230,6 +236,22 @@ public abstract class AbstractMessageHandler implements MessageHandler {
         return marshallerFactory.createMarshaller(marshallingConfiguration);
     }
 
+    /**
+     * {@link org.jboss.marshalling.Marshaller#finish() Finishes} a {@link org.jboss.marshalling.Marshaller}, obtained through
+     * {@link #prepareForMarshalling(org.jboss.marshalling.MarshallerFactory, java.io.DataOutput)}, and hands it back so that it
+     * can be reused by the next message written by the current thread. Its caches are cleared while the message is still
+     * being written, since each message is unmarshalled independently by the receiver.
+     *
+     * @param marshallerFactory The marshaller factory the marshaller was obtained from
+     * @param marshaller        The marshaller
+     * @throws IOException
+     */
+    protected void finishMarshalling(final org.jboss.marshalling.MarshallerFactory marshallerFactory, final org.jboss.marshalling.Marshaller marshaller) throws IOException {
+        marshaller.clearClassCache();
+        marshaller.finish();
+        this.cachedMarshaller.set(new CachedMarshaller(marshallerFactory, marshaller));
+    }
+
     /**
      * Creates and returns a {@link org.jboss.marshalling.Unmarshaller} which is ready to be used for unmarshalling. The {@link org.jboss.marshalling.Unmarshaller#start(org.jboss.marshalling.ByteInput)}
      * will be invoked by this method, to use the passed {@link java.io.DataInput dataInput}, before returning the unmarshaller.
@@ -287,4 +309,14 @@ public abstract class AbstractMessageHandler implements MessageHandler {
         marshallingConfiguration.setSerializedCreator(new SunReflectiveCreator());
         return marshallerFactory.createUnmarshaller(marshallingConfiguration);
     }
+
+    private static final class CachedMarshaller {
+        final org.jboss.marshalling.MarshallerFactory marshallerFactory;
+        final org.jboss.marshalling.Marshaller marshaller;
+
+        CachedMarshaller(final org.jboss.marshalling.MarshallerFactory marshallerFactory, final org.jboss.marshalling.Marshaller marshaller) {
+            this.marshallerFactory = marshallerFactory;
+            this.marshaller = marshaller;
+        }
+    }
 }
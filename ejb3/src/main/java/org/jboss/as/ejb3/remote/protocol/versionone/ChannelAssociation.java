@@ -22,12 +22,16 @@
 
 package org.jboss.as.ejb3.remote.protocol.versionone;
 
+import org.jboss.as.ejb3.EjbMessages;
 import org.jboss.remoting3.Channel;
 import org.jboss.remoting3.MessageOutputStream;
 import org.jboss.remoting3.RemotingOptions;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Jaikiran Pai
@@ -38,10 +42,20 @@ public class ChannelAssociation {
 
     private static final int DEFAULT_MAX_OUTBOUND_MESSAGES = 80;
 
+    /**
+     * The number of bytes of a message opened by {@link #openMessageOutputStream()} which are buffered before a write
+     * permit is acquired
+     */
+    static final int MESSAGE_BUFFER_SIZE = 8192;
+
     // A semaphore which will be used to acquire a lock while writing out to a channel
     // to make sure that only a limited number of simultaneous writes are allowed
     private final Semaphore channelWriteSemaphore;
 
+    private final AtomicLong messagesWritten = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final long creationTime = System.nanoTime();
+
     public ChannelAssociation(final Channel channel) {
         this.channel = channel;
 
@@ -65,7 +79,7 @@ public class ChannelAssociation {
     public MessageOutputStream acquireChannelMessageOutputStream() throws Exception {
         this.channelWriteSemaphore.acquire();
         try {
-            return this.channel.writeMessage();
+            return new CountingMessageOutputStream(this.channel.writeMessage());
         } catch (Exception e) {
             // release
             this.channelWriteSemaphore.release();
@@ -88,8 +102,150 @@ public class ChannelAssociation {
         }
     }
 
+    /**
+     * Opens a stream for a new message to the {@link Channel} represented by this {@link ChannelAssociation}. The message
+     * is buffered until it exceeds {@link #MESSAGE_BUFFER_SIZE} bytes, so that the write permit of a small message is
+     * only held for the time needed to copy it to the channel. Once that size is exceeded, a permit is acquired and the
+     * rest of the message is streamed to the channel. The stream must be closed to write the message and release the
+     * permit.
+     *
+     * @return the message stream
+     */
+    public OutputStream openMessageOutputStream() {
+        return new BufferedMessageOutputStream();
+    }
+
     public Channel getChannel() {
         return this.channel;
     }
 
+    /**
+     * Returns the number of writers currently waiting for a permit to write to the channel.
+     *
+     * @return the write queue depth
+     */
+    public int getQueueDepth() {
+        return this.channelWriteSemaphore.getQueueLength();
+    }
+
+    /**
+     * Returns the number of messages written to the channel since this association was created.
+     *
+     * @return the number of messages
+     */
+    public long getMessagesWritten() {
+        return this.messagesWritten.get();
+    }
+
+    /**
+     * Returns the number of bytes written to the channel since this association was created.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesWritten() {
+        return this.bytesWritten.get();
+    }
+
+    /**
+     * Returns the average number of bytes written to the channel per second since this association was created.
+     *
+     * @return the write rate, in bytes per second
+     */
+    public long getBytesPerSecond() {
+        final long elapsed = System.nanoTime() - this.creationTime;
+        return elapsed <= 0 ? 0 : this.bytesWritten.get() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * A message stream which buffers small messages, and streams larger ones to the channel.
+     */
+    private final class BufferedMessageOutputStream extends OutputStream {
+
+        private byte[] buffer = new byte[MESSAGE_BUFFER_SIZE];
+        private int count;
+        private MessageOutputStream messageOutputStream;
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (this.messageOutputStream == null) {
+                if (this.count + len <= this.buffer.length) {
+                    System.arraycopy(b, off, this.buffer, this.count, len);
+                    this.count += len;
+                    return;
+                }
+                this.acquire();
+            }
+            this.messageOutputStream.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.buffer == null) {
+                return;
+            }
+            if (this.messageOutputStream == null) {
+                this.acquire();
+            }
+            this.buffer = null;
+            releaseChannelMessageOutputStream(this.messageOutputStream);
+        }
+
+        private void acquire() throws IOException {
+            try {
+                this.messageOutputStream = acquireChannelMessageOutputStream();
+            } catch (Exception e) {
+                // the message is discarded, rather than written incomplete when the stream is closed
+                this.buffer = null;
+                throw EjbMessages.MESSAGES.failedToOpenMessageOutputStream(e);
+            }
+            this.messageOutputStream.write(this.buffer, 0, this.count);
+        }
+    }
+
+    /**
+     * A {@link MessageOutputStream} which counts the bytes and messages written to the channel.
+     */
+    private final class CountingMessageOutputStream extends MessageOutputStream {
+
+        private final MessageOutputStream delegate;
+
+        CountingMessageOutputStream(final MessageOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.delegate.write(b);
+            bytesWritten.incrementAndGet();
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            this.delegate.write(b, off, len);
+            bytesWritten.addAndGet(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.delegate.close();
+            messagesWritten.incrementAndGet();
+        }
+
+        @Override
+        public MessageOutputStream cancel() {
+            this.delegate.cancel();
+            return this;
+        }
+    }
+
 }
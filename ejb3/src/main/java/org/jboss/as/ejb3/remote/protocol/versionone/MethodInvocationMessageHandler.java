@@ -354,14 +354,9 @@ class MethodInvocationMessageHandler extends EJBIdentifierBasedMessageHandler {
     }
 
     private void writeMethodInvocationResponse(final ChannelAssociation channelAssociation, final short invocationId, final Object result, final Map<String, Object> attachments) throws IOException {
-        final DataOutputStream outputStream;
-        final MessageOutputStream messageOutputStream;
-        try {
-            messageOutputStream = channelAssociation.acquireChannelMessageOutputStream();
-        } catch (Throwable e) {
-            throw EjbMessages.MESSAGES.failedToOpenMessageOutputStream(e);
-        }
-        outputStream = new DataOutputStream(messageOutputStream);
+        // small responses are buffered, so that concurrent responses on the same channel only queue for the time it
+        // takes to copy the bytes, while larger ones are streamed to the channel as they are marshalled
+        final DataOutputStream outputStream = new DataOutputStream(channelAssociation.openMessageOutputStream());
         try {
             // write invocation response header
             outputStream.write(HEADER_METHOD_INVOCATION_RESPONSE);
@@ -373,9 +368,8 @@ class MethodInvocationMessageHandler extends EJBIdentifierBasedMessageHandler {
             // write the attachments
             this.writeAttachments(marshaller, attachments);
             // finish marshalling
-            marshaller.finish();
+            this.finishMarshalling(this.marshallerFactory, marshaller);
         } finally {
-            channelAssociation.releaseChannelMessageOutputStream(messageOutputStream);
             outputStream.close();
         }
     }
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AbstractWriteAttributeHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.ejb3.component.singleton.DefaultStripedReadLockService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+
+import java.util.List;
+
+/**
+ * Write handler for the default-singleton-striped-read-lock attribute, which applies to the singletons deployed afterwards
+ */
+class DefaultSingletonStripedReadLockWriteHandler extends AbstractWriteAttributeHandler<Void> {
+
+    static final DefaultSingletonStripedReadLockWriteHandler INSTANCE = new DefaultSingletonStripedReadLockWriteHandler();
+
+    private DefaultSingletonStripedReadLockWriteHandler() {
+        super(EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_STRIPED_READ_LOCK);
+    }
+
+    @Override
+    protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode resolvedValue, ModelNode currentValue, HandbackHolder<Void> voidHandbackHolder) throws OperationFailedException {
+        final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        updateOrCreateDefaultStripedReadLockService(context, model, null);
+
+        return false;
+    }
+
+    @Override
+    protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode valueToRestore, ModelNode valueToRevert, Void handback) throws OperationFailedException {
+        final ModelNode restored = context.readResource(PathAddress.EMPTY_ADDRESS).getModel().clone();
+        restored.get(attributeName).set(valueToRestore);
+        updateOrCreateDefaultStripedReadLockService(context, restored, null);
+    }
+
+    void updateOrCreateDefaultStripedReadLockService(final OperationContext context, final ModelNode model, List<ServiceController<?>> newControllers) throws OperationFailedException {
+        final boolean stripedReadLock = EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_STRIPED_READ_LOCK.resolveModelAttribute(context, model).asBoolean();
+        final ServiceRegistry registry = context.getServiceRegistry(true);
+        final ServiceController<?> sc = registry.getService(DefaultStripedReadLockService.SERVICE_NAME);
+        if (sc != null) {
+            DefaultStripedReadLockService.class.cast(sc.getValue()).setStripedReadLock(stripedReadLock);
+        } else {
+            // create and install the service
+            final ServiceController<?> newService = context.getServiceTarget().addService(DefaultStripedReadLockService.SERVICE_NAME, new DefaultStripedReadLockService(stripedReadLock))
+                    .install();
+            if (newControllers != null) {
+                newControllers.add(newService);
+            }
+        }
+    }
+}
@@ -26,7 +26,10 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
@@ -34,7 +37,10 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.ejb3.remote.EJBRemoteConnectorService;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * A {@link org.jboss.as.controller.ResourceDefinition} for the EJB remote service
@@ -58,6 +64,16 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
                     .build();
 
 
+    static final SimpleAttributeDefinition WRITE_QUEUE_DEPTH =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.WRITE_QUEUE_DEPTH, ModelType.INT)
+                    .setStorageRuntime()
+                    .build();
+
+    static final SimpleAttributeDefinition BYTES_WRITTEN_PER_SECOND =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.BYTES_WRITTEN_PER_SECOND, ModelType.LONG)
+                    .setStorageRuntime()
+                    .build();
+
     private static final Map<String, AttributeDefinition> ATTRIBUTES;
 
     static {
@@ -81,6 +97,18 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
             // TODO: Make this read-write attribute
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        resourceRegistration.registerMetric(WRITE_QUEUE_DEPTH, new AbstractConnectorMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final EJBRemoteConnectorService connector) {
+                context.getResult().set(connector != null ? connector.getWriteQueueDepth() : 0);
+            }
+        });
+        resourceRegistration.registerMetric(BYTES_WRITTEN_PER_SECOND, new AbstractConnectorMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final EJBRemoteConnectorService connector) {
+                context.getResult().set(connector != null ? connector.getBytesWrittenPerSecond() : 0L);
+            }
+        });
     }
 
     @Override
@@ -90,6 +118,23 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(new ChannelCreationOptionResource());
     }
 
+    /**
+     * Reads a metric of the {@link EJBRemoteConnectorService}, which is {@code null} if the service is not up.
+     */
+    private abstract static class AbstractConnectorMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+        protected abstract void executeReadMetricStep(OperationContext context, EJBRemoteConnectorService connector);
+
+        @Override
+        protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(EJBRemoteConnectorService.SERVICE_NAME);
+            final EJBRemoteConnectorService connector = controller != null && controller.getState() == ServiceController.State.UP
+                    ? (EJBRemoteConnectorService) controller.getValue() : null;
+            this.executeReadMetricStep(context, connector);
+            context.stepCompleted();
+        }
+    }
+
     static void registerTransformers_1_1_0(ResourceTransformationDescriptionBuilder builder) {
         ChannelCreationOptionResource.registerTransformers_1_1_0(builder.addChildResource(EJB3SubsystemModel.REMOTE_SERVICE_PATH));
     }
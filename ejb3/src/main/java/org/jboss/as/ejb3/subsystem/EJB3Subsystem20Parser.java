@@ -22,6 +22,7 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
@@ -64,7 +65,11 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
                 break;
             }
             case DISABLE_DEFAULT_EJB_PERMISSIONS: {
-                parseDisableDefaultEjbPermissions(reader, ejb3SubsystemAddOperation);
+                parseValue(reader, EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS, ejb3SubsystemAddOperation);
+                break;
+            }
+            case DEFAULT_SINGLETON_STRIPED_READ_LOCK: {
+                parseValue(reader, EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_STRIPED_READ_LOCK, ejb3SubsystemAddOperation);
                 break;
             }
             default: {
@@ -73,7 +78,7 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
         }
     }
 
-    private void parseDisableDefaultEjbPermissions(XMLExtendedStreamReader reader, ModelNode ejb3SubsystemAddOperation) throws XMLStreamException {
+    private void parseValue(XMLExtendedStreamReader reader, SimpleAttributeDefinition attributeDefinition, ModelNode ejb3SubsystemAddOperation) throws XMLStreamException {
         final int count = reader.getAttributeCount();
         final EnumSet<EJB3SubsystemXMLAttribute> missingRequiredAttributes = EnumSet.of(EJB3SubsystemXMLAttribute.VALUE);
         for (int i = 0; i < count; i++) {
@@ -82,7 +87,7 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
             final EJB3SubsystemXMLAttribute attribute = EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i));
             switch (attribute) {
                 case VALUE:
-                    EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS.parseAndSetParameter(value, ejb3SubsystemAddOperation, reader);
+                    attributeDefinition.parseAndSetParameter(value, ejb3SubsystemAddOperation, reader);
                     // found the mandatory attribute
                     missingRequiredAttributes.remove(EJB3SubsystemXMLAttribute.VALUE);
                     break;
@@ -329,6 +329,9 @@ class EJB3SubsystemAdd extends AbstractBoottimeAddStepHandler {
             DefaultSingletonBeanAccessTimeoutWriteHandler.INSTANCE.updateOrCreateDefaultSingletonBeanAccessTimeoutService(context, model, newControllers);
         }
 
+        // always installed, since every singleton depends on it
+        DefaultSingletonStripedReadLockWriteHandler.INSTANCE.updateOrCreateDefaultStripedReadLockService(context, model, newControllers);
+
         if (model.hasDefined(DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT)) {
             DefaultStatefulBeanAccessTimeoutWriteHandler.INSTANCE.updateOrCreateDefaultStatefulBeanAccessTimeoutService(context, model, newControllers);
         }
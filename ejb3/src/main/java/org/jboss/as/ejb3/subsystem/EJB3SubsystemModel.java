@@ -69,6 +69,7 @@ public interface EJB3SubsystemModel {
     String PATH = "path";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
+    String DEFAULT_SINGLETON_STRIPED_READ_LOCK = "default-singleton-striped-read-lock";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
     String DEFAULT_DATA_STORE = "default-data-store";
 
@@ -78,6 +79,8 @@ public interface EJB3SubsystemModel {
     String TIMER_SERVICE = "timer-service";
     String THREAD_POOL = "thread-pool";
     String THREAD_POOL_NAME = "thread-pool-name";
+    String WRITE_QUEUE_DEPTH = "write-queue-depth";
+    String BYTES_WRITTEN_PER_SECOND = "bytes-written-per-second";
     String DEFAULT = "default";
 
     String USE_QUALIFIED_NAME = "use-qualified-name";
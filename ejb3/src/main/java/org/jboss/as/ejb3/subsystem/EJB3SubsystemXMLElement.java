@@ -47,6 +47,7 @@ public enum EJB3SubsystemXMLElement {
     DEFAULT_SECURITY_DOMAIN("default-security-domain"),
     DEFAULT_MISSING_METHOD_PERMISSIONS_DENY_ACCESS(EJB3SubsystemModel.DEFAULT_MISSING_METHOD_PERMISSIONS_DENY_ACCESS),
     DISABLE_DEFAULT_EJB_PERMISSIONS(EJB3SubsystemModel.DISABLE_DEFAULT_EJB_PERMISSIONS),
+    DEFAULT_SINGLETON_STRIPED_READ_LOCK(EJB3SubsystemModel.DEFAULT_SINGLETON_STRIPED_READ_LOCK),
 
     FILE_DATA_STORE("file-data-store"),
 
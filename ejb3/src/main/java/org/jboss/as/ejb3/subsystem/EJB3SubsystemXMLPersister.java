@@ -238,6 +238,13 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
             writer.writeEndElement();
         }
 
+        // default-singleton-striped-read-lock element
+        if (model.hasDefined(DEFAULT_SINGLETON_STRIPED_READ_LOCK)) {
+            writer.writeStartElement(EJB3SubsystemXMLElement.DEFAULT_SINGLETON_STRIPED_READ_LOCK.getLocalName());
+            writer.writeAttribute(EJB3SubsystemXMLAttribute.VALUE.getLocalName(), model.get(DEFAULT_SINGLETON_STRIPED_READ_LOCK).asString());
+            writer.writeEndElement();
+        }
+
         // statistics element
         if (model.hasDefined(ENABLE_STATISTICS)) {
             writer.writeStartElement(EJB3SubsystemXMLElement.STATISTICS.getLocalName());
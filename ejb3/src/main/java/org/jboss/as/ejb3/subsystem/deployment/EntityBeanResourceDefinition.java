@@ -22,7 +22,18 @@
 
 package org.jboss.as.ejb3.subsystem.deployment;
 
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ejb3.component.EJBComponent;
+import org.jboss.as.ejb3.component.entity.EntityBeanComponent;
+import org.jboss.as.ejb3.component.entity.entitycache.ReadyEntityCache;
+import org.jboss.as.ejb3.component.entity.entitycache.ReferenceCountingEntityCache;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * {@link org.jboss.as.controller.ResourceDefinition} for a {@link org.jboss.as.ejb3.component.entity.EntityBeanComponent}.
@@ -31,6 +42,22 @@ import org.jboss.as.controller.registry.ManagementResourceRegistration;
  */
 public class EntityBeanResourceDefinition extends AbstractEJBComponentResourceDefinition {
 
+    private static final AttributeDefinition CACHE_SIZE = new SimpleAttributeDefinitionBuilder("cache-size", ModelType.INT, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder("cache-hit-count", ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition CACHE_MISS_COUNT = new SimpleAttributeDefinitionBuilder("cache-miss-count", ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition CACHE_PASSIVATION_COUNT = new SimpleAttributeDefinitionBuilder("cache-passivation-count", ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
     public static final EntityBeanResourceDefinition INSTANCE = new EntityBeanResourceDefinition();
 
     private EntityBeanResourceDefinition() {
@@ -40,6 +67,45 @@ public class EntityBeanResourceDefinition extends AbstractEJBComponentResourceDe
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
         super.registerAttributes(resourceRegistration);
-        // TODO expose anything for the cache?
+        resourceRegistration.registerMetric(CACHE_SIZE, new AbstractCacheMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ReferenceCountingEntityCache cache) {
+                context.getResult().set(cache.getCacheSize());
+            }
+        });
+        resourceRegistration.registerMetric(CACHE_HIT_COUNT, new AbstractCacheMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ReferenceCountingEntityCache cache) {
+                context.getResult().set(cache.getHitCount());
+            }
+        });
+        resourceRegistration.registerMetric(CACHE_MISS_COUNT, new AbstractCacheMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ReferenceCountingEntityCache cache) {
+                context.getResult().set(cache.getMissCount());
+            }
+        });
+        resourceRegistration.registerMetric(CACHE_PASSIVATION_COUNT, new AbstractCacheMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ReferenceCountingEntityCache cache) {
+                context.getResult().set(cache.getPassivationCount());
+            }
+        });
+    }
+
+    /**
+     * Reads a metric of the entity cache. Beans using the transaction local cache (optimistic locking) have no shared
+     * cache, so the metrics are left undefined for them.
+     */
+    private abstract static class AbstractCacheMetricsHandler extends AbstractRuntimeMetricsHandler {
+        @Override
+        protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+            final ReadyEntityCache cache = ((EntityBeanComponent) component).getCache();
+            if (cache instanceof ReferenceCountingEntityCache) {
+                executeReadMetricStep(context, (ReferenceCountingEntityCache) cache);
+            }
+        }
+
+        protected abstract void executeReadMetricStep(OperationContext context, ReferenceCountingEntityCache cache);
     }
 }
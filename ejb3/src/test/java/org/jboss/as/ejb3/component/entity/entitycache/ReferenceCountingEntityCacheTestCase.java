@@ -0,0 +1,259 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.entity.entitycache;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ejb.NoSuchEntityException;
+
+import org.jboss.as.ejb3.component.entity.EntityBeanComponent;
+import org.jboss.as.ejb3.component.entity.EntityBeanComponentInstance;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests that {@link ReferenceCountingEntityCache} runs the bean callbacks outside of its locks, while callers for the
+ * same primary key still see a single instance.
+ */
+public class ReferenceCountingEntityCacheTestCase {
+
+    private final ConcurrentMap<Object, CountDownLatch> activationGates = new ConcurrentHashMap<Object, CountDownLatch>();
+    private final ConcurrentMap<Object, CountDownLatch> passivationGates = new ConcurrentHashMap<Object, CountDownLatch>();
+    private final CountDownLatch callbackEntered = new CountDownLatch(1);
+    private final AtomicInteger activations = new AtomicInteger();
+    private final AtomicInteger passivations = new AtomicInteger();
+    private final AtomicReference<Object> failActivation = new AtomicReference<Object>();
+
+    private ExecutorService executor;
+    private ReferenceCountingEntityCache cache;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        final EntityBeanComponent component = mock(EntityBeanComponent.class);
+        when(component.acquireUnAssociatedInstance()).thenAnswer(new Answer<EntityBeanComponentInstance>() {
+            @Override
+            public EntityBeanComponentInstance answer(InvocationOnMock invocation) {
+                return newInstance();
+            }
+        });
+        cache = new ReferenceCountingEntityCache(component);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private EntityBeanComponentInstance newInstance() {
+        final EntityBeanComponentInstance instance = mock(EntityBeanComponentInstance.class);
+        final AtomicReference<Object> primaryKey = new AtomicReference<Object>();
+        when(instance.getPrimaryKey()).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return primaryKey.get();
+            }
+        });
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                final Object key = invocation.getArguments()[0];
+                primaryKey.set(key);
+                activations.incrementAndGet();
+                await(activationGates.get(key));
+                if (key.equals(failActivation.get())) {
+                    throw new NoSuchEntityException();
+                }
+                return null;
+            }
+        }).when(instance).activate(any());
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                await(passivationGates.get(primaryKey.get()));
+                passivations.incrementAndGet();
+                primaryKey.set(null);
+                return null;
+            }
+        }).when(instance).passivate();
+        return instance;
+    }
+
+    private void await(final CountDownLatch gate) throws InterruptedException {
+        if (gate != null) {
+            callbackEntered.countDown();
+            Assert.assertTrue(gate.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private Future<EntityBeanComponentInstance> getAsync(final Object key) {
+        return executor.submit(new Callable<EntityBeanComponentInstance>() {
+            @Override
+            public EntityBeanComponentInstance call() {
+                return cache.get(key);
+            }
+        });
+    }
+
+    private static void assertBlocked(final Future<?> future) throws Exception {
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+            Assert.fail("Should wait for the callback on the same key");
+        } catch (TimeoutException expected) {
+        }
+    }
+
+    @Test
+    public void testActivationDoesNotBlockOtherKeys() throws Exception {
+        // both keys use the same lock stripe
+        final Key blocked = new Key(1);
+        final Key other = new Key(2);
+        final CountDownLatch gate = new CountDownLatch(1);
+        activationGates.put(blocked, gate);
+
+        final Future<EntityBeanComponentInstance> blockedGet = getAsync(blocked);
+        Assert.assertTrue(callbackEntered.await(10, TimeUnit.SECONDS));
+
+        final EntityBeanComponentInstance instance = getAsync(other).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(other, instance.getPrimaryKey());
+        Assert.assertTrue(cache.contains(blocked));
+
+        gate.countDown();
+        Assert.assertEquals(blocked, blockedGet.get(10, TimeUnit.SECONDS).getPrimaryKey());
+    }
+
+    @Test
+    public void testConcurrentGetActivatesOnce() throws Exception {
+        final Key key = new Key(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        activationGates.put(key, gate);
+
+        final Future<EntityBeanComponentInstance> first = getAsync(key);
+        Assert.assertTrue(callbackEntered.await(10, TimeUnit.SECONDS));
+        final Future<EntityBeanComponentInstance> second = getAsync(key);
+        assertBlocked(second);
+
+        gate.countDown();
+        final EntityBeanComponentInstance instance = first.get(10, TimeUnit.SECONDS);
+        Assert.assertSame(instance, second.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, activations.get());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+
+        cache.release(instance, true);
+        Assert.assertEquals(0, passivations.get());
+        cache.release(instance, true);
+        Assert.assertEquals(1, passivations.get());
+        Assert.assertEquals(0, cache.getCacheSize());
+    }
+
+    @Test
+    public void testGetWaitsForPassivation() throws Exception {
+        final Key key = new Key(1);
+        final EntityBeanComponentInstance instance = cache.get(key);
+        final CountDownLatch gate = new CountDownLatch(1);
+        passivationGates.put(key, gate);
+
+        final Future<?> release = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                cache.release(instance, true);
+            }
+        });
+        Assert.assertTrue(callbackEntered.await(10, TimeUnit.SECONDS));
+
+        // other keys on the same stripe are not held up by the passivation
+        Assert.assertEquals(new Key(2), getAsync(new Key(2)).get(10, TimeUnit.SECONDS).getPrimaryKey());
+
+        final Future<EntityBeanComponentInstance> get = getAsync(key);
+        assertBlocked(get);
+
+        gate.countDown();
+        release.get(10, TimeUnit.SECONDS);
+        final EntityBeanComponentInstance reactivated = get.get(10, TimeUnit.SECONDS);
+        Assert.assertNotSame(instance, reactivated);
+        Assert.assertEquals(key, reactivated.getPrimaryKey());
+        Assert.assertEquals(1, passivations.get());
+    }
+
+    @Test
+    public void testFailedActivation() throws Exception {
+        final Key key = new Key(1);
+        failActivation.set(key);
+        try {
+            cache.get(key);
+            Assert.fail("Expected NoSuchEntityException");
+        } catch (NoSuchEntityException expected) {
+        }
+        Assert.assertFalse(cache.contains(key));
+
+        failActivation.set(null);
+        Assert.assertEquals(key, cache.get(key).getPrimaryKey());
+        Assert.assertEquals(2, activations.get());
+    }
+
+    /**
+     * Primary key whose instances all share a hash code, so that they map to the same lock stripe.
+     */
+    private static final class Key {
+        private final int id;
+
+        private Key(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key && ((Key) other).id == id;
+        }
+
+        @Override
+        public String toString() {
+            return "Key" + id;
+        }
+    }
+}
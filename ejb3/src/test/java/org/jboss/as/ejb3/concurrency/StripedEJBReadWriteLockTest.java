@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+import javax.ejb.IllegalLoopbackException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StripedEJBReadWriteLock}
+ */
+public class StripedEJBReadWriteLockTest {
+
+    private StripedEJBReadWriteLock lock;
+
+    @Before
+    public void beforeTest() {
+        this.lock = new StripedEJBReadWriteLock();
+    }
+
+    @Test
+    public void testIllegalLoopBack() throws Exception {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            lock.writeLock().lock();
+            lock.writeLock().unlock();
+            Assert.fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException expected) {
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Test
+    public void testReadTimesOutWhileWriteLocked() throws Exception {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                lock.writeLock().lock();
+                try {
+                    locked.countDown();
+                    done.await();
+                } catch (InterruptedException e) {
+                    // ignore
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+        writer.start();
+        try {
+            Assert.assertTrue(locked.await(10, TimeUnit.SECONDS));
+            Assert.assertFalse("Unexpected obtained a read lock", lock.readLock().tryLock(200, TimeUnit.MILLISECONDS));
+        } finally {
+            done.countDown();
+            writer.join();
+        }
+        Assert.assertTrue(lock.readLock().tryLock(10, TimeUnit.SECONDS));
+        lock.readLock().unlock();
+    }
+
+    @Test
+    public void testWriteTimesOutWhileReadLocked() throws Exception {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                lock.readLock().lock();
+                try {
+                    locked.countDown();
+                    done.await();
+                } catch (InterruptedException e) {
+                    // ignore
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        });
+        reader.start();
+        try {
+            Assert.assertTrue(locked.await(10, TimeUnit.SECONDS));
+            Assert.assertFalse("Unexpected obtained a write lock", lock.writeLock().tryLock(200, TimeUnit.MILLISECONDS));
+            // the failed writer must not block readers
+            Assert.assertTrue(lock.readLock().tryLock());
+            lock.readLock().unlock();
+        } finally {
+            done.countDown();
+            reader.join();
+        }
+        Assert.assertTrue(lock.writeLock().tryLock(10, TimeUnit.SECONDS));
+        lock.writeLock().unlock();
+    }
+
+    @Test
+    public void testSameThreadCanGetWriteThenReadLock() throws Exception {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Assert.assertTrue(writeLock.tryLock(2, TimeUnit.SECONDS));
+            writeLock.unlock();
+            Assert.assertTrue("Could not obtain read lock when write lock was held by the same thread!", lock.readLock().tryLock(2, TimeUnit.SECONDS));
+            lock.readLock().unlock();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Test
+    public void testReentrantReadWithWaitingWriter() throws Exception {
+        lock.readLock().lock();
+        final CountDownLatch writerStarted = new CountDownLatch(1);
+        final AtomicBoolean written = new AtomicBoolean();
+        final Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writerStarted.countDown();
+                lock.writeLock().lock();
+                written.set(true);
+                lock.writeLock().unlock();
+            }
+        });
+        writer.start();
+        try {
+            Assert.assertTrue(writerStarted.await(10, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            Assert.assertTrue(lock.readLock().tryLock(2, TimeUnit.SECONDS));
+            lock.readLock().unlock();
+            Assert.assertFalse(written.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+        writer.join(10000);
+        Assert.assertTrue(written.get());
+    }
+
+    @Test
+    public void testMutualExclusion() throws Exception {
+        final int threads = 8;
+        final int iterations = 2000;
+        final AtomicInteger activeReaders = new AtomicInteger();
+        final AtomicInteger activeWriters = new AtomicInteger();
+        final AtomicBoolean violation = new AtomicBoolean();
+        final Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            final boolean writes = i % 4 == 0;
+            workers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < iterations; j++) {
+                        if (writes && j % 10 == 0) {
+                            lock.writeLock().lock();
+                            try {
+                                if (activeWriters.incrementAndGet() != 1 || activeReaders.get() != 0) {
+                                    violation.set(true);
+                                }
+                                activeWriters.decrementAndGet();
+                            } finally {
+                                lock.writeLock().unlock();
+                            }
+                        } else {
+                            lock.readLock().lock();
+                            try {
+                                activeReaders.incrementAndGet();
+                                if (activeWriters.get() != 0) {
+                                    violation.set(true);
+                                }
+                                activeReaders.decrementAndGet();
+                            } finally {
+                                lock.readLock().unlock();
+                            }
+                        }
+                    }
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join(30000);
+        }
+        Assert.assertFalse("Readers and writers held the lock at the same time", violation.get());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.iiop.stub;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.rmi.Remote;
+import java.util.concurrent.TimeUnit;
+
+import javax.ejb.EJBObject;
+
+import org.jboss.vfs.VFS;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link StubCache}.
+ */
+public class StubCacheTestCase {
+
+    private static final String STUB = "Stub";
+
+    private File root;
+
+    @Before
+    public void setUp() {
+        root = new File("target", "stub-cache-test");
+        delete(root);
+        root.mkdirs();
+    }
+
+    @After
+    public void tearDown() {
+        delete(root);
+    }
+
+    @Test
+    public void testKeyFollowsContent() throws Exception {
+        final File archive = new File(root, "test.jar");
+        write(archive, new byte[] {1, 2, 3});
+        final long modified = archive.lastModified();
+        final String key = StubCache.createKey(VFS.getChild(archive.toURI())).getValue();
+        Assert.assertNotNull(key);
+        Assert.assertEquals(key, StubCache.createKey(VFS.getChild(archive.toURI())).getValue());
+
+        // Same size and modification time, different content
+        write(archive, new byte[] {1, 2, 4});
+        archive.setLastModified(modified);
+        Assert.assertNotEquals(key, StubCache.createKey(VFS.getChild(archive.toURI())).getValue());
+    }
+
+    @Test
+    public void testKeyIsComputedLazilyAndOnce() throws Exception {
+        final File archive = new File(root, "test.jar");
+        write(archive, new byte[] {1, 2, 3});
+        final StubCache.Key key = StubCache.createKey(VFS.getChild(archive.toURI()));
+        // The content is only read when the key is used
+        write(archive, new byte[] {1, 2, 4});
+        final String value = key.getValue();
+        Assert.assertEquals(StubCache.createKey(VFS.getChild(archive.toURI())).getValue(), value);
+        write(archive, new byte[] {1, 2, 5});
+        Assert.assertSame(value, key.getValue());
+    }
+
+    @Test
+    public void testExplodedDeploymentIsNotCached() throws Exception {
+        Assert.assertNull(StubCache.createKey(VFS.getChild(root.toURI())));
+        Assert.assertNull(StubCache.createKey(null));
+    }
+
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        final File directory = new File(root, "test.jar");
+        final byte[] bytecode = new byte[] {1, 2, 3};
+        new StubCache(directory, new StubCache.Key("key")).store(STUB, Remote.class, bytecode);
+
+        Assert.assertArrayEquals(bytecode, new StubCache(directory, new StubCache.Key("key")).load(STUB, Remote.class));
+        // The stub of another interface
+        Assert.assertNull(new StubCache(directory, new StubCache.Key("key")).load(STUB, EJBObject.class));
+        // Another version of the deployment
+        Assert.assertNull(new StubCache(directory, new StubCache.Key("other")).load(STUB, Remote.class));
+    }
+
+    @Test
+    public void testCachesSharingDirectory() throws Exception {
+        final File directory = new File(root, "test.jar");
+        final StubCache.Key key = new StubCache.Key("key");
+        final StubCache first = new StubCache(directory, key);
+        final StubCache second = new StubCache(directory, key);
+        // Both caches found no current directory
+        Assert.assertNull(first.load(STUB, Remote.class));
+        Assert.assertNull(second.load(STUB, EJBObject.class));
+
+        final byte[] bytecode = new byte[] {1, 2, 3};
+        first.store(STUB, Remote.class, bytecode);
+        // The directory prepared by the first cache is not discarded by the second one
+        second.store(STUB, EJBObject.class, new byte[] {4, 5, 6});
+        Assert.assertArrayEquals(bytecode, new StubCache(directory, key).load(STUB, Remote.class));
+    }
+
+    @Test
+    public void testInterfaceHash() {
+        Assert.assertNotNull(StubCache.hashClass(EJBObject.class));
+        Assert.assertEquals(StubCache.hashClass(EJBObject.class), StubCache.hashClass(EJBObject.class));
+        Assert.assertNotEquals(StubCache.hashClass(EJBObject.class), StubCache.hashClass(Remote.class));
+    }
+
+    @Test
+    public void testPrune() throws Exception {
+        final File used = new File(root, "used.jar");
+        final File unused = new File(root, "unused.jar");
+        new StubCache(used, new StubCache.Key("key")).store(STUB, Remote.class, new byte[] {1});
+        new StubCache(unused, new StubCache.Key("key")).store(STUB, Remote.class, new byte[] {1});
+        final long time = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(StubCache.RETENTION_DAYS);
+        new File(unused, "cache-key").setLastModified(time - TimeUnit.DAYS.toMillis(1));
+
+        StubCache.prune(root, time);
+        Assert.assertTrue(used.isDirectory());
+        Assert.assertFalse(unused.exists());
+    }
+
+    private static void write(File file, byte[] bytes) throws IOException {
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void delete(File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote.protocol.versionone;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.remote.protocol.AbstractMessageHandler;
+import org.jboss.marshalling.ClassResolver;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.SimpleClassResolver;
+import org.jboss.marshalling.Unmarshaller;
+import org.jboss.remoting3.Channel;
+import org.jboss.remoting3.MessageOutputStream;
+import org.jboss.remoting3.RemotingOptions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests the buffering and throttling of the messages written through a {@link ChannelAssociation}.
+ */
+public class ChannelAssociationTestCase {
+
+    private final List<CapturingMessageOutputStream> messages = new ArrayList<CapturingMessageOutputStream>();
+    private ExecutorService executor;
+    private ChannelAssociation association;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        final Channel channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.getOption(RemotingOptions.MAX_OUTBOUND_MESSAGES)).thenReturn(1);
+        Mockito.when(channel.writeMessage()).thenAnswer(new Answer<MessageOutputStream>() {
+            @Override
+            public MessageOutputStream answer(InvocationOnMock invocation) {
+                final CapturingMessageOutputStream message = new CapturingMessageOutputStream();
+                synchronized (messages) {
+                    messages.add(message);
+                }
+                return message;
+            }
+        });
+        association = new ChannelAssociation(channel);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSmallMessageIsBuffered() throws Exception {
+        final byte[] bytes = bytes(100);
+        final OutputStream output = association.openMessageOutputStream();
+        output.write(bytes);
+        // no channel message is opened, nor permit acquired, until the message is complete
+        Assert.assertTrue(messages.isEmpty());
+        output.close();
+
+        Assert.assertEquals(1, messages.size());
+        Assert.assertArrayEquals(bytes, messages.get(0).toByteArray());
+        Assert.assertTrue(messages.get(0).closed);
+        Assert.assertEquals(1, association.getMessagesWritten());
+        Assert.assertEquals(bytes.length, association.getBytesWritten());
+    }
+
+    @Test
+    public void testLargeMessageIsStreamed() throws Exception {
+        final byte[] bytes = bytes(ChannelAssociation.MESSAGE_BUFFER_SIZE * 3);
+        final OutputStream output = association.openMessageOutputStream();
+        output.write(bytes, 0, ChannelAssociation.MESSAGE_BUFFER_SIZE);
+        Assert.assertTrue(messages.isEmpty());
+        output.write(bytes, ChannelAssociation.MESSAGE_BUFFER_SIZE, 1);
+        // the buffer is exceeded, so the message is now streamed to the channel
+        Assert.assertEquals(1, messages.size());
+        Assert.assertEquals(ChannelAssociation.MESSAGE_BUFFER_SIZE + 1, messages.get(0).size());
+        output.write(bytes, ChannelAssociation.MESSAGE_BUFFER_SIZE + 1, bytes.length - ChannelAssociation.MESSAGE_BUFFER_SIZE - 1);
+        Assert.assertFalse(messages.get(0).closed);
+        output.close();
+
+        Assert.assertArrayEquals(bytes, messages.get(0).toByteArray());
+        Assert.assertTrue(messages.get(0).closed);
+        Assert.assertEquals(bytes.length, association.getBytesWritten());
+    }
+
+    @Test
+    public void testWritesAreThrottled() throws Exception {
+        // hold the only write permit
+        final MessageOutputStream held = association.acquireChannelMessageOutputStream();
+        Assert.assertEquals(0, association.getQueueDepth());
+
+        final byte[] bytes = bytes(10);
+        final Future<Void> writer = executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final OutputStream output = association.openMessageOutputStream();
+                output.write(bytes);
+                output.close();
+                return null;
+            }
+        });
+        final long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (association.getQueueDepth() == 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1, association.getQueueDepth());
+        Assert.assertFalse(writer.isDone());
+
+        association.releaseChannelMessageOutputStream(held);
+        writer.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(0, association.getQueueDepth());
+        Assert.assertEquals(2, association.getMessagesWritten());
+        Assert.assertArrayEquals(bytes, messages.get(1).toByteArray());
+    }
+
+    @Test
+    public void testReusedMarshallerWritesIndependentMessages() throws Exception {
+        final MarshallerFactory marshallerFactory = Marshalling.getProvidedMarshallerFactory("river");
+        final TestMessageHandler handler = new TestMessageHandler();
+        final Map<String, Object> attachments = Collections.<String, Object>singletonMap("key", "value");
+        // both messages are written by this thread, so the second one reuses the marshaller of the first one
+        handler.writeException(association, marshallerFactory, (short) 1, new IllegalStateException("first"), attachments);
+        handler.writeException(association, marshallerFactory, (short) 2, new IllegalStateException("second"), attachments);
+
+        Assert.assertEquals(2, messages.size());
+        final String[] expectedMessages = {"first", "second"};
+        for (int i = 0; i < messages.size(); i++) {
+            // the receiver unmarshalls each message on its own, with a new unmarshaller
+            final DataInputStream input = new DataInputStream(new ByteArrayInputStream(messages.get(i).toByteArray()));
+            Assert.assertEquals(0x06, input.read());
+            Assert.assertEquals(i + 1, input.readShort());
+            final Unmarshaller unmarshaller = handler.prepareForUnMarshalling(marshallerFactory, new SimpleClassResolver(getClass().getClassLoader()), input);
+            final Throwable t = (Throwable) unmarshaller.readObject();
+            Assert.assertEquals(IllegalStateException.class, t.getClass());
+            Assert.assertEquals(expectedMessages[i], t.getMessage());
+            Assert.assertEquals(attachments, handler.readAttachments(unmarshaller));
+            unmarshaller.finish();
+        }
+    }
+
+    private static byte[] bytes(int size) {
+        final byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) 7);
+        for (int i = 0; i < size; i += 13) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static class TestMessageHandler extends AbstractMessageHandler {
+
+        @Override
+        public void processMessage(ChannelAssociation channelAssociation, InputStream inputStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeException(ChannelAssociation channelAssociation, MarshallerFactory marshallerFactory, short invocationId,
+                                   Throwable t, Map<String, Object> attachments) throws IOException {
+            super.writeException(channelAssociation, marshallerFactory, invocationId, t, attachments);
+        }
+
+        @Override
+        public Unmarshaller prepareForUnMarshalling(MarshallerFactory marshallerFactory, ClassResolver classResolver, DataInputStream dataInput) throws IOException {
+            return super.prepareForUnMarshalling(marshallerFactory, classResolver, dataInput);
+        }
+
+        @Override
+        public Map<String, Object> readAttachments(ObjectInput input) throws IOException, ClassNotFoundException {
+            return super.readAttachments(input);
+        }
+    }
+
+    private static class CapturingMessageOutputStream extends MessageOutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        volatile boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            bytes.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public MessageOutputStream cancel() {
+            return this;
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -171,6 +171,17 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         }
     }
 
+    @Override
+    public void stop() {
+        try {
+            hostPersister.stop();
+        } finally {
+            if (domainPersister != null) {
+                domainPersister.stop();
+            }
+        }
+    }
+
     @Override
     public String snapshot() throws ConfigurationPersistenceException {
         throw new UnsupportedOperationException();
@@ -84,6 +84,7 @@ import org.jboss.as.controller.parsing.Attribute;
 import org.jboss.as.controller.parsing.Element;
 import org.jboss.as.controller.parsing.ExtensionXml;
 import org.jboss.as.controller.parsing.Namespace;
+import org.jboss.as.controller.parsing.ParallelSubsystemParser;
 import org.jboss.as.controller.parsing.ParseUtils;
 import org.jboss.as.controller.parsing.ProfileParsingCompletionHandler;
 import org.jboss.as.controller.persistence.ModelMarshallingContext;
@@ -113,11 +114,13 @@ public class DomainXml extends CommonXml {
 
     private final ExtensionXml extensionXml;
     private final ExtensionRegistry extensionRegistry;
+    private final ExecutorService bootExecutor;
 
     public DomainXml(final ModuleLoader loader, ExecutorService executorService, ExtensionRegistry extensionRegistry) {
         super();
         extensionXml = new ExtensionXml(loader, executorService, extensionRegistry);
         this.extensionRegistry = extensionRegistry;
+        this.bootExecutor = executorService;
     }
 
     @Override
@@ -866,6 +869,7 @@ public class DomainXml extends CommonXml {
             // Content
             // Sequence
             final Map<String, List<ModelNode>> profileOps = new LinkedHashMap<String, List<ModelNode>>();
+            final ParallelSubsystemParser subsystemParser = new ParallelSubsystemParser(bootExecutor);
             while (reader.nextTag() != END_ELEMENT) {
                 Namespace ns = Namespace.forUri(reader.getNamespaceURI());
                 switch (ns) {
@@ -879,7 +883,7 @@ public class DomainXml extends CommonXml {
                         }
                         // parse content
                         final List<ModelNode> subsystems = new ArrayList<ModelNode>();
-                        reader.handleAny(subsystems);
+                        subsystemParser.parse(reader, subsystems);
 
                         profileOps.put(namespace, subsystems);
 
@@ -920,6 +924,8 @@ public class DomainXml extends CommonXml {
                 }
             }
 
+            subsystemParser.complete();
+
             // Let extensions modify the profile
             Set<ProfileParsingCompletionHandler> completionHandlers = extensionRegistry.getProfileParsingCompletionHandlers();
             for (ProfileParsingCompletionHandler completionHandler : completionHandlers) {
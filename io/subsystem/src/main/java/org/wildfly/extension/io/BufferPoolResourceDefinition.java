@@ -24,7 +24,9 @@
 
 package org.wildfly.extension.io;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -32,15 +34,19 @@ import java.util.Collection;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ServiceVerificationHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceBuilder;
@@ -75,6 +81,37 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
     );
 
 
+    static final AttributeDefinition ALLOCATED_COUNT = new SimpleAttributeDefinitionBuilder(Constants.ALLOCATED_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition IN_USE_COUNT = new SimpleAttributeDefinitionBuilder(Constants.IN_USE_COUNT, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition PEAK_IN_USE_COUNT = new SimpleAttributeDefinitionBuilder(Constants.PEAK_IN_USE_COUNT, ModelType.INT)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition LEAKED_COUNT = new SimpleAttributeDefinitionBuilder(Constants.LEAKED_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition LEAK_SITES = new PrimitiveListAttributeDefinition.Builder(Constants.LEAK_SITES, ModelType.STRING)
+            .setAllowNull(true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition LEAK_DETECTION_SAMPLING = new SimpleAttributeDefinitionBuilder(Constants.LEAK_DETECTION_SAMPLING, ModelType.INT, true)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true))
+            .setStorageRuntime()
+            .build();
+
+    static final List<AttributeDefinition> METRICS = Arrays.asList(
+            ALLOCATED_COUNT,
+            IN_USE_COUNT,
+            PEAK_IN_USE_COUNT,
+            LEAKED_COUNT,
+            LEAK_SITES
+    );
+
     public static final BufferPoolResourceDefinition INSTANCE = new BufferPoolResourceDefinition();
 
 
@@ -91,6 +128,81 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         return (Collection) ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, BufferPoolMetricsHandler.INSTANCE);
+        }
+        resourceRegistration.registerReadWriteAttribute(LEAK_DETECTION_SAMPLING, BufferPoolMetricsHandler.INSTANCE, LeakDetectionSamplingWriteHandler.INSTANCE);
+    }
+
+    private static MonitoredBufferPool getMonitoredPool(final OperationContext context, final ModelNode operation, final boolean modify) {
+        final String name = PathAddress.pathAddress(operation.get(OP_ADDR)).getLastElement().getValue();
+        final ServiceController<?> controller = context.getServiceRegistry(modify).getService(IOServices.BUFFER_POOL.append(name));
+        if (controller != null && controller.getState() == ServiceController.State.UP) {
+            return ((BufferPoolService) controller.getService()).getMonitoredPool();
+        }
+        return null;
+    }
+
+    private static class BufferPoolMetricsHandler extends AbstractRuntimeOnlyHandler {
+        static final BufferPoolMetricsHandler INSTANCE = new BufferPoolMetricsHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final MonitoredBufferPool pool = getMonitoredPool(context, operation, false);
+            if (pool != null) {
+                final String attributeName = operation.require(NAME).asString();
+                final ModelNode result = context.getResult();
+                if (Constants.ALLOCATED_COUNT.equals(attributeName)) {
+                    result.set(pool.getAllocatedCount());
+                } else if (Constants.IN_USE_COUNT.equals(attributeName)) {
+                    result.set(pool.getInUseCount());
+                } else if (Constants.PEAK_IN_USE_COUNT.equals(attributeName)) {
+                    result.set(pool.getPeakInUseCount());
+                } else if (Constants.LEAKED_COUNT.equals(attributeName)) {
+                    result.set(pool.getLeakedCount());
+                } else if (Constants.LEAK_SITES.equals(attributeName)) {
+                    result.setEmptyList();
+                    for (String site : pool.getLeakSites()) {
+                        result.add(site);
+                    }
+                } else if (Constants.LEAK_DETECTION_SAMPLING.equals(attributeName)) {
+                    result.set(pool.getLeakDetectionSampling());
+                }
+            }
+            context.stepCompleted();
+        }
+    }
+
+    /**
+     * Changes the leak detection sampling of a running pool. The setting is not persisted.
+     */
+    private static class LeakDetectionSamplingWriteHandler extends AbstractRuntimeOnlyHandler {
+        static final LeakDetectionSamplingWriteHandler INSTANCE = new LeakDetectionSamplingWriteHandler();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final ModelNode model = new ModelNode();
+            model.get(Constants.LEAK_DETECTION_SAMPLING).set(operation.get(VALUE));
+            final int sampling = LEAK_DETECTION_SAMPLING.resolveModelAttribute(context, model).asInt();
+            final MonitoredBufferPool pool = getMonitoredPool(context, operation, true);
+            if (pool == null) {
+                context.stepCompleted();
+                return;
+            }
+            final int previous = pool.getLeakDetectionSampling();
+            pool.setLeakDetectionSampling(sampling);
+            context.completeStep(new OperationContext.RollbackHandler() {
+                @Override
+                public void handleRollback(OperationContext context, ModelNode operation) {
+                    pool.setLeakDetectionSampling(previous);
+                }
+            });
+        }
+    }
+
     private static class BufferPoolAdd extends AbstractAddStepHandler {
         @Override
         protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
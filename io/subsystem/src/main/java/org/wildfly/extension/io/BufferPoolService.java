@@ -38,7 +38,7 @@ import org.xnio.Pool;
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2013 Red Hat Inc.
  */
 public class BufferPoolService implements Service<Pool<ByteBuffer>> {
-    private volatile Pool<ByteBuffer> bufferPool;
+    private volatile MonitoredBufferPool bufferPool;
     /*<buffer-pool name="default" buffer-size="2048" buffers-per-slice="512"/>*/
     private final int bufferSize;
     private final int buffersPerSlice;
@@ -52,7 +52,7 @@ public class BufferPoolService implements Service<Pool<ByteBuffer>> {
 
     @Override
     public void start(StartContext context) throws StartException {
-        bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        bufferPool = new MonitoredBufferPool(new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize));
     }
 
     @Override
@@ -60,6 +60,10 @@ public class BufferPoolService implements Service<Pool<ByteBuffer>> {
 
     }
 
+    MonitoredBufferPool getMonitoredPool() {
+        return bufferPool;
+    }
+
     @Override
     public Pool<ByteBuffer> getValue() throws IllegalStateException, IllegalArgumentException {
         return bufferPool;
@@ -32,6 +32,12 @@ interface Constants {
     String BUFFER_SIZE = "buffer-size";
     String BUFFER_PER_SLICE = "buffers-per-slice";
     String DIRECT_BUFFERS = "direct-buffers";
+    String ALLOCATED_COUNT = "allocated-count";
+    String IN_USE_COUNT = "in-use-count";
+    String PEAK_IN_USE_COUNT = "peak-in-use-count";
+    String LEAKED_COUNT = "leaked-count";
+    String LEAK_SITES = "leak-sites";
+    String LEAK_DETECTION_SAMPLING = "leak-detection-sampling";
     String WORKER = "worker";
     String WORKER_IO_THREADS = "io-threads";
     String WORKER_TASK_CORE_THREADS = "task-core-threads";
@@ -0,0 +1,211 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.xnio.Pool;
+import org.xnio.Pooled;
+
+/**
+ * Buffer pool that counts the buffers handed out by the underlying pool.
+ * <p/>
+ * If the leak detection sampling is set to {@code n > 0}, one in every {@code n} allocations also records where the
+ * buffer was allocated. If such a buffer is garbage collected without having been
+ * freed or discarded it is counted as leaked and its allocation site is kept for {@link #getLeakSites()}.
+ */
+class MonitoredBufferPool implements Pool<ByteBuffer> {
+
+    private static final int MAX_LEAK_SITES = 10;
+    private static final int MAX_LEAK_SITE_FRAMES = 10;
+
+    private final Pool<ByteBuffer> delegate;
+    private final AtomicLong allocatedCount = new AtomicLong();
+    private final AtomicInteger inUseCount = new AtomicInteger();
+    private final AtomicInteger peakInUseCount = new AtomicInteger();
+    private final AtomicLong leakedCount = new AtomicLong();
+
+    private final ReferenceQueue<Object> trackedQueue = new ReferenceQueue<Object>();
+    private final Set<TrackedBuffer> tracked = Collections.newSetFromMap(new ConcurrentHashMap<TrackedBuffer, Boolean>());
+    private final ConcurrentLinkedQueue<String> leakSites = new ConcurrentLinkedQueue<String>();
+    private volatile int leakDetectionSampling;
+
+    MonitoredBufferPool(final Pool<ByteBuffer> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Pooled<ByteBuffer> allocate() {
+        final Pooled<ByteBuffer> pooled = delegate.allocate();
+        final long allocated = allocatedCount.incrementAndGet();
+        final int inUse = inUseCount.incrementAndGet();
+        int peak;
+        while (inUse > (peak = peakInUseCount.get())) {
+            if (peakInUseCount.compareAndSet(peak, inUse)) {
+                break;
+            }
+        }
+        final MonitoredPooled result = new MonitoredPooled(pooled);
+        final int sampling = leakDetectionSampling;
+        if (sampling > 0) {
+            expungeLeaks();
+            if (allocated % sampling == 0) {
+                result.tracker = new TrackedBuffer(result, trackedQueue);
+                tracked.add(result.tracker);
+            }
+        }
+        return result;
+    }
+
+    int getLeakDetectionSampling() {
+        return leakDetectionSampling;
+    }
+
+    /**
+     * @param sampling track one in every {@code sampling} allocations for leaks, or none if {@code 0}
+     */
+    void setLeakDetectionSampling(final int sampling) {
+        this.leakDetectionSampling = sampling;
+    }
+
+    long getAllocatedCount() {
+        return allocatedCount.get();
+    }
+
+    int getInUseCount() {
+        return inUseCount.get();
+    }
+
+    int getPeakInUseCount() {
+        return peakInUseCount.get();
+    }
+
+    long getLeakedCount() {
+        expungeLeaks();
+        return leakedCount.get();
+    }
+
+    /**
+     * @return the allocation sites of the most recently detected leaks
+     */
+    List<String> getLeakSites() {
+        expungeLeaks();
+        return new ArrayList<String>(leakSites);
+    }
+
+    private void expungeLeaks() {
+        Reference<?> reference;
+        while ((reference = trackedQueue.poll()) != null) {
+            final TrackedBuffer tracker = (TrackedBuffer) reference;
+            tracked.remove(tracker);
+            if (!tracker.released) {
+                leakedCount.incrementAndGet();
+                leakSites.add(tracker.describeAllocationSite());
+                while (leakSites.size() > MAX_LEAK_SITES) {
+                    leakSites.poll();
+                }
+            }
+        }
+    }
+
+    private final class MonitoredPooled implements Pooled<ByteBuffer> {
+        private final Pooled<ByteBuffer> delegate;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile TrackedBuffer tracker;
+
+        private MonitoredPooled(final Pooled<ByteBuffer> delegate) {
+            this.delegate = delegate;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                inUseCount.decrementAndGet();
+                final TrackedBuffer tracker = this.tracker;
+                if (tracker != null) {
+                    tracker.released = true;
+                    tracked.remove(tracker);
+                }
+            }
+        }
+
+        @Override
+        public void discard() {
+            release();
+            delegate.discard();
+        }
+
+        @Override
+        public void free() {
+            release();
+            delegate.free();
+        }
+
+        @Override
+        public ByteBuffer getResource() throws IllegalStateException {
+            return delegate.getResource();
+        }
+
+        public void close() {
+            free();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    private static final class TrackedBuffer extends PhantomReference<Object> {
+        private final Throwable allocationSite = new Throwable();
+        private volatile boolean released;
+
+        private TrackedBuffer(final Object referent, final ReferenceQueue<Object> queue) {
+            super(referent, queue);
+        }
+
+        private String describeAllocationSite() {
+            final StringBuilder builder = new StringBuilder();
+            final StackTraceElement[] stackTrace = allocationSite.getStackTrace();
+            // skip the frames of this pool
+            for (int i = 2; i < stackTrace.length && i < MAX_LEAK_SITE_FRAMES + 2; i++) {
+                if (builder.length() > 0) {
+                    builder.append(" <- ");
+                }
+                builder.append(stackTrace[i]);
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *
+ *  JBoss, Home of Professional Open Source.
+ *  Copyright 2013, Red Hat, Inc., and individual contributors
+ *  as indicated by the @author tags. See the copyright.txt file in the
+ *  distribution for a full listing of individual contributors.
+ *
+ *  This is free software; you can redistribute it and/or modify it
+ *  under the terms of the GNU Lesser General Public License as
+ *  published by the Free Software Foundation; either version 2.1 of
+ *  the License, or (at your option) any later version.
+ *
+ *  This software is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this software; if not, write to the Free
+ *  Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ *  02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ * /
+ */
+
+package org.wildfly.extension.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xnio.BufferAllocator;
+import org.xnio.ByteBufferSlicePool;
+import org.xnio.Pooled;
+
+/**
+ * Stress test of the counters and the sampled leak detection of {@link MonitoredBufferPool}.
+ */
+public class MonitoredBufferPoolTestCase {
+
+    private static final int THREADS = 8;
+    private static final int ALLOCATIONS = 20000;
+
+    private static MonitoredBufferPool createPool() {
+        return new MonitoredBufferPool(new ByteBufferSlicePool(BufferAllocator.BYTE_BUFFER_ALLOCATOR, 1024, 64 * 1024));
+    }
+
+    @Test
+    public void testConcurrentAllocation() throws Exception {
+        final MonitoredBufferPool pool = createPool();
+        stress(pool);
+        Assert.assertEquals(THREADS * ALLOCATIONS, pool.getAllocatedCount());
+        Assert.assertEquals(0, pool.getInUseCount());
+        Assert.assertTrue(pool.getPeakInUseCount() > 0);
+        Assert.assertTrue(pool.getPeakInUseCount() <= THREADS);
+        Assert.assertEquals(0, pool.getLeakedCount());
+    }
+
+    @Test
+    public void testConcurrentAllocationWithLeakDetection() throws Exception {
+        final MonitoredBufferPool pool = createPool();
+        pool.setLeakDetectionSampling(1);
+        stress(pool);
+        Assert.assertEquals(THREADS * ALLOCATIONS, pool.getAllocatedCount());
+        Assert.assertEquals(0, pool.getInUseCount());
+        collectGarbage();
+        // every buffer was freed, so none may be reported
+        Assert.assertEquals(0, pool.getLeakedCount());
+        Assert.assertTrue(pool.getLeakSites().isEmpty());
+    }
+
+    @Test
+    public void testLeakDetected() throws Exception {
+        final MonitoredBufferPool pool = createPool();
+        pool.setLeakDetectionSampling(1);
+        leak(pool);
+        for (int i = 0; i < 50 && pool.getLeakedCount() == 0; i++) {
+            collectGarbage();
+        }
+        Assert.assertEquals(1, pool.getLeakedCount());
+        Assert.assertEquals(1, pool.getInUseCount());
+        Assert.assertEquals(1, pool.getLeakSites().size());
+        Assert.assertTrue(pool.getLeakSites().get(0), pool.getLeakSites().get(0).contains("leak"));
+    }
+
+    @Test
+    public void testLeakDetectionDisabled() throws Exception {
+        final MonitoredBufferPool pool = createPool();
+        leak(pool);
+        collectGarbage();
+        Assert.assertEquals(0, pool.getLeakedCount());
+        Assert.assertEquals(1, pool.getInUseCount());
+    }
+
+    private static void leak(final MonitoredBufferPool pool) {
+        final Pooled<ByteBuffer> pooled = pool.allocate();
+        pooled.getResource().put((byte) 1);
+    }
+
+    private static void collectGarbage() throws InterruptedException {
+        System.gc();
+        Thread.sleep(10);
+    }
+
+    private static void stress(final MonitoredBufferPool pool) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            for (int j = 0; j < ALLOCATIONS; j++) {
+                                final Pooled<ByteBuffer> pooled = pool.allocate();
+                                if (j % 2 == 0) {
+                                    pooled.free();
+                                } else {
+                                    pooled.discard();
+                                }
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+            Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -28,10 +28,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
-import java.util.Map;
-import java.util.HashMap;
-import java.util.WeakHashMap;
-
 import org.jboss.as.jacorb.JacORBMessages;
 
 
@@ -50,13 +46,29 @@ import org.jboss.as.jacorb.JacORBMessages;
  * When a thread re-enters the <code>getAnalysis()</code> method, an
  * unfinished analysis will be returned if the same thread is already
  * working on this analysis.
- *
- * TODO: this looks like a big class loader leak waiting to happen
+ * <p/>
+ * Entries are kept per analysed class in a {@link ClassValue}, so they do
+ * not pin the class loader of the analysed class, and are guarded by their
+ * own monitor rather than a global one. A thread asking for an analysis
+ * another thread is working on waits for it, unless it is itself in the
+ * middle of an analysis, in which case it does the work again rather than
+ * risk a deadlock on a cyclic graph.
  *
  * @author <a href="mailto:osh@sparre.dk">Ole Husgaard</a>
  */
 class WorkCacheManager {
 
+    /**
+     * The number of analyses the current thread is working on, across all
+     * work cache managers.
+     */
+    private static final ThreadLocal<int[]> analysisDepth = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
     /**
      * Create a new work cache manager.
      *
@@ -71,8 +83,12 @@ class WorkCacheManager {
             throw JacORBMessages.MESSAGES.unexpectedException(ex);
         }
 
-        workDone = new WeakHashMap();
-        workInProgress = new HashMap();
+        entries = new ClassValue<Entry>() {
+            @Override
+            protected Entry computeValue(final Class<?> type) {
+                return new Entry();
+            }
+        };
     }
 
     /**
@@ -81,34 +97,66 @@ class WorkCacheManager {
      * class, an unfinished analysis is returned.
      */
     ContainerAnalysis getAnalysis(final Class cls) throws RMIIIOPViolationException {
-        ContainerAnalysis ret;
-
-        synchronized (this) {
-            ret = lookupDone(cls);
-            if (ret != null)
-                return ret;
-
-            // is it work-in-progress?
-            final InProgress inProgress = (InProgress) workInProgress.get(cls);
-            if (inProgress != null) {
-                if (inProgress.thread == Thread.currentThread())
+        final Entry entry = entries.get(cls);
+        final int[] depth = analysisDepth.get();
+        final Thread currentThread = Thread.currentThread();
+        final ContainerAnalysis ret;
+        final boolean owner;
+
+        synchronized (entry) {
+            for (;;) {
+                final ContainerAnalysis done = entry.lookupDone();
+                if (done != null)
+                    return done;
+
+                // is it work-in-progress?
+                final InProgress inProgress = entry.inProgress;
+                if (inProgress == null)
+                    break;
+                if (inProgress.thread == currentThread)
                     return inProgress.analysis; // return unfinished
 
-                // Do not wait for the other thread: We may deadlock
+                // Only wait for the other thread if we are not working on an
+                // analysis ourselves, otherwise we may deadlock.
                 // Double work is better that deadlock...
+                if (depth[0] > 0)
+                    break;
+                try {
+                    entry.wait();
+                } catch (InterruptedException e) {
+                    currentThread.interrupt();
+                    break;
+                }
             }
 
-            ret = createWorkInProgress(cls);
+            ret = createAnalysis(cls);
+            owner = entry.inProgress == null;
+            if (owner)
+                entry.inProgress = new InProgress(ret, currentThread);
         }
 
         // Do the work
-        doTheWork(cls, ret);
+        depth[0]++;
+        try {
+            doTheWork(cls, ret);
+        } catch (RMIIIOPViolationException | RuntimeException | Error e) {
+            synchronized (entry) {
+                if (owner)
+                    entry.inProgress = null;
+                entry.notifyAll();
+            }
+            throw e;
+        } finally {
+            depth[0]--;
+        }
 
         // We did it
-        synchronized (this) {
-            workInProgress.remove(cls);
-            workDone.put(cls, new SoftReference(ret));
-            notifyAll();
+        synchronized (entry) {
+            if (owner)
+                entry.inProgress = null;
+            if (entry.lookupDone() == null)
+                entry.done = new SoftReference<ContainerAnalysis>(ret);
+            entry.notifyAll();
         }
 
         return ret;
@@ -127,37 +175,16 @@ class WorkCacheManager {
     private final Method initializer;
 
     /**
-     * This maps the classes of completely done analyses to soft
-     * references of their analysis.
-     */
-    private final Map workDone;
-
-    /**
-     * This maps the classes of analyses in progress to their
-     * analysis.
-     */
-    private final Map workInProgress;
-
-    /**
-     * Lookup an analysis in the fully done map.
+     * This maps analysed classes to their analysis, done or in progress.
      */
-    private ContainerAnalysis lookupDone(Class cls) {
-        SoftReference ref = (SoftReference) workDone.get(cls);
-        if (ref == null)
-            return null;
-        ContainerAnalysis ret = (ContainerAnalysis) ref.get();
-        if (ret == null)
-            workDone.remove(cls); // clear map entry if soft ref. was cleared.
-        return ret;
-    }
+    private final ClassValue<Entry> entries;
 
     /**
-     * Create new work-in-progress.
+     * Create a new analysis.
      */
-    private ContainerAnalysis createWorkInProgress(final Class cls) {
-        final ContainerAnalysis analysis;
+    private ContainerAnalysis createAnalysis(final Class cls) {
         try {
-            analysis = (ContainerAnalysis) constructor.newInstance(cls);
+            return (ContainerAnalysis) constructor.newInstance(cls);
         } catch (InstantiationException ex) {
             throw new RuntimeException(ex.toString());
         } catch (IllegalAccessException ex) {
@@ -165,10 +192,6 @@ class WorkCacheManager {
         } catch (InvocationTargetException ex) {
             throw new RuntimeException(ex.toString());
         }
-
-        workInProgress.put(cls, new InProgress(analysis, Thread.currentThread()));
-
-        return analysis;
     }
 
     private void doTheWork(final Class cls, final ContainerAnalysis ret)
@@ -176,9 +199,6 @@ class WorkCacheManager {
         try {
             initializer.invoke(ret);
         } catch (Throwable t) {
-            synchronized (this) {
-                workInProgress.remove(cls);
-            }
             if (t instanceof InvocationTargetException) // unwrap
                 t = ((InvocationTargetException) t).getTargetException();
 
@@ -192,6 +212,31 @@ class WorkCacheManager {
         }
     }
 
+    /**
+     * The analysis state of a single class. Guarded by its own monitor.
+     */
+    private static class Entry {
+        /**
+         * Soft reference to the completely done analysis, if any.
+         */
+        SoftReference<ContainerAnalysis> done;
+
+        /**
+         * The analysis in progress, and the thread doing the work, if any.
+         */
+        InProgress inProgress;
+
+        ContainerAnalysis lookupDone() {
+            final SoftReference<ContainerAnalysis> ref = done;
+            if (ref == null)
+                return null;
+            final ContainerAnalysis ret = ref.get();
+            if (ret == null)
+                done = null; // clear entry if soft ref. was cleared.
+            return ret;
+        }
+    }
+
     /**
      * A simple aggregate of work-in-progress, and the thread doing the work.
      */
@@ -205,4 +250,3 @@ class WorkCacheManager {
         }
     }
 }
-
@@ -161,6 +161,12 @@ public class Configuration {
      */
     public static final String JPA_ALLOW_TWO_PHASE_BOOTSTRAP = "wildfly.jpa.twophasebootstrap";
 
+    /**
+     * set to true to defer creating the container EntityManagerFactory until it is first used (default is false).
+     * Setting this also disables the two phase persistence unit bootstrap.
+     */
+    public static final String JPA_LAZY_BOOTSTRAP = "wildfly.jpa.lazybootstrap";
+
     /**
      * set to false to ignore default data source (defaults to true)
      */
@@ -255,6 +261,20 @@ public class Configuration {
         return result;
     }
 
+    /**
+     * Determine if the container EntityManagerFactory should be created on first use
+     *
+     * @param pu
+     * @return true if the persistence unit bootstrap should be deferred until first use
+     */
+    public static boolean lazyBootstrap(PersistenceUnitMetadata pu) {
+        boolean result = false;
+        if (pu.getProperties().containsKey(Configuration.JPA_LAZY_BOOTSTRAP)) {
+            result = Boolean.parseBoolean(pu.getProperties().getProperty(Configuration.JPA_LAZY_BOOTSTRAP));
+        }
+        return result;
+    }
+
     /**
      * Determine if the default data-source should be used
      *
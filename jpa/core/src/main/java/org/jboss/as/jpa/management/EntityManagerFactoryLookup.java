@@ -26,6 +26,7 @@ import static org.jboss.as.jpa.messages.JpaMessages.MESSAGES;
 
 import javax.persistence.EntityManagerFactory;
 
+import org.jboss.as.jpa.service.PersistenceUnitServiceImpl;
 import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
 import org.jipijapa.management.spi.EntityManagerFactoryAccess;
 import org.jipijapa.plugin.spi.PersistenceUnitService;
@@ -43,6 +44,10 @@ public class EntityManagerFactoryLookup implements EntityManagerFactoryAccess {
         if (persistenceUnitService == null) {
             throw MESSAGES.PersistenceUnitNotAvailable(scopedPersistenceUnitName);
         }
+        if (persistenceUnitService instanceof PersistenceUnitServiceImpl) {
+            // statistics must neither trigger a deferred bootstrap, nor see the lazy entity manager factory
+            return ((PersistenceUnitServiceImpl) persistenceUnitService).getEntityManagerFactoryIfCreated();
+        }
         return persistenceUnitService.getEntityManagerFactory();
 
     }
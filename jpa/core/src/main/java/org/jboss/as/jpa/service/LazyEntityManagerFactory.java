@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.service;
+
+import java.util.Map;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.Query;
+import javax.persistence.SynchronizationType;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.metamodel.Metamodel;
+
+/**
+ * EntityManagerFactory that defers the (potentially expensive) persistence provider bootstrap until the first time
+ * the factory is actually used.
+ * <p/>
+ * Concurrent first callers are coalesced onto a single bootstrap, all later calls go straight to the delegate.
+ * {@link #isOpen()} and {@link #close()} never trigger the bootstrap.
+ */
+abstract class LazyEntityManagerFactory implements EntityManagerFactory {
+
+    private volatile EntityManagerFactory delegate;
+    private volatile boolean closed;
+
+    /**
+     * Create the real entity manager factory. Called at most once (unless it fails, in which case the next caller
+     * retries).
+     *
+     * @return the entity manager factory
+     */
+    protected abstract EntityManagerFactory createDelegate();
+
+    /**
+     * Get the real entity manager factory, creating it if needed.
+     *
+     * @return the entity manager factory
+     */
+    EntityManagerFactory getDelegate() {
+        EntityManagerFactory result = delegate;
+        if (result == null) {
+            synchronized (this) {
+                result = delegate;
+                if (result == null) {
+                    if (closed) {
+                        throw new IllegalStateException("EntityManagerFactory is closed");
+                    }
+                    result = createDelegate();
+                    delegate = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the real entity manager factory, or null if it has not been created
+     */
+    EntityManagerFactory getDelegateIfCreated() {
+        return delegate;
+    }
+
+    /**
+     * Get the real entity manager factory behind the given one, without creating it.
+     *
+     * @param entityManagerFactory the entity manager factory, which may be lazy
+     * @return the real entity manager factory, or null if it has not been created
+     */
+    static EntityManagerFactory getDelegateIfCreated(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory instanceof LazyEntityManagerFactory ? ((LazyEntityManagerFactory) entityManagerFactory).getDelegateIfCreated() : entityManagerFactory;
+    }
+
+    @Override
+    public EntityManager createEntityManager() {
+        return getDelegate().createEntityManager();
+    }
+
+    @Override
+    public EntityManager createEntityManager(Map map) {
+        return getDelegate().createEntityManager(map);
+    }
+
+    @Override
+    public EntityManager createEntityManager(SynchronizationType synchronizationType) {
+        return getDelegate().createEntityManager(synchronizationType);
+    }
+
+    @Override
+    public EntityManager createEntityManager(SynchronizationType synchronizationType, Map map) {
+        return getDelegate().createEntityManager(synchronizationType, map);
+    }
+
+    @Override
+    public CriteriaBuilder getCriteriaBuilder() {
+        return getDelegate().getCriteriaBuilder();
+    }
+
+    @Override
+    public Metamodel getMetamodel() {
+        return getDelegate().getMetamodel();
+    }
+
+    @Override
+    public boolean isOpen() {
+        EntityManagerFactory emf = delegate;
+        return emf != null ? emf.isOpen() : !closed;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (delegate == null) {
+                return;
+            }
+        }
+        delegate.close();
+    }
+
+    @Override
+    public Map<String, Object> getProperties() {
+        return getDelegate().getProperties();
+    }
+
+    @Override
+    public Cache getCache() {
+        return getDelegate().getCache();
+    }
+
+    @Override
+    public PersistenceUnitUtil getPersistenceUnitUtil() {
+        return getDelegate().getPersistenceUnitUtil();
+    }
+
+    @Override
+    public void addNamedQuery(String name, Query query) {
+        getDelegate().addNamedQuery(name, query);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> cls) {
+        if (cls.isInstance(this)) {
+            return cls.cast(this);
+        }
+        return getDelegate().unwrap(cls);
+    }
+
+    @Override
+    public <T> void addNamedEntityGraph(String graphName, EntityGraph<T> entityGraph) {
+        getDelegate().addNamedEntityGraph(graphName, entityGraph);
+    }
+}
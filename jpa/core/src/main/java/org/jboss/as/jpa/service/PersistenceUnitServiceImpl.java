@@ -37,6 +37,7 @@ import javax.validation.ValidatorFactory;
 
 import org.jboss.as.jpa.beanmanager.ProxyBeanManager;
 import org.jboss.as.jpa.classloader.TempClassLoaderFactoryImpl;
+import org.jboss.as.jpa.config.Configuration;
 import org.jboss.as.jpa.spi.PersistenceUnitService;
 import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
 import org.jboss.as.jpa.util.JPAServiceNames;
@@ -121,6 +122,7 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
 
                                 ClassLoader old = Thread.currentThread().getContextClassLoader();
                                 Thread.currentThread().setContextClassLoader(classLoader);
+                                boolean lazyBootstrap = false;
 
                                 try {
                                     PhaseOnePersistenceUnitServiceImpl phaseOnePersistenceUnitService = phaseOnePersistenceUnitServiceInjectedValue.getOptionalValue();
@@ -164,7 +166,17 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                             proxyBeanManager.setDelegate(beanManagerInjector.getOptionalValue());
                                             properties.getValue().put(CDI_BEAN_MANAGER, proxyBeanManager);
                                         }
-                                        entityManagerFactory = createContainerEntityManagerFactory();
+                                        if (Configuration.lazyBootstrap(pu)) {
+                                            // keep the temp classloader factory until the deferred bootstrap has run
+                                            lazyBootstrap = true;
+                                            entityManagerFactory = createLazyEntityManagerFactory(accessControlContext);
+                                        } else {
+                                            try {
+                                                entityManagerFactory = createContainerEntityManagerFactory();
+                                            } finally {
+                                                pu.setAnnotationIndex(null);    // close reference to Annotation Index (only needed during call to createContainerEntityManagerFactory)
+                                            }
+                                        }
                                     }
                                     persistenceUnitRegistry.add(getScopedPersistenceUnitName(), getValue());
                                     context.complete();
@@ -172,7 +184,9 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                     context.failed(new StartException(t));
                                 } finally {
                                     Thread.currentThread().setContextClassLoader(old);
-                                    pu.setTempClassLoaderFactory(null);    // release the temp classloader factory (only needed when creating the EMF)
+                                    if (!lazyBootstrap) {
+                                        pu.setTempClassLoaderFactory(null);    // release the temp classloader factory (only needed when creating the EMF)
+                                    }
                                     WritableServiceBasedNamingStore.popOwner();
                                 }
                                 return null;
@@ -268,6 +282,15 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
         return entityManagerFactory;
     }
 
+    /**
+     * Get the entity manager factory created by the persistence provider, without triggering a deferred bootstrap.
+     *
+     * @return the entity manager factory, or null if its bootstrap was deferred and has not run yet
+     */
+    public EntityManagerFactory getEntityManagerFactoryIfCreated() {
+        return LazyEntityManagerFactory.getDelegateIfCreated(entityManagerFactory);
+    }
+
     @Override
     public String getScopedPersistenceUnitName() {
         return pu.getScopedPersistenceUnitName();
@@ -317,16 +340,48 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                     pu.getScopedPersistenceUnitName(), properties.getValue(), pu.getProperties());
             return persistenceProvider.createContainerEntityManagerFactory(pu, properties.getValue());
         } finally {
-            try {
-                persistenceProviderAdaptor.afterCreateContainerEntityManagerFactory(pu);
-            } finally {
-                pu.setAnnotationIndex(null);    // close reference to Annotation Index (only needed during call to createContainerEntityManagerFactory)
-                //This is needed if the datasource is restarted
-                //pu.setTempClassLoaderFactory(null);    // close reference to temp classloader factory (only needed during call to createEntityManagerFactory)
-            }
+            persistenceProviderAdaptor.afterCreateContainerEntityManagerFactory(pu);
+            //This is needed if the datasource is restarted
+            //pu.setTempClassLoaderFactory(null);    // close reference to temp classloader factory (only needed during call to createEntityManagerFactory)
         }
     }
 
+    /**
+     * Create an entity manager factory that calls {@link #createContainerEntityManagerFactory()} the first time it is
+     * used, with the same class loader, naming owner and security context that the service start would have used.
+     *
+     * @param accessControlContext the access control context of the service start
+     * @return EntityManagerFactory
+     */
+    EntityManagerFactory createLazyEntityManagerFactory(final AccessControlContext accessControlContext) {
+        JPA_LOGGER.tracef("deferring createContainerEntityManagerFactory for pu=%s until first use", pu.getScopedPersistenceUnitName());
+        return new LazyEntityManagerFactory() {
+            @Override
+            protected EntityManagerFactory createDelegate() {
+                return WildFlySecurityManager.doChecked(new PrivilegedAction<EntityManagerFactory>() {
+                    @Override
+                    public EntityManagerFactory run() {
+                        ClassLoader old = Thread.currentThread().getContextClassLoader();
+                        Thread.currentThread().setContextClassLoader(classLoader);
+                        WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
+                        try {
+                            JPA_LOGGER.tracef("starting deferred bootstrap of pu=%s", pu.getScopedPersistenceUnitName());
+                            final EntityManagerFactory entityManagerFactory = createContainerEntityManagerFactory();
+                            // release the annotation index and temp classloader factory (only needed when creating
+                            // the EMF), but keep them after a failure, since the next caller retries the bootstrap
+                            pu.setAnnotationIndex(null);
+                            pu.setTempClassLoaderFactory(null);
+                            return entityManagerFactory;
+                        } finally {
+                            Thread.currentThread().setContextClassLoader(old);
+                            WritableServiceBasedNamingStore.popOwner();
+                        }
+                    }
+                }, accessControlContext);
+            }
+        };
+    }
+
     public Injector<PhaseOnePersistenceUnitServiceImpl> getPhaseOnePersistenceUnitServiceImplInjector() {
         return phaseOnePersistenceUnitServiceInjectedValue;
     }
@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.security.AccessController;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.spi.PersistenceProvider;
+import javax.persistence.spi.PersistenceUnitInfo;
+
+import org.jboss.as.jpa.classloader.TempClassLoaderFactoryImpl;
+import org.jboss.as.jpa.config.PersistenceUnitMetadataImpl;
+import org.jboss.jandex.Index;
+import org.jboss.msc.service.ServiceName;
+import org.jipijapa.plugin.spi.PersistenceProviderAdaptor;
+import org.jipijapa.plugin.spi.PersistenceUnitMetadata;
+import org.junit.Test;
+
+/**
+ * Tests the deferred bootstrap of {@link LazyEntityManagerFactory}.
+ */
+public class LazyEntityManagerFactoryTestCase {
+
+    @Test
+    public void testBootstrapOnFirstUse() {
+        final EntityManagerFactory emf = proxy(EntityManagerFactory.class, null);
+        final AtomicInteger bootstraps = new AtomicInteger();
+        final LazyEntityManagerFactory lazy = new LazyEntityManagerFactory() {
+            @Override
+            protected EntityManagerFactory createDelegate() {
+                bootstraps.incrementAndGet();
+                return emf;
+            }
+        };
+        assertTrue(lazy.isOpen());
+        assertNull(lazy.getDelegateIfCreated());
+        assertNull(LazyEntityManagerFactory.getDelegateIfCreated(lazy));
+        assertEquals(0, bootstraps.get());
+
+        lazy.getProperties();
+        assertEquals(1, bootstraps.get());
+        assertSame(emf, LazyEntityManagerFactory.getDelegateIfCreated(lazy));
+        // a factory which is not lazy is returned as is
+        assertSame(emf, LazyEntityManagerFactory.getDelegateIfCreated(emf));
+    }
+
+    @Test
+    public void testCloseBeforeFirstUse() {
+        final LazyEntityManagerFactory lazy = new LazyEntityManagerFactory() {
+            @Override
+            protected EntityManagerFactory createDelegate() {
+                fail("closing must not bootstrap");
+                return null;
+            }
+        };
+        lazy.close();
+        assertFalse(lazy.isOpen());
+        try {
+            lazy.createEntityManager();
+            fail("a closed factory must not bootstrap");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testConcurrentFirstUse() throws Exception {
+        final EntityManagerFactory emf = proxy(EntityManagerFactory.class, null);
+        final AtomicInteger bootstraps = new AtomicInteger();
+        final CountDownLatch bootstrapping = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final LazyEntityManagerFactory lazy = new LazyEntityManagerFactory() {
+            @Override
+            protected EntityManagerFactory createDelegate() {
+                bootstraps.incrementAndGet();
+                bootstrapping.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return emf;
+            }
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<EntityManagerFactory>> futures = new ArrayList<Future<EntityManagerFactory>>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(new Callable<EntityManagerFactory>() {
+                    @Override
+                    public EntityManagerFactory call() {
+                        return lazy.getDelegate();
+                    }
+                }));
+            }
+            bootstrapping.await();
+            release.countDown();
+            for (Future<EntityManagerFactory> future : futures) {
+                assertSame(emf, future.get());
+            }
+            assertEquals(1, bootstraps.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRetryAfterFailedBootstrapKeepsTempClassLoaderAndAnnotationIndex() {
+        final PersistenceUnitMetadataImpl pu = new PersistenceUnitMetadataImpl();
+        pu.setScopedPersistenceUnitName("test.jar#test");
+        pu.setTempClassLoaderFactory(new TempClassLoaderFactoryImpl(getClass().getClassLoader()));
+        pu.setAnnotationIndex(new HashMap<URL, Index>());
+
+        final EntityManagerFactory emf = proxy(EntityManagerFactory.class, null);
+        final AtomicInteger attempts = new AtomicInteger();
+        final PersistenceProvider provider = proxy(PersistenceProvider.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("createContainerEntityManagerFactory")) {
+                    // the temp class loader and annotation index must be available to every attempt
+                    assertNotNull(((PersistenceUnitInfo) args[0]).getNewTempClassLoader());
+                    assertNotNull(((PersistenceUnitMetadata) args[0]).getAnnotationIndex());
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("bootstrap failure");
+                    }
+                    return emf;
+                }
+                return null;
+            }
+        });
+        final PersistenceUnitServiceImpl service = new PersistenceUnitServiceImpl(getClass().getClassLoader(), pu,
+                proxy(PersistenceProviderAdaptor.class, null), provider, null, ServiceName.of("test"), null);
+        service.getPropertiesInjector().inject(new HashMap<Object, Object>());
+
+        final EntityManagerFactory lazy = service.createLazyEntityManagerFactory(AccessController.getContext());
+        try {
+            lazy.getProperties();
+            fail("the bootstrap failure was not reported");
+        } catch (IllegalStateException expected) {
+        }
+        assertNull(LazyEntityManagerFactory.getDelegateIfCreated(lazy));
+
+        lazy.getProperties();
+        assertEquals(2, attempts.get());
+        assertSame(emf, LazyEntityManagerFactory.getDelegateIfCreated(lazy));
+        // released once the factory was created
+        assertNull(pu.getNewTempClassLoader());
+        assertNull(pu.getAnnotationIndex());
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(LazyEntityManagerFactoryTestCase.class.getClassLoader(), new Class<?>[] {type}, handler != null ? handler : new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getReturnType() == Map.class) {
+                    return new HashMap<String, Object>();
+                }
+                if (method.getReturnType() == boolean.class) {
+                    return Boolean.TRUE;
+                }
+                return null;
+            }
+        }));
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A sparse index of line start offsets for a log file.
+ * <p/>
+ * The offset of every {@link #CHECKPOINT_INTERVAL}th line is recorded. The index is extended incrementally as the
+ * file grows and is thrown away if the file is replaced or truncated, e.g. when a handler rotates it. Lines are
+ * terminated by a {@code \n} byte, so the index can only be used for encodings where a line feed is encoded as that
+ * single byte.
+ */
+final class LogFileIndex {
+
+    static final int CHECKPOINT_INTERVAL = 1000;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CACHED_INDEXES = 16;
+
+    private static final Map<String, LogFileIndex> INDEXES = new LinkedHashMap<String, LogFileIndex>(MAX_CACHED_INDEXES, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, LogFileIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+
+    private Object fileKey;
+    private Object creationTime;
+    private long indexedLength;
+    private long lastLineStart;
+    private int lineFeeds;
+    private long[] checkpoints = new long[16];
+    private int checkpointCount = 1;
+
+    private LogFileIndex() {
+    }
+
+    /**
+     * Returns the index for the file, updated to the current size of the file.
+     *
+     * @param file    the log file
+     * @param channel an open channel for the file
+     *
+     * @return the index
+     *
+     * @throws IOException if the file could not be read
+     */
+    static LogFileIndex forFile(final File file, final FileChannel channel) throws IOException {
+        final String key = file.getAbsolutePath();
+        LogFileIndex index;
+        synchronized (INDEXES) {
+            index = INDEXES.get(key);
+            if (index == null) {
+                index = new LogFileIndex();
+                INDEXES.put(key, index);
+            }
+        }
+        index.update(file, channel);
+        return index;
+    }
+
+    /**
+     * Removes all cached indexes.
+     */
+    static void clear() {
+        synchronized (INDEXES) {
+            INDEXES.clear();
+        }
+    }
+
+    /**
+     * Returns the number of lines in the indexed part of the file. A trailing line without a line feed is counted.
+     *
+     * @return the number of lines
+     */
+    synchronized int getLineCount() {
+        return lineFeeds + (indexedLength > lastLineStart ? 1 : 0);
+    }
+
+    /**
+     * Returns the offset in bytes of the start of the line. If the line is past the end of the indexed part of the
+     * file, the indexed length is returned.
+     *
+     * @param channel the channel to read from
+     * @param line    the zero based line number
+     *
+     * @return the offset of the line
+     *
+     * @throws IOException if the file could not be read
+     */
+    synchronized long getLineOffset(final FileChannel channel, final int line) throws IOException {
+        if (line <= 0) {
+            return 0L;
+        }
+        if (line > lineFeeds) {
+            return indexedLength;
+        }
+        final int checkpoint = line / CHECKPOINT_INTERVAL;
+        long position = checkpoints[checkpoint];
+        int remaining = line - (checkpoint * CHECKPOINT_INTERVAL);
+        if (remaining == 0) {
+            return position;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (position < indexedLength) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n' && --remaining == 0) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return indexedLength;
+    }
+
+    private synchronized void update(final File file, final FileChannel channel) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        final long length = channel.size();
+        if (length < indexedLength || !equals(fileKey, attributes.fileKey()) || !equals(creationTime, attributes.creationTime())) {
+            // The file was rotated or truncated, start again
+            fileKey = attributes.fileKey();
+            creationTime = attributes.creationTime();
+            indexedLength = 0L;
+            lastLineStart = 0L;
+            lineFeeds = 0;
+            checkpointCount = 1;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = indexedLength;
+        while (position < length) {
+            buffer.clear();
+            if (length - position < BUFFER_SIZE) {
+                buffer.limit((int) (length - position));
+            }
+            final int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    lastLineStart = position + i + 1;
+                    if (++lineFeeds % CHECKPOINT_INTERVAL == 0) {
+                        addCheckpoint(lastLineStart);
+                    }
+                }
+            }
+            position += read;
+        }
+        indexedLength = position;
+    }
+
+    private void addCheckpoint(final long offset) {
+        if (checkpointCount == checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, checkpointCount << 1);
+        }
+        checkpoints[checkpointCount++] = offset;
+    }
+
+    private static boolean equals(final Object a, final Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
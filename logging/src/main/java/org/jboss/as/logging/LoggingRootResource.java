@@ -33,6 +33,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -264,23 +267,61 @@ public class LoggingRootResource extends TransformerResourceDefinition {
 
             // Read the contents of the log file
             try {
-                final List<String> lines;
-                if (numberOfLines == 0) {
-                    lines = Collections.emptyList();
-                } else {
-                    lines = readLines(path, encoding, tail, skip, numberOfLines);
-                }
                 final ModelNode result = context.getResult().setEmptyList();
-                for (String line : lines) {
-                    result.add(line);
+                if (numberOfLines != 0) {
+                    final Charset charset = (encoding == null ? Charset.defaultCharset() : Charset.forName(encoding));
+                    if (isLineFeedSingleByte(charset)) {
+                        readIndexedLines(path, charset, tail, skip, numberOfLines, result);
+                    } else {
+                        readLines(path, charset, tail, skip, numberOfLines, result);
+                    }
                 }
             } catch (IOException e) {
                 throw LoggingMessages.MESSAGES.failedToReadLogFile(e, fileName);
+            } catch (IllegalArgumentException e) {
+                throw LoggingMessages.MESSAGES.failedToReadLogFile(e, fileName);
             }
             context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
         }
 
-        private List<String> readLines(final File file, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        /**
+         * Reads the lines using the {@link LogFileIndex line index} of the file to seek directly to the first line
+         * requested, for both head and tail reads. The lines are added to the result as they are read.
+         */
+        private void readIndexedLines(final File file, final Charset charset, final boolean tail, final int skip, final int numberOfLines, final ModelNode result) throws IOException {
+            final RandomAccessFile raf = new RandomAccessFile(file, "r");
+            BufferedReader reader = null;
+            try {
+                final FileChannel channel = raf.getChannel();
+                final LogFileIndex index = LogFileIndex.forFile(file, channel);
+                final int startLine;
+                final int count;
+                if (tail) {
+                    final int endLine = index.getLineCount() - skip;
+                    if (endLine <= 0) {
+                        return;
+                    }
+                    startLine = (numberOfLines < 0 ? 0 : Math.max(0, endLine - numberOfLines));
+                    count = endLine - startLine;
+                } else {
+                    startLine = skip;
+                    count = numberOfLines;
+                }
+                channel.position(index.getLineOffset(channel, startLine));
+                reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), charset));
+                int lineCount = 0;
+                String line;
+                while ((count < 0 || lineCount < count) && (line = reader.readLine()) != null) {
+                    result.add(line);
+                    lineCount++;
+                }
+            } finally {
+                safeClose(reader);
+                safeClose(raf);
+            }
+        }
+
+        private void readLines(final File file, final Charset charset, final boolean tail, final int skip, final int numberOfLines, final ModelNode result) throws IOException {
             final List<String> lines;
             if (numberOfLines < 0) {
                 lines = new ArrayList<String>();
@@ -295,11 +336,7 @@ public class LoggingRootResource extends TransformerResourceDefinition {
                 } else {
                     in = new FileInputStream(file);
                 }
-                if (encoding == null) {
-                    reader = new BufferedReader(new InputStreamReader(in));
-                } else {
-                    reader = new BufferedReader(new InputStreamReader(in, encoding));
-                }
+                reader = new BufferedReader(new InputStreamReader(in, charset));
                 int lineCount = 0;
                 String line;
                 while ((line = reader.readLine()) != null) {
@@ -310,11 +347,20 @@ public class LoggingRootResource extends TransformerResourceDefinition {
                 if (tail) {
                     Collections.reverse(lines);
                 }
-                return lines;
+                for (String l : lines) {
+                    result.add(l);
+                }
             } finally {
                 safeClose(reader);
             }
         }
+
+        /**
+         * Checks whether a line feed is encoded as the single {@code \n} byte, which is required for the line index.
+         */
+        private static boolean isLineFeedSingleByte(final Charset charset) {
+            return charset.canEncode() && Arrays.equals(new byte[] {'\n'}, "\n".getBytes(charset));
+        }
     }
 
     private static void safeClose(final Closeable closeable) {
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the line offsets of the {@link LogFileIndex}.
+ */
+public class LogFileIndexTestCase {
+
+    private File file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = File.createTempFile("log-file-index", ".log");
+        LogFileIndex.clear();
+    }
+
+    @After
+    public void deleteFile() {
+        LogFileIndex.clear();
+        file.delete();
+    }
+
+    @Test
+    public void testLineOffsets() throws Exception {
+        final int lines = (LogFileIndex.CHECKPOINT_INTERVAL * 2) + 17;
+        append(0, lines);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final FileChannel channel = raf.getChannel();
+            final LogFileIndex index = LogFileIndex.forFile(file, channel);
+            assertEquals(lines, index.getLineCount());
+            for (int line : new int[] {0, 1, 999, 1000, 1001, 2000, lines - 1}) {
+                assertEquals("line " + line, readLine(channel, index.getLineOffset(channel, line)));
+            }
+            assertEquals(channel.size(), index.getLineOffset(channel, lines));
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdate() throws Exception {
+        append(0, 10);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final FileChannel channel = raf.getChannel();
+            assertEquals(10, LogFileIndex.forFile(file, channel).getLineCount());
+            // A partial line at the end of the file is counted
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                out.write("partial".getBytes("UTF-8"));
+            }
+            LogFileIndex index = LogFileIndex.forFile(file, channel);
+            assertEquals(11, index.getLineCount());
+            assertEquals("partial", readLine(channel, index.getLineOffset(channel, 10)));
+
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                out.write("\n".getBytes("UTF-8"));
+            }
+            append(11, LogFileIndex.CHECKPOINT_INTERVAL);
+            index = LogFileIndex.forFile(file, channel);
+            assertEquals(LogFileIndex.CHECKPOINT_INTERVAL + 11, index.getLineCount());
+            assertEquals("line 1005", readLine(channel, index.getLineOffset(channel, 1005)));
+        }
+    }
+
+    @Test
+    public void testTruncatedFile() throws Exception {
+        append(0, 100);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final FileChannel channel = raf.getChannel();
+            assertEquals(100, LogFileIndex.forFile(file, channel).getLineCount());
+        }
+        // Simulate a rotation by replacing the contents with fewer lines
+        try (FileOutputStream out = new FileOutputStream(file, false)) {
+            out.write("line 0\nline 1\n".getBytes("UTF-8"));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final FileChannel channel = raf.getChannel();
+            final LogFileIndex index = LogFileIndex.forFile(file, channel);
+            assertEquals(2, index.getLineCount());
+            assertEquals("line 1", readLine(channel, index.getLineOffset(channel, 1)));
+        }
+    }
+
+    private void append(final int start, final int count) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            for (int i = start; i < start + count; i++) {
+                out.write(("line " + i + "\n").getBytes("UTF-8"));
+            }
+        }
+    }
+
+    private static String readLine(final FileChannel channel, final long offset) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        channel.read(buffer, offset);
+        final String s = new String(buffer.array(), 0, buffer.position(), "UTF-8");
+        final int end = s.indexOf('\n');
+        return end < 0 ? s : s.substring(0, end);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Lookup rate and latency figures for the naming contexts of this server, exposed as metrics of the naming subsystem.
+ * Recording is off unless the {@value #ENABLED_PROPERTY} system property is {@code true}, so that lookups do not
+ * contend on the shared counters by default.
+ */
+public final class LookupStatistics {
+
+    public static final String ENABLED_PROPERTY = "org.jboss.as.naming.lookup-statistics";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"));
+
+    private static final AtomicLong lookupCount = new AtomicLong();
+    private static final AtomicLong cacheHitCount = new AtomicLong();
+    private static final AtomicLong totalLookupTime = new AtomicLong();
+    private static final AtomicLong maxLookupTime = new AtomicLong();
+
+    private LookupStatistics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    static void lookupCompleted(final long start) {
+        if (ENABLED) {
+            final long elapsed = System.nanoTime() - start;
+            lookupCount.incrementAndGet();
+            totalLookupTime.addAndGet(elapsed);
+            long max = maxLookupTime.get();
+            while (elapsed > max && !maxLookupTime.compareAndSet(max, elapsed)) {
+                max = maxLookupTime.get();
+            }
+        }
+    }
+
+    static void cacheHit() {
+        if (ENABLED) {
+            cacheHitCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of lookups completed, including failed ones
+     */
+    public static long getLookupCount() {
+        return lookupCount.get();
+    }
+
+    /**
+     * @return the number of lookups resolved from the binding cache of a naming store
+     */
+    public static long getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+
+    /**
+     * @return the average lookup time, in nanoseconds
+     */
+    public static long getAverageLookupTime() {
+        final long count = lookupCount.get();
+        return count == 0 ? 0 : totalLookupTime.get() / count;
+    }
+
+    /**
+     * @return the longest lookup time, in nanoseconds
+     */
+    public static long getMaxLookupTime() {
+        return maxLookupTime.get();
+    }
+
+    public static void clear() {
+        lookupCount.set(0);
+        cacheHitCount.set(0);
+        totalLookupTime.set(0);
+        maxLookupTime.set(0);
+    }
+}
@@ -189,6 +189,15 @@ public class NamingContext implements EventContext {
     }
 
     public Object lookup(final Name name, boolean dereference) throws NamingException {
+        final long start = LookupStatistics.start();
+        try {
+            return lookupInternal(name, dereference);
+        } finally {
+            LookupStatistics.lookupCompleted(start);
+        }
+    }
+
+    private Object lookupInternal(final Name name, boolean dereference) throws NamingException {
         check(name, Action.LOOKUP);
 
         if (isEmpty(name)) {
@@ -203,7 +212,7 @@ public class NamingContext implements EventContext {
         } catch(CannotProceedException cpe) {
             final Context continuationContext = NamingManager.getContinuationContext(cpe);
             if (continuationContext instanceof NamingContext) {
-                result = ((NamingContext)continuationContext).lookup(cpe.getRemainingName(), dereference);
+                result = ((NamingContext)continuationContext).lookupInternal(cpe.getRemainingName(), dereference);
             } else {
                 result = continuationContext.lookup(cpe.getRemainingName());
             }
@@ -226,7 +235,7 @@ public class NamingContext implements EventContext {
             }
             final Context namingContext = (Context) context;
             if (namingContext instanceof NamingContext) {
-                return ((NamingContext)namingContext).lookup(resolveResult.getRemainingName(), dereference);
+                return ((NamingContext)namingContext).lookupInternal(resolveResult.getRemainingName(), dereference);
             } else {
                 return namingContext.lookup(resolveResult.getRemainingName());
             }
@@ -30,7 +30,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -63,6 +66,14 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
 
+    /**
+     * Binder services already resolved by name, so that repeated lookups of the same entry can skip building the
+     * service name and querying the registry. Only exact bindings are cached, and the whole cache is dropped
+     * whenever a binder service starts or stops, since either may change how a name resolves.
+     */
+    private final ConcurrentMap<Name, ServiceController<?>> resolvedBindings = new ConcurrentHashMap<Name, ServiceController<?>>();
+    private final AtomicInteger bindingsGeneration = new AtomicInteger();
+
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
         this.serviceNameBase = serviceNameBase;
@@ -77,9 +88,18 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        final ServiceController<?> resolved = resolvedBindings.get(name);
+        if (resolved != null) {
+            LookupStatistics.cacheHit();
+            return getValue(name.toString(), resolved, dereference);
+        }
+        final int generation = bindingsGeneration.get();
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
-        if (obj == null) {
+        final ServiceController<?> controller = serviceRegistry.getService(lookupName);
+        Object obj = controller == null ? null : getValue(name.toString(), controller, dereference);
+        if (obj != null) {
+            cacheResolvedBinding(name, controller, generation);
+        } else {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
                 // Parent might be a reference or a link
@@ -122,19 +142,33 @@ public class ServiceBasedNamingStore implements NamingStore {
         return cpe;
     }
 
+    private void cacheResolvedBinding(final Name name, final ServiceController<?> controller, final int generation) {
+        if (boundServices.contains(controller.getName())) {
+            final Name key = (Name) name.clone();
+            resolvedBindings.put(key, controller);
+            if (bindingsGeneration.get() != generation) {
+                // a binder started or stopped concurrently, the entry may already be stale
+                resolvedBindings.remove(key, controller);
+            }
+        }
+    }
+
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
         final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-        final Object object;
-        if (controller != null) {
-            try {
-                object = controller.getValue();
-            } catch (IllegalStateException e) {
-                //occurs if the service is not actually up
-                throw new NameNotFoundException("Error looking up " + name + ", service " + lookupName + " is not started");
-            }
-        } else {
+        if (controller == null) {
             return null;
         }
+        return getValue(name, controller, dereference);
+    }
+
+    private Object getValue(final String name, final ServiceController<?> controller, boolean dereference) throws NamingException {
+        final Object object;
+        try {
+            object = controller.getValue();
+        } catch (IllegalStateException e) {
+            //occurs if the service is not actually up
+            throw new NameNotFoundException("Error looking up " + name + ", service " + controller.getName() + " is not started");
+        }
         if (dereference && object instanceof ManagedReferenceFactory) {
             try {
                 return ManagedReferenceFactory.class.cast(object).getReference().getInstance();
@@ -244,6 +278,7 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        invalidateResolvedBindings();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -258,10 +293,17 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw MESSAGES.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        invalidateResolvedBindings();
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        invalidateResolvedBindings();
+    }
+
+    private void invalidateResolvedBindings() {
+        bindingsGeneration.incrementAndGet();
+        resolvedBindings.clear();
     }
 
     protected ServiceName buildServiceName(final Name name) {
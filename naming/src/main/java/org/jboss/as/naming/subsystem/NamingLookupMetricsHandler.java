@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming.subsystem;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.naming.LookupStatistics;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Handler for the JNDI lookup metrics of the naming subsystem.
+ */
+public class NamingLookupMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final NamingLookupMetricsHandler INSTANCE = new NamingLookupMetricsHandler();
+
+    static final AttributeDefinition LOOKUP_COUNT = new SimpleAttributeDefinitionBuilder(NamingSubsystemModel.LOOKUP_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition LOOKUP_CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder(NamingSubsystemModel.LOOKUP_CACHE_HIT_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition LOOKUP_TIME_AVERAGE = new SimpleAttributeDefinitionBuilder(NamingSubsystemModel.LOOKUP_TIME_AVERAGE, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition LOOKUP_TIME_MAX = new SimpleAttributeDefinitionBuilder(NamingSubsystemModel.LOOKUP_TIME_MAX, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition[] METRICS = { LOOKUP_COUNT, LOOKUP_CACHE_HIT_COUNT, LOOKUP_TIME_AVERAGE, LOOKUP_TIME_MAX };
+
+    private NamingLookupMetricsHandler() {
+    }
+
+    void registerMetrics(final ManagementResourceRegistration registration) {
+        for (AttributeDefinition metric : METRICS) {
+            registration.registerMetric(metric, this);
+        }
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ModelNode result = context.getResult();
+        if (NamingSubsystemModel.LOOKUP_COUNT.equals(attributeName)) {
+            result.set(LookupStatistics.getLookupCount());
+        } else if (NamingSubsystemModel.LOOKUP_CACHE_HIT_COUNT.equals(attributeName)) {
+            result.set(LookupStatistics.getCacheHitCount());
+        } else if (NamingSubsystemModel.LOOKUP_TIME_AVERAGE.equals(attributeName)) {
+            result.set(LookupStatistics.getAverageLookupTime());
+        } else if (NamingSubsystemModel.LOOKUP_TIME_MAX.equals(attributeName)) {
+            result.set(LookupStatistics.getMaxLookupTime());
+        }
+        context.stepCompleted();
+    }
+}
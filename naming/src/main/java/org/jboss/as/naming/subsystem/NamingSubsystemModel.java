@@ -38,6 +38,10 @@ public interface NamingSubsystemModel {
     String EXTERNAL_CONTEXT = "external-context";
 
     String LOOKUP = "lookup";
+    String LOOKUP_CACHE_HIT_COUNT = "lookup-cache-hit-count";
+    String LOOKUP_COUNT = "lookup-count";
+    String LOOKUP_TIME_AVERAGE = "lookup-time-average";
+    String LOOKUP_TIME_MAX = "lookup-time-max";
 
     String OBJECT_FACTORY = "object-factory";
     String ENVIRONMENT = "environment";
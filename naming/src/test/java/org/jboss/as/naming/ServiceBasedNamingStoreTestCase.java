@@ -31,13 +31,16 @@ import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.Name;
 import javax.naming.NameClassPair;
+import javax.naming.NameNotFoundException;
 import javax.naming.NameParser;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StabilityMonitor;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
@@ -98,6 +101,31 @@ public class ServiceBasedNamingStoreTestCase {
         assertEquals(value, obj);
     }
 
+    @Test
+    public void testLookupCachedBindingAfterUnbind() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "cached");
+        final Object value = new Object();
+        bindObject(bindingName, value);
+
+        assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+        assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+
+        final ServiceController<?> controller = container.getRequiredService(bindingName);
+        final StabilityMonitor monitor = new StabilityMonitor();
+        monitor.addController(controller);
+        controller.setMode(ServiceController.Mode.REMOVE);
+        monitor.awaitStability();
+        try {
+            store.lookup(new CompositeName("foo/cached"));
+            fail("Should have thrown name not found");
+        } catch (NameNotFoundException expected) {
+        }
+
+        final Object rebound = new Object();
+        bindObject(bindingName, rebound);
+        assertEquals(rebound, store.lookup(new CompositeName("foo/cached")));
+    }
+
     @Test
     public void testLookupParentContext() throws Exception {
         final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
@@ -407,6 +435,7 @@ public class ServiceBasedNamingStoreTestCase {
             }
 
             public void stop(StopContext context) {
+                store.remove(serviceName);
             }
 
             public ManagedReferenceFactory getValue() throws IllegalStateException, IllegalArgumentException {
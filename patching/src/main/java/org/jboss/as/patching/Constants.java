@@ -56,6 +56,7 @@ public class Constants {
 
     public static final String APPLIED_AT = "applied-at";
     public static final String TIMESTAMP = "timestamp";
+    public static final String TIMINGS = "timings";
     public static final String TYPE = "type";
 
     // Directories
@@ -43,21 +43,26 @@ public class HashUtils {
 
     private static final char[] TABLE = "0123456789abcdef".toCharArray();
 
-    private static final MessageDigest DIGEST;
-    static {
+    private static final String ALGORITHM = "SHA-1";
+
+    /**
+     * Create a new digest for the algorithm used for the patch content hashes. A digest must not be shared between
+     * threads, so concurrent hashing uses one digest per file or stream.
+     *
+     * @return the digest
+     */
+    public static MessageDigest createDigest() {
         try {
-            DIGEST = MessageDigest.getInstance("SHA-1");
+            return MessageDigest.getInstance(ALGORITHM);
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
     }
 
     public static byte[] hashFile(File file) throws IOException {
-        synchronized (DIGEST) {
-            DIGEST.reset();
-            updateDigest(DIGEST, file);
-            return DIGEST.digest();
-        }
+        final MessageDigest digest = createDigest();
+        updateDigest(digest, file);
+        return digest.digest();
     }
 
     private static void updateDigest(MessageDigest digest, File file) throws IOException {
@@ -73,10 +78,7 @@ public class HashUtils {
                 }
             }
         } else {
-            // jar index files are generated by JBoss modules at runtime (a pristine AS7 installation does not have them).
-            // they are skipped when computing checksum to avoid different checksum for the same JBoss module depending on
-            // whether the AS7 installation has been started or not.
-            if (file.getName().endsWith(".jar.index")) {
+            if (!isHashed(file)) {
                 return;
             }
             FileInputStream fis = new FileInputStream(file);
@@ -95,16 +97,25 @@ public class HashUtils {
         }
     }
 
+    /**
+     * Whether the content of a file is included in the hash of the directory containing it.
+     *
+     * @param file the file
+     * @return {@code false} if the file is ignored when hashing its directory
+     */
+    public static boolean isHashed(File file) {
+        // jar index files are generated by JBoss modules at runtime (a pristine AS7 installation does not have them).
+        // they are skipped when computing checksum to avoid different checksum for the same JBoss module depending on
+        // whether the AS7 installation has been started or not.
+        return !file.getName().endsWith(".jar.index");
+    }
+
     public static byte[] copyAndGetHash(final InputStream is, final OutputStream os) throws IOException {
-        byte[] sha1Bytes;
-        synchronized (DIGEST) {
-            DIGEST.reset();
-            BufferedInputStream bis = new BufferedInputStream(is);
-            DigestOutputStream dos = new DigestOutputStream(os, DIGEST);
-            IoUtils.copyStream(bis, dos);
-            sha1Bytes = DIGEST.digest();
-        }
-        return sha1Bytes;
+        final MessageDigest digest = createDigest();
+        BufferedInputStream bis = new BufferedInputStream(is);
+        DigestOutputStream dos = new DigestOutputStream(os, digest);
+        IoUtils.copyStream(bis, dos);
+        return digest.digest();
     }
 
     /**
@@ -25,11 +25,13 @@ package org.jboss.as.patching.management;
 import static org.jboss.as.patching.management.PatchManagementMessages.MESSAGES;
 
 import java.io.InputStream;
+import java.util.Map;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.patching.Constants;
 import org.jboss.as.patching.PatchingException;
 import org.jboss.as.patching.installation.InstallationManager;
 import org.jboss.as.patching.installation.InstallationManagerService;
@@ -65,6 +67,10 @@ public final class LocalPatchOperationStepHandler implements OperationStepHandle
             final InputStream is = context.getAttachmentStream(index);
             installationManager.restartRequired();
             final PatchingResult result = runner.applyPatch(is, policy);
+            final ModelNode timings = context.getResult().get(Constants.TIMINGS).setEmptyObject();
+            for (final Map.Entry<String, Long> timing : result.getTimings().entrySet()) {
+                timings.get(timing.getKey()).set(timing.getValue());
+            }
             context.restartRequired();
             context.completeStep(new OperationContext.ResultHandler() {
 
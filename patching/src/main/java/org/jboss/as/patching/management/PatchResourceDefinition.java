@@ -95,6 +95,8 @@ class PatchResourceDefinition extends SimpleResourceDefinition {
             .addParameter(OVERRIDE_MODULES)
             .addParameter(OVERRIDE)
             .addParameter(PRESERVE)
+            .setReplyType(ModelType.OBJECT)
+            .setReplyValueType(ModelType.LONG)
             .build();
 
     static final AttributeDefinition PATCH_ID = SimpleAttributeDefinitionBuilder.create(Constants.PATCH_ID, ModelType.STRING)
@@ -45,6 +45,7 @@ abstract class AbstractPatchingTask<T extends ContentItem> implements PatchingTa
     private boolean ignoreApply;   // completely ignore the apply step
     private boolean skipExecution; // Skip the execution step
     private byte[] backupHash = NO_CONTENT; // The backup hash
+    private byte[] stagedHash; // The hash of the content copied by stage()
 
     AbstractPatchingTask(PatchingTaskDescription description, Class<T> expected) {
         this.description = description;
@@ -135,6 +136,31 @@ abstract class AbstractPatchingTask<T extends ContentItem> implements PatchingTa
         return false;
     }
 
+    /**
+     * Whether the content can be copied by {@link #stage(PatchingTaskContext)} before the task gets executed. This is
+     * only the case for tasks which only write to their own location in a new patch directory, since other tasks get
+     * staged concurrently.
+     *
+     * @return whether the task can be staged
+     */
+    boolean isStageable() {
+        return false;
+    }
+
+    /**
+     * Copy the content ahead of {@link #execute(PatchingTaskContext)}, which will then only verify the hash and record
+     * the change. This may be called concurrently for different tasks.
+     *
+     * @param context the patching context
+     * @throws IOException
+     */
+    void stage(final PatchingTaskContext context) throws IOException {
+        if (ignoreApply || skipExecution || context.isExcluded(contentItem)) {
+            return;
+        }
+        stagedHash = apply(context, description.getLoader());
+    }
+
     @Override
     public void execute(final PatchingTaskContext context) throws IOException {
         if (ignoreApply) {
@@ -145,6 +171,8 @@ abstract class AbstractPatchingTask<T extends ContentItem> implements PatchingTa
         final byte[] contentHash;
         if(skip) {
             contentHash = backupHash; // Reuse the backup hash
+        } else if (stagedHash != null) {
+            contentHash = stagedHash; // Already copied
         } else {
             contentHash = apply(context, contentLoader); // Copy the content
         }
@@ -67,6 +67,11 @@ class BundlePatchingTask extends AbstractPatchingTask<BundleItem> {
         return NO_CONTENT;
     }
 
+    @Override
+    boolean isStageable() {
+        return true;
+    }
+
     @Override
     byte[] apply(PatchingTaskContext context, PatchContentLoader loader) throws IOException {
         if (context.getCurrentMode() == PatchingTaskContext.Mode.ROLLBACK) {
@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.jboss.as.patching.Constants;
@@ -75,6 +77,8 @@ class IdentityPatchContext implements PatchContentProvider {
     private static final AtomicReferenceFieldUpdater<IdentityPatchContext, State> stateUpdater = AtomicReferenceFieldUpdater.newUpdater(IdentityPatchContext.class, State.class, "state");
     // The modules we need to invalidate
     private final List<File> moduleInvalidations = new ArrayList<File>();
+    // The time spent in the phases of the patch, in milliseconds
+    private final Map<String, Long> timings = new LinkedHashMap<String, Long>();
 
     static enum State {
 
@@ -110,6 +114,16 @@ class IdentityPatchContext implements PatchContentProvider {
         this.identityEntry = new IdentityEntry(modification, null);
     }
 
+    /**
+     * Record the time spent in a phase of the patch.
+     *
+     * @param phase the phase
+     * @param nanos the elapsed time in nanoseconds
+     */
+    void recordTiming(final String phase, final long nanos) {
+        timings.put(phase, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
     /**
      * Get the patch entry for the identity.
      *
@@ -293,6 +307,11 @@ class IdentityPatchContext implements PatchContentProvider {
                 };
             }
 
+            @Override
+            public Map<String, Long> getTimings() {
+                return Collections.unmodifiableMap(timings);
+            }
+
             @Override
             public void commit() {
                 if (state == State.PREPARED) {
@@ -13,6 +13,12 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.patching.Constants;
 import org.jboss.as.patching.DirectoryStructure;
@@ -46,6 +52,18 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
     private static final String DIRECTORY_SUFFIX = "jboss-as-patch-";
     private static final File TEMP_DIR = new File(SecurityActions.getSystemProperty("java.io.tmpdir"));
 
+    /**
+     * The number of threads copying module and bundle content, {@code 1} to copy it serially
+     */
+    static final String STAGING_THREADS_PROPERTY = "org.jboss.as.patching.staging-threads";
+    private static final int STAGING_THREADS = getStagingThreads();
+
+    // The phases reported in PatchingResult.getTimings()
+    private static final String PREPARE = "prepare";
+    private static final String STAGE = "stage";
+    private static final String EXECUTE = "execute";
+    private static final String FINALIZE = "finalize";
+
     private final InstalledImage installedImage;
 
     IdentityPatchRunner(InstalledImage installedImage) {
@@ -481,6 +499,7 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
      * @throws Exception
      */
     static PatchingResult executeTasks(final IdentityPatchContext context, final IdentityPatchContext.FinalizeCallback callback) throws Exception {
+        final long start = System.nanoTime();
         final List<PreparedTask> tasks = new ArrayList<PreparedTask>();
         final List<ContentItem> conflicts = new ArrayList<ContentItem>();
         // Identity
@@ -497,6 +516,12 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
         if (!conflicts.isEmpty()) {
             throw PatchMessages.MESSAGES.conflictsDetected(conflicts);
         }
+        final long prepared = System.nanoTime();
+        context.recordTiming(PREPARE, prepared - start);
+        // Copy the module and bundle content
+        stageTasks(context, tasks);
+        final long staged = System.nanoTime();
+        context.recordTiming(STAGE, staged - prepared);
         // Execute the tasks
         for (final PreparedTask task : tasks) {
             // Unless it's excluded by the user
@@ -507,7 +532,83 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
             // Run the task
             task.execute();
         }
-        return context.finalize(callback);
+        final long executed = System.nanoTime();
+        context.recordTiming(EXECUTE, executed - staged);
+        final PatchingResult result = context.finalize(callback);
+        context.recordTiming(FINALIZE, System.nanoTime() - executed);
+        return result;
+    }
+
+    /**
+     * Reads the number of staging threads, falling back to the number of processors for values that are not a number
+     * or less than {@code 1}.
+     */
+    private static int getStagingThreads() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final String val = SecurityActions.getSystemProperty(STAGING_THREADS_PROPERTY);
+        if (val == null) {
+            return processors;
+        }
+        try {
+            final int threads = Integer.parseInt(val.trim());
+            return threads < 1 ? processors : threads;
+        } catch (NumberFormatException ignored) {
+            return processors;
+        }
+    }
+
+    /**
+     * Copy the content of the tasks which only write to the new patch directories. These don't depend on each other,
+     * so they get copied concurrently. Recording the changes is left to the execute step, which keeps the patch history
+     * in the same order as the tasks.
+     *
+     * @param context the patch context
+     * @param tasks   the prepared tasks
+     * @throws Exception
+     */
+    static void stageTasks(final IdentityPatchContext context, final List<PreparedTask> tasks) throws Exception {
+        final List<PreparedTask> stageable = new ArrayList<PreparedTask>();
+        for (final PreparedTask task : tasks) {
+            final ContentItem item = task.getContentItem();
+            if (task.isStageable() && (item == null || !context.isExcluded(item))) {
+                stageable.add(task);
+            }
+        }
+        final int threads = Math.min(STAGING_THREADS, stageable.size());
+        if (threads <= 1) {
+            for (final PreparedTask task : stageable) {
+                task.stage();
+            }
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (final PreparedTask task : stageable) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        task.stage();
+                        return null;
+                    }
+                }));
+            }
+            for (final Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof Exception) {
+                        throw (Exception) cause;
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            // Don't leave any copies running if one of them failed, the patch directories get removed
+            executor.shutdownNow();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
@@ -566,6 +667,14 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
             return task.getContentItem();
         }
 
+        boolean isStageable() {
+            return task instanceof AbstractPatchingTask && ((AbstractPatchingTask<?>) task).isStageable();
+        }
+
+        protected void stage() throws IOException {
+            ((AbstractPatchingTask<?>) task).stage(entry);
+        }
+
         protected void execute() throws IOException {
             task.execute(entry);
         }
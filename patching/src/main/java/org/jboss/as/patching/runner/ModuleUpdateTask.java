@@ -23,16 +23,28 @@
 package org.jboss.as.patching.runner;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.jboss.as.patching.HashUtils;
 import org.jboss.as.patching.IoUtils;
+import org.jboss.as.patching.PatchMessages;
 import org.jboss.as.patching.metadata.ContentModification;
 import org.jboss.as.patching.metadata.ModificationType;
 import org.jboss.as.patching.metadata.ModuleItem;
 
 /**
  * Adding or updating a module will add a module in the patch overlay directory {@linkplain org.jboss.as.patching.DirectoryStructure#getModulePatchDirectory(String)}.
+ * <p/>
+ * Module resources are always copied, never linked: the jars of an overlay get rewritten in place when a later patch
+ * invalidates the module, and an exploded patch is applied from the user's own directory.
  *
  * @author Emanuel Muckenhuber
  */
@@ -42,15 +54,60 @@ class ModuleUpdateTask extends AbstractModuleTask {
         super(description);
     }
 
+    @Override
+    boolean isStageable() {
+        return true;
+    }
+
     @Override
     byte[] apply(PatchingTaskContext context, PatchContentLoader loader) throws IOException {
         // Copy the new module resources to the patching directory
         final File targetDir = context.getTargetFile(contentItem);
         final File sourceDir = loader.getFile(contentItem);
-        // Recursively copy module contents (incl. native libs)
-        IoUtils.copyFile(sourceDir, targetDir);
-        // return contentItem.getContentHash();
-        return HashUtils.hashFile(targetDir);
+        // Recursively copy module contents (incl. native libs), hashing the content on the way
+        final MessageDigest digest = HashUtils.createDigest();
+        copyFile(sourceDir, targetDir, digest);
+        return digest.digest();
+    }
+
+    /**
+     * Copy a file or directory and update the digest with the content in the same order as
+     * {@link HashUtils#hashFile(File)}.
+     */
+    private void copyFile(final File source, final File target, final MessageDigest digest) throws IOException {
+        if (source.isDirectory()) {
+            if (target.exists()) {
+                if (!target.isDirectory()) {
+                    throw PatchMessages.MESSAGES.notADirectory(target.getAbsolutePath());
+                }
+            } else if (!target.mkdirs()) {
+                throw PatchMessages.MESSAGES.cannotCreateDirectory(target.getAbsolutePath());
+            }
+            final File[] children = source.listFiles();
+            if (children != null) {
+                final Map<String, File> sortedChildren = new TreeMap<String, File>();
+                for (final File child : children) {
+                    sortedChildren.put(child.getName(), child);
+                }
+                for (final File child : sortedChildren.values()) {
+                    copyFile(child, new File(target, child.getName()), digest);
+                }
+            }
+        } else {
+            final boolean hashed = HashUtils.isHashed(source);
+            final InputStream is = new FileInputStream(source);
+            try {
+                final OutputStream os = new FileOutputStream(target);
+                try {
+                    IoUtils.copyStream(is, hashed ? new DigestOutputStream(os, digest) : os);
+                    os.close();
+                } finally {
+                    IoUtils.safeClose(os);
+                }
+            } finally {
+                IoUtils.safeClose(is);
+            }
+        }
     }
 
     @Override
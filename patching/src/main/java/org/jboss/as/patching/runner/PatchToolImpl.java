@@ -33,6 +33,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.as.patching.IoUtils;
 import org.jboss.as.patching.PatchInfo;
@@ -309,6 +310,11 @@ public class PatchToolImpl implements PatchTool {
             return last.getPatchInfo();
         }
 
+        @Override
+        public Map<String, Long> getTimings() {
+            return last.getTimings();
+        }
+
         @Override
         public void commit() {
             last.commit();
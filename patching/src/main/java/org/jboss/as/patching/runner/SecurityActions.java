@@ -40,4 +40,8 @@ class SecurityActions {
         return getSecurityManager() == null ? getProperty(key) : doPrivileged(new ReadPropertyAction(key));
     }
 
+    static String getSystemProperty(final String key, final String defVal) {
+        return getSecurityManager() == null ? getProperty(key, defVal) : doPrivileged(new ReadPropertyAction(key, defVal));
+    }
+
 }
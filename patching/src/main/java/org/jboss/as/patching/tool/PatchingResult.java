@@ -22,6 +22,8 @@
 
 package org.jboss.as.patching.tool;
 
+import java.util.Map;
+
 import org.jboss.as.patching.PatchInfo;
 
 /**
@@ -45,6 +47,15 @@ public interface PatchingResult {
      */
     PatchInfo getPatchInfo();
 
+    /**
+     * Get the time spent in the phases of the patch, in milliseconds: checking the current content ({@code prepare}),
+     * copying the new content ({@code stage}), recording the changes ({@code execute}) and writing the patch history
+     * ({@code finalize}).
+     *
+     * @return the timings by phase
+     */
+    Map<String, Long> getTimings();
+
     /**
      * Complete.
      */
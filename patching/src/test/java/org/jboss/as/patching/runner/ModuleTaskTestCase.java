@@ -23,6 +23,7 @@
 package org.jboss.as.patching.runner;
 
 import static org.jboss.as.patching.Constants.LAYERS;
+import static org.jboss.as.patching.Constants.MODULES;
 import static org.jboss.as.patching.Constants.SYSTEM;
 import static org.jboss.as.patching.IoUtils.mkdir;
 import static org.jboss.as.patching.IoUtils.newFile;
@@ -36,13 +37,18 @@ import static org.jboss.as.patching.runner.TestUtils.createPatchXMLFile;
 import static org.jboss.as.patching.runner.TestUtils.createZippedPatchFile;
 import static org.jboss.as.patching.runner.TestUtils.randomString;
 import static org.jboss.as.patching.runner.TestUtils.tree;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
 
 import org.jboss.as.patching.installation.InstalledIdentity;
 import org.jboss.as.patching.metadata.ContentModification;
 import org.jboss.as.patching.metadata.Patch;
 import org.jboss.as.patching.metadata.PatchBuilder;
+import org.jboss.as.patching.metadata.PatchElementBuilder;
 import org.jboss.as.patching.tool.PatchingResult;
 import org.junit.Test;
 
@@ -85,6 +91,84 @@ public class ModuleTaskTestCase extends AbstractTaskTestCase{
         assertDefinedModule(modulePatchDirectory, moduleName, moduleAdded.getItem().getContentHash());
     }
 
+    @Test
+    public void testAddModulesConcurrently() throws Exception {
+        // build a one-off patch for the base installation
+        // with several added modules, which get staged concurrently
+        String patchID = randomString();
+        File patchDir = mkdir(tempDir, patchID);
+        String baseLayerPatchID = randomString();
+
+        PatchElementBuilder elementBuilder = PatchBuilder.create()
+                .setPatchId(patchID)
+                .setDescription(randomString())
+                .oneOffPatchIdentity(productConfig.getProductName(), productConfig.getProductVersion())
+                .getParent()
+                .oneOffPatchElement(baseLayerPatchID, BASE, false);
+        ContentModification[] modulesAdded = new ContentModification[8];
+        for (int i = 0; i < modulesAdded.length; i++) {
+            modulesAdded[i] = ContentModificationUtils.addModule(patchDir, baseLayerPatchID, randomString());
+            elementBuilder.addContentModification(modulesAdded[i]);
+        }
+        Patch patch = elementBuilder.getParent().build();
+
+        createPatchXMLFile(patchDir, patch);
+        File zippedPatch = createZippedPatchFile(patchDir, patchID);
+
+        PatchingResult result = executePatch(zippedPatch);
+
+        assertPatchHasBeenApplied(result, patch);
+        assertTrue(result.getTimings().containsKey("stage"));
+
+        InstalledIdentity updatedInstalledIdentity = loadInstalledIdentity();
+        File modulePatchDirectory = updatedInstalledIdentity.getLayers().get(0).loadTargetInfo().getDirectoryStructure().getModulePatchDirectory(baseLayerPatchID);
+        assertDirExists(modulePatchDirectory);
+        for (ContentModification moduleAdded : modulesAdded) {
+            assertDefinedModule(modulePatchDirectory, moduleAdded.getItem().getName(), moduleAdded.getItem().getContentHash());
+        }
+    }
+
+    @Test
+    public void testExplodedPatchContentIsCopied() throws Exception {
+        // apply an exploded one-off patch in place and check that the overlay
+        // does not share its files with the patch, since overlays get invalidated in place
+        String patchID = randomString();
+        File patchDir = mkdir(tempDir, patchID);
+        String baseLayerPatchID = randomString();
+        String moduleName = randomString();
+
+        ContentModification moduleAdded = ContentModificationUtils.addModule(patchDir, baseLayerPatchID, moduleName, randomString());
+
+        Patch patch = PatchBuilder.create()
+                .setPatchId(patchID)
+                .setDescription(randomString())
+                .oneOffPatchIdentity(productConfig.getProductName(), productConfig.getProductVersion())
+                .getParent()
+                .oneOffPatchElement(baseLayerPatchID, BASE, false)
+                    .addContentModification(moduleAdded)
+                    .getParent()
+                .build();
+
+        createPatchXMLFile(patchDir, patch);
+
+        PatchingResult result = executePatch(patchDir);
+
+        assertPatchHasBeenApplied(result, patch);
+
+        InstalledIdentity updatedInstalledIdentity = loadInstalledIdentity();
+        File modulePatchDirectory = updatedInstalledIdentity.getLayers().get(0).loadTargetInfo().getDirectoryStructure().getModulePatchDirectory(baseLayerPatchID);
+        assertDefinedModule(modulePatchDirectory, moduleName, moduleAdded.getItem().getContentHash());
+        File patchModuleRoot = TestUtils.getModuleRoot(newFile(patchDir, baseLayerPatchID, MODULES), moduleName);
+        File overlayModuleRoot = TestUtils.getModuleRoot(modulePatchDirectory, moduleName);
+        File[] resources = patchModuleRoot.listFiles();
+        assertTrue(resources.length > 1);
+        for (File resource : resources) {
+            File copy = new File(overlayModuleRoot, resource.getName());
+            assertFalse(Files.isSameFile(resource.toPath(), copy.toPath()));
+            assertArrayEquals(Files.readAllBytes(resource.toPath()), Files.readAllBytes(copy.toPath()));
+        }
+    }
+
     @Test
     public void testRemoveModule() throws Exception {
         String moduleName = randomString();
@@ -22,6 +22,7 @@
 
 package org.jboss.as.server;
 
+import java.io.File;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
@@ -33,14 +34,17 @@ import org.jboss.as.controller.audit.ManagedAuditLogger;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.parsing.Namespace;
 import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
+import org.jboss.as.controller.persistence.BootOperationCache;
 import org.jboss.as.controller.persistence.ConfigurationFile;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.server.parsing.StandaloneXml;
+import org.jboss.as.version.Version;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.msc.service.ServiceActivator;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.threads.AsyncFuture;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * The application server bootstrap interface.  Get a new instance via {@link Factory#newInstance()}.
@@ -77,6 +81,12 @@ public interface Bootstrap {
      */
     final class Configuration {
 
+        /**
+         * System property enabling the caching of the boot operations parsed from the server configuration file,
+         * so unchanged configurations need not be parsed again on the next boot.
+         */
+        public static final String BOOT_OPERATION_CACHE = "jboss.server.boot-operation-cache";
+
         private final ServerEnvironment serverEnvironment;
         private final RunningModeControl runningModeControl;
         private final ExtensionRegistry extensionRegistry;
@@ -180,6 +190,9 @@ public interface Bootstrap {
                                 persister.registerAdditionalRootElement(new QName(namespace.getUriString(), "server"), parser);
                             }
                         }
+                        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(BOOT_OPERATION_CACHE, "false"))) {
+                            persister.setBootOperationCache(createBootOperationCache(serverEnvironment, configurationFile));
+                        }
                         extensionRegistry.setWriterRegistry(persister);
                         return persister;
                     }
@@ -188,6 +201,21 @@ public interface Bootstrap {
             return configurationPersisterFactory;
         }
 
+        private BootOperationCache createBootOperationCache(ServerEnvironment serverEnvironment, ConfigurationFile configurationFile) {
+            File cacheFile = new File(serverEnvironment.getServerDataDir(), configurationFile.getMainFile().getName() + ".bootops");
+            BootOperationCache cache = new BootOperationCache(cacheFile);
+            cache.addKeyComponent(Version.AS_VERSION);
+            // Parsers are provided by the extension modules, so any change to the module repository invalidates the cache
+            String modulePath = WildFlySecurityManager.getPropertyPrivileged("module.path", null);
+            if (modulePath != null) {
+                for (String root : modulePath.split(File.pathSeparator)) {
+                    cache.addKeyComponent(new File(root), "module.xml");
+                    cache.addKeyComponent(new File(root), ".overlays");
+                }
+            }
+            return cache;
+        }
+
         /**
          * Set the configuration persister factory to use.
          *
@@ -39,4 +39,6 @@ public final class ServerDescriptionConstants {
     public static final String LAUNCH_TYPE = "launch-type";
 
     public static final String RUNNING_MODE = "running-mode";
+
+    public static final String CONFIGURATION_WRITE_COUNT = "configuration-write-count";
 }
@@ -61,6 +61,7 @@ import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.ParameterValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.resource.InterfaceDefinition;
@@ -90,6 +91,7 @@ import org.jboss.as.server.deploymentoverlay.service.DeploymentOverlayPriority;
 import org.jboss.as.server.mgmt.HttpManagementResourceDefinition;
 import org.jboss.as.server.mgmt.NativeManagementResourceDefinition;
 import org.jboss.as.server.mgmt.NativeRemotingManagementResourceDefinition;
+import org.jboss.as.server.operations.ConfigurationWriteCountHandler;
 import org.jboss.as.server.operations.LaunchTypeHandler;
 import org.jboss.as.server.operations.ProcessTypeHandler;
 import org.jboss.as.server.operations.RootResourceHack;
@@ -178,6 +180,10 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
             .setStorageRuntime()
             .build();
 
+    public static final SimpleAttributeDefinition CONFIGURATION_WRITE_COUNT = SimpleAttributeDefinitionBuilder.create(ServerDescriptionConstants.CONFIGURATION_WRITE_COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
     public static final AttributeDefinition RUNNING_MODE = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.RUNNING_MODE, ModelType.STRING)
             .setValidator(new EnumValidator<RunningMode>(RunningMode.class, false, false))
             .setStorageRuntime()
@@ -320,6 +326,9 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadOnlyAttribute(SERVER_STATE, new ProcessStateAttributeHandler(processState));
         resourceRegistration.registerReadOnlyAttribute(PROCESS_TYPE, ProcessTypeHandler.INSTANCE);
         resourceRegistration.registerReadOnlyAttribute(RUNNING_MODE, new RunningModeReadHandler(runningModeControl));
+        if (!isDomain && extensibleConfigurationPersister instanceof BackupXmlConfigurationPersister) {
+            resourceRegistration.registerMetric(CONFIGURATION_WRITE_COUNT, new ConfigurationWriteCountHandler((BackupXmlConfigurationPersister) extensibleConfigurationPersister));
+        }
 
 
         resourceRegistration.registerReadOnlyAttribute(MANAGEMENT_MAJOR_VERSION, null);
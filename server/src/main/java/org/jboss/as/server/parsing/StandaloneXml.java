@@ -78,6 +78,7 @@ import org.jboss.as.controller.parsing.Attribute;
 import org.jboss.as.controller.parsing.Element;
 import org.jboss.as.controller.parsing.ExtensionXml;
 import org.jboss.as.controller.parsing.Namespace;
+import org.jboss.as.controller.parsing.ParallelSubsystemParser;
 import org.jboss.as.controller.parsing.ParseUtils;
 import org.jboss.as.controller.parsing.ProfileParsingCompletionHandler;
 import org.jboss.as.controller.persistence.ModelMarshallingContext;
@@ -108,11 +109,13 @@ public class StandaloneXml extends CommonXml {
 
     private final ExtensionXml extensionXml;
     private final ExtensionRegistry extensionRegistry;
+    private final ExecutorService bootExecutor;
 
     public StandaloneXml(final ModuleLoader loader, final ExecutorService executorService, final ExtensionRegistry extensionRegistry) {
         super();
         extensionXml = new ExtensionXml(loader, executorService, extensionRegistry);
         this.extensionRegistry = extensionRegistry;
+        this.bootExecutor = executorService;
     }
 
     public void readElement(final XMLExtendedStreamReader reader, final List<ModelNode> operationList)
@@ -1118,6 +1121,7 @@ public class StandaloneXml extends CommonXml {
 
         // Content
         final Map<String, List<ModelNode>> profileOps = new LinkedHashMap<String, List<ModelNode>>();
+        final ParallelSubsystemParser subsystemParser = new ParallelSubsystemParser(bootExecutor);
         while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
             if (Element.forName(reader.getLocalName()) != Element.SUBSYSTEM) {
                 throw unexpectedElement(reader);
@@ -1128,10 +1132,11 @@ public class StandaloneXml extends CommonXml {
             }
             // parse subsystem
             final List<ModelNode> subsystems = new ArrayList<ModelNode>();
-            reader.handleAny(subsystems);
+            subsystemParser.parse(reader, subsystems);
 
             profileOps.put(namespace, subsystems);
         }
+        subsystemParser.complete();
 
         // Let extensions modify the profile
         Set<ProfileParsingCompletionHandler> completionHandlers = extensionRegistry.getProfileParsingCompletionHandlers();
@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractControllerService;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelOnlyResourceDefinition;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
+import org.jboss.as.controller.audit.AuditLogger;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.persistence.NullConfigurationPersister;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a complete {@code read-attribute} and {@code write-attribute} execution against a model only resource,
+ * i.e. the cost of the {@code OperationContextImpl} step machinery and the global handlers without any runtime
+ * services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OperationExecutionBenchmark {
+
+    private static final SimpleAttributeDefinition ATTRIBUTE = new SimpleAttributeDefinitionBuilder("attribute", ModelType.INT, true).build();
+
+    private ServiceContainer container;
+    private ModelController controller;
+    private ModelNode readOperation;
+    private ModelNode writeOperation;
+    private int counter;
+
+    @Setup
+    public void setup() throws Exception {
+        final BenchmarkControllerService service = new BenchmarkControllerService();
+        container = ServiceContainer.Factory.create("benchmark");
+        container.subTarget().addService(ServiceName.of("ModelController"), service).install();
+        service.awaitStartup();
+        controller = service.getValue();
+
+        final ModelNode address = new ModelNode();
+        address.add("child", "one");
+
+        final ModelNode add = new ModelNode();
+        add.get(OP).set(ADD);
+        add.get(OP_ADDR).set(address);
+        add.get(ATTRIBUTE.getName()).set(0);
+        execute(add);
+
+        readOperation = new ModelNode();
+        readOperation.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        readOperation.get(OP_ADDR).set(address);
+        readOperation.get(NAME).set(ATTRIBUTE.getName());
+        readOperation.protect();
+
+        writeOperation = new ModelNode();
+        writeOperation.get(OP).set(WRITE_ATTRIBUTE_OPERATION);
+        writeOperation.get(OP_ADDR).set(address);
+        writeOperation.get(NAME).set(ATTRIBUTE.getName());
+
+        // make sure both operations actually succeed before measuring them
+        execute(readOperation);
+        writeOperation.get(VALUE).set(1);
+        execute(writeOperation);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        container.shutdown();
+        container.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public ModelNode readAttribute() {
+        return controller.execute(readOperation, null, null, null);
+    }
+
+    @Benchmark
+    public ModelNode writeAttribute() {
+        writeOperation.get(VALUE).set(counter++);
+        return controller.execute(writeOperation, null, null, null);
+    }
+
+    private void execute(final ModelNode operation) {
+        final ModelNode result = controller.execute(operation, null, null, null);
+        if (!SUCCESS.equals(result.get(OUTCOME).asString())) {
+            throw new IllegalStateException("Operation " + operation + " failed: " + result);
+        }
+    }
+
+    private static class BenchmarkControllerService extends AbstractControllerService {
+
+        private final CountDownLatch booted = new CountDownLatch(1);
+
+        private BenchmarkControllerService() {
+            super(ProcessType.EMBEDDED_SERVER, new RunningModeControl(RunningMode.NORMAL), new NullConfigurationPersister(), new ControlledProcessState(true),
+                    ResourceBuilder.Factory.create(PathElement.pathElement("root"), new NonResolvingResourceDescriptionResolver()).build(),
+                    null, ExpressionResolver.TEST_RESOLVER, AuditLogger.NO_OP_LOGGER, new DelegatingConfigurableAuthorizer());
+        }
+
+        @Override
+        protected void initModel(Resource rootResource, ManagementResourceRegistration rootRegistration) {
+            GlobalOperationHandlers.registerGlobalOperations(rootRegistration, ProcessType.EMBEDDED_SERVER);
+            rootRegistration.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement("child"), new NonResolvingResourceDescriptionResolver(), ATTRIBUTE));
+        }
+
+        @Override
+        protected void bootThreadDone() {
+            super.bootThreadDone();
+            booted.countDown();
+        }
+
+        void awaitStartup() throws InterruptedException {
+            if (!booted.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Failed to boot in timely fashion");
+            }
+        }
+    }
+}
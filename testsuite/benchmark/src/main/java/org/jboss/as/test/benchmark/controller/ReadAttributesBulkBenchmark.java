@@ -0,0 +1,247 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTES_BULK_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.AbstractControllerService;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.CompositeOperationHandler;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.ModelOnlyResourceDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
+import org.jboss.as.controller.audit.AuditLogger;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.persistence.NullConfigurationPersister;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads the same attributes of a number of model only resources, once with a {@code composite} of
+ * {@code read-attribute} steps, as monitoring agents usually do, and once with a single {@code read-attributes-bulk}
+ * using a wildcard address. The {@code metric} case also reads a metric with a runtime read handler, which
+ * {@code read-attributes-bulk} cannot take from the model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReadAttributesBulkBenchmark {
+
+    private static final SimpleAttributeDefinition[] ATTRIBUTES_READ = {
+            new SimpleAttributeDefinitionBuilder("first", ModelType.INT, true).build(),
+            new SimpleAttributeDefinitionBuilder("second", ModelType.STRING, true).build(),
+            new SimpleAttributeDefinitionBuilder("third", ModelType.LONG, true).build()
+    };
+
+    private static final SimpleAttributeDefinition METRIC = new SimpleAttributeDefinitionBuilder("requests", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    @Param({"10", "100"})
+    private int resources;
+
+    @Param({"model", "metric"})
+    private String attributes;
+
+    private ServiceContainer container;
+    private ModelController controller;
+    private ModelNode compositeOperation;
+    private ModelNode bulkOperation;
+
+    @Setup
+    public void setup() throws Exception {
+        final BenchmarkControllerService service = new BenchmarkControllerService();
+        container = ServiceContainer.Factory.create("benchmark");
+        container.subTarget().addService(ServiceName.of("ModelController"), service).install();
+        service.awaitStartup();
+        controller = service.getValue();
+
+        compositeOperation = new ModelNode();
+        compositeOperation.get(OP).set(COMPOSITE);
+        compositeOperation.get(OP_ADDR).setEmptyList();
+        final ModelNode steps = compositeOperation.get(STEPS).setEmptyList();
+        for (int i = 0; i < resources; i++) {
+            final ModelNode address = new ModelNode();
+            address.add("child", "child-" + i);
+
+            final ModelNode add = new ModelNode();
+            add.get(OP).set(ADD);
+            add.get(OP_ADDR).set(address);
+            add.get(ATTRIBUTES_READ[0].getName()).set(i);
+            add.get(ATTRIBUTES_READ[1].getName()).set("value-" + i);
+            add.get(ATTRIBUTES_READ[2].getName()).set((long) i);
+            execute(add);
+
+            for (SimpleAttributeDefinition attribute : getAttributesRead()) {
+                final ModelNode step = steps.add();
+                step.get(OP).set(READ_ATTRIBUTE_OPERATION);
+                step.get(OP_ADDR).set(address);
+                step.get(NAME).set(attribute.getName());
+            }
+        }
+        compositeOperation.protect();
+
+        bulkOperation = new ModelNode();
+        bulkOperation.get(OP).set(READ_ATTRIBUTES_BULK_OPERATION);
+        bulkOperation.get(OP_ADDR).setEmptyList();
+        final ModelNode read = bulkOperation.get("reads").add();
+        read.get(ADDRESS).add("child", "*");
+        for (SimpleAttributeDefinition attribute : getAttributesRead()) {
+            read.get(ATTRIBUTES).add(attribute.getName());
+        }
+        bulkOperation.protect();
+
+        // make sure both operations actually succeed before measuring them
+        execute(compositeOperation);
+        execute(bulkOperation);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        container.shutdown();
+        container.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public ModelNode composite() {
+        return controller.execute(compositeOperation, null, null, null);
+    }
+
+    @Benchmark
+    public ModelNode readAttributesBulk() {
+        return controller.execute(bulkOperation, null, null, null);
+    }
+
+    private SimpleAttributeDefinition[] getAttributesRead() {
+        if ("metric".equals(attributes)) {
+            final SimpleAttributeDefinition[] read = Arrays.copyOf(ATTRIBUTES_READ, ATTRIBUTES_READ.length + 1);
+            read[ATTRIBUTES_READ.length] = METRIC;
+            return read;
+        }
+        return ATTRIBUTES_READ;
+    }
+
+    private void execute(final ModelNode operation) {
+        final ModelNode result = controller.execute(operation, null, null, null);
+        if (!SUCCESS.equals(result.get(OUTCOME).asString())) {
+            throw new IllegalStateException("Operation " + operation + " failed: " + result);
+        }
+    }
+
+    /**
+     * A metric read in the runtime stage, like the statistics of a subsystem.
+     */
+    private static class RequestCountHandler extends AbstractRuntimeOnlyHandler {
+
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            context.getResult().set(count.incrementAndGet());
+            context.stepCompleted();
+        }
+    }
+
+    private static class BenchmarkControllerService extends AbstractControllerService {
+
+        private final CountDownLatch booted = new CountDownLatch(1);
+
+        private BenchmarkControllerService() {
+            super(ProcessType.EMBEDDED_SERVER, new RunningModeControl(RunningMode.NORMAL), new NullConfigurationPersister(), new ControlledProcessState(true),
+                    ResourceBuilder.Factory.create(PathElement.pathElement("root"), new NonResolvingResourceDescriptionResolver()).build(),
+                    null, ExpressionResolver.TEST_RESOLVER, AuditLogger.NO_OP_LOGGER, new DelegatingConfigurableAuthorizer());
+        }
+
+        @Override
+        protected void initModel(Resource rootResource, ManagementResourceRegistration rootRegistration) {
+            GlobalOperationHandlers.registerGlobalOperations(rootRegistration, ProcessType.EMBEDDED_SERVER);
+            rootRegistration.registerOperationHandler(CompositeOperationHandler.DEFINITION, CompositeOperationHandler.INSTANCE);
+            rootRegistration.registerSubModel(new ModelOnlyResourceDefinition(PathElement.pathElement("child"), new NonResolvingResourceDescriptionResolver(), ATTRIBUTES_READ) {
+                @Override
+                public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+                    super.registerAttributes(resourceRegistration);
+                    resourceRegistration.registerMetric(METRIC, new RequestCountHandler());
+                }
+            });
+        }
+
+        @Override
+        protected void bootThreadDone() {
+            super.bootThreadDone();
+            booted.countDown();
+        }
+
+        void awaitStartup() throws InterruptedException {
+            if (!booted.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Failed to boot in timely fashion");
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.impl.ResponseCompression;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the CPU time the native management protocol spends per response on writing and reading it, with and
+ * without compression, for a response shaped like a recursive runtime read of a subsystem. The number of bytes on the
+ * wire for both encodings is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int resources;
+
+    private ModelNode response;
+    private byte[] plain;
+    private byte[] compressed;
+
+    @Setup
+    public void setup() throws IOException {
+        response = new ModelNode();
+        response.get("outcome").set("success");
+        final ModelNode result = response.get("result");
+        for (int i = 0; i < resources; i++) {
+            final ModelNode resource = result.get("data-source", "ds" + i);
+            resource.get("jndi-name").set("java:jboss/datasources/ds" + i);
+            resource.get("connection-url").set("jdbc:h2:mem:ds" + i + ";DB_CLOSE_DELAY=-1");
+            resource.get("driver-name").set("h2");
+            resource.get("enabled").set(true);
+            resource.get("min-pool-size").set(0);
+            resource.get("max-pool-size").set(20);
+            final ModelNode pool = resource.get("statistics", "pool");
+            pool.get("ActiveCount").set(i % 20);
+            pool.get("AvailableCount").set(20 - i % 20);
+            pool.get("AverageBlockingTime").set((long) i * 3);
+            pool.get("CreatedCount").set((long) i * 7);
+            pool.get("TotalBlockingTime").set((long) i * 11);
+        }
+        response.protect();
+        plain = write(-1);
+        compressed = write(0);
+        System.out.printf("%n%d resources: %d bytes plain, %d bytes compressed%n", resources, plain.length, compressed.length);
+    }
+
+    @Benchmark
+    public byte[] writePlain() throws IOException {
+        return write(-1);
+    }
+
+    @Benchmark
+    public byte[] writeCompressed() throws IOException {
+        return write(0);
+    }
+
+    @Benchmark
+    public ModelNode readPlain() throws IOException {
+        return read(plain);
+    }
+
+    @Benchmark
+    public ModelNode readCompressed() throws IOException {
+        return read(compressed);
+    }
+
+    private byte[] write(final int threshold) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        ResponseCompression.writeResponse(output, response, threshold);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private static ModelNode read(final byte[] bytes) throws IOException {
+        return ResponseCompression.readResponse(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
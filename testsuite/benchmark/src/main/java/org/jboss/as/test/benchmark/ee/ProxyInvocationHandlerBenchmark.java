@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.ee;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ee.component.Component;
+import org.jboss.as.ee.component.ComponentClientInstance;
+import org.jboss.as.ee.component.ComponentView;
+import org.jboss.as.ee.component.ProxyInvocationHandler;
+import org.jboss.as.naming.ManagedReference;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a local invocation through a component proxy backed by {@link ProxyInvocationHandler}, with a short
+ * interceptor chain ending in a reflective call on the bean instance, against a direct call on the same instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProxyInvocationHandlerBenchmark {
+
+    public interface Echo {
+        String echo(String message);
+    }
+
+    public static class EchoBean implements Echo {
+        @Override
+        public String echo(String message) {
+            return message;
+        }
+    }
+
+    private static final Interceptor PASS_THROUGH = new Interceptor() {
+        @Override
+        public Object processInvocation(InterceptorContext context) throws Exception {
+            return context.proceed();
+        }
+    };
+
+    private EchoBean bean;
+    private Echo proxy;
+    private String message;
+
+    @Setup
+    public void setup() throws Exception {
+        bean = new EchoBean();
+        final Interceptor invoker = new Interceptor() {
+            @Override
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                return context.getMethod().invoke(bean, context.getParameters());
+            }
+        };
+        final Method method = Echo.class.getMethod("echo", String.class);
+        final Map<Method, Interceptor> interceptors = Collections.singletonMap(method, Interceptors.getChainedInterceptor(PASS_THROUGH, PASS_THROUGH, invoker));
+        final ProxyInvocationHandler handler = new ProxyInvocationHandler(interceptors, new ComponentClientInstance(), new BenchmarkComponentView());
+        proxy = (Echo) Proxy.newProxyInstance(Echo.class.getClassLoader(), new Class<?>[] {Echo.class}, handler);
+        message = "hello";
+    }
+
+    @Benchmark
+    public String proxy() {
+        return proxy.echo(message);
+    }
+
+    @Benchmark
+    public String direct() {
+        return bean.echo(message);
+    }
+
+    /**
+     * Only {@link #getComponent()} is used by {@link ProxyInvocationHandler}
+     */
+    private static class BenchmarkComponentView implements ComponentView {
+
+        @Override
+        public ManagedReference createInstance() throws Exception {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ManagedReference createInstance(Map<Object, Object> contextData) throws Exception {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object invoke(InterceptorContext interceptorContext) throws Exception {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Component getComponent() {
+            return null;
+        }
+
+        @Override
+        public Class<?> getProxyClass() {
+            return null;
+        }
+
+        @Override
+        public Class<?> getViewClass() {
+            return Echo.class;
+        }
+
+        @Override
+        public Set<Method> getViewMethods() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Method getMethod(String name, String descriptor) {
+            return null;
+        }
+
+        @Override
+        public <T> T getPrivateData(Class<T> clazz) {
+            return null;
+        }
+
+        @Override
+        public boolean isAsynchronous(Method method) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.ejb3;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.jboss.as.ejb3.concurrency.EJBReadWriteLock;
+import org.jboss.as.ejb3.concurrency.StripedEJBReadWriteLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the read throughput of a container managed singleton, which takes and releases the read lock for every
+ * invocation of a {@code @Lock(READ)} method, with the default {@link EJBReadWriteLock} and with the
+ * {@link StripedEJBReadWriteLock}. The striped lock only pays off with concurrent readers, so the same read is run
+ * with 1, 4, 16 and 64 threads. Other thread counts can be measured with the JMH {@code -t} option.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReadLockBenchmark {
+
+    @Param({"default", "striped"})
+    public String lock;
+
+    private Lock readLock;
+
+    @Setup
+    public void setup() {
+        final ReadWriteLock readWriteLock = "striped".equals(lock) ? new StripedEJBReadWriteLock() : new EJBReadWriteLock();
+        readLock = readWriteLock.readLock();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void read1Thread() {
+        read();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void read4Threads() {
+        read();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void read16Threads() {
+        read();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void read64Threads() {
+        read();
+    }
+
+    private void read() {
+        readLock.lock();
+        readLock.unlock();
+    }
+}
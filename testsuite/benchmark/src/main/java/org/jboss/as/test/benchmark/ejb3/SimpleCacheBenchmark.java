@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.ejb3;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.cache.simple.SimpleCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+
+/**
+ * Measures the {@link SimpleCache} operations done around every invocation of a non clustered stateful session bean,
+ * i.e. a {@link SimpleCache#get(Object)} followed by a {@link SimpleCache#release(Identifiable)}, and the creation and
+ * removal of a bean. No stateful timeout is configured, so releasing a bean does not schedule its expiration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SimpleCacheBenchmark {
+
+    static class Bean implements Identifiable<UUID> {
+        private final UUID id = UUID.randomUUID();
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+    }
+
+    private ScheduledExecutorService executor;
+    private SimpleCache<UUID, Bean> cache;
+    private UUID id;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        final StatefulObjectFactory<Bean> factory = new StatefulObjectFactory<Bean>() {
+            @Override
+            public Bean createInstance() {
+                return new Bean();
+            }
+
+            @Override
+            public void destroyInstance(Bean instance) {
+            }
+        };
+        final IdentifierFactory<UUID> identifierFactory = new IdentifierFactory<UUID>() {
+            @Override
+            public UUID createIdentifier() {
+                return UUID.randomUUID();
+            }
+        };
+        cache = new SimpleCache<UUID, Bean>(factory, identifierFactory, null, null, executor);
+        cache.start();
+        for (int i = 0; i < 1000; i++) {
+            cache.create();
+        }
+        id = cache.create().getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        cache.stop();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Bean getRelease() {
+        final Bean bean = cache.get(id);
+        cache.release(bean);
+        return bean;
+    }
+
+    @Benchmark
+    public Bean createRemove() {
+        final Bean bean = cache.create();
+        cache.remove(bean.getId());
+        return bean;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.test.benchmark.naming;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.CompositeName;
+import javax.naming.Name;
+import javax.naming.NamingException;
+
+import org.jboss.as.naming.ManagedReferenceFactory;
+import org.jboss.as.naming.ServiceBasedNamingStore;
+import org.jboss.as.naming.ValueManagedReferenceFactory;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.Values;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ServiceBasedNamingStore#lookup(Name)} of a binding and of a parent context in a store holding
+ * {@link #bindings} bindings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NamingStoreLookupBenchmark {
+
+    @Param({"10", "1000"})
+    public int bindings;
+
+    private ServiceContainer container;
+    private ServiceBasedNamingStore store;
+    private Name bindingName;
+    private Name contextName;
+
+    @Setup
+    public void setup() throws Exception {
+        container = ServiceContainer.Factory.create("benchmark");
+        store = new ServiceBasedNamingStore(container, ServiceName.JBOSS);
+        final CountDownLatch latch = new CountDownLatch(bindings);
+        for (int i = 0; i < bindings; i++) {
+            bind(ServiceName.JBOSS.append("app", "module", "bean" + i), new Object(), latch);
+        }
+        if (!latch.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Failed to bind in timely fashion");
+        }
+        bindingName = new CompositeName("app/module/bean" + (bindings / 2));
+        contextName = new CompositeName("app/module");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        container.shutdown();
+        container.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Object lookupBinding() throws NamingException {
+        return store.lookup(bindingName);
+    }
+
+    @Benchmark
+    public Object lookupContext() throws NamingException {
+        return store.lookup(contextName);
+    }
+
+    private void bind(final ServiceName serviceName, final Object value, final CountDownLatch latch) {
+        container.addService(serviceName, new Service<ManagedReferenceFactory>() {
+            public void start(StartContext context) throws StartException {
+                store.add(serviceName);
+                latch.countDown();
+            }
+
+            public void stop(StopContext context) {
+                store.remove(serviceName);
+            }
+
+            public ManagedReferenceFactory getValue() throws IllegalStateException, IllegalArgumentException {
+                return new ValueManagedReferenceFactory(Values.immediateValue(value));
+            }
+        }).install();
+    }
+}
@@ -44,7 +44,7 @@ public class BoundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHandl
             PoolAttributeDefinitions.QUEUE_SIZE);
 
     public BoundedQueueThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
-        super(METRICS, serviceNameBase);
+        super(METRICS, serviceNameBase, true);
     }
 
     @Override
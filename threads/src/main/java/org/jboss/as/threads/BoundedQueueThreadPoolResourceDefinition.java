@@ -92,6 +92,14 @@ public class BoundedQueueThreadPoolResourceDefinition extends SimpleResourceDefi
         }
     }
 
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly) {
+            ResetTaskStatisticsHandler.register(resourceRegistration, getResourceDescriptionResolver(), serviceNameBase);
+        }
+    }
+
     public static void registerTransformers1_0(ResourceTransformationDescriptionBuilder parent) {
         registerTransformers1_0(parent, CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL);
         registerTransformers1_0(parent, CommonAttributes.BOUNDED_QUEUE_THREAD_POOL);
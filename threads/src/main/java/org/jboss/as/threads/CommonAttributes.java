@@ -48,6 +48,14 @@ public interface CommonAttributes {
     String QUEUELESS_THREAD_POOL = "queueless-thread-pool";
     String QUEUE_LENGTH = "queue-length";
     String QUEUE_SIZE = "queue-size";
+    String QUEUE_TIME_AVERAGE = "queue-time-average";
+    String QUEUE_TIME_MAX = "queue-time-max";
+    String QUEUE_TIME_HISTOGRAM = "queue-time-histogram";
+    String EXECUTION_TIME_AVERAGE = "execution-time-average";
+    String EXECUTION_TIME_MAX = "execution-time-max";
+    String EXECUTION_TIME_HISTOGRAM = "execution-time-histogram";
+    String RESET_TASK_STATISTICS = "reset-task-statistics";
+    String TASK_STATISTICS_ENABLED = "task-statistics-enabled";
     String REJECTED_COUNT = "rejected-count";
     String SCHEDULED_THREAD_POOL = "scheduled-thread-pool";
     String TASK_COUNT = "task-count";
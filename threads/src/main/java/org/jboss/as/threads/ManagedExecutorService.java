@@ -21,6 +21,7 @@
  */
 package org.jboss.as.threads;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -41,12 +42,58 @@ import org.jboss.threads.JBossExecutors;
 public abstract class ManagedExecutorService implements ExecutorService {
 
     private final ExecutorService executor;
+    private final TaskStatistics taskStatistics;
 
     public ManagedExecutorService(ExecutorService executor) {
         if(executor == null) {
             throw ThreadsMessages.MESSAGES.nullExecutor();
         }
         this.executor = protectExecutor(executor);
+        this.taskStatistics = isTaskStatisticsSupported() ? new TaskStatistics() : null;
+    }
+
+    /**
+     * Whether the queue wait and execution times of tasks can be recorded for this executor.
+     *
+     * @return {@code true} by default
+     */
+    protected boolean isTaskStatisticsSupported() {
+        return true;
+    }
+
+    /**
+     * Get the task time statistics of this executor.
+     *
+     * @return the statistics, or {@code null} if they are not supported by this executor
+     */
+    public TaskStatistics getTaskStatistics() {
+        return taskStatistics;
+    }
+
+    private boolean isTracking() {
+        final TaskStatistics taskStatistics = this.taskStatistics;
+        return taskStatistics != null && taskStatistics.isEnabled();
+    }
+
+    /**
+     * Wrap the task so its times are recorded, if statistics are enabled.
+     */
+    Runnable track(Runnable task) {
+        return isTracking() ? taskStatistics.wrap(task) : task;
+    }
+
+    /**
+     * Wrap the tasks so their times are recorded, if statistics are enabled.
+     */
+    private <T> Collection<? extends Callable<T>> track(Collection<? extends Callable<T>> tasks) {
+        if (!isTracking()) {
+            return tasks;
+        }
+        final List<Callable<T>> tracked = new ArrayList<Callable<T>>(tasks.size());
+        for (Callable<T> task : tasks) {
+            tracked.add(taskStatistics.wrap(task));
+        }
+        return tracked;
     }
 
     protected ExecutorService protectExecutor(ExecutorService executor) {
@@ -61,7 +108,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public void execute(Runnable command) {
-        this.executor.execute(command);
+        this.executor.execute(track(command));
     }
 
     /**
@@ -116,7 +163,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return this.executor.submit(task);
+        return this.executor.submit(isTracking() ? taskStatistics.wrap(task) : task);
     }
 
     /**
@@ -125,7 +172,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return this.executor.submit(task, result);
+        return this.executor.submit(track(task), result);
     }
 
     /**
@@ -134,7 +181,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public Future<?> submit(Runnable task) {
-        return this.executor.submit(task);
+        return this.executor.submit(track(task));
     }
 
     /**
@@ -143,7 +190,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
-        return this.executor.invokeAll(tasks);
+        return this.executor.invokeAll(track(tasks));
     }
 
     /**
@@ -152,7 +199,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
-        return this.executor.invokeAll(tasks, timeout, unit);
+        return this.executor.invokeAll(track(tasks), timeout, unit);
     }
 
     /**
@@ -161,7 +208,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
-        return this.executor.invokeAny(tasks);
+        return this.executor.invokeAny(track(tasks));
     }
 
     /**
@@ -170,6 +217,6 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-        return this.executor.invokeAny(tasks, timeout, unit);
+        return this.executor.invokeAny(track(tasks), timeout, unit);
     }
 }
@@ -53,6 +53,12 @@ public class ManagedScheduledExecutorService extends ManagedExecutorService impl
         executor.shutdown();
     }
 
+    @Override
+    protected boolean isTaskStatisticsSupported() {
+        // the queue wait of a scheduled task is its delay
+        return false;
+    }
+
     @Override
     public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
        return executor.schedule(command, delay, unit);
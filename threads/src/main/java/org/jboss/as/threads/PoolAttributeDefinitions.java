@@ -23,6 +23,7 @@ package org.jboss.as.threads;
 
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
@@ -84,4 +85,20 @@ public interface PoolAttributeDefinitions {
     AttributeDefinition COMPLETED_TASK_COUNT = new SimpleAttributeDefinition(CommonAttributes.COMPLETED_TASK_COUNT, ModelType.INT, false);
     AttributeDefinition TASK_COUNT = new SimpleAttributeDefinition(CommonAttributes.TASK_COUNT, ModelType.INT, false);
     AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinition(CommonAttributes.QUEUE_SIZE, ModelType.INT, false);
+
+    // Task time statistics, only recorded while TASK_STATISTICS_ENABLED is true
+    AttributeDefinition TASK_STATISTICS_ENABLED = new SimpleAttributeDefinitionBuilder(CommonAttributes.TASK_STATISTICS_ENABLED, ModelType.BOOLEAN, true)
+            .setDefaultValue(new ModelNode(false)).setStorageRuntime().build();
+    AttributeDefinition QUEUE_TIME_AVERAGE = new SimpleAttributeDefinitionBuilder(CommonAttributes.QUEUE_TIME_AVERAGE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    AttributeDefinition QUEUE_TIME_MAX = new SimpleAttributeDefinitionBuilder(CommonAttributes.QUEUE_TIME_MAX, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    AttributeDefinition QUEUE_TIME_HISTOGRAM = new PrimitiveListAttributeDefinition.Builder(CommonAttributes.QUEUE_TIME_HISTOGRAM, ModelType.LONG)
+            .setAllowNull(true).build();
+    AttributeDefinition EXECUTION_TIME_AVERAGE = new SimpleAttributeDefinitionBuilder(CommonAttributes.EXECUTION_TIME_AVERAGE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    AttributeDefinition EXECUTION_TIME_MAX = new SimpleAttributeDefinitionBuilder(CommonAttributes.EXECUTION_TIME_MAX, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    AttributeDefinition EXECUTION_TIME_HISTOGRAM = new PrimitiveListAttributeDefinition.Builder(CommonAttributes.EXECUTION_TIME_HISTOGRAM, ModelType.LONG)
+            .setAllowNull(true).build();
 }
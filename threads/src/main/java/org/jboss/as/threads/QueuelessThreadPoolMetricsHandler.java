@@ -42,7 +42,7 @@ public class QueuelessThreadPoolMetricsHandler extends ThreadPoolMetricsHandler
             PoolAttributeDefinitions.REJECTED_COUNT,PoolAttributeDefinitions.QUEUE_SIZE);
 
     public QueuelessThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
-        super(METRICS, serviceNameBase);
+        super(METRICS, serviceNameBase, true);
     }
 
     @Override
@@ -93,6 +93,14 @@ public class QueuelessThreadPoolResourceDefinition extends SimpleResourceDefinit
         }
     }
 
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly) {
+            ResetTaskStatisticsHandler.register(resourceRegistration, getResourceDescriptionResolver(), serviceNameBase);
+        }
+    }
+
     public static void registerTransformers1_0(ResourceTransformationDescriptionBuilder parent) {
         registerTransformers1_0(parent, CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL);
         registerTransformers1_0(parent, CommonAttributes.QUEUELESS_THREAD_POOL);
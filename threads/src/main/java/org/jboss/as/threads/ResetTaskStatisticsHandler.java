@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Clears the {@link TaskStatistics} of a thread pool.
+ */
+class ResetTaskStatisticsHandler extends AbstractRuntimeOnlyHandler {
+
+    private final ServiceName serviceNameBase;
+
+    private ResetTaskStatisticsHandler(final ServiceName serviceNameBase) {
+        this.serviceNameBase = serviceNameBase;
+    }
+
+    static void register(final ManagementResourceRegistration registration, final ResourceDescriptionResolver resolver,
+                         final ServiceName serviceNameBase) {
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder(CommonAttributes.RESET_TASK_STATISTICS, resolver)
+                .setRuntimeOnly()
+                .build(), new ResetTaskStatisticsHandler(serviceNameBase));
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceNameBase.append(name));
+        if (controller == null) {
+            throw ThreadsMessages.MESSAGES.threadPoolServiceNotFoundForMetrics(serviceNameBase.append(name));
+        }
+        final Object executor = controller.getValue();
+        if (executor instanceof ManagedExecutorService) {
+            final TaskStatistics statistics = ((ManagedExecutorService) executor).getTaskStatistics();
+            if (statistics != null) {
+                statistics.reset();
+            }
+        }
+        context.stepCompleted();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.Callable;
+
+import org.jboss.as.controller.LatencyHistogram;
+
+/**
+ * Queue wait and execution time statistics of the tasks run by a {@link ManagedExecutorService}.
+ * <p/>
+ * Recording is disabled until it is enabled for the pool via the {@code task-statistics-enabled} attribute. When disabled
+ * tasks are passed to the pool unchanged.
+ */
+public final class TaskStatistics {
+
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private volatile boolean enabled;
+
+    TaskStatistics() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Wrap a task so that its time in the queue and its execution time are recorded when it runs.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    Runnable wrap(final Runnable task) {
+        final long submitted = System.nanoTime();
+        return new Runnable() {
+            @Override
+            public void run() {
+                final long start = System.nanoTime();
+                queueTime.record(start - submitted);
+                try {
+                    task.run();
+                } finally {
+                    executionTime.record(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return task.toString();
+            }
+        };
+    }
+
+    /**
+     * Wrap a task so that its time in the queue and its execution time are recorded when it is called.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    <T> Callable<T> wrap(final Callable<T> task) {
+        final long submitted = System.nanoTime();
+        return new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                final long start = System.nanoTime();
+                queueTime.record(start - submitted);
+                try {
+                    return task.call();
+                } finally {
+                    executionTime.record(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return task.toString();
+            }
+        };
+    }
+
+    LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    public void reset() {
+        queueTime.reset();
+        executionTime.reset();
+    }
+}
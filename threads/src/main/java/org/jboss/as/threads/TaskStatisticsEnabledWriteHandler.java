@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Turns the recording of the {@link TaskStatistics} of a thread pool on or off. The setting is not persisted.
+ */
+class TaskStatisticsEnabledWriteHandler extends AbstractRuntimeOnlyHandler {
+
+    private final ServiceName serviceNameBase;
+
+    TaskStatisticsEnabledWriteHandler(final ServiceName serviceNameBase) {
+        this.serviceNameBase = serviceNameBase;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode model = new ModelNode();
+        model.get(PoolAttributeDefinitions.TASK_STATISTICS_ENABLED.getName()).set(operation.get(VALUE));
+        final boolean enabled = PoolAttributeDefinitions.TASK_STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean();
+        final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+        final ServiceController<?> controller = context.getServiceRegistry(true).getService(serviceNameBase.append(name));
+        if (controller == null) {
+            throw ThreadsMessages.MESSAGES.threadPoolServiceNotFoundForMetrics(serviceNameBase.append(name));
+        }
+        final TaskStatistics statistics = ThreadPoolMetricsHandler.getTaskStatistics(controller.getService());
+        if (statistics == null) {
+            context.stepCompleted();
+            return;
+        }
+        final boolean previous = statistics.isEnabled();
+        statistics.setEnabled(enabled);
+        context.completeStep(new OperationContext.RollbackHandler() {
+            @Override
+            public void handleRollback(OperationContext context, ModelNode operation) {
+                statistics.setEnabled(previous);
+            }
+        });
+    }
+}
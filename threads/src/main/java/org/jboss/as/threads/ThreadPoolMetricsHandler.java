@@ -23,10 +23,12 @@ package org.jboss.as.threads;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.LatencyHistogram;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
@@ -44,18 +46,39 @@ import org.jboss.msc.service.ServiceName;
  */
 public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandler {
 
+    /**
+     * Metrics for the {@link TaskStatistics} of the pool executor.
+     */
+    public static final List<AttributeDefinition> TASK_STATISTICS_METRICS = Arrays.asList(PoolAttributeDefinitions.QUEUE_TIME_AVERAGE,
+            PoolAttributeDefinitions.QUEUE_TIME_MAX, PoolAttributeDefinitions.QUEUE_TIME_HISTOGRAM,
+            PoolAttributeDefinitions.EXECUTION_TIME_AVERAGE, PoolAttributeDefinitions.EXECUTION_TIME_MAX,
+            PoolAttributeDefinitions.EXECUTION_TIME_HISTOGRAM);
+
     private final List<AttributeDefinition> metrics;
     private final ServiceName serviceNameBase;
+    private final boolean taskStatistics;
 
     protected ThreadPoolMetricsHandler(List<AttributeDefinition> metrics, ServiceName serviceNameBase) {
+        this(metrics, serviceNameBase, false);
+    }
+
+    protected ThreadPoolMetricsHandler(List<AttributeDefinition> metrics, ServiceName serviceNameBase, boolean taskStatistics) {
         this.metrics = metrics;
         this.serviceNameBase = serviceNameBase;
+        this.taskStatistics = taskStatistics;
     }
 
     public void registerAttributes(final ManagementResourceRegistration registration) {
         for (AttributeDefinition metric : metrics) {
             registration.registerMetric(metric, this);
         }
+        if (taskStatistics) {
+            for (AttributeDefinition metric : TASK_STATISTICS_METRICS) {
+                registration.registerMetric(metric, this);
+            }
+            registration.registerReadWriteAttribute(PoolAttributeDefinitions.TASK_STATISTICS_ENABLED, this,
+                    new TaskStatisticsEnabledWriteHandler(serviceNameBase));
+        }
     }
 
     @Override
@@ -64,13 +87,63 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
         ServiceController<?> serviceController = getService(context, operation);
         final Service<?> service = serviceController.getService();
 
-        setResult(context, attributeName, service);
+        if (taskStatistics && CommonAttributes.TASK_STATISTICS_ENABLED.equals(attributeName)) {
+            final TaskStatistics statistics = getTaskStatistics(service);
+            context.getResult().set(statistics != null && statistics.isEnabled());
+        } else if (taskStatistics && isTaskStatisticsMetric(attributeName)) {
+            setTaskStatisticsResult(context, attributeName, service);
+        } else {
+            setResult(context, attributeName, service);
+        }
 
         context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
     }
 
     protected abstract void setResult(OperationContext context, String attributeName, Service<?> service) throws OperationFailedException;
 
+    private static boolean isTaskStatisticsMetric(final String attributeName) {
+        for (AttributeDefinition metric : TASK_STATISTICS_METRICS) {
+            if (metric.getName().equals(attributeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static TaskStatistics getTaskStatistics(final Service<?> service) {
+        final Object executor = service.getValue();
+        return executor instanceof ManagedExecutorService ? ((ManagedExecutorService) executor).getTaskStatistics() : null;
+    }
+
+    private static void setTaskStatisticsResult(final OperationContext context, final String attributeName, final Service<?> service) {
+        final TaskStatistics statistics = getTaskStatistics(service);
+        if (statistics == null) {
+            // not supported, leave the result undefined
+            return;
+        }
+        final ModelNode result = context.getResult();
+        if (attributeName.equals(CommonAttributes.QUEUE_TIME_AVERAGE)) {
+            result.set(statistics.getQueueTime().getAverage());
+        } else if (attributeName.equals(CommonAttributes.QUEUE_TIME_MAX)) {
+            result.set(statistics.getQueueTime().getMax());
+        } else if (attributeName.equals(CommonAttributes.QUEUE_TIME_HISTOGRAM)) {
+            setHistogram(result, statistics.getQueueTime());
+        } else if (attributeName.equals(CommonAttributes.EXECUTION_TIME_AVERAGE)) {
+            result.set(statistics.getExecutionTime().getAverage());
+        } else if (attributeName.equals(CommonAttributes.EXECUTION_TIME_MAX)) {
+            result.set(statistics.getExecutionTime().getMax());
+        } else if (attributeName.equals(CommonAttributes.EXECUTION_TIME_HISTOGRAM)) {
+            setHistogram(result, statistics.getExecutionTime());
+        }
+    }
+
+    private static void setHistogram(final ModelNode result, final LatencyHistogram histogram) {
+        result.setEmptyList();
+        for (long count : histogram.getBuckets()) {
+            result.add(count);
+        }
+    }
+
     protected ServiceController<?> getService(final OperationContext context, final ModelNode operation)
             throws OperationFailedException {
         final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
@@ -44,7 +44,7 @@ public class UnboundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHan
             PoolAttributeDefinitions.TASK_COUNT, PoolAttributeDefinitions.QUEUE_SIZE);
 
     public UnboundedQueueThreadPoolMetricsHandler(final ServiceName serviceNameBase) {
-        super(METRICS, serviceNameBase);
+        super(METRICS, serviceNameBase, true);
     }
 
     @Override
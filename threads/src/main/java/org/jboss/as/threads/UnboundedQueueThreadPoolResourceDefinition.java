@@ -72,6 +72,14 @@ public class UnboundedQueueThreadPoolResourceDefinition extends SimpleResourceDe
         }
     }
 
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (registerRuntimeOnly) {
+            ResetTaskStatisticsHandler.register(resourceRegistration, getResourceDescriptionResolver(), serviceNameBase);
+        }
+    }
+
     public static void registerTransformers1_0(ResourceTransformationDescriptionBuilder parent) {
         registerTransformers1_0(parent, CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL);
     }
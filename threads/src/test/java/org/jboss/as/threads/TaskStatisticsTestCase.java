@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.threads;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the recording of {@link TaskStatistics} by a {@link ManagedExecutorService}.
+ */
+public class TaskStatisticsTestCase {
+
+    private ExecutorService delegate;
+    private ManagedExecutorService executor;
+
+    @Before
+    public void setUp() {
+        delegate = Executors.newFixedThreadPool(2);
+        executor = new ManagedExecutorService(delegate) {
+            @Override
+            void internalShutdown() {
+                delegate.shutdown();
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        delegate.shutdownNow();
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        final TaskStatistics statistics = executor.getTaskStatistics();
+        Assert.assertNotNull(statistics);
+        Assert.assertFalse(statistics.isEnabled());
+        executor.submit((Callable<Object>) new NoopTask()).get();
+        Assert.assertEquals(0, statistics.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testEnableAtRuntime() throws Exception {
+        final TaskStatistics statistics = executor.getTaskStatistics();
+        statistics.setEnabled(true);
+        executor.submit((Callable<Object>) new NoopTask()).get();
+        executor.submit((Runnable) new NoopTask()).get();
+        Assert.assertEquals(2, statistics.getQueueTime().getCount());
+        Assert.assertEquals(2, statistics.getExecutionTime().getCount());
+
+        statistics.setEnabled(false);
+        executor.submit((Callable<Object>) new NoopTask()).get();
+        Assert.assertEquals(2, statistics.getExecutionTime().getCount());
+    }
+
+    @Test
+    public void testInvokeAllAndInvokeAny() throws Exception {
+        final TaskStatistics statistics = executor.getTaskStatistics();
+        statistics.setEnabled(true);
+        final List<Future<Object>> futures = executor.invokeAll(Arrays.<Callable<Object>>asList(new NoopTask(), new NoopTask(), new NoopTask()));
+        for (Future<Object> future : futures) {
+            future.get();
+        }
+        Assert.assertEquals(3, statistics.getExecutionTime().getCount());
+
+        Assert.assertNull(executor.invokeAny(Arrays.<Callable<Object>>asList(new NoopTask())));
+        Assert.assertEquals(4, statistics.getExecutionTime().getCount());
+        Assert.assertEquals(4, statistics.getQueueTime().getCount());
+    }
+
+    private static class NoopTask implements Callable<Object>, Runnable {
+        @Override
+        public Object call() {
+            return null;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+}
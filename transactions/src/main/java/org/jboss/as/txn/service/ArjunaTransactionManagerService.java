@@ -59,6 +59,7 @@ public final class ArjunaTransactionManagerService implements Service<com.arjuna
     private final InjectedValue<ORB> orbInjector = new InjectedValue<ORB>();
     private final InjectedValue<UserTransactionRegistry> userTransactionRegistry = new InjectedValue<UserTransactionRegistry>();
     private final InjectedValue<JTAEnvironmentBean> jtaEnvironmentBean = new InjectedValue<>();
+    private final InjectedValue<TransactionLatencyStatistics> latencyStatistics = new InjectedValue<TransactionLatencyStatistics>();
 
 
     private com.arjuna.ats.jbossatx.jta.TransactionManagerService value;
@@ -98,6 +99,11 @@ public final class ArjunaTransactionManagerService implements Service<com.arjuna
             // No IIOP, stick with JTA mode.
             jtaEnvironmentBean.getValue().setTransactionManagerClassName(com.arjuna.ats.jbossatx.jta.TransactionManagerDelegate.class.getName());
             jtaEnvironmentBean.getValue().setTransactionSynchronizationRegistryClassName(com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionSynchronizationRegistryImple.class.getName());
+            if (coordinatorEnableStatistics) {
+                // time the transactions for the latency statistics
+                jtaEnvironmentBean.getValue().setTransactionManager(new LatencyTrackingTransactionManagerDelegate(latencyStatistics.getValue()));
+                latencyStatistics.getValue().enable(new com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionSynchronizationRegistryImple());
+            }
 
             final com.arjuna.ats.jbossatx.jta.TransactionManagerService service = new com.arjuna.ats.jbossatx.jta.TransactionManagerService();
             final ServerVMClientUserTransaction userTransaction = new ServerVMClientUserTransaction(service.getTransactionManager());
@@ -154,6 +160,7 @@ public final class ArjunaTransactionManagerService implements Service<com.arjuna
 
     @Override
     public synchronized void stop(final StopContext context) {
+        latencyStatistics.getValue().disable();
         value.stop();
         value.destroy();
         objStoreBrowser.stop();
@@ -165,6 +172,10 @@ public final class ArjunaTransactionManagerService implements Service<com.arjuna
         return TxnServices.notNull(value);
     }
 
+    public Injector<TransactionLatencyStatistics> getLatencyStatisticsInjector() {
+        return latencyStatistics;
+    }
+
     public Injector<JBossXATerminator> getXaTerminatorInjector() {
         return xaTerminatorInjector;
     }
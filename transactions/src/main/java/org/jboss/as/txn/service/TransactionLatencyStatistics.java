@@ -0,0 +1,321 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn.service;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+import javax.transaction.xa.XAResource;
+
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.tm.XAResourceWrapper;
+
+import static org.jboss.as.txn.TransactionLogger.ROOT_LOGGER;
+
+/**
+ * Latency of the transactions, and of the prepare, commit and rollback calls of each participant.
+ * <p/>
+ * Each transaction started through the transaction manager registers an interposed {@link Synchronization} which
+ * measures the time from {@code begin} to the end of the transaction, and the time of the completion, from
+ * {@code beforeCompletion} to {@code afterCompletion}, which covers the prepare and commit (or rollback) phases.
+ * <p/>
+ * The participants are timed by the {@link XAResource}s returned by {@link #wrap(XAResource)}, so that a slow
+ * backend shows in the latencies of its own resource, named after its JNDI name if it has one.
+ * <p/>
+ * The statistics are owned by the {@link TransactionLatencyStatisticsService} and only recorded while the transaction
+ * manager enables them.
+ */
+public final class TransactionLatencyStatistics {
+
+    private final TransactionLatencies all = new TransactionLatencies();
+    private final ConcurrentMap<String, ResourceLatencies> resources = new ConcurrentHashMap<String, ResourceLatencies>();
+    private volatile TransactionSynchronizationRegistry registry;
+
+    void enable(final TransactionSynchronizationRegistry registry) {
+        this.registry = registry;
+    }
+
+    void disable() {
+        registry = null;
+    }
+
+    public boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * Starts timing the transaction associated with the current thread.
+     */
+    void begin() {
+        final TransactionSynchronizationRegistry registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+        final TransactionTimer timer = new TransactionTimer();
+        try {
+            registry.registerInterposedSynchronization(timer);
+        } catch (RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Unable to time transaction %s", registry.getTransactionKey());
+        }
+    }
+
+    /**
+     * Wraps a resource so that its prepare, commit and rollback calls are timed while the statistics are enabled.
+     * <p/>
+     * The wrapper implements all the interfaces of the resource, except {@link Serializable}, and delegates every
+     * other call to it.
+     *
+     * @param resource the resource to enlist in transactions
+     * @return the wrapped resource, or the resource itself if the statistics are disabled
+     */
+    public XAResource wrap(final XAResource resource) {
+        if (resource == null || !isEnabled() || Proxy.isProxyClass(resource.getClass()) && Proxy.getInvocationHandler(resource) instanceof ResourceTimer) {
+            return resource;
+        }
+        final Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> type = resource.getClass(); type != null; type = type.getSuperclass()) {
+            addInterfaces(type, interfaces);
+        }
+        interfaces.remove(Serializable.class);
+        final ResourceTimer timer = new ResourceTimer(resource, getResource(resourceName(resource)));
+        try {
+            return (XAResource) Proxy.newProxyInstance(resource.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]), timer);
+        } catch (IllegalArgumentException e) {
+            // e.g. non public interfaces from different packages
+            ROOT_LOGGER.debugf(e, "Unable to time resource %s", resource);
+            return resource;
+        }
+    }
+
+    public TransactionLatencies getAll() {
+        return all;
+    }
+
+    /**
+     * @return the latencies of each resource, by resource name
+     */
+    public Map<String, ResourceLatencies> getResources() {
+        return Collections.unmodifiableMap(resources);
+    }
+
+    private ResourceLatencies getResource(final String name) {
+        ResourceLatencies latencies = resources.get(name);
+        if (latencies == null) {
+            final ResourceLatencies existing = resources.putIfAbsent(name, latencies = new ResourceLatencies());
+            if (existing != null) {
+                latencies = existing;
+            }
+        }
+        return latencies;
+    }
+
+    private static void addInterfaces(final Class<?> type, final Set<Class<?>> interfaces) {
+        for (Class<?> i : type.getInterfaces()) {
+            if (interfaces.add(i)) {
+                addInterfaces(i, interfaces);
+            }
+        }
+    }
+
+    private static String resourceName(final XAResource resource) {
+        if (resource instanceof XAResourceWrapper) {
+            final XAResourceWrapper wrapper = (XAResourceWrapper) resource;
+            if (wrapper.getJndiName() != null) {
+                return wrapper.getJndiName();
+            }
+            if (wrapper.getProductName() != null) {
+                return wrapper.getProductName();
+            }
+        }
+        return resource.getClass().getName();
+    }
+
+    public static final class TransactionLatencies {
+        private final LatencyHistogram transactionTime = new LatencyHistogram();
+        private final LatencyHistogram completionTime = new LatencyHistogram();
+        private final AtomicLong committed = new AtomicLong();
+        private final AtomicLong rolledBack = new AtomicLong();
+
+        private void record(final long transactionTime, final long completionTime, final boolean committed) {
+            this.transactionTime.record(transactionTime);
+            if (completionTime >= 0) {
+                this.completionTime.record(completionTime);
+            }
+            (committed ? this.committed : rolledBack).incrementAndGet();
+        }
+
+        /**
+         * @return the time from the start to the end of the transactions
+         */
+        public LatencyHistogram getTransactionTime() {
+            return transactionTime;
+        }
+
+        /**
+         * @return the time spent completing the transactions, which is not recorded for transactions that are rolled
+         * back without completion
+         */
+        public LatencyHistogram getCompletionTime() {
+            return completionTime;
+        }
+
+        public long getCommitted() {
+            return committed.get();
+        }
+
+        public long getRolledBack() {
+            return rolledBack.get();
+        }
+    }
+
+    public static final class ResourceLatencies {
+        private final LatencyHistogram prepareTime = new LatencyHistogram();
+        private final LatencyHistogram commitTime = new LatencyHistogram();
+        private final LatencyHistogram rollbackTime = new LatencyHistogram();
+        private final AtomicLong failures = new AtomicLong();
+
+        /**
+         * @return the time of the prepare calls of the resource
+         */
+        public LatencyHistogram getPrepareTime() {
+            return prepareTime;
+        }
+
+        /**
+         * @return the time of the commit calls of the resource, including one phase commits
+         */
+        public LatencyHistogram getCommitTime() {
+            return commitTime;
+        }
+
+        /**
+         * @return the time of the rollback calls of the resource
+         */
+        public LatencyHistogram getRollbackTime() {
+            return rollbackTime;
+        }
+
+        /**
+         * @return the number of prepare, commit and rollback calls which threw an exception
+         */
+        public long getFailures() {
+            return failures.get();
+        }
+    }
+
+    private final class TransactionTimer implements Synchronization {
+        private final long begin = System.nanoTime();
+        private volatile long completionStart;
+
+        @Override
+        public void beforeCompletion() {
+            completionStart = System.nanoTime();
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            final long end = System.nanoTime();
+            final long completionStart = this.completionStart;
+            all.record(end - begin, completionStart == 0 ? -1 : end - completionStart, status == Status.STATUS_COMMITTED);
+        }
+    }
+
+    private final class ResourceTimer implements InvocationHandler {
+        private final XAResource resource;
+        private final ResourceLatencies latencies;
+
+        ResourceTimer(final XAResource resource, final ResourceLatencies latencies) {
+            this.resource = resource;
+            this.latencies = latencies;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (args != null) {
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = unwrap(args[i]);
+                }
+            }
+            final LatencyHistogram histogram = isEnabled() && method.getDeclaringClass() == XAResource.class ? histogram(method.getName()) : null;
+            if (histogram == null) {
+                return invoke(method, args);
+            }
+            final long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                final Object result = invoke(method, args);
+                failed = false;
+                return result;
+            } finally {
+                histogram.record(System.nanoTime() - start);
+                if (failed) {
+                    latencies.failures.incrementAndGet();
+                }
+            }
+        }
+
+        private Object invoke(final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(resource, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private LatencyHistogram histogram(final String name) {
+            switch (name) {
+                case "prepare":
+                    return latencies.prepareTime;
+                case "commit":
+                    return latencies.commitTime;
+                case "rollback":
+                    return latencies.rollbackTime;
+                default:
+                    return null;
+            }
+        }
+
+        private Object unwrap(final Object value) {
+            if (value != null && Proxy.isProxyClass(value.getClass())) {
+                final InvocationHandler handler = Proxy.getInvocationHandler(value);
+                if (handler instanceof ResourceTimer) {
+                    return ((ResourceTimer) handler).resource;
+                }
+            }
+            return value;
+        }
+    }
+}
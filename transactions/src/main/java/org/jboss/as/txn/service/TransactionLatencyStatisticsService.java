@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn.service;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+
+/**
+ * Service which owns the {@link TransactionLatencyStatistics} recorded by the transaction manager and by the
+ * resources enlisted in its transactions.
+ */
+public final class TransactionLatencyStatisticsService implements Service<TransactionLatencyStatistics> {
+
+    public static final ServiceName SERVICE_NAME = TxnServices.JBOSS_TXN_LATENCY_STATISTICS;
+
+    private volatile TransactionLatencyStatistics value;
+
+    @Override
+    public void start(final StartContext context) throws StartException {
+        value = new TransactionLatencyStatistics();
+    }
+
+    @Override
+    public void stop(final StopContext context) {
+        value = null;
+    }
+
+    @Override
+    public TransactionLatencyStatistics getValue() throws IllegalStateException {
+        return TxnServices.notNull(value);
+    }
+}
@@ -77,6 +77,13 @@ interface CommonAttributes {
     String NUMBER_OF_TIMED_OUT_TRANSACTIONS = "number-of-timed-out-transactions";
     String NUMBER_OF_APPLICATION_ROLLBACKS = "number-of-application-rollbacks";
     String NUMBER_OF_RESOURCE_ROLLBACKS = "number-of-resource-rollbacks";
+    String TRANSACTION_TIME_AVERAGE = "transaction-time-average";
+    String TRANSACTION_TIME_MAX = "transaction-time-max";
+    String TRANSACTION_TIME_HISTOGRAM = "transaction-time-histogram";
+    String COMPLETION_TIME_AVERAGE = "completion-time-average";
+    String COMPLETION_TIME_MAX = "completion-time-max";
+    String COMPLETION_TIME_HISTOGRAM = "completion-time-histogram";
+    String RESOURCE_LATENCIES = "resource-latencies";
 
 
     String PARTICIPANT = "participant";
@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn.subsystem;
+
+import java.io.IOException;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+import com.arjuna.ats.arjuna.common.Uid;
+import com.arjuna.ats.arjuna.common.UidHelper;
+import com.arjuna.ats.arjuna.exceptions.ObjectStoreException;
+import com.arjuna.ats.arjuna.objectstore.RecoveryStore;
+import com.arjuna.ats.arjuna.objectstore.StoreManager;
+import com.arjuna.ats.arjuna.state.InputObjectState;
+
+/**
+ * Handler for browsing the transaction logs directly in the object store.
+ * <p/>
+ * Unlike {@link LogStoreProbeHandler} this neither goes through the object store MBeans nor registers a resource per
+ * log record. The store is scanned once, every record is counted by type, and only the requested page of matching
+ * records is returned, so it stays cheap even when the store holds a very large number of records.
+ */
+public class LogStoreBrowseHandler implements OperationStepHandler {
+
+    static final LogStoreBrowseHandler INSTANCE = new LogStoreBrowseHandler();
+
+    static final SimpleAttributeDefinition TYPE = new SimpleAttributeDefinitionBuilder(LogStoreConstants.LOG_STORE_TYPE_ATTRIBUTE, ModelType.STRING, true)
+            .build();
+
+    static final SimpleAttributeDefinition MIN_AGE = new SimpleAttributeDefinitionBuilder("min-age-in-seconds", ModelType.LONG, true)
+            .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, false))
+            .setMeasurementUnit(MeasurementUnit.SECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition OFFSET = new SimpleAttributeDefinitionBuilder("offset", ModelType.INT, true)
+            .setValidator(new IntRangeValidator(0, true))
+            .setDefaultValue(new ModelNode(0))
+            .build();
+
+    static final SimpleAttributeDefinition MAX_RESULTS = new SimpleAttributeDefinitionBuilder("max-results", ModelType.INT, true)
+            .setValidator(new IntRangeValidator(0, true))
+            .setDefaultValue(new ModelNode(100))
+            .build();
+
+    static final String TOTAL = "total";
+    static final String COUNTS = "counts";
+
+    private LogStoreBrowseHandler() {
+    }
+
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (!context.isNormalServer()) {
+            context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+            return;
+        }
+        final ModelNode typeFilter = TYPE.resolveModelAttribute(context, operation);
+        final ModelNode minAge = MIN_AGE.resolveModelAttribute(context, operation);
+        final int offset = OFFSET.resolveModelAttribute(context, operation).asInt();
+        final int maxResults = MAX_RESULTS.resolveModelAttribute(context, operation).asInt();
+
+        try {
+            browse(StoreManager.getRecoveryStore(), typeFilter, minAge, offset, maxResults, System.currentTimeMillis() / 1000,
+                    context.getResult());
+        } catch (ObjectStoreException e) {
+            throw new OperationFailedException("Transaction log browsing error: ", e);
+        } catch (IOException e) {
+            throw new OperationFailedException("Transaction log browsing error: ", e);
+        }
+        context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+    }
+
+    /**
+     * Scans the store and sets the counts per type, the requested page of matching records and their total in the
+     * result.
+     *
+     * @param now the current time in seconds
+     */
+    static void browse(final RecoveryStore store, final ModelNode typeFilter, final ModelNode minAge, final int offset,
+                       final int maxResults, final long now, final ModelNode result) throws ObjectStoreException, IOException {
+        final ModelNode counts = result.get(COUNTS).setEmptyObject();
+        final ModelNode transactions = result.get(LogStoreConstants.TRANSACTIONS).setEmptyList();
+        int total = 0;
+        final InputObjectState types = new InputObjectState();
+        if (store.allTypes(types)) {
+            String type;
+            while ((type = types.unpackString()) != null && type.length() != 0) {
+                if (typeFilter.isDefined() && !type.contains(typeFilter.asString())) {
+                    continue;
+                }
+                final InputObjectState uids = new InputObjectState();
+                if (!store.allObjUids(type, uids)) {
+                    continue;
+                }
+                int typeCount = 0;
+                Uid uid;
+                while ((uid = UidHelper.unpackFrom(uids)).notEquals(Uid.nullUid())) {
+                    final long age = ageInSeconds(uid.stringForm(), now);
+                    if (minAge.isDefined() && (age < 0 || age < minAge.asLong())) {
+                        continue;
+                    }
+                    typeCount++;
+                    if (total >= offset && total - offset < maxResults) {
+                        final ModelNode transaction = transactions.add();
+                        transaction.get(LogStoreConstants.TRANSACTION_ID.getName()).set(uid.stringForm());
+                        transaction.get(LogStoreConstants.RECORD_TYPE.getName()).set(type);
+                        if (age >= 0) {
+                            transaction.get(LogStoreConstants.TRANSACTION_AGE.getName()).set(age);
+                        }
+                    }
+                    total++;
+                }
+                if (typeCount > 0) {
+                    counts.get(type).set(typeCount);
+                }
+            }
+        }
+        result.get(TOTAL).set(total);
+    }
+
+    /**
+     * The age of a record is taken from the creation time encoded in its uid, which has the form
+     * {@code host-high:host-low:process:seconds:counter} with hexadecimal fields.
+     *
+     * @return the number of seconds since the uid was created, or {@code -1} if it cannot be determined
+     */
+    static long ageInSeconds(final String uid, final long now) {
+        final String[] fields = uid.split(":");
+        if (fields.length != 5) {
+            return -1;
+        }
+        try {
+            // the seconds are written as a signed int, keep the unsigned value
+            final long created = Long.parseLong(fields[3], 16) & 0xFFFFFFFFL;
+            return Math.max(0, now - created);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -41,6 +41,7 @@ import java.util.Map;
 
 class LogStoreConstants {
     static final String PROBE = "probe";
+    static final String BROWSE = "browse";
     static final String RECOVER = "recover";
     static final String DELETE = "delete";
     static final String REFRESH = "refresh";
@@ -30,6 +30,7 @@ import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.dmr.ModelType;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a>
@@ -56,6 +57,14 @@ public class LogStoreDefinition extends SimpleResourceDefinition {
                                 .setReadOnly()
                                 .build();
         resourceRegistration.registerOperationHandler(probe, LogStoreProbeHandler.INSTANCE);
+        final OperationDefinition browse = new SimpleOperationDefinitionBuilder(LogStoreConstants.BROWSE, getResourceDescriptionResolver())
+                                .setParameters(LogStoreBrowseHandler.TYPE, LogStoreBrowseHandler.MIN_AGE,
+                                        LogStoreBrowseHandler.OFFSET, LogStoreBrowseHandler.MAX_RESULTS)
+                                .setReplyType(ModelType.OBJECT)
+                                .setRuntimeOnly()
+                                .setReadOnly()
+                                .build();
+        resourceRegistration.registerOperationHandler(browse, LogStoreBrowseHandler.INSTANCE);
     }
 
 
@@ -54,6 +54,8 @@ import org.jboss.as.txn.service.ArjunaRecoveryManagerService;
 import org.jboss.as.txn.service.ArjunaTransactionManagerService;
 import org.jboss.as.txn.service.CoreEnvironmentService;
 import org.jboss.as.txn.service.JTAEnvironmentBeanService;
+import org.jboss.as.txn.service.TransactionLatencyStatistics;
+import org.jboss.as.txn.service.TransactionLatencyStatisticsService;
 import org.jboss.as.txn.service.TransactionManagerService;
 import org.jboss.as.txn.service.TransactionSynchronizationRegistryService;
 import org.jboss.as.txn.service.TxnServices;
@@ -425,10 +427,16 @@ class TransactionSubsystemAdd extends AbstractBoottimeAddStepHandler {
                 .install();
         controllers.add(jtaEnvironmentServiceController);
 
+        // install the latency statistics, recorded by the transaction manager and the enlisted resources
+        controllers.add(context.getServiceTarget().addService(TxnServices.JBOSS_TXN_LATENCY_STATISTICS, new TransactionLatencyStatisticsService())
+                .setInitialMode(Mode.ACTIVE)
+                .install());
+
         final ArjunaTransactionManagerService transactionManagerService = new ArjunaTransactionManagerService(coordinatorEnableStatistics, coordinatorDefaultTimeout, transactionStatusManagerEnable, jts, nodeIdentifier);
         final ServiceBuilder<com.arjuna.ats.jbossatx.jta.TransactionManagerService> transactionManagerServiceServiceBuilder = context.getServiceTarget().addService(TxnServices.JBOSS_TXN_ARJUNA_TRANSACTION_MANAGER, transactionManagerService);
         // add dependency on JTA environment bean service
         transactionManagerServiceServiceBuilder.addDependency(TxnServices.JBOSS_TXN_JTA_ENVIRONMENT, JTAEnvironmentBean.class, transactionManagerService.getJTAEnvironmentBeanInjector());
+        transactionManagerServiceServiceBuilder.addDependency(TxnServices.JBOSS_TXN_LATENCY_STATISTICS, TransactionLatencyStatistics.class, transactionManagerService.getLatencyStatisticsInjector());
 
         //if jts is enabled we need the ORB
         if (jts) {
@@ -271,6 +271,7 @@ public class TransactionSubsystemRootResourceDefinition extends SimpleResourceDe
 
         if (registerRuntimeOnly) {
             TxStatsHandler.INSTANCE.registerMetrics(resourceRegistration);
+            TxLatencyStatsHandler.INSTANCE.registerMetrics(resourceRegistration);
         }
     }
 
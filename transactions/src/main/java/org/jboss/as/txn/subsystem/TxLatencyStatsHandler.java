@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn.subsystem;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.LatencyHistogram;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PrimitiveListAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.txn.service.TransactionLatencyStatistics;
+import org.jboss.as.txn.service.TxnServices;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+import static org.jboss.as.txn.TransactionMessages.MESSAGES;
+
+/**
+ * Handler for the transaction latency metrics recorded by {@link TransactionLatencyStatistics}.
+ */
+public class TxLatencyStatsHandler extends AbstractRuntimeOnlyHandler {
+
+    static final AttributeDefinition TRANSACTION_TIME_AVERAGE = new SimpleAttributeDefinitionBuilder(CommonAttributes.TRANSACTION_TIME_AVERAGE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    static final AttributeDefinition TRANSACTION_TIME_MAX = new SimpleAttributeDefinitionBuilder(CommonAttributes.TRANSACTION_TIME_MAX, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    static final AttributeDefinition TRANSACTION_TIME_HISTOGRAM = new PrimitiveListAttributeDefinition.Builder(CommonAttributes.TRANSACTION_TIME_HISTOGRAM, ModelType.LONG)
+            .setAllowNull(true).build();
+    static final AttributeDefinition COMPLETION_TIME_AVERAGE = new SimpleAttributeDefinitionBuilder(CommonAttributes.COMPLETION_TIME_AVERAGE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    static final AttributeDefinition COMPLETION_TIME_MAX = new SimpleAttributeDefinitionBuilder(CommonAttributes.COMPLETION_TIME_MAX, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    static final AttributeDefinition COMPLETION_TIME_HISTOGRAM = new PrimitiveListAttributeDefinition.Builder(CommonAttributes.COMPLETION_TIME_HISTOGRAM, ModelType.LONG)
+            .setAllowNull(true).build();
+    static final AttributeDefinition RESOURCE_LATENCIES = new SimpleAttributeDefinitionBuilder(CommonAttributes.RESOURCE_LATENCIES, ModelType.OBJECT, true)
+            .build();
+
+    static final List<AttributeDefinition> METRICS = Arrays.asList(TRANSACTION_TIME_AVERAGE, TRANSACTION_TIME_MAX,
+            TRANSACTION_TIME_HISTOGRAM, COMPLETION_TIME_AVERAGE, COMPLETION_TIME_MAX, COMPLETION_TIME_HISTOGRAM,
+            RESOURCE_LATENCIES);
+
+    static final String PREPARE_TIME = "prepare-time";
+    static final String COMMIT_TIME = "commit-time";
+    static final String ROLLBACK_TIME = "rollback-time";
+    static final String COUNT = "count";
+    static final String AVERAGE = "average";
+    static final String MAX = "max";
+    static final String HISTOGRAM = "histogram";
+    static final String FAILURES = "failures";
+
+    public static final TxLatencyStatsHandler INSTANCE = new TxLatencyStatsHandler();
+
+    private TxLatencyStatsHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(TxnServices.JBOSS_TXN_LATENCY_STATISTICS);
+        final TransactionLatencyStatistics statistics = controller == null || controller.getState() != ServiceController.State.UP ? null : (TransactionLatencyStatistics) controller.getValue();
+        if (statistics != null && statistics.isEnabled()) {
+            final TransactionLatencyStatistics.TransactionLatencies all = statistics.getAll();
+            final ModelNode result = context.getResult();
+            if (CommonAttributes.TRANSACTION_TIME_AVERAGE.equals(name)) {
+                result.set(all.getTransactionTime().getAverage());
+            } else if (CommonAttributes.TRANSACTION_TIME_MAX.equals(name)) {
+                result.set(all.getTransactionTime().getMax());
+            } else if (CommonAttributes.TRANSACTION_TIME_HISTOGRAM.equals(name)) {
+                setHistogram(result, all.getTransactionTime());
+            } else if (CommonAttributes.COMPLETION_TIME_AVERAGE.equals(name)) {
+                result.set(all.getCompletionTime().getAverage());
+            } else if (CommonAttributes.COMPLETION_TIME_MAX.equals(name)) {
+                result.set(all.getCompletionTime().getMax());
+            } else if (CommonAttributes.COMPLETION_TIME_HISTOGRAM.equals(name)) {
+                setHistogram(result, all.getCompletionTime());
+            } else if (CommonAttributes.RESOURCE_LATENCIES.equals(name)) {
+                result.setEmptyObject();
+                for (Map.Entry<String, TransactionLatencyStatistics.ResourceLatencies> entry : statistics.getResources().entrySet()) {
+                    final TransactionLatencyStatistics.ResourceLatencies latencies = entry.getValue();
+                    final ModelNode resource = result.get(entry.getKey());
+                    setLatencies(resource.get(PREPARE_TIME), latencies.getPrepareTime());
+                    setLatencies(resource.get(COMMIT_TIME), latencies.getCommitTime());
+                    setLatencies(resource.get(ROLLBACK_TIME), latencies.getRollbackTime());
+                    resource.get(FAILURES).set(latencies.getFailures());
+                }
+            } else {
+                context.getFailureDescription().set(MESSAGES.unknownMetric(name));
+            }
+        }
+        context.stepCompleted();
+    }
+
+    private static void setLatencies(final ModelNode node, final LatencyHistogram histogram) {
+        node.get(COUNT).set(histogram.getCount());
+        node.get(AVERAGE).set(histogram.getAverage());
+        node.get(MAX).set(histogram.getMax());
+        setHistogram(node.get(HISTOGRAM), histogram);
+    }
+
+    private static void setHistogram(final ModelNode node, final LatencyHistogram histogram) {
+        node.setEmptyList();
+        for (long count : histogram.getBuckets()) {
+            node.add(count);
+        }
+    }
+
+    void registerMetrics(final ManagementResourceRegistration resourceRegistration) {
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, this);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.txn.service;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the recording of the {@link TransactionLatencyStatistics}.
+ */
+public class TransactionLatencyStatisticsTestCase {
+
+    private final Map<Object, Object> resources = new HashMap<Object, Object>();
+    private Synchronization synchronization;
+    private TransactionLatencyStatistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = new TransactionLatencyStatistics();
+        statistics.enable((TransactionSynchronizationRegistry) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {TransactionSynchronizationRegistry.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                switch (method.getName()) {
+                    case "putResource":
+                        resources.put(args[0], args[1]);
+                        return null;
+                    case "getResource":
+                        return resources.get(args[0]);
+                    case "registerInterposedSynchronization":
+                        synchronization = (Synchronization) args[0];
+                        return null;
+                    default:
+                        return null;
+                }
+            }
+        }));
+    }
+
+    @Test
+    public void testTransactionTimes() {
+        statistics.begin();
+        Assert.assertNotNull(synchronization);
+        synchronization.beforeCompletion();
+        synchronization.afterCompletion(Status.STATUS_COMMITTED);
+
+        // rolled back without completion
+        statistics.begin();
+        synchronization.afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        final TransactionLatencyStatistics.TransactionLatencies all = statistics.getAll();
+        Assert.assertEquals(1, all.getCommitted());
+        Assert.assertEquals(1, all.getRolledBack());
+        Assert.assertEquals(2, all.getTransactionTime().getCount());
+        Assert.assertEquals(1, all.getCompletionTime().getCount());
+    }
+
+    @Test
+    public void testParticipantTimes() throws Exception {
+        final XAResource slow = statistics.wrap(new SlowResource());
+        final XAResource fast = statistics.wrap(new TestResource());
+        final Xid xid = null;
+        Assert.assertEquals(XAResource.XA_OK, slow.prepare(xid));
+        Assert.assertEquals(XAResource.XA_OK, fast.prepare(xid));
+        slow.commit(xid, false);
+        fast.rollback(xid);
+        fast.end(xid, XAResource.TMSUCCESS);
+
+        final TransactionLatencyStatistics.ResourceLatencies slowLatencies = statistics.getResources().get(SlowResource.class.getName());
+        final TransactionLatencyStatistics.ResourceLatencies fastLatencies = statistics.getResources().get(TestResource.class.getName());
+        Assert.assertEquals(1, slowLatencies.getPrepareTime().getCount());
+        Assert.assertEquals(1, slowLatencies.getCommitTime().getCount());
+        Assert.assertEquals(0, slowLatencies.getRollbackTime().getCount());
+        Assert.assertTrue(slowLatencies.getPrepareTime().getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+        Assert.assertEquals(1, fastLatencies.getPrepareTime().getCount());
+        Assert.assertEquals(0, fastLatencies.getCommitTime().getCount());
+        Assert.assertEquals(1, fastLatencies.getRollbackTime().getCount());
+        Assert.assertTrue(fastLatencies.getPrepareTime().getMax() < slowLatencies.getPrepareTime().getMax());
+    }
+
+    @Test
+    public void testFailure() {
+        final XAResource resource = statistics.wrap(new FailingResource());
+        try {
+            resource.commit(null, true);
+            Assert.fail("commit should have failed");
+        } catch (XAException e) {
+            Assert.assertEquals(XAException.XA_RBROLLBACK, e.errorCode);
+        }
+        final TransactionLatencyStatistics.ResourceLatencies latencies = statistics.getResources().get(FailingResource.class.getName());
+        Assert.assertEquals(1, latencies.getCommitTime().getCount());
+        Assert.assertEquals(1, latencies.getFailures());
+    }
+
+    @Test
+    public void testWrapper() throws Exception {
+        final TestResource resource = new TestResource();
+        final XAResource wrapped = statistics.wrap(resource);
+        Assert.assertNotSame(resource, wrapped);
+        Assert.assertTrue(wrapped instanceof Marker);
+        Assert.assertFalse(wrapped instanceof Serializable);
+        Assert.assertSame(wrapped, statistics.wrap(wrapped));
+        Assert.assertTrue(wrapped.isSameRM(statistics.wrap(resource)));
+        Assert.assertEquals(wrapped, statistics.wrap(resource));
+        Assert.assertEquals(resource.hashCode(), wrapped.hashCode());
+
+        statistics.disable();
+        Assert.assertSame(resource, statistics.wrap(resource));
+        // calls are no longer recorded
+        wrapped.prepare(null);
+        Assert.assertEquals(0, statistics.getResources().get(TestResource.class.getName()).getPrepareTime().getCount());
+    }
+
+    public interface Marker {
+    }
+
+    static class TestResource implements XAResource, Marker, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void commit(Xid xid, boolean onePhase) throws XAException {
+        }
+
+        @Override
+        public void end(Xid xid, int flags) throws XAException {
+        }
+
+        @Override
+        public void forget(Xid xid) throws XAException {
+        }
+
+        @Override
+        public int getTransactionTimeout() throws XAException {
+            return 0;
+        }
+
+        @Override
+        public boolean isSameRM(XAResource resource) throws XAException {
+            return resource == this;
+        }
+
+        @Override
+        public int prepare(Xid xid) throws XAException {
+            return XA_OK;
+        }
+
+        @Override
+        public Xid[] recover(int flag) throws XAException {
+            return new Xid[0];
+        }
+
+        @Override
+        public void rollback(Xid xid) throws XAException {
+        }
+
+        @Override
+        public boolean setTransactionTimeout(int seconds) throws XAException {
+            return false;
+        }
+
+        @Override
+        public void start(Xid xid, int flags) throws XAException {
+        }
+    }
+
+    static class SlowResource extends TestResource {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int prepare(Xid xid) throws XAException {
+            try {
+                Thread.sleep(25);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return XA_OK;
+        }
+    }
+
+    static class FailingResource extends TestResource {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void commit(Xid xid, boolean onePhase) throws XAException {
+            throw new XAException(XAException.XA_RBROLLBACK);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.txn.subsystem;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.arjuna.ats.arjuna.common.Uid;
+import com.arjuna.ats.arjuna.common.UidHelper;
+import com.arjuna.ats.arjuna.objectstore.RecoveryStore;
+import com.arjuna.ats.arjuna.state.InputObjectState;
+import com.arjuna.ats.arjuna.state.OutputObjectState;
+
+/**
+ * Tests the paging, counting and filtering of {@link LogStoreBrowseHandler} against an in memory store.
+ */
+public class LogStoreBrowseHandlerTestCase {
+
+    private static final String ATOMIC_ACTION = "/StateManager/BasicAction/TwoPhaseCoordinator/AtomicAction";
+    private static final String SUBORDINATE = "/StateManager/BasicAction/TwoPhaseCoordinator/AtomicAction/SubordinateAtomicAction";
+    private static final String RECORD = "/CosTransactions/XAResourceRecord";
+
+    private static final long NOW = 0x60000000L;
+
+    private final Map<String, List<Uid>> records = new LinkedHashMap<String, List<Uid>>();
+    private RecoveryStore store;
+
+    @Before
+    public void setUp() {
+        add(ATOMIC_ACTION, 100, 1);
+        add(ATOMIC_ACTION, 10, 2);
+        add(ATOMIC_ACTION, 5, 3);
+        add(SUBORDINATE, 200, 4);
+        add(RECORD, 1000, 5);
+        store = (RecoveryStore) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {RecoveryStore.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        final OutputObjectState state = new OutputObjectState();
+                        if (method.getName().equals("allTypes")) {
+                            for (String type : records.keySet()) {
+                                state.packString(type);
+                            }
+                            state.packString("");
+                            ((InputObjectState) args[0]).setBuffer(state.buffer());
+                            return true;
+                        } else if (method.getName().equals("allObjUids") && args.length == 2) {
+                            final List<Uid> uids = records.get((String) args[0]);
+                            if (uids == null) {
+                                return false;
+                            }
+                            for (Uid uid : uids) {
+                                UidHelper.packInto(uid, state);
+                            }
+                            UidHelper.packInto(Uid.nullUid(), state);
+                            ((InputObjectState) args[1]).setBuffer(state.buffer());
+                            return true;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private void add(final String type, final long ageInSeconds, final int counter) {
+        List<Uid> uids = records.get(type);
+        if (uids == null) {
+            uids = new ArrayList<Uid>();
+            records.put(type, uids);
+        }
+        uids.add(uid(NOW - ageInSeconds, counter));
+    }
+
+    private static Uid uid(final long created, final int counter) {
+        return new Uid("0:7f000001:1a2b:" + Long.toHexString(created) + ":" + Integer.toHexString(counter));
+    }
+
+    private ModelNode browse(final ModelNode type, final ModelNode minAge, final int offset, final int maxResults) throws Exception {
+        final ModelNode result = new ModelNode();
+        LogStoreBrowseHandler.browse(store, type, minAge, offset, maxResults, NOW, result);
+        return result;
+    }
+
+    @Test
+    public void testCounts() throws Exception {
+        final ModelNode result = browse(new ModelNode(), new ModelNode(), 0, 100);
+        Assert.assertEquals(5, result.get(LogStoreBrowseHandler.TOTAL).asInt());
+        final ModelNode counts = result.get(LogStoreBrowseHandler.COUNTS);
+        Assert.assertEquals(3, counts.get(ATOMIC_ACTION).asInt());
+        Assert.assertEquals(1, counts.get(SUBORDINATE).asInt());
+        Assert.assertEquals(1, counts.get(RECORD).asInt());
+        Assert.assertEquals(5, result.get(LogStoreConstants.TRANSACTIONS).asList().size());
+    }
+
+    @Test
+    public void testPaging() throws Exception {
+        final ModelNode result = browse(new ModelNode(), new ModelNode(), 2, 2);
+        // the total and counts cover all records, not only the page
+        Assert.assertEquals(5, result.get(LogStoreBrowseHandler.TOTAL).asInt());
+        Assert.assertEquals(3, result.get(LogStoreBrowseHandler.COUNTS).get(ATOMIC_ACTION).asInt());
+
+        final List<ModelNode> page = result.get(LogStoreConstants.TRANSACTIONS).asList();
+        Assert.assertEquals(2, page.size());
+        Assert.assertEquals(records.get(ATOMIC_ACTION).get(2).stringForm(), page.get(0).get(LogStoreConstants.TRANSACTION_ID.getName()).asString());
+        Assert.assertEquals(ATOMIC_ACTION, page.get(0).get(LogStoreConstants.RECORD_TYPE.getName()).asString());
+        Assert.assertEquals(5, page.get(0).get(LogStoreConstants.TRANSACTION_AGE.getName()).asLong());
+        Assert.assertEquals(records.get(SUBORDINATE).get(0).stringForm(), page.get(1).get(LogStoreConstants.TRANSACTION_ID.getName()).asString());
+
+        Assert.assertTrue(browse(new ModelNode(), new ModelNode(), 5, 2).get(LogStoreConstants.TRANSACTIONS).asList().isEmpty());
+        Assert.assertTrue(browse(new ModelNode(), new ModelNode(), 0, 0).get(LogStoreConstants.TRANSACTIONS).asList().isEmpty());
+    }
+
+    @Test
+    public void testTypeFilter() throws Exception {
+        // the filter matches every type that contains it
+        ModelNode result = browse(new ModelNode("AtomicAction"), new ModelNode(), 0, 100);
+        Assert.assertEquals(4, result.get(LogStoreBrowseHandler.TOTAL).asInt());
+        Assert.assertFalse(result.get(LogStoreBrowseHandler.COUNTS).has(RECORD));
+
+        result = browse(new ModelNode("XAResourceRecord"), new ModelNode(), 0, 100);
+        Assert.assertEquals(1, result.get(LogStoreBrowseHandler.TOTAL).asInt());
+        Assert.assertEquals(RECORD, result.get(LogStoreConstants.TRANSACTIONS).get(0).get(LogStoreConstants.RECORD_TYPE.getName()).asString());
+
+        result = browse(new ModelNode("Unknown"), new ModelNode(), 0, 100);
+        Assert.assertEquals(0, result.get(LogStoreBrowseHandler.TOTAL).asInt());
+        Assert.assertTrue(result.get(LogStoreBrowseHandler.COUNTS).keys().isEmpty());
+    }
+
+    @Test
+    public void testMinAge() throws Exception {
+        final ModelNode result = browse(new ModelNode(), new ModelNode(100), 0, 100);
+        Assert.assertEquals(3, result.get(LogStoreBrowseHandler.TOTAL).asInt());
+        Assert.assertEquals(1, result.get(LogStoreBrowseHandler.COUNTS).get(ATOMIC_ACTION).asInt());
+        for (ModelNode transaction : result.get(LogStoreConstants.TRANSACTIONS).asList()) {
+            Assert.assertTrue(transaction.get(LogStoreConstants.TRANSACTION_AGE.getName()).asLong() >= 100);
+        }
+    }
+
+    @Test
+    public void testAgeInSeconds() {
+        Assert.assertEquals(100, LogStoreBrowseHandler.ageInSeconds("0:7f000001:1a2b:" + Long.toHexString(NOW - 100) + ":1", NOW));
+        // a clock set back must not give a negative age
+        Assert.assertEquals(0, LogStoreBrowseHandler.ageInSeconds("0:7f000001:1a2b:" + Long.toHexString(NOW + 100) + ":1", NOW));
+        // the seconds are a signed int, so times after 2038 are written with a minus sign
+        Assert.assertEquals(16, LogStoreBrowseHandler.ageInSeconds("0:7f000001:1a2b:-80000000:1", 0x80000010L));
+        Assert.assertEquals(-1, LogStoreBrowseHandler.ageInSeconds("0:7f000001:1a2b:1", NOW));
+        Assert.assertEquals(-1, LogStoreBrowseHandler.ageInSeconds("0:7f000001:1a2b:xyz:1", NOW));
+    }
+}
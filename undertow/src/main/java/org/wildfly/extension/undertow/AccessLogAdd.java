@@ -58,9 +58,13 @@ class AccessLogAdd extends AbstractAddStepHandler {
         final String pattern = AccessLogDefinition.PATTERN.resolveModelAttribute(context, model).asString();
         final String directory = AccessLogDefinition.DIRECTORY.resolveModelAttribute(context, model).asString();
         final String filePrefix = AccessLogDefinition.PREFIX.resolveModelAttribute(context, model).asString();
+        final boolean rotate = AccessLogDefinition.ROTATE.resolveModelAttribute(context, model).asBoolean();
+        final ModelNode maxFileSizeModel = AccessLogDefinition.MAX_FILE_SIZE.resolveModelAttribute(context, model);
+        final long maxFileSize = maxFileSizeModel.isDefined() ? maxFileSizeModel.asLong() : -1L;
+        final int queueSize = AccessLogDefinition.QUEUE_SIZE.resolveModelAttribute(context, model).asInt();
 
 
-        final AccessLogService service = new AccessLogService(pattern, new File(directory), filePrefix);
+        final AccessLogService service = new AccessLogService(pattern, new File(directory), filePrefix, rotate, maxFileSize, queueSize);
         final String serverName = serverAddress.getLastElement().getValue();
         final String hostName = hostAddress.getLastElement().getValue();
 
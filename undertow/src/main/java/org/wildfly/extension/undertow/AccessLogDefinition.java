@@ -4,7 +4,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
@@ -12,11 +16,17 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.access.constraint.SensitivityClassification;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.ValueExpression;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * @author Tomaz Cerar (c) 2013 Red Hat Inc.
@@ -49,14 +59,34 @@ public class AccessLogDefinition extends PersistentResourceDefinition {
             .setDefaultValue(new ModelNode(new ValueExpression("${jboss.server.log.dir}")))
             .setAllowExpression(true)
             .build();
+    protected static final SimpleAttributeDefinition MAX_FILE_SIZE = new SimpleAttributeDefinitionBuilder(Constants.MAX_FILE_SIZE, ModelType.LONG, true)
+            .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setAllowExpression(true)
+            .build();
+    protected static final SimpleAttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(Constants.QUEUE_SIZE, ModelType.INT, true)
+            .setDefaultValue(new ModelNode(10000))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .build();
     static final Collection<SimpleAttributeDefinition> ATTRIBUTES = Arrays.asList(
             // IMPORTANT -- keep these in xsd order as this order controls marshalling
             WORKER,
             PATTERN,
             PREFIX,
             ROTATE,
-            DIRECTORY
+            DIRECTORY,
+            MAX_FILE_SIZE,
+            QUEUE_SIZE
     );
+
+    static final AttributeDefinition DROPPED_ENTRIES = new SimpleAttributeDefinitionBuilder(Constants.DROPPED_ENTRIES, ModelType.LONG, false)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder(Constants.QUEUE_DEPTH, ModelType.INT, false)
+            .setStorageRuntime()
+            .build();
+
     static final AccessLogDefinition INSTANCE = new AccessLogDefinition();
     private final List<AccessConstraintDefinition> accessConstraints;
 
@@ -72,9 +102,44 @@ public class AccessLogDefinition extends PersistentResourceDefinition {
         return accessConstraints;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        resourceRegistration.registerMetric(DROPPED_ENTRIES, AccessLogMetricsHandler.INSTANCE);
+        resourceRegistration.registerMetric(QUEUE_DEPTH, AccessLogMetricsHandler.INSTANCE);
+    }
+
     @Override
     public Collection<AttributeDefinition> getAttributes() {
         //noinspection unchecked
         return (Collection) ATTRIBUTES;
     }
+
+    static class AccessLogMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+        static final AccessLogMetricsHandler INSTANCE = new AccessLogMetricsHandler();
+
+        private AccessLogMetricsHandler() {
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+            final String host = address.getElement(address.size() - 2).getValue();
+            final String server = address.getElement(address.size() - 3).getValue();
+            final ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.accessLogServiceName(server, host));
+            if (controller != null && controller.getState() == ServiceController.State.UP) {
+                final AccessLogService service = (AccessLogService) controller.getValue();
+                final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+                if (Constants.DROPPED_ENTRIES.equals(name)) {
+                    context.getResult().set(service.getDroppedEntries());
+                } else if (Constants.QUEUE_DEPTH.equals(name)) {
+                    context.getResult().set(service.getQueueDepth());
+                } else {
+                    context.getFailureDescription().set(UndertowMessages.MESSAGES.unknownMetric(name));
+                }
+            }
+            context.stepCompleted();
+        }
+    }
 }
@@ -28,8 +28,6 @@ import java.io.File;
 
 import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.accesslog.AccessLogHandler;
-import io.undertow.server.handlers.accesslog.AccessLogReceiver;
-import io.undertow.server.handlers.accesslog.DefaultAccessLogReceiver;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
@@ -45,12 +43,18 @@ class AccessLogService implements Service<AccessLogService> {
     private final String pattern;
     private final File directory;
     private final String filePrefix;
-    private volatile AccessLogReceiver logReceiver;
+    private final boolean rotate;
+    private final long maxFileSize;
+    private final int queueSize;
+    private volatile AsyncAccessLogReceiver logReceiver;
 
-    AccessLogService(String pattern, File directory, String filePrefix) {
+    AccessLogService(String pattern, File directory, String filePrefix, boolean rotate, long maxFileSize, int queueSize) {
         this.pattern = pattern;
         this.directory = directory;
         this.filePrefix = filePrefix;
+        this.rotate = rotate;
+        this.maxFileSize = maxFileSize;
+        this.queueSize = queueSize;
     }
 
     @Override
@@ -60,16 +64,15 @@ class AccessLogService implements Service<AccessLogService> {
                 throw UndertowMessages.MESSAGES.couldNotCreateLogDirectory(directory);
             }
         }
-        try {
-            logReceiver = new DefaultAccessLogReceiver(worker.getValue(), directory, filePrefix);
-        } catch (IllegalStateException e) {
-            throw new StartException(e);
-        }
+        logReceiver = new AsyncAccessLogReceiver(worker.getValue(), directory, filePrefix, rotate, maxFileSize, queueSize);
     }
 
     @Override
     public void stop(StopContext context) {
-
+        final AsyncAccessLogReceiver logReceiver = this.logReceiver;
+        if (logReceiver != null) {
+            logReceiver.close();
+        }
     }
 
     @Override
@@ -81,6 +84,16 @@ class AccessLogService implements Service<AccessLogService> {
         return worker;
     }
 
+    long getDroppedEntries() {
+        final AsyncAccessLogReceiver logReceiver = this.logReceiver;
+        return logReceiver == null ? 0L : logReceiver.getDroppedEntries();
+    }
+
+    int getQueueDepth() {
+        final AsyncAccessLogReceiver logReceiver = this.logReceiver;
+        return logReceiver == null ? 0 : logReceiver.getQueueDepth();
+    }
+
     protected AccessLogHandler configureAccessLogHandler(HttpHandler handler) {
         return new AccessLogHandler(handler, logReceiver, pattern, AccessLogHandler.class.getClassLoader());
     }
@@ -0,0 +1,300 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.undertow.server.handlers.accesslog.AccessLogReceiver;
+
+/**
+ * Access log receiver that never blocks the request thread.
+ * <p/>
+ * Messages are put on a bounded, lock free queue and drained by a single write task running on the executor. The
+ * task encodes the messages into a small set of reusable direct buffers and writes them to the log file with one
+ * gathering write per batch. If the disk can not keep up and the queue is full new messages are dropped and counted
+ * rather than slowing down the requests.
+ * <p/>
+ * The file is named and rotated like {@link io.undertow.server.handlers.accesslog.DefaultAccessLogReceiver}, with an
+ * optional size limit on top of the daily rotation.
+ */
+class AsyncAccessLogReceiver implements AccessLogReceiver, Runnable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int BUFFER_COUNT = 4;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final Executor executor;
+    private final File directory;
+    private final String filePrefix;
+    private final File defaultLogFile;
+    private final boolean rotate;
+    private final long maxFileSize;
+    private final int queueCapacity;
+
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicLong droppedEntries = new AtomicLong();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // only accessed by the write task, while holding the monitor of this receiver
+    private final ByteBuffer[] buffers = new ByteBuffer[BUFFER_COUNT];
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private int bufferIndex;
+    private FileChannel channel;
+    private long fileSize;
+    private long nextRotation;
+    private String currentDate;
+    private boolean failed;
+
+    AsyncAccessLogReceiver(final Executor executor, final File directory, final String filePrefix, final boolean rotate,
+                           final long maxFileSize, final int queueCapacity) {
+        this.executor = executor;
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.defaultLogFile = new File(directory, filePrefix + "log");
+        this.rotate = rotate;
+        this.maxFileSize = maxFileSize;
+        this.queueCapacity = queueCapacity;
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            buffers[i] = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+    }
+
+    @Override
+    public void logMessage(final String message) {
+        if (closed) {
+            return;
+        }
+        if (queueSize.incrementAndGet() > queueCapacity) {
+            queueSize.decrementAndGet();
+            droppedEntries.incrementAndGet();
+            return;
+        }
+        queue.add(message);
+        scheduleWrite();
+    }
+
+    private void scheduleWrite() {
+        if (writeScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // the worker is shutting down, write on the calling thread instead
+                run();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            synchronized (this) {
+                if (!closed) {
+                    writeEntries();
+                }
+            }
+        } finally {
+            writeScheduled.set(false);
+        }
+        // pick up anything that was added after the queue was drained
+        if (!closed && !queue.isEmpty()) {
+            scheduleWrite();
+        }
+    }
+
+    /**
+     * Writes all remaining entries and closes the log file. Messages received after this are discarded.
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+            writeEntries();
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    UndertowLogger.ROOT_LOGGER.failedToWriteAccessLog(defaultLogFile, e);
+                }
+                channel = null;
+            }
+        }
+    }
+
+    long getDroppedEntries() {
+        return droppedEntries.get();
+    }
+
+    int getQueueDepth() {
+        return queueSize.get();
+    }
+
+    private void writeEntries() {
+        try {
+            if (channel == null || (rotate && System.currentTimeMillis() >= nextRotation)) {
+                openLogFile();
+            }
+            String message;
+            while ((message = queue.poll()) != null) {
+                queueSize.decrementAndGet();
+                encode(message);
+            }
+            flush();
+            failed = false;
+        } catch (IOException e) {
+            // drop whatever is left of this batch, the next batch will retry
+            for (ByteBuffer buffer : buffers) {
+                buffer.clear();
+            }
+            bufferIndex = 0;
+            if (!failed) {
+                failed = true;
+                UndertowLogger.ROOT_LOGGER.failedToWriteAccessLog(defaultLogFile, e);
+            }
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignore) {
+                }
+                channel = null;
+            }
+        }
+    }
+
+    private void encode(final String message) throws IOException {
+        final CharBuffer chars = CharBuffer.wrap(message);
+        encoder.reset();
+        while (encoder.encode(chars, buffers[bufferIndex], true).isOverflow()) {
+            nextBuffer();
+        }
+        if (buffers[bufferIndex].remaining() < LINE_SEPARATOR.length) {
+            nextBuffer();
+        }
+        buffers[bufferIndex].put(LINE_SEPARATOR);
+    }
+
+    private void nextBuffer() throws IOException {
+        if (++bufferIndex == BUFFER_COUNT) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        final int count = Math.min(bufferIndex + 1, BUFFER_COUNT);
+        long remaining = 0;
+        for (int i = 0; i < count; i++) {
+            buffers[i].flip();
+            remaining += buffers[i].remaining();
+        }
+        try {
+            while (remaining > 0) {
+                final long written = channel.write(buffers, 0, count);
+                remaining -= written;
+                fileSize += written;
+            }
+        } finally {
+            for (int i = 0; i < count; i++) {
+                buffers[i].clear();
+            }
+            bufferIndex = 0;
+        }
+        if (maxFileSize > 0 && fileSize >= maxFileSize) {
+            rotateBySize();
+        }
+    }
+
+    private void openLogFile() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            renameLogFile(new File(directory, filePrefix + currentDate + ".log"));
+        } else if (rotate && defaultLogFile.exists()) {
+            // the existing file may have been written on an earlier day
+            final Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(defaultLogFile.lastModified());
+            if (calendar.getTimeInMillis() < startOfDay(System.currentTimeMillis())) {
+                renameLogFile(new File(directory, filePrefix + format(calendar.getTime()) + ".log"));
+            }
+        }
+        final long now = System.currentTimeMillis();
+        currentDate = format(new Date(now));
+        final Calendar tomorrow = Calendar.getInstance();
+        tomorrow.setTimeInMillis(startOfDay(now));
+        tomorrow.add(Calendar.DAY_OF_MONTH, 1);
+        nextRotation = tomorrow.getTimeInMillis();
+        channel = FileChannel.open(defaultLogFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void rotateBySize() throws IOException {
+        channel.close();
+        channel = null;
+        int index = 1;
+        File target;
+        do {
+            target = new File(directory, filePrefix + currentDate + "-" + index++ + ".log");
+        } while (target.exists());
+        renameLogFile(target);
+        channel = FileChannel.open(defaultLogFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = 0;
+    }
+
+    private void renameLogFile(final File target) {
+        if (!target.exists() && !defaultLogFile.renameTo(target)) {
+            UndertowLogger.ROOT_LOGGER.failedToRotateAccessLog(defaultLogFile, target);
+        }
+    }
+
+    private static long startOfDay(final long time) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private static String format(final Date date) {
+        return new SimpleDateFormat("yyyy-MM-dd").format(date);
+    }
+}
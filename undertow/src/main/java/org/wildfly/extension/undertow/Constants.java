@@ -57,6 +57,10 @@ public interface Constants {
     String PATTERN = "pattern";
     String PREFIX = "prefix";
     String ROTATE = "rotate";
+    String MAX_FILE_SIZE = "max-file-size";
+    String QUEUE_SIZE = "queue-size";
+    String DROPPED_ENTRIES = "dropped-entries";
+    String QUEUE_DEPTH = "queue-depth";
     //String CLASS = "class";
     String DEFAULT_HOST = "default-host";
     String DEFAULT_VIRTUAL_HOST = "default-virtual-host";
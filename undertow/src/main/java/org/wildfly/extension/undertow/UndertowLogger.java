@@ -28,6 +28,7 @@ import static org.jboss.logging.Logger.Level.TRACE;
 import static org.jboss.logging.Logger.Level.WARN;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.InetSocketAddress;
 
 import io.undertow.server.HttpHandler;
@@ -170,4 +171,12 @@ public interface UndertowLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 17538, value = "Failed to register policy context handler for key %s")
     void failedToRegisterPolicyContextHandler(String key, @Cause Exception e);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 17539, value = "Failed to write access log %s")
+    void failedToWriteAccessLog(File file, @Cause IOException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 17540, value = "Failed to rotate access log %s to %s")
+    void failedToRotateAccessLog(File file, File target);
 }
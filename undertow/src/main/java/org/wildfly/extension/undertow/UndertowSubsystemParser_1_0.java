@@ -93,7 +93,8 @@ public class UndertowSubsystemParser_1_0 implements XMLStreamConstants, XMLEleme
                                                         )
                                         ).addChild(
                                         builder(AccessLogDefinition.INSTANCE)
-                                                .addAttributes(AccessLogDefinition.PATTERN, AccessLogDefinition.DIRECTORY, AccessLogDefinition.PREFIX, AccessLogDefinition.WORKER, AccessLogDefinition.ROTATE)
+                                                .addAttributes(AccessLogDefinition.PATTERN, AccessLogDefinition.DIRECTORY, AccessLogDefinition.PREFIX, AccessLogDefinition.WORKER, AccessLogDefinition.ROTATE,
+                                                        AccessLogDefinition.MAX_FILE_SIZE, AccessLogDefinition.QUEUE_SIZE)
                                         ).addChild(
                                         builder(FilterRefDefinition.INSTANCE)
                                 )
@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link AsyncAccessLogReceiver}.
+ */
+public class AsyncAccessLogReceiverTestCase {
+
+    private static final String PREFIX = "access.";
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final Executor deferred = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+    };
+    private File directory;
+
+    @Before
+    public void setUp() {
+        directory = new File("target", "async-access-log-test");
+        delete(directory);
+        directory.mkdirs();
+    }
+
+    @After
+    public void tearDown() {
+        delete(directory);
+    }
+
+    @Test
+    public void testEntriesDroppedWhenQueueIsFull() throws Exception {
+        final AsyncAccessLogReceiver receiver = new AsyncAccessLogReceiver(deferred, directory, PREFIX, false, 0, 2);
+        for (int i = 0; i < 5; i++) {
+            receiver.logMessage("entry" + i);
+        }
+        Assert.assertEquals(2, receiver.getQueueDepth());
+        Assert.assertEquals(3, receiver.getDroppedEntries());
+        // a single write task is scheduled for the whole batch
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.remove(0).run();
+        Assert.assertEquals(0, receiver.getQueueDepth());
+        Assert.assertEquals(Arrays.asList("entry0", "entry1"), read(new File(directory, PREFIX + "log")));
+
+        // there is room again once the queue was drained
+        receiver.logMessage("entry5");
+        tasks.remove(0).run();
+        Assert.assertEquals(3, receiver.getDroppedEntries());
+        Assert.assertEquals(Arrays.asList("entry0", "entry1", "entry5"), read(new File(directory, PREFIX + "log")));
+        receiver.close();
+    }
+
+    @Test
+    public void testFlushOnClose() throws Exception {
+        final AsyncAccessLogReceiver receiver = new AsyncAccessLogReceiver(deferred, directory, PREFIX, false, 0, 100);
+        receiver.logMessage("first");
+        receiver.logMessage("second");
+        final File logFile = new File(directory, PREFIX + "log");
+        Assert.assertFalse(logFile.exists());
+
+        receiver.close();
+        Assert.assertEquals(Arrays.asList("first", "second"), read(logFile));
+
+        // discarded once closed, and the pending write task does nothing
+        receiver.logMessage("third");
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        Assert.assertEquals(Arrays.asList("first", "second"), read(logFile));
+    }
+
+    @Test
+    public void testSizeRotation() throws Exception {
+        final AsyncAccessLogReceiver receiver = new AsyncAccessLogReceiver(DIRECT, directory, PREFIX, true, 10, 100);
+        receiver.logMessage("0123456789");
+        receiver.logMessage("abcdefghij");
+        receiver.logMessage("short");
+        receiver.close();
+
+        final String today = format(new Date());
+        Assert.assertEquals(Arrays.asList("0123456789"), read(new File(directory, PREFIX + today + "-1.log")));
+        Assert.assertEquals(Arrays.asList("abcdefghij"), read(new File(directory, PREFIX + today + "-2.log")));
+        Assert.assertEquals(Arrays.asList("short"), read(new File(directory, PREFIX + "log")));
+    }
+
+    @Test
+    public void testDailyRotation() throws Exception {
+        final File logFile = new File(directory, PREFIX + "log");
+        Files.write(logFile.toPath(), Arrays.asList("yesterday"), StandardCharsets.UTF_8);
+        final long yesterday = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+        Assert.assertTrue(logFile.setLastModified(yesterday));
+
+        final AsyncAccessLogReceiver receiver = new AsyncAccessLogReceiver(DIRECT, directory, PREFIX, true, 0, 100);
+        receiver.logMessage("today");
+        receiver.close();
+
+        Assert.assertEquals(Arrays.asList("yesterday"), read(new File(directory, PREFIX + format(new Date(yesterday)) + ".log")));
+        Assert.assertEquals(Arrays.asList("today"), read(logFile));
+    }
+
+    @Test
+    public void testNoDailyRotationWhenDisabled() throws Exception {
+        final File logFile = new File(directory, PREFIX + "log");
+        Files.write(logFile.toPath(), Arrays.asList("yesterday"), StandardCharsets.UTF_8);
+        Assert.assertTrue(logFile.setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)));
+
+        final AsyncAccessLogReceiver receiver = new AsyncAccessLogReceiver(DIRECT, directory, PREFIX, false, 0, 100);
+        receiver.logMessage("today");
+        receiver.close();
+
+        Assert.assertEquals(Arrays.asList("yesterday", "today"), read(logFile));
+        Assert.assertEquals(1, directory.list().length);
+    }
+
+    private static List<String> read(File file) throws IOException {
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private static String format(Date date) {
+        return new SimpleDateFormat("yyyy-MM-dd").format(date);
+    }
+
+    private static void delete(File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
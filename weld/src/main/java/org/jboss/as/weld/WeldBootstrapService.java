@@ -42,6 +42,7 @@ import org.jboss.weld.bootstrap.WeldBootstrap;
 import org.jboss.weld.bootstrap.api.Environment;
 import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.security.spi.SecurityServices;
 import org.jboss.weld.transaction.spi.TransactionServices;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -66,6 +67,7 @@ public class WeldBootstrapService implements Service<WeldBootstrapService> {
 
     private final InjectedValue<WeldSecurityServices> securityServices = new InjectedValue<WeldSecurityServices>();
     private final InjectedValue<WeldTransactionServices> weldTransactionServices = new InjectedValue<WeldTransactionServices>();
+    private final InjectedValue<ExecutorServices> executorServices = new InjectedValue<ExecutorServices>();
 
     private volatile boolean started;
 
@@ -104,6 +106,7 @@ public class WeldBootstrapService implements Service<WeldBootstrapService> {
         // set up injected services
         addWeldService(SecurityServices.class, securityServices.getValue());
         addWeldService(TransactionServices.class, weldTransactionServices.getValue());
+        addWeldService(ExecutorServices.class, executorServices.getValue());
 
         ModuleGroupSingletonProvider.addClassLoaders(deployment.getModule().getClassLoader(),
                 deployment.getSubDeploymentClassLoaders());
@@ -205,4 +208,8 @@ public class WeldBootstrapService implements Service<WeldBootstrapService> {
     public InjectedValue<WeldTransactionServices> getWeldTransactionServices() {
         return weldTransactionServices;
     }
+
+    public InjectedValue<ExecutorServices> getExecutorServices() {
+        return executorServices;
+    }
 }
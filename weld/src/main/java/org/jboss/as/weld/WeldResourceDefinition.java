@@ -26,6 +26,7 @@ import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -42,6 +43,7 @@ class WeldResourceDefinition extends SimpleResourceDefinition {
 
     static final String REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE_NAME = "require-bean-descriptor";
     static final String NON_PORTABLE_MODE_ATTRIBUTE_NAME = "non-portable-mode";
+    static final String THREAD_POOL_SIZE_ATTRIBUTE_NAME = "thread-pool-size";
 
     static final SimpleAttributeDefinition REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE =
             new SimpleAttributeDefinitionBuilder(REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE_NAME, ModelType.BOOLEAN, true)
@@ -55,6 +57,12 @@ class WeldResourceDefinition extends SimpleResourceDefinition {
             .setDefaultValue(new ModelNode(false))
             .build();
 
+    static final SimpleAttributeDefinition THREAD_POOL_SIZE_ATTRIBUTE =
+            new SimpleAttributeDefinitionBuilder(THREAD_POOL_SIZE_ATTRIBUTE_NAME, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .build();
+
     private WeldResourceDefinition() {
         super(
                 WeldExtension.PATH_SUBSYSTEM,
@@ -68,5 +76,6 @@ class WeldResourceDefinition extends SimpleResourceDefinition {
         super.registerAttributes(resourceRegistration);
         resourceRegistration.registerReadWriteAttribute(REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE, null, new ReloadRequiredWriteAttributeHandler(REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE));
         resourceRegistration.registerReadWriteAttribute(NON_PORTABLE_MODE_ATTRIBUTE, null, new ReloadRequiredWriteAttributeHandler(NON_PORTABLE_MODE_ATTRIBUTE));
+        resourceRegistration.registerReadWriteAttribute(THREAD_POOL_SIZE_ATTRIBUTE, null, new ReloadRequiredWriteAttributeHandler(THREAD_POOL_SIZE_ATTRIBUTE));
     }
 }
@@ -26,6 +26,8 @@ import static org.jboss.as.weld.WeldResourceDefinition.NON_PORTABLE_MODE_ATTRIBU
 import static org.jboss.as.weld.WeldResourceDefinition.NON_PORTABLE_MODE_ATTRIBUTE_NAME;
 import static org.jboss.as.weld.WeldResourceDefinition.REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE;
 import static org.jboss.as.weld.WeldResourceDefinition.REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE_NAME;
+import static org.jboss.as.weld.WeldResourceDefinition.THREAD_POOL_SIZE_ATTRIBUTE;
+import static org.jboss.as.weld.WeldResourceDefinition.THREAD_POOL_SIZE_ATTRIBUTE_NAME;
 
 import java.util.List;
 
@@ -61,6 +63,10 @@ class WeldSubsystem20Parser implements XMLElementReader<List<ModelNode>> {
                     NON_PORTABLE_MODE_ATTRIBUTE.parseAndSetParameter(value, addOperation, reader);
                     break;
                 }
+                case THREAD_POOL_SIZE_ATTRIBUTE_NAME: {
+                    THREAD_POOL_SIZE_ATTRIBUTE.parseAndSetParameter(value, addOperation, reader);
+                    break;
+                }
                 default: {
                     throw ParseUtils.unexpectedAttribute(reader, i);
                 }
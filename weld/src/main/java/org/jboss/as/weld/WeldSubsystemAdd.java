@@ -49,6 +49,7 @@ import org.jboss.as.weld.deployment.processors.WeldDeploymentProcessor;
 import org.jboss.as.weld.deployment.processors.WeldImplicitDeploymentProcessor;
 import org.jboss.as.weld.deployment.processors.WeldPortableExtensionProcessor;
 import org.jboss.as.weld.services.TCCLSingletonService;
+import org.jboss.as.weld.services.WeldExecutorServices;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceController.Mode;
@@ -67,6 +68,7 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
     protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
         WeldResourceDefinition.REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE.validateAndSet(operation, model);
         WeldResourceDefinition.NON_PORTABLE_MODE_ATTRIBUTE.validateAndSet(operation, model);
+        WeldResourceDefinition.THREAD_POOL_SIZE_ATTRIBUTE.validateAndSet(operation, model);
     }
 
     @Override
@@ -74,6 +76,7 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
         final boolean requireBeanDescriptor = REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
         final boolean nonPortableMode = WeldResourceDefinition.NON_PORTABLE_MODE_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
+        final ModelNode threadPoolSize = WeldResourceDefinition.THREAD_POOL_SIZE_ATTRIBUTE.resolveModelAttribute(context, model);
 
         context.addStep(new AbstractDeploymentChainStep() {
             @Override
@@ -99,6 +102,10 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
         TCCLSingletonService singleton = new TCCLSingletonService();
         newControllers.add(context.getServiceTarget().addService(TCCLSingletonService.SERVICE_NAME, singleton).setInitialMode(
                 Mode.ON_DEMAND).install());
+
+        WeldExecutorServices executorServices = new WeldExecutorServices(threadPoolSize.isDefined() ? threadPoolSize.asInt() : WeldExecutorServices.DEFAULT_BOUND);
+        newControllers.add(context.getServiceTarget().addService(WeldExecutorServices.SERVICE_NAME, executorServices).setInitialMode(
+                Mode.ON_DEMAND).install());
     }
 
     @Override
@@ -23,6 +23,7 @@ package org.jboss.as.weld;
 
 import static org.jboss.as.weld.WeldResourceDefinition.NON_PORTABLE_MODE_ATTRIBUTE;
 import static org.jboss.as.weld.WeldResourceDefinition.REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE;
+import static org.jboss.as.weld.WeldResourceDefinition.THREAD_POOL_SIZE_ATTRIBUTE;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -48,6 +49,7 @@ class WeldSubsystemPersister implements XMLElementWriter<SubsystemMarshallingCon
         context.startSubsystemElement(WeldSubsystem20Parser.NAMESPACE, false);
         REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE.marshallAsAttribute(context.getModelNode(), streamWriter);
         NON_PORTABLE_MODE_ATTRIBUTE.marshallAsAttribute(context.getModelNode(), streamWriter);
+        THREAD_POOL_SIZE_ATTRIBUTE.marshallAsAttribute(context.getModelNode(), streamWriter);
         streamWriter.writeEndElement();
     }
 }
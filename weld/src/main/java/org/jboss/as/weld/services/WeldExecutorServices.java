@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2014, Red Hat Inc., and individual contributors as indicated
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.weld.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.server.Services;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.weld.executor.AbstractExecutorServices;
+import org.jboss.weld.manager.api.ExecutorServices;
+
+/**
+ * Weld {@link ExecutorServices} backed by a bounded thread pool shared by all deployments. Registering it with a deployment
+ * lets Weld run bean discovery, deployment and validation concurrently instead of creating a pool per deployment.
+ */
+public class WeldExecutorServices extends AbstractExecutorServices implements Service<ExecutorServices> {
+
+    public static final ServiceName SERVICE_NAME = Services.JBOSS_AS.append("weld", "executor");
+
+    public static final int DEFAULT_BOUND = Runtime.getRuntime().availableProcessors();
+
+    private static final String THREAD_NAME_PREFIX = "Weld Thread Pool -- ";
+
+    private final int bound;
+    private volatile ExecutorService executor;
+
+    public WeldExecutorServices(int bound) {
+        this.bound = bound;
+    }
+
+    @Override
+    public void start(StartContext context) throws StartException {
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(bound, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                // Weld sets the TCCL of its tasks itself, make sure no deployment class loader leaks through the pool threads
+                thread.setContextClassLoader(null);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        final ExecutorService executor = this.executor;
+        this.executor = null;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public ExecutorServices getValue() throws IllegalStateException, IllegalArgumentException {
+        return this;
+    }
+
+    @Override
+    public ExecutorService getTaskExecutor() {
+        return executor;
+    }
+
+    @Override
+    protected int getThreadPoolSize() {
+        return bound;
+    }
+
+    /**
+     * The pool outlives the deployments it is registered with, so it is only shut down when this service stops.
+     */
+    @Override
+    public void cleanup() {
+    }
+}
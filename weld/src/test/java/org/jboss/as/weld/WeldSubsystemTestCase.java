@@ -56,6 +56,11 @@ public class WeldSubsystemTestCase extends AbstractSubsystemBaseTest {
         standardSubsystemTest("subsystem_1_0.xml", false);
     }
 
+    @Test
+    public void testSubsystemThreadPoolSize() throws Exception {
+        standardSubsystemTest("subsystem-thread-pool.xml");
+    }
+
     @Test
     public void testTransformersAS712() throws Exception {
         testTransformers10(ModelTestControllerVersion.V7_1_2_FINAL);